@@ -0,0 +1,71 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.securesql.corpus.SqlCorpus;
+import com.example.demo.securesql.parser.OracleAstParser;
+import com.example.demo.securesql.parser.SqlMeta;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공통 코퍼스
+ *
+ * - corpus=mapper  : mapper/*.xml 을 대표 파라미터로 렌더링한 SQL
+ * - corpus=testsql : postman/testsql.txt 의 SQL
+ *
+ * 매 호출마다 다음 SQL 로 순환 (특정 SQL 한 건만 측정하지 않도록)
+ */
+@State(Scope.Thread)
+public class CorpusState {
+
+    @Param({"mapper", "testsql"})
+    public String corpus;
+
+    // 코퍼스 SQL
+    public String[] sqls;
+    // 파싱에 성공한 SQL 의 SqlMeta (SqlValidator 단독 측정용)
+    public SqlMeta[] metas;
+
+    private int sqlIndex;
+    private int metaIndex;
+
+    @Setup(Level.Trial)
+    public void load() {
+        List<SqlCorpus.Entry> entries = "mapper".equals(corpus)
+                ? SqlCorpus.renderMappers()
+                : SqlCorpus.loadTestSql();
+
+        sqls = entries.stream().map(SqlCorpus.Entry::getSql).toArray(String[]::new);
+
+        List<SqlMeta> parsed = new ArrayList<>();
+        for (String sql : sqls) {
+            try {
+                parsed.addAll(new OracleAstParser().parse(sql));
+            } catch (RuntimeException ignore) {
+                // 파싱 불가 SQL 은 SqlValidator 측정에서 제외
+            }
+        }
+        metas = parsed.toArray(new SqlMeta[0]);
+
+        if (sqls.length == 0 || metas.length == 0) {
+            throw new IllegalStateException("빈 코퍼스: " + corpus);
+        }
+    }
+
+    public String nextSql() {
+        String sql = sqls[sqlIndex];
+        sqlIndex = (sqlIndex + 1 == sqls.length) ? 0 : sqlIndex + 1;
+        return sql;
+    }
+
+    public SqlMeta nextMeta() {
+        SqlMeta meta = metas[metaIndex];
+        metaIndex = (metaIndex + 1 == metas.length) ? 0 : metaIndex + 1;
+        return meta;
+    }
+}
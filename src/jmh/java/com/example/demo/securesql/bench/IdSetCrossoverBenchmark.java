@@ -0,0 +1,192 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.report.secure.column.SecureDeepQueryColumn;
+import com.example.demo.securesql.corpus.SqlCorpus;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ValidationResult;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * deepquery ID 집합 바인딩 방식 교차 지점 (H2 Oracle 모드, 인메모리)
+ *
+ * - mode=inlist : IN (?, ?, ...) 바인드 목록 (Oracle 은 1000 개 제한, H2 는 제한 없음 -> 비교용으로 그대로 측정)
+ * - mode=idset  : REPORT_ID_SET 임시 테이블 batch 적재 + JOIN (ReportIdSet 과 같은 INSERT / 트랜잭션 단위)
+ * - ids         : 요청 ID 수 (ENTERPRISES 행 중 임의, 중복 없음)
+ *
+ * 한 번 호출 = 요청 한 건: SQL 렌더링 + OracleValidator.check + (적재) + 실행 + 결과 읽기 + commit
+ * 	- 두 mode 의 평균 시간이 역전되는 ids 가 report.id-set.threshold 후보
+ *
+ * 스키마는 schema.sql 그대로 (RUNSCRIPT), 데이터는 setup 에서 생성
+ * 	- ENTERPRISES 20000 / 기업당 SUBSCRIPTIONS 2 / 구독당 INVOICES 2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IdSetCrossoverBenchmark {
+
+    private static final String STATEMENT = "com.example.demo.report.secure.deepquery.SecureDeepQueryMapper.execute";
+    private static final String INSERT_ID = "INSERT INTO REPORT_ID_SET (id) VALUES (?)";
+    private static final int ENTERPRISES = 20_000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"inlist", "idset"})
+    public String mode;
+
+    @Param({"64", "256", "512", "1000", "4000", "16000"})
+    public int ids;
+
+    private Connection conn;
+    private MappedStatement ms;
+    private Map<String, Object> baseParam;
+    private List<Long> idList;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:idset;MODE=Oracle;DATABASE_TO_UPPER=false", "sa", "");
+        try (Statement st = conn.createStatement()) {
+            st.execute("RUNSCRIPT FROM 'classpath:/schema.sql'");
+        }
+        loadData();
+        conn.setAutoCommit(false);
+
+        ms = SqlCorpus.mapperConfiguration().getMappedStatement(STATEMENT);
+
+        List<SecureDeepQueryColumn> cols = Arrays.asList(SecureDeepQueryColumn.values());
+        baseParam = new HashMap<>();
+        baseParam.put("selectColumns", cols.stream().map(SecureDeepQueryColumn::selectSql).collect(Collectors.joining(", ")));
+        baseParam.put("groupByColumns", cols.stream().map(SecureDeepQueryColumn::rawSql).collect(Collectors.joining(", ")));
+        baseParam.put("orderByColumns", SecureDeepQueryColumn.ENTERPRISE_ID.rawSql() + " ASC");
+        baseParam.put("inConditionColumns", "");
+        baseParam.put("minRevenue", 1000);
+
+        List<Long> all = new ArrayList<>();
+        for (long id = 1; id <= ENTERPRISES; id++) all.add(id);
+        Collections.shuffle(all, new Random(42));
+        idList = new ArrayList<>(all.subList(0, ids));
+        idList.sort(null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public int execute() throws SQLException {
+        Map<String, Object> param = new HashMap<>(baseParam);
+        boolean idSet = "idset".equals(mode);
+        param.put("idSet", idSet);
+        if (!idSet) param.put("enterpriseIds", idList);
+
+        BoundSql bound = ms.getBoundSql(param);
+        ValidationResult result = OracleValidator.check(bound.getSql(), ParseExecutor.Lane.STATEMENT);
+        if (!result.isAccepted()) {
+            throw new IllegalStateException(result.getMessage());
+        }
+
+        if (idSet) loadIdSet();
+
+        int rows = 0;
+        try (PreparedStatement ps = conn.prepareStatement(bound.getSql())) {
+            bind(ps, bound, param);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows++;
+            }
+        }
+        conn.commit();
+        return rows;
+    }
+
+    // ReportIdSet.load 와 같은 방식 (DELETE + BATCH_SIZE 단위 batch INSERT)
+    private void loadIdSet() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM REPORT_ID_SET");
+        }
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_ID)) {
+            for (int i = 0; i < idList.size(); i++) {
+                ps.setLong(1, idList.get(i));
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // BoundSql 파라미터 순서대로 바인딩 (<foreach> 값은 additional parameter)
+    private static void bind(PreparedStatement ps, BoundSql bound, Map<String, Object> param) throws SQLException {
+        List<ParameterMapping> mappings = bound.getParameterMappings();
+        for (int i = 0; i < mappings.size(); i++) {
+            String name = mappings.get(i).getProperty();
+            Object value = bound.hasAdditionalParameter(name) ? bound.getAdditionalParameter(name) : param.get(name);
+            ps.setObject(i + 1, value);
+        }
+    }
+
+    private void loadData() throws SQLException {
+        try (PreparedStatement e = conn.prepareStatement("INSERT INTO ENTERPRISES (enterprise_id, enterprise_name, industry_code) VALUES (?, ?, ?)");
+             PreparedStatement s = conn.prepareStatement("INSERT INTO SUBSCRIPTIONS (subscription_id, enterprise_id) VALUES (?, ?)");
+             PreparedStatement inv = conn.prepareStatement("INSERT INTO INVOICES (invoice_id, subscription_id, amount) VALUES (?, ?, ?)")) {
+
+            long subscriptionId = 0;
+            long invoiceId = 0;
+            for (long id = 1; id <= ENTERPRISES; id++) {
+                e.setLong(1, id);
+                e.setString(2, "ENT-" + id);
+                e.setString(3, "IND-" + (id % 17));
+                e.addBatch();
+
+                for (int k = 0; k < 2; k++) {
+                    s.setLong(1, ++subscriptionId);
+                    s.setLong(2, id);
+                    s.addBatch();
+
+                    for (int m = 0; m < 2; m++) {
+                        inv.setLong(1, ++invoiceId);
+                        inv.setLong(2, subscriptionId);
+                        inv.setBigDecimal(3, BigDecimal.valueOf((id * 37 + m * 11) % 5000, 0));
+                        inv.addBatch();
+                    }
+                }
+            }
+            e.executeBatch();
+            s.executeBatch();
+            inv.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.report.secure.bind.BucketedInList;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
+import com.example.demo.report.secure.join.EnterpriseRiskJoins;
+import com.example.demo.securesql.cache.SqlFingerprint;
+import com.example.demo.securesql.corpus.SqlCorpus;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ValidationResult;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * IN 목록 바인딩 방식별 SQL 모양 수 / 검증 비용 (SecureCteMapper.selectEnterpriseRisk)
+ *
+ * - binding=spliced  : ID 를 SQL 문자열에 그대로 삽입 (기존 IN (${enterpriseIds}))
+ * - binding=bucketed : #{id} 바인드 + 크기 버킷 패딩 (BucketedInList)
+ * - 요청 REQUESTS 건: ID 개수 1 ~ maxIds 균등 분포, 값 1 ~ 100000 임의
+ *
+ * setup 에서 출력하는 값
+ * 	- sqlTexts     : 서로 다른 SQL 문자열 수 (DB 커서 공유 기준, 하드 파싱 수)
+ * 	- fingerprints : 서로 다른 SqlFingerprint 수 (검증 결과 캐시 miss = 전체 파싱 수)
+ *
+ * validate: 요청 순서대로 OracleValidator.check (검증 결과 캐시 포함, 운영 상태와 동일)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InListBindingBenchmark {
+
+    private static final String STATEMENT = "com.example.demo.report.secure.cte.SecureCteMapper.selectEnterpriseRisk";
+    private static final int REQUESTS = 4096;
+
+    @Param({"spliced", "bucketed"})
+    public String binding;
+
+    @Param({"20", "200"})
+    public int maxIds;
+
+    private String[] sqls;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MappedStatement ms = SqlCorpus.mapperConfiguration().getMappedStatement(STATEMENT);
+        List<SecureEnterpriseRiskColumn> cols = List.of(SecureEnterpriseRiskColumn.values());
+        String selectColumns = cols.stream()
+                .map(SecureEnterpriseRiskColumn::selectSql)
+                .collect(Collectors.joining(", "));
+
+        Random random = new Random(42);
+        sqls = new String[REQUESTS];
+        for (int r = 0; r < REQUESTS; r++) {
+            List<Long> ids = new ArrayList<>();
+            int n = 1 + random.nextInt(maxIds);
+            for (int i = 0; i < n; i++) ids.add(1L + random.nextInt(100_000));
+
+            Map<String, Object> param = new HashMap<>();
+            param.put("selectColumns", selectColumns);
+            param.put("orderByClause", "");
+            EnterpriseRiskJoins.bind(param, EnterpriseRiskJoins.required(cols, null));
+            sqls[r] = "bucketed".equals(binding)
+                    ? render(ms, param, BucketedInList.of(ids, "enterpriseIds"))
+                    : splice(render(ms, param, ids), ids);
+        }
+
+        Set<String> texts = new HashSet<>();
+        Set<String> fingerprints = new HashSet<>();
+        for (String sql : sqls) {
+            texts.add(sql);
+            fingerprints.add(SqlFingerprint.of(sql));
+        }
+        System.out.printf("%n[InListBinding] binding=%s maxIds=%d requests=%d sqlTexts=%d fingerprints=%d%n",
+                binding, maxIds, REQUESTS, texts.size(), fingerprints.size());
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        String sql = sqls[index];
+        index = (index + 1) % sqls.length;
+        return OracleValidator.check(sql, ParseExecutor.Lane.STATEMENT);
+    }
+
+    private static String render(MappedStatement ms, Map<String, Object> param, List<Long> ids) {
+        param.put("enterpriseIds", ids);
+        return ms.getBoundSql(param).getSql();
+    }
+
+    // IN 목록의 ? 를 값으로 치환 (이 SQL 의 바인드 변수는 IN 목록뿐)
+    private static String splice(String sql, List<Long> ids) {
+        StringBuilder sb = new StringBuilder(sql.length() + ids.size() * 6);
+        int k = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') sb.append(ids.get(k++));
+            else sb.append(c);
+        }
+        return sb.toString();
+    }
+}
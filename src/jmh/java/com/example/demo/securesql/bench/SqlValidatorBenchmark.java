@@ -0,0 +1,66 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.securesql.validator.FunctionWhitelistValidator;
+import com.example.demo.securesql.validator.JoinPolicyValidator;
+import com.example.demo.securesql.validator.OrPolicyValidator;
+import com.example.demo.securesql.validator.PrefixRuleValidator;
+import com.example.demo.securesql.validator.SelectStarValidator;
+import com.example.demo.securesql.validator.SqlValidator;
+import com.example.demo.securesql.validator.TableColumnWhitelistValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SqlValidator 단독 벤치마크
+ *
+ * - 코퍼스 SQL 을 미리 파싱한 SqlMeta 에 대해 Validator 하나만 실행
+ * - ValidatorChain 순서 / 개별 Validator 변경 효과 확인용
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlValidatorBenchmark {
+
+    @Param({"join", "selectStar", "prefix", "tableColumn", "function", "orPolicy"})
+    public String validator;
+
+    private SqlValidator target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (validator) {
+            case "join": target = new JoinPolicyValidator(); break;
+            case "selectStar": target = new SelectStarValidator(); break;
+            case "prefix": target = new PrefixRuleValidator(); break;
+            case "tableColumn": target = new TableColumnWhitelistValidator(); break;
+            case "function": target = new FunctionWhitelistValidator(); break;
+            case "orPolicy": target = new OrPolicyValidator(); break;
+            default: throw new IllegalArgumentException("unknown validator: " + validator);
+        }
+    }
+
+    @Benchmark
+    public void validate(CorpusState state, Blackhole bh) {
+        try {
+            target.validate(state.nextMeta());
+        } catch (RuntimeException e) {
+            bh.consume(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.securesql.lexer.SqlTokenizer;
+import com.example.demo.securesql.parser.OracleAstParser;
+import com.example.demo.securesql.parser.OracleAstParser_old;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.ForbiddenKeywordValidator;
+import com.example.demo.securesql.validator.ForbiddenKeywordValidator_old;
+import com.example.demo.securesql.validator.OracleValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 파이프라인 단계별 벤치마크
+ *
+ * - validate        : 검증 단계 전체, 검증 결과 캐시 없이 매번 실행 (OracleValidator.checkQuietly, 로그 / 메트릭 제외)
+ * - validate_cached : OracleValidator.validate (운영 상태와 동일, 코퍼스가 작아 대부분 캐시 hit 측정)
+ * - tokenize        : SqlTokenizer
+ * - keyword*        : 금지 키워드 검사 (현재 / 정규식 기반 _old)
+ * - parse*          : JSqlParser 파싱 + SqlMeta 수집 (현재 / instanceof 기반 _old)
+ * 		- 두 구현 모두 ParseExecutor STATEMENT lane 에서 파싱 (같은 실행 모델에서 수집 로직 차이만 비교)
+ * 		- OracleAstParser_old.parse(String) 은 호출마다 JSqlParser 내부 단일 쓰레드 executor 를 새로 만들므로 사용하지 않음
+ *
+ * 차단되는 SQL 도 측정 대상이므로 RuntimeException 은 Blackhole 로 소비
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationPipelineBenchmark {
+
+    @Benchmark
+    public Object validate(CorpusState state) {
+        return OracleValidator.checkQuietly(state.nextSql(), ParseExecutor.Lane.STATEMENT);
+    }
+
+    @Benchmark
+    public void validate_cached(CorpusState state, Blackhole bh) {
+        try {
+            OracleValidator.validate(state.nextSql());
+        } catch (RuntimeException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public Object tokenize(CorpusState state) {
+        return SqlTokenizer.tokenize(state.nextSql());
+    }
+
+    @Benchmark
+    public void keyword(CorpusState state, Blackhole bh) {
+        try {
+            ForbiddenKeywordValidator.validateRawSql(state.nextSql());
+        } catch (RuntimeException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void keyword_old(CorpusState state, Blackhole bh) {
+        try {
+            ForbiddenKeywordValidator_old.validateRawSql(state.nextSql());
+        } catch (RuntimeException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public Object parse(CorpusState state) {
+        try {
+            return new OracleAstParser().parse(state.nextSql());
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object parse_old(CorpusState state) {
+        try {
+            return new OracleAstParser_old().collect(ParseExecutor.parse(state.nextSql(), ParseExecutor.Lane.STATEMENT));
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.securesql.parser.OracleAstParser;
+import com.example.demo.securesql.parser.SqlMeta;
+import com.example.demo.securesql.validator.FunctionWhitelistValidator;
+import com.example.demo.securesql.validator.JoinPolicyValidator;
+import com.example.demo.securesql.validator.OrPolicyValidator;
+import com.example.demo.securesql.validator.PrefixRuleValidator;
+import com.example.demo.securesql.validator.SelectStarValidator;
+import com.example.demo.securesql.validator.TableColumnWhitelistValidator;
+import com.example.demo.securesql.validator.ValidationResult;
+import com.example.demo.securesql.validator.ValidatorChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidatorChain 실행 모드 벤치마크 (넓은 SELECT 목록)
+ *
+ * - mode=sequential : Validator 별 순차 실행
+ * - mode=compiled   : 검사 종류별 한 번 순회 (SELECT 칼럼 / 테이블 / 칼럼 / 함수)
+ * - columns         : SELECT 목록 칼럼 수 (SALES_TRANSACTION 셀프 조인 alias 를 늘려 서로 다른 칼럼 생성)
+ * - outcome=accept  : 전체 통과 / outcome=reject : 마지막 칼럼만 화이트리스트 위반 (두 모드 모두 끝까지 순회)
+ *
+ * - validate: 예외 API / check: 결과 반환 API (ValidationResult)
+ *
+ * SqlMeta 는 setup 에서 한 번만 파싱 (체인 실행 시간만 측정)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorChainBenchmark {
+
+    private static final String TABLE = "SALES_TRANSACTION";
+    private static final String[] COLUMNS = {"STORE_ID", "PRODUCT_ID", "TX_DATE", "QTY", "UNIT_PRICE", "FINAL_AMOUNT"};
+
+    @Param({"sequential", "compiled"})
+    public String mode;
+
+    @Param({"16", "128", "512"})
+    public int columns;
+
+    @Param({"accept", "reject"})
+    public String outcome;
+
+    private ValidatorChain chain;
+    private SqlMeta meta;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        chain = new ValidatorChain()
+                .add(new JoinPolicyValidator())
+                .add(new SelectStarValidator())
+                .add(new PrefixRuleValidator())
+                .add(new TableColumnWhitelistValidator())
+                .add(new FunctionWhitelistValidator())
+                .add(new OrPolicyValidator())
+                .mode("compiled".equals(mode) ? ValidatorChain.Mode.COMPILED : ValidatorChain.Mode.SEQUENTIAL);
+
+        List<SqlMeta> metas = new OracleAstParser().parse(wideSelect(columns, "reject".equals(outcome)));
+        meta = metas.get(0);
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        try {
+            chain.validate(meta);
+        } catch (RuntimeException e) {
+            bh.consume(e);
+        }
+    }
+
+    /** 결과 반환 API (차단도 예외 없이 ValidationResult) **/
+    @Benchmark
+    public ValidationResult check() {
+        return chain.check(meta);
+    }
+
+    /*
+     * SELECT S0.STORE_ID, NVL(S0.PRODUCT_ID, 0), ... , S1.STORE_ID ...
+     *   FROM SALES_TRANSACTION S0
+     *   JOIN SALES_TRANSACTION S1 ON S1.STORE_ID = S0.STORE_ID ...
+     *  WHERE S0.QTY > 0
+     */
+    private static String wideSelect(int columns, boolean rejectLast) {
+        int aliases = (columns + COLUMNS.length - 1) / COLUMNS.length;
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns; i++) {
+            if (i > 0) sql.append(", ");
+            String column = "S" + (i / COLUMNS.length) + "." + COLUMNS[i % COLUMNS.length];
+            if (rejectLast && i == columns - 1) column = "S0.NOT_WHITELISTED";
+            sql.append(i % 2 == 0 ? column : "NVL(" + column + ", 0)");
+        }
+
+        sql.append(" FROM ").append(TABLE).append(" S0");
+        for (int a = 1; a < aliases; a++) {
+            sql.append(" JOIN ").append(TABLE).append(" S").append(a)
+               .append(" ON S").append(a).append(".STORE_ID = S0.STORE_ID");
+        }
+        sql.append(" WHERE S0.QTY > 0");
+        return sql.toString();
+    }
+}
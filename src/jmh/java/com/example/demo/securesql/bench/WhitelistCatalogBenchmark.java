@@ -0,0 +1,215 @@
+package com.example.demo.securesql.bench;
+
+import com.example.demo.securesql.whitelist.DynamicTableWhitelistRegistry;
+import com.example.demo.securesql.whitelist.MappedTableCatalog;
+import com.example.demo.securesql.whitelist.TableCatalog;
+import com.example.demo.securesql.whitelist.TableWhitelistSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 화이트리스트 저장소 벤치마크 (로딩 / 조회)
+ *
+ * - map    : 기존 DynamicTableWhitelistRegistry 구조 (ConcurrentHashMap<String, HashSet<String>>, 조회마다 toUpperCase)
+ * - heap   : TableWhitelistSnapshot
+ * - mapped : MappedTableCatalog (정렬된 사전 파일 생성 + mmap)
+ *
+ * 합성 카탈로그: 테이블 N개, 테이블당 평균 12개 컬럼 (컬럼명 사전은 테이블 수의 4배)
+ * setup 시점에 저장소별 유지 힙 크기(대략값)를 출력 (GC 후 사용량 차이)
+ * 	- heap / mapped 는 운영과 같은 경로로 측정: 합성 카탈로그를 외부 설정 파일로 쓰고
+ * 	  DynamicTableWhitelistRegistry.configureStore + snapshot() 으로 로드 (HEAP 의 SqlSymbols 등록분 포함)
+ * 	- 조회 벤치마크도 snapshot() 으로 얻은 카탈로그를 사용
+ * 	- 파라미터 조합마다 fork 되므로 레지스트리는 조합마다 처음 로드됨
+ */
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WhitelistCatalogBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"map", "heap", "mapped"})
+    public String store;
+
+    @Param({"1000", "30000"})
+    public int tables;
+
+    private Map<String, Set<String>> source;
+    private Path file;
+    private Path properties;
+
+    // 조회 대상 (map: 기존 구조 / heap, mapped: 레지스트리 카탈로그)
+    private Map<String, Set<String>> map;
+    private TableCatalog catalog;
+
+    // [테이블, 컬럼] 조회 쌍 (hit: 등록된 컬럼 / miss: 등록되지 않은 컬럼)
+    private String[] hitTables;
+    private String[] hitColumns;
+    private String[] missTables;
+    private String[] missColumns;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        source = syntheticCatalog(tables);
+        file = Files.createTempFile("whitelist-bench", ".catalog");
+        properties = Files.createTempFile("whitelist-bench", ".properties");
+        writeProperties(source, properties);
+        // 레지스트리 클래스 로딩 전에 지정 (외부 설정 파일이 클래스패스 기본값을 대체)
+        System.setProperty("securesql.whitelist.external-file", properties.toString());
+
+        long before = usedHeapAfterGc();
+        if ("map".equals(store)) {
+            map = (Map<String, Set<String>>) load();
+        } else {
+            DynamicTableWhitelistRegistry.configureStore("mapped".equals(store)
+                    ? DynamicTableWhitelistRegistry.Store.MAPPED
+                    : DynamicTableWhitelistRegistry.Store.HEAP, file);
+            catalog = DynamicTableWhitelistRegistry.snapshot();
+        }
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%n[whitelist] store=%s tables=%d retainedHeap~%,d bytes%s%n", store, tables, retained,
+                "mapped".equals(store) ? " file=" + Files.size(file) + " bytes" : "");
+
+        SplittableRandom random = new SplittableRandom(42);
+        String[] names = source.keySet().toArray(new String[0]);
+        hitTables = new String[QUERIES];
+        hitColumns = new String[QUERIES];
+        missTables = new String[QUERIES];
+        missColumns = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String table;
+            Set<String> columns;
+            do {
+                table = names[random.nextInt(names.length)];
+                columns = source.get(table);
+            } while (columns.isEmpty());
+
+            hitTables[i] = table;
+            hitColumns[i] = columns.iterator().next();
+            missTables[i] = table;
+            missColumns[i] = "NOT_A_COLUMN_" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(properties);
+    }
+
+    /** 카탈로그 로딩 (properties 파싱 이후 단계: 저장소 구성) **/
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object load() throws IOException {
+        switch (store) {
+            case "map":
+                Map<String, Set<String>> built = new ConcurrentHashMap<>();
+                source.forEach((table, columns) -> built.put(table, new HashSet<>(columns)));
+                return built;
+            case "heap":
+                return TableWhitelistSnapshot.build(source, 1);
+            case "mapped":
+                return MappedTableCatalog.write(source, 1, file);
+            default:
+                throw new IllegalArgumentException("unknown store: " + store);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isAllowedColumnHit() {
+        int i = next();
+        return isAllowedColumn(hitTables[i], hitColumns[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isAllowedColumnMiss() {
+        int i = next();
+        return isAllowedColumn(missTables[i], missColumns[i]);
+    }
+
+    private boolean isAllowedColumn(String table, String column) {
+        switch (store) {
+            case "map":
+                // 기존 구현과 동일 (조회마다 대문자 변환)
+                return map.getOrDefault(table.toUpperCase(), Collections.emptySet()).contains(column.toUpperCase());
+            default:
+                return catalog.isAllowedColumn(table, column);
+        }
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) & (QUERIES - 1);
+        return i;
+    }
+
+    private static Map<String, Set<String>> syntheticCatalog(int tables) {
+        SplittableRandom random = new SplittableRandom(7);
+        int dictionary = tables * 4;
+
+        Map<String, Set<String>> catalog = new LinkedHashMap<>();
+        for (int t = 0; t < tables; t++) {
+            int n = 4 + random.nextInt(17);
+            Set<String> columns = new LinkedHashSet<>();
+            for (int c = 0; c < n; c++) {
+                columns.add("COL_" + random.nextInt(dictionary));
+            }
+            catalog.put("TB_" + Integer.toString(t, 36).toUpperCase() + "_MASTER", columns);
+        }
+        return catalog;
+    }
+
+    /** DynamicTableWhitelistRegistry 외부 설정 파일 형식으로 기록 **/
+    private static void writeProperties(Map<String, Set<String>> catalog, Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            for (Map.Entry<String, Set<String>> e : catalog.entrySet()) {
+                out.write("table=" + e.getKey());
+                out.newLine();
+                out.write("columns=" + String.join(",", e.getValue()));
+                out.newLine();
+                out.newLine();
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
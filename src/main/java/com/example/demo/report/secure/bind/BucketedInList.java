@@ -0,0 +1,74 @@
+package com.example.demo.report.secure.bind;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * IN 목록 바인드 값 (크기 버킷 패딩)
+ *
+ * - Mapper XML 은 <foreach ...>#{id}</foreach> 로 값 개수만큼 ? 를 만듦
+ * 		- 값이 SQL 문자열에 들어가지 않으므로 ID 집합이 달라도 개수가 같으면 같은 SQL
+ * - 개수도 2의 거듭제곱(1, 2, 4, ... 512) / MAX_SIZE 로 올림하여 마지막 값을 반복 (IN 결과는 같음)
+ * 		- 리포트당 SQL 모양이 최대 11 개 -> DB 커서 공유, 검증 결과 캐시(SqlFingerprint) 재사용
+ * - 중복 제거 + 정렬 (같은 집합이면 같은 바인드 값 순서)
+ * - MAX_SIZE 초과 / 빈 목록 / null 값은 IllegalArgumentException
+ */
+public final class BucketedInList {
+
+    /** Oracle IN 목록 최대 식 개수 (ORA-01795) **/
+    public static final int MAX_SIZE = 1000;
+
+    private BucketedInList() {
+    }
+
+    /** 정렬 + 중복 제거 + 버킷 크기로 패딩한 바인드 값 **/
+    public static List<Long> of(List<Long> ids, String name) {
+        return of(distinctSorted(ids, name, MAX_SIZE));
+    }
+
+    /** 정렬 + 중복 제거된 값(distinctSorted 결과, MAX_SIZE 이하)을 버킷 크기로 패딩 **/
+    public static List<Long> of(long[] values) {
+        Long[] padded = new Long[bucketSize(values.length)];
+        for (int i = 0; i < padded.length; i++) {
+            padded[i] = values[Math.min(i, values.length - 1)];
+        }
+        return Arrays.asList(padded);
+    }
+
+    /** n 개 값의 버킷 크기 (n 이상인 가장 작은 2의 거듭제곱, 최대 MAX_SIZE) **/
+    public static int bucketSize(int n) {
+        if (n <= 1) return 1;
+        return Math.min(MAX_SIZE, Integer.highestOneBit(n - 1) << 1);
+    }
+
+    /** 정렬 + 중복 제거 (캐시 key 등 정규화용) **/
+    public static long[] distinctSorted(List<Long> ids, String name) {
+        return distinctSorted(ids, name, MAX_SIZE);
+    }
+
+    /** 정렬 + 중복 제거 (최대 max 개, ReportIdSet 등 IN 목록이 아닌 용도) **/
+    public static long[] distinctSorted(List<Long> ids, String name, int max) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException(name + " 는 비어 있을 수 없습니다");
+        }
+
+        long[] values = new long[ids.size()];
+        for (int i = 0; i < values.length; i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                throw new IllegalArgumentException(name + " 에 null 값이 있습니다");
+            }
+            values[i] = id;
+        }
+        Arrays.sort(values);
+
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (n == 0 || values[i] != values[n - 1]) values[n++] = values[i];
+        }
+        if (n > max) {
+            throw new IllegalArgumentException(name + " 는 최대 " + max + " 개까지 허용됩니다: " + n);
+        }
+        return (n == values.length) ? values : Arrays.copyOf(values, n);
+    }
+}
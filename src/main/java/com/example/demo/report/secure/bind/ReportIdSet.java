@@ -0,0 +1,65 @@
+package com.example.demo.report.secure.bind;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 대량 ID 집합 임시 테이블 (REPORT_ID_SET)
+ *
+ * - IN 목록 대신 ID 를 세션 임시 테이블에 적재하고 리포트 SQL 은 JOIN REPORT_ID_SET 로 조회
+ * 		- SQL 모양은 ID 개수와 관계없이 하나 (파싱 / 검증 비용이 ID 개수에 비례하지 않음)
+ * 		- Oracle IN 목록 1000 개 제한 없음
+ * - 테이블: CREATE GLOBAL TEMPORARY TABLE REPORT_ID_SET (id BIGINT PRIMARY KEY) ON COMMIT DELETE ROWS (schema.sql)
+ * 		- 행은 세션(커넥션)별, commit / rollback 시 삭제
+ * 		- 따라서 적재와 리포트 조회는 같은 트랜잭션 안에서 실행해야 함 (호출 측 @Transactional)
+ * - 적재: 고정 INSERT 문 JDBC batch (BATCH_SIZE 건씩)
+ */
+@Component
+public class ReportIdSet {
+
+    /** 임시 테이블에 적재할 수 있는 최대 ID 수 **/
+    public static final int MAX_SIZE = 100_000;
+
+    private static final String DELETE = "DELETE FROM REPORT_ID_SET";
+    private static final String INSERT = "INSERT INTO REPORT_ID_SET (id) VALUES (?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    public ReportIdSet(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 현재 트랜잭션의 REPORT_ID_SET 을 ids 로 채움 (같은 트랜잭션에서 이전에 적재한 값은 제거)
+     * @param ids 정렬 + 중복 제거된 값 (BucketedInList.distinctSorted)
+     */
+    public void load(long[] ids) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("REPORT_ID_SET 적재는 트랜잭션 안에서만 가능합니다 (ON COMMIT DELETE ROWS)");
+        }
+
+        jdbc.update(DELETE);
+        for (int from = 0; from < ids.length; from += BATCH_SIZE) {
+            int start = from;
+            int size = Math.min(BATCH_SIZE, ids.length - from);
+
+            jdbc.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, ids[start + i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+}
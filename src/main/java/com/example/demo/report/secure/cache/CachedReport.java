@@ -0,0 +1,70 @@
+package com.example.demo.report.secure.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 리포트 JSON 응답 (gzip)
+ *
+ * - 캐시에는 압축 bytes 만 보관
+ * - 클라이언트가 gzip 을 받으면 (Accept-Encoding: gzip) 압축 bytes 를 그대로 응답 (hit 시 압축 해제 / 직렬화 없음)
+ * - 그 외에는 압축 해제하여 응답 (방금 생성한 결과는 원본 JSON 을 그대로 사용)
+ */
+public final class CachedReport {
+
+    private final byte[] gzip;
+    // 방금 생성한 결과의 원본 JSON (캐시에 저장되는 인스턴스는 null)
+    private final byte[] json;
+
+    private CachedReport(byte[] gzip, byte[] json) {
+        this.gzip = gzip;
+        this.json = json;
+    }
+
+    static CachedReport of(byte[] json) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos, 8192)) {
+            gz.write(json);
+        }
+        return new CachedReport(bos.toByteArray(), json);
+    }
+
+    /** 캐시 저장용 (원본 JSON 은 버림) **/
+    CachedReport stored() {
+        return new CachedReport(gzip, null);
+    }
+
+    public int compressedSize() {
+        return gzip.length;
+    }
+
+    /** 원본 JSON **/
+    public byte[] json() {
+        if (json != null) return json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip), 8192)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("캐시된 리포트 압축 해제 실패", e);
+        }
+    }
+
+    /** application/json 응답 (acceptEncoding 에 gzip 이 있으면 압축 bytes 그대로) **/
+    public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+        ResponseEntity.BodyBuilder res = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return res.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return res.body(json());
+    }
+}
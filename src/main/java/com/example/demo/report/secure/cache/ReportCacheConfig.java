@@ -0,0 +1,62 @@
+package com.example.demo.report.secure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리포트 결과 캐시 설정
+ *
+ * - report.cache.max-bytes: 압축 결과 크기 합계 상한
+ * - report.cache.ttl-seconds: 엔트리 유효 시간
+ *
+ * [ 메트릭 ] (Metrics.globalRegistry, SecureSqlMetrics 와 같은 방식)
+ * 	- report.cache.requests   FunctionCounter (tag: result=hit|miss)
+ * 	- report.cache.evictions  FunctionCounter
+ * 	- report.cache.size       Gauge  엔트리 수
+ * 	- report.cache.bytes      Gauge  압축 크기 합계
+ * 	- report.cache.hit.ratio  Gauge
+ */
+@Configuration
+public class ReportCacheConfig {
+
+    @Bean
+    public ReportResultCache reportResultCache(
+            @Value("${report.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${report.cache.ttl-seconds:300}") long ttlSeconds) {
+
+        ReportResultCache cache = new ReportResultCache(maxBytes, ttlSeconds * 1000L);
+        MeterRegistry registry = Metrics.globalRegistry;
+
+        FunctionCounter.builder("report.cache.requests", cache, ReportResultCache::hitCount)
+                .description("리포트 캐시 조회 (hit)")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("report.cache.requests", cache, ReportResultCache::missCount)
+                .description("리포트 캐시 조회 (miss)")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("report.cache.evictions", cache, ReportResultCache::evictionCount)
+                .description("크기 초과로 제거된 리포트 캐시 엔트리 수")
+                .register(registry);
+        Gauge.builder("report.cache.size", cache, ReportResultCache::size)
+                .register(registry);
+        Gauge.builder("report.cache.bytes", cache, ReportResultCache::bytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("report.cache.hit.ratio", cache, ReportResultCache::hitRatio)
+                .register(registry);
+
+        return cache;
+    }
+
+    /** 테이블 변경 시 캐시 무효화 (MyBatisSecurityConfig 에서 plugin 으로 등록) **/
+    @Bean
+    public TableChangeInterceptor tableChangeInterceptor(ReportResultCache reportResultCache) {
+        return new TableChangeInterceptor(reportResultCache);
+    }
+}
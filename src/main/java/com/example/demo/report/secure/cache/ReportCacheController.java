@@ -0,0 +1,36 @@
+package com.example.demo.report.secure.cache;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 리포트 캐시 관리 API
+ * - GET  /stats                  : 크기 / hit ratio / 테이블 버전
+ * - POST /invalidate?table=NAME  : 테이블 변경 알림 (table 생략 시 전체)
+ */
+@RestController
+@RequestMapping("/api/report/secure/cache")
+public class ReportCacheController {
+
+    private final ReportResultCache cache;
+
+    public ReportCacheController(ReportResultCache cache) {
+        this.cache = cache;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    @PostMapping("/invalidate")
+    public Map<String, Object> invalidate(@RequestParam(required = false) String table) {
+        if (table == null || table.isBlank()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(table);
+        }
+        return cache.stats();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.report.secure.cache;
+
+import com.example.demo.report.secure.page.KeysetPage;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 리포트 캐시 key (요청 모양 정규화)
+ *
+ * - 칼럼: enum label 정렬 + 중복 제거 (같은 칼럼 집합이면 요청 순서와 관계없이 같은 key)
+ * 		- JSON 응답은 객체 배열이므로 key 순서만 다를 뿐 같은 결과
+ * - 정렬: enum label + ASC / DESC (대소문자 정규화)
+ * - ID 집합: 정렬 + 중복 제거된 값 (BucketedInList.distinctSorted, [3, 1, 1] -> "1,3")
+ *
+ * 예) cte|c=avg_active_users,enterprise_name|o=total_revenue DESC|ids=1,3|limit=
+ */
+public final class ReportCacheKey {
+
+    private final StringBuilder sb;
+
+    private ReportCacheKey(String report) {
+        this.sb = new StringBuilder(64).append(report);
+    }
+
+    public static ReportCacheKey of(String report) {
+        return new ReportCacheKey(report);
+    }
+
+    public ReportCacheKey columns(List<String> labels) {
+        sb.append("|c=").append(String.join(",", new TreeSet<>(labels)));
+        return this;
+    }
+
+    public ReportCacheKey orderBy(String label, String dir) {
+        sb.append("|o=");
+        if (label != null) {
+            // SQL 에 들어가는 방향과 같은 값 (미지정 = ASC)
+            sb.append(label).append(' ').append(KeysetPage.direction(dir));
+        }
+        return this;
+    }
+
+    public ReportCacheKey ids(long[] distinctSorted) {
+        sb.append("|ids=");
+        for (int i = 0; i < distinctSorted.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(distinctSorted[i]);
+        }
+        return this;
+    }
+
+    public ReportCacheKey limit(Integer limit) {
+        sb.append("|limit=");
+        if (limit != null) sb.append(limit);
+        return this;
+    }
+
+    public String build() {
+        return sb.toString();
+    }
+}
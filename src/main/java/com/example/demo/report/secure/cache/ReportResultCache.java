@@ -0,0 +1,283 @@
+package com.example.demo.report.secure.cache;
+
+import com.example.demo.securesql.validator.ForbiddenKeywordValidator;
+import com.example.demo.securesql.whitelist.DynamicTableWhitelistRegistry;
+import com.example.demo.securesql.whitelist.GlobalFunctionWhitelistRegistry;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포트 결과 캐시 (JSON 응답을 gzip 압축하여 보관)
+ *
+ * - key: 요청 모양 (ReportCacheKey, 칼럼 / 정렬 / ID 집합을 정규화한 문자열)
+ * - 엔트리 유효 조건
+ * 		- TTL 이내
+ * 		- 조회 시작 시점의 원본 테이블 버전 == 현재 버전 (invalidate(table) 이 버전을 올림)
+ * 		- 조회 시작 시점의 보안 정책 버전 == 현재 버전 (테이블 / 함수 화이트리스트, 금지 키워드)
+ * 			- hit 는 SqlSecurityInterceptor 를 거치지 않으므로, 정책이 바뀌면 이전 정책으로 만든 결과를 내보내지 않음
+ * - 크기 제한: 압축 크기 합계(maxBytes) 기준 CLOCK 방식 근사 LRU 제거
+ * 		- maxBytes / 8 보다 큰 결과는 저장하지 않음 (큰 리포트 하나가 캐시 전체를 밀어내지 않도록)
+ * - hit / miss / eviction / 저장 생략 카운터 제공
+ *
+ * 테이블 버전
+ * 	- 감시 테이블(ENTERPRISES, SUBSCRIPTIONS, INVOICES, USAGE_LOGS) 별 증가 카운터
+ * 	- 엔트리는 조회 시작 전에 읽은 버전 합계를 보관 -> 조회 도중 변경이 있으면 저장 즉시 무효
+ * 	- 감시 대상이 아닌 테이블의 invalidate 는 무시
+ */
+public class ReportResultCache {
+
+    /** 리포트가 읽는 원본 테이블 (변경 시 무효화 대상) **/
+    public static final List<String> SOURCE_TABLES = List.of("ENTERPRISES", "SUBSCRIPTIONS", "INVOICES", "USAGE_LOGS");
+
+    /** 캐시 miss 시 결과 생성 (JSON bytes) **/
+    @FunctionalInterface
+    public interface Loader {
+        byte[] load() throws IOException;
+    }
+
+    private static final class Entry {
+        private final CachedReport report;
+        private final long tableVersion;
+        // 보안 정책 버전 (ValidationVerdictCache 와 같은 기준)
+        private final long whitelistVersion;
+        private final long functionVersion;
+        private final long keywordVersion;
+        private final long expiresAt;
+        // 최근 조회 여부 (제거 대상 선정용)
+        private volatile boolean referenced = true;
+
+        private Entry(CachedReport report, long tableVersion, long[] policy, long expiresAt) {
+            this.report = report;
+            this.tableVersion = tableVersion;
+            this.whitelistVersion = policy[0];
+            this.functionVersion = policy[1];
+            this.keywordVersion = policy[2];
+            this.expiresAt = expiresAt;
+        }
+
+        /** 원본 테이블 / 보안 정책이 저장 이후 바뀌지 않았는지 **/
+        private boolean isCurrent(long tableVersion, long[] policy) {
+            return this.tableVersion == tableVersion
+                    && whitelistVersion == policy[0]
+                    && functionVersion == policy[1]
+                    && keywordVersion == policy[2];
+        }
+    }
+
+    // key -> 압축 결과
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 테이블(대문자) -> 버전
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final long ttlNanos;
+
+    // 저장된 압축 크기 합계
+    private final AtomicLong bytes = new AtomicLong();
+    // 동시에 하나의 쓰레드만 제거 작업 수행
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // 크기 초과로 저장하지 않은 결과 수
+    private final LongAdder oversized = new LongAdder();
+
+    public ReportResultCache(long maxBytes, long ttlMillis) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("ttlMillis must be positive: " + ttlMillis);
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.max(1, maxBytes / 8);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+
+        for (String table : SOURCE_TABLES) {
+            tableVersions.put(table, new AtomicLong());
+        }
+    }
+
+    /**
+     * 캐시 조회, 없거나 무효이면 loader 로 생성 후 저장.
+     * 같은 key 를 동시에 miss 한 요청은 각자 loader 를 실행 (마지막 결과가 남음)
+     */
+    public CachedReport get(String key, Loader loader) throws IOException {
+        long now = System.nanoTime();
+        long version = tableVersion();
+        long[] policy = policyVersion();
+
+        Entry e = entries.get(key);
+        if (e != null) {
+            boolean current = e.isCurrent(version, policy);
+            if (current && now - e.expiresAt < 0) {
+                e.referenced = true;
+                hits.increment();
+                return e.report;
+            }
+            remove(key, e);
+            if (!current) invalidations.increment();
+            else expirations.increment();
+        }
+        misses.increment();
+
+        CachedReport report = CachedReport.of(loader.load());
+        if (report.compressedSize() > maxEntryBytes) {
+            oversized.increment();
+            return report;
+        }
+
+        Entry fresh = new Entry(report.stored(), version, policy, now + ttlNanos);
+        Entry old = entries.put(key, fresh);
+        bytes.addAndGet(fresh.report.compressedSize());
+        if (old != null) bytes.addAndGet(-old.report.compressedSize());
+
+        if (bytes.get() > maxBytes) {
+            evict();
+        }
+        return report;
+    }
+
+    /**
+     * 테이블 변경 알림 (대소문자 무시, 스키마 접두어 허용)
+     * - 버전만 올리고 엔트리는 다음 조회 / 제거 시 정리
+     */
+    public void invalidate(String table) {
+        if (table == null) return;
+        String name = table.trim().toUpperCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) name = name.substring(dot + 1);
+
+        AtomicLong v = tableVersions.get(name);
+        if (v != null) v.incrementAndGet();
+    }
+
+    /** 전체 무효화 (감시 테이블 전체 버전 증가) **/
+    public void invalidateAll() {
+        for (AtomicLong v : tableVersions.values()) v.incrementAndGet();
+    }
+
+    /** 전체 비우기 **/
+    public void clear() {
+        entries.clear();
+        bytes.set(0);
+    }
+
+    // 감시 테이블 버전 합계 (각 버전은 증가만 하므로 합계가 같으면 변경 없음)
+    private long tableVersion() {
+        long sum = 0;
+        for (AtomicLong v : tableVersions.values()) sum += v.get();
+        return sum;
+    }
+
+    // 보안 정책 버전 [테이블 화이트리스트, 함수 화이트리스트, 금지 키워드]
+    private static long[] policyVersion() {
+        return new long[] {
+                DynamicTableWhitelistRegistry.version(),
+                GlobalFunctionWhitelistRegistry.version(),
+                ForbiddenKeywordValidator.version()
+        };
+    }
+
+    private void remove(String key, Entry e) {
+        if (entries.remove(key, e)) {
+            bytes.addAndGet(-e.report.compressedSize());
+        }
+    }
+
+    /*
+     * CLOCK(second chance) 방식 (ValidationVerdictCache 와 같음, 기준은 압축 크기 합계)
+     * - 만료 / 무효 엔트리는 referenced 와 관계없이 제거
+     * - 최대 크기의 90% 까지 줄어들면 종료
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long target = (long) (maxBytes * 0.9);
+            long now = System.nanoTime();
+            long version = tableVersion();
+            long[] policy = policyVersion();
+
+            for (int round = 0; round < 2 && bytes.get() > target; round++) {
+                Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+                while (it.hasNext() && bytes.get() > target) {
+                    Map.Entry<String, Entry> me = it.next();
+                    Entry e = me.getValue();
+                    boolean stale = !e.isCurrent(version, policy) || now - e.expiresAt >= 0;
+
+                    if (e.referenced && !stale) {
+                        e.referenced = false;
+                    } else {
+                        remove(me.getKey(), e);
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return (h + m) == 0 ? 0.0 : (double) h / (h + m);
+    }
+
+    /** 캐시 통계 **/
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("bytes", bytes.get());
+        stats.put("maxBytes", maxBytes);
+        stats.put("ttlMillis", ttlNanos / 1_000_000L);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("oversized", oversized.sum());
+        stats.put("hitRatio", hitRatio());
+
+        Map<String, Long> versions = new LinkedHashMap<>();
+        for (String table : SOURCE_TABLES) versions.put(table, tableVersions.get(table).get());
+        stats.put("tableVersions", versions);
+        return stats;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.report.secure.cache;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * MyBatis INSERT / UPDATE / DELETE 실행 후 리포트 캐시 무효화
+ *
+ * - SQL 에 감시 테이블(ReportResultCache.SOURCE_TABLES) 이름이 단어로 나타나면 그 테이블 버전 증가
+ * 		- 파싱하지 않고 이름만 찾음 (같은 이름의 칼럼 / alias 등으로 더 많이 무효화될 수는 있어도 놓치지는 않음)
+ * - 트랜잭션 안이면 완료(commit / rollback) 후 한 번 더 무효화
+ * 		- 실행 직후 ~ commit 사이에 다른 요청이 이전 데이터를 다시 캐시한 경우 제거
+ * - 애플리케이션 밖의 변경(배치 적재 등)은 POST /api/report/secure/cache/invalidate 로 알림
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class TableChangeInterceptor implements Interceptor {
+
+    private final ReportResultCache cache;
+
+    public TableChangeInterceptor(ReportResultCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        Object param = invocation.getArgs()[1];
+
+        List<String> tables = changedTables(ms.getBoundSql(param).getSql());
+        Object result = invocation.proceed();
+        if (tables.isEmpty()) {
+            return result;
+        }
+
+        tables.forEach(cache::invalidate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    tables.forEach(cache::invalidate);
+                }
+            });
+        }
+        return result;
+    }
+
+    /** SQL 에 단어로 나타나는 감시 테이블 **/
+    static List<String> changedTables(String sql) {
+        String upper = sql.toUpperCase(Locale.ROOT);
+        List<String> tables = new ArrayList<>(2);
+
+        for (String table : ReportResultCache.SOURCE_TABLES) {
+            for (int at = upper.indexOf(table); at >= 0; at = upper.indexOf(table, at + 1)) {
+                int end = at + table.length();
+                if ((at == 0 || !isNamePart(upper.charAt(at - 1)))
+                        && (end == upper.length() || !isNamePart(upper.charAt(end)))) {
+                    tables.add(table);
+                    break;
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+}
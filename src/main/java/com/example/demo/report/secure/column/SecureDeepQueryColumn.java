@@ -1,29 +1,46 @@
 package com.example.demo.report.secure.column;
 
-public enum SecureDeepQueryColumn {
+import com.example.demo.report.secure.table.ReportColumn;
 
-    ENTERPRISE_ID("FINAL.enterprise_id"),
-    ENTERPRISE_NAME("FINAL.enterprise_name"),
-    INDUSTRY_CODE("FINAL.industry_code"),
+public enum SecureDeepQueryColumn implements ReportColumn {
 
-    SUBSCRIPTION_ID("FINAL.subscription_id"),
+    ENTERPRISE_ID("FINAL.enterprise_id", ValueType.LONG),
+    ENTERPRISE_NAME("FINAL.enterprise_name", ValueType.TEXT),
+    INDUSTRY_CODE("FINAL.industry_code", ValueType.TEXT),
 
-    TOTAL_REVENUE("FINAL.total_revenue");
+    SUBSCRIPTION_ID("FINAL.subscription_id", ValueType.LONG),
+
+    TOTAL_REVENUE("FINAL.total_revenue", ValueType.DECIMAL);
 
     private final String sql;
+    private final ValueType valueType;
+    // SELECT alias (응답 key)
+    private final String label;
 
-    SecureDeepQueryColumn(String sql) {
+    SecureDeepQueryColumn(String sql, ValueType valueType) {
         this.sql = sql;
+        this.valueType = valueType;
+        this.label = name().toLowerCase();
     }
 
     public String selectSql() {
-        return sql + " AS " + name().toLowerCase();
+        return sql + " AS " + label;
     }
 
     public String rawSql() {
         return sql;
     }
 
+    @Override
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public ValueType valueType() {
+        return valueType;
+    }
+
     public static SecureDeepQueryColumn from(String key) {
         try {
             return valueOf(key);
@@ -1,27 +1,75 @@
 package com.example.demo.report.secure.column;
 
-public enum SecureEnterpriseRiskColumn {
+import com.example.demo.report.secure.table.ReportColumn;
 
-    ENTERPRISE_NAME("b.enterprise_name"),
-    INDUSTRY_CODE("b.industry_code"),
-    TOTAL_REVENUE("ia.total_revenue"),
-    AVG_ACTIVE_USERS("ua.avg_active_users"),
-    TOTAL_API_CALLS("ua.total_api_calls");
+public enum SecureEnterpriseRiskColumn implements ReportColumn {
+
+    ENTERPRISE_NAME("b.enterprise_name", ValueType.TEXT),
+    INDUSTRY_CODE("b.industry_code", ValueType.TEXT),
+    TOTAL_REVENUE("ia.total_revenue", ValueType.DECIMAL),
+    AVG_ACTIVE_USERS("ua.avg_active_users", ValueType.DOUBLE),
+    TOTAL_API_CALLS("ua.total_api_calls", ValueType.LONG);
+
+    /** 칼럼이 읽는 FROM 항목 (rawSql 의 alias prefix, EnterpriseRiskJoins 참고) **/
+    public enum Source {
+        BASE("b"),      // BASE_SUBS (기업 + 구독)
+        INVOICE("ia"),  // INVOICE_AGG (INVOICES 구독별 합계)
+        USAGE("ua");    // USAGE_AGG (USAGE_LOGS 구독별 집계)
+
+        private final String alias;
+
+        Source(String alias) {
+            this.alias = alias;
+        }
+
+        public String alias() {
+            return alias;
+        }
+
+        static Source of(String sql) {
+            String alias = sql.substring(0, sql.indexOf('.'));
+            for (Source s : values()) {
+                if (s.alias.equals(alias)) return s;
+            }
+            throw new IllegalStateException("알 수 없는 alias: " + sql);
+        }
+    }
 
     private final String sql;
+    private final Source source;
+    private final ValueType valueType;
+    // SELECT alias (응답 key)
+    private final String label;
 
-    SecureEnterpriseRiskColumn(String sql) {
+    SecureEnterpriseRiskColumn(String sql, ValueType valueType) {
         this.sql = sql;
+        this.source = Source.of(sql);
+        this.valueType = valueType;
+        this.label = name().toLowerCase();
     }
 
     public String selectSql() {
-        return sql + " AS " + name().toLowerCase();
+        return sql + " AS " + label;
     }
 
     public String rawSql() {
         return sql;
     }
 
+    public Source source() {
+        return source;
+    }
+
+    @Override
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public ValueType valueType() {
+        return valueType;
+    }
+
     public static SecureEnterpriseRiskColumn from(String key) {
         try {
             return valueOf(key);
@@ -1,10 +1,13 @@
 package com.example.demo.report.secure.deepquery;
 
 import com.example.demo.report.secure.dto.SecureDeepQueryRequest;
+import com.example.demo.report.secure.page.ReportPage;
+import com.example.demo.report.secure.stream.ReportRowWriter;
+import com.example.demo.report.secure.table.ReportTable;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/report/secure/deepquery")
@@ -17,9 +20,37 @@ public class SecureDeepQueryController {
     }
 
     @PostMapping("/execute")
-    public List<Map<String, Object>> execute(
+    public ReportTable execute(
             @RequestBody SecureDeepQueryRequest req
     ) {
         return service.execute(req);
     }
+
+    /**
+     * keyset 페이지 (limit: 페이지 크기, after: 직전 응답의 next)
+     * - 응답: {"rows": [...], "next": {"values": [...]}} (마지막 페이지면 next = null)
+     */
+    @PostMapping("/execute/page")
+    public ReportPage page(
+            @RequestBody SecureDeepQueryRequest req
+    ) {
+        return service.page(req);
+    }
+
+    /**
+     * 같은 리포트 스트리밍 (결과를 모으지 않고 행 단위로 응답에 기록)
+     * - format: ndjson (기본, application/x-ndjson) / csv (text/csv, 첫 줄 헤더)
+     */
+    @PostMapping("/execute/stream")
+    public void stream(
+            @RequestBody SecureDeepQueryRequest req,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ReportRowWriter.Format f = ReportRowWriter.Format.from(format);
+
+        response.setContentType(f.contentType());
+        response.setCharacterEncoding("UTF-8");
+        service.stream(req, f, response.getOutputStream());
+    }
 }
@@ -1,12 +1,17 @@
 package com.example.demo.report.secure.deepquery;
 
-import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.session.ResultHandler;
+
 import com.example.demo.securesql.annotation.SecureSqlRequired;
 
 public interface SecureDeepQueryMapper {
 	
 	@SecureSqlRequired
-    List<Map<String, Object>> execute(Map<String, Object> param);
+    void execute(Map<String, Object> param, ResultHandler<Map<String, Object>> handler);
+
+	// 같은 SQL, 결과를 모으지 않고 한 행씩 handler 로 전달
+	@SecureSqlRequired
+    void stream(Map<String, Object> param, ResultHandler<Map<String, Object>> handler);
 }
@@ -1,9 +1,20 @@
 package com.example.demo.report.secure.deepquery;
 
+import com.example.demo.report.secure.bind.BucketedInList;
+import com.example.demo.report.secure.bind.ReportIdSet;
 import com.example.demo.report.secure.column.SecureDeepQueryColumn;
 import com.example.demo.report.secure.dto.SecureDeepQueryRequest;
+import com.example.demo.report.secure.page.KeysetPage;
+import com.example.demo.report.secure.page.ReportPage;
+import com.example.demo.report.secure.stream.ReportRowWriter;
+import com.example.demo.report.secure.table.ReportTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -11,12 +22,79 @@ import java.util.stream.Collectors;
 public class SecureDeepQueryService {
 
     private final SecureDeepQueryMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ReportIdSet idSet;
+    // enterpriseIds 가 이 개수를 넘으면 IN 목록 대신 임시 테이블(REPORT_ID_SET) JOIN
+    private final int idSetThreshold;
 
-    public SecureDeepQueryService(SecureDeepQueryMapper mapper) {
+    /*
+     * report.id-set.threshold (기본 512, BucketedInList.MAX_SIZE 이하)
+     * 	- 이하: 바인드 변수 IN 목록 (크기 버킷 패딩)
+     * 	- 초과: ReportIdSet 적재 후 JOIN (IdSetCrossoverBenchmark 로 교차 지점 측정)
+     */
+    public SecureDeepQueryService(SecureDeepQueryMapper mapper, ObjectMapper objectMapper, ReportIdSet idSet,
+                                  @Value("${report.id-set.threshold:512}") int idSetThreshold) {
+        if (idSetThreshold < 1 || idSetThreshold > BucketedInList.MAX_SIZE) {
+            throw new IllegalArgumentException("report.id-set.threshold 는 1 ~ " + BucketedInList.MAX_SIZE + " 범위여야 합니다: " + idSetThreshold);
+        }
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.idSet = idSet;
+        this.idSetThreshold = idSetThreshold;
     }
 
-    public List<Map<String, Object>> execute(SecureDeepQueryRequest req) {
+    /** 리포트 실행 (행은 요청 칼럼 스키마의 칼럼 배열로 저장, ReportTable 참고) **/
+    @Transactional
+    public ReportTable execute(SecureDeepQueryRequest req) {
+        ReportTable table = new ReportTable(columns(req));
+        mapper.execute(params(req), table);
+        return table;
+    }
+
+    /**
+     * keyset 페이지 (정렬 키: orderByColumns, 같은 방향 orderByDir)
+     * - GROUP BY 결과 행이 정렬 키로 유일해야 하므로 groupByColumns 전체가 orderByColumns 에 포함되어야 함
+     * - 요청 limit 은 페이지 크기, after 는 직전 페이지 응답의 next
+     */
+    @Transactional
+    public ReportPage page(SecureDeepQueryRequest req) {
+        List<SecureDeepQueryColumn> order = req.getOrderByColumns().stream()
+                .map(SecureDeepQueryColumn::from)
+                .toList();
+        List<SecureDeepQueryColumn> group = req.getGroupByColumns().stream()
+                .map(SecureDeepQueryColumn::from)
+                .toList();
+        if (!order.containsAll(group)) {
+            throw new IllegalArgumentException("keyset 페이지는 groupByColumns 전체를 orderByColumns 에 포함해야 합니다");
+        }
+
+        KeysetPage page = new KeysetPage(order.stream().map(SecureDeepQueryColumn::rawSql).toList(),
+                order.stream().map(SecureDeepQueryColumn::valueType).toList(),
+                req.getOrderByDir(), req.getLimit(), req.getAfter());
+        Map<String, Object> param = params(req);
+        param.put("orderByColumns", page.orderByList());
+        page.bind(param);
+
+        KeysetPage.Collector collector = page.collector(new ReportTable(columns(req)));
+        mapper.execute(param, collector);
+        return collector.page();
+    }
+
+    /** 같은 리포트를 한 행씩 out 으로 스트리밍 (NDJSON / CSV) **/
+    @Transactional
+    public void stream(SecureDeepQueryRequest req, ReportRowWriter.Format format, OutputStream out) throws IOException {
+        ReportRowWriter writer = new ReportRowWriter(out, format, columns(req), objectMapper);
+        mapper.stream(params(req), writer);
+        writer.finish();
+    }
+
+    private static List<SecureDeepQueryColumn> columns(SecureDeepQueryRequest req) {
+        return req.getSelectColumns().stream()
+                .map(SecureDeepQueryColumn::from)
+                .toList();
+    }
+
+    private Map<String, Object> params(SecureDeepQueryRequest req) {
 
         String selectColumns = req.getSelectColumns().stream()
                 .map(SecureDeepQueryColumn::from)
@@ -28,9 +106,11 @@ public class SecureDeepQueryService {
                 .map(SecureDeepQueryColumn::rawSql)
                 .collect(Collectors.joining(", "));
 
+        // 정렬 방향은 keyset 페이지와 같은 검증 (ASC / DESC 외 값은 거부)
+        String dir = KeysetPage.direction(req.getOrderByDir());
         String orderByColumns = req.getOrderByColumns().stream()
                 .map(SecureDeepQueryColumn::from)
-                .map(c -> c.rawSql() + " " + req.getOrderByDir())
+                .map(c -> c.rawSql() + " " + dir)
                 .collect(Collectors.joining(", "));
 
         // ✅ NPE 방지 (중요)
@@ -47,9 +127,21 @@ public class SecureDeepQueryService {
         param.put("orderByColumns", orderByColumns);
         param.put("inConditionColumns", inConditionColumns);
 
-        param.put("enterpriseIds", req.getEnterpriseIds());
+        // ID 집합: threshold 이하면 바인드 변수 IN 목록 (크기 버킷 패딩), 초과면 임시 테이블 JOIN
+        long[] ids = BucketedInList.distinctSorted(req.getEnterpriseIds(), "enterpriseIds", ReportIdSet.MAX_SIZE);
+        if (ids.length > idSetThreshold) {
+            idSet.load(ids);
+            param.put("idSet", true);
+        } else {
+            param.put("enterpriseIds", BucketedInList.of(ids));
+            param.put("idSet", false);
+        }
         param.put("minRevenue", req.getMinRevenue());
 
-        return mapper.execute(param);
+        // 행 제한 모드 (FETCH FIRST #{limit} ROWS ONLY)
+        if (req.getLimit() != null) {
+            param.put("limit", KeysetPage.rowLimit(req.getLimit(), KeysetPage.MAX_ROW_LIMIT));
+        }
+        return param;
     }
 }
@@ -1,5 +1,7 @@
 package com.example.demo.report.secure.dto;
 
+import com.example.demo.report.secure.page.ReportCursor;
+
 import java.util.List;
 
 public class SecureDeepQueryRequest {
@@ -15,6 +17,11 @@ public class SecureDeepQueryRequest {
     private Long minRevenue;
     private String orderByDir;
 
+    // 행 제한 (리포트: FETCH FIRST n ROWS ONLY / 페이지: 페이지 크기)
+    private Integer limit;
+    // keyset 페이지 위치 (직전 페이지 응답의 next, 첫 페이지면 null)
+    private ReportCursor after;
+
     public List<String> getSelectColumns() { return selectColumns; }
     public List<String> getGroupByColumns() { return groupByColumns; }
     public List<String> getOrderByColumns() { return orderByColumns; }
@@ -25,4 +32,6 @@ public class SecureDeepQueryRequest {
     public String getToDate() { return toDate; }
     public Long getMinRevenue() { return minRevenue; }
     public String getOrderByDir() { return orderByDir; }
+    public Integer getLimit() { return limit; }
+    public ReportCursor getAfter() { return after; }
 }
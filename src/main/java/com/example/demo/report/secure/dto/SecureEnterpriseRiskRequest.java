@@ -1,13 +1,20 @@
 package com.example.demo.report.secure.dto;
 
+import com.example.demo.report.secure.page.ReportCursor;
+
 import java.util.List;
 
 public class SecureEnterpriseRiskRequest {
 
     private List<String> columns;
-    private String enterpriseIds;
+    private List<Long> enterpriseIds;
     private OrderBy orderBy;
 
+    // 행 제한 (리포트: FETCH FIRST n ROWS ONLY / 페이지: 페이지 크기)
+    private Integer limit;
+    // keyset 페이지 위치 (직전 페이지 응답의 next, 첫 페이지면 null)
+    private ReportCursor after;
+
     public static class OrderBy {
         private String key;
         private String dir;
@@ -17,6 +24,8 @@ public class SecureEnterpriseRiskRequest {
     }
 
     public List<String> getColumns() { return columns; }
-    public String getEnterpriseIds() { return enterpriseIds; }
+    public List<Long> getEnterpriseIds() { return enterpriseIds; }
     public OrderBy getOrderBy() { return orderBy; }
+    public Integer getLimit() { return limit; }
+    public ReportCursor getAfter() { return after; }
 }
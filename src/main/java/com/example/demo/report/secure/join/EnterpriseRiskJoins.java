@@ -0,0 +1,70 @@
+package com.example.demo.report.secure.join;
+
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn.Source;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * enterprise-risk 리포트 JOIN 선택 (요청 칼럼이 읽는 FROM 항목만 조인)
+ *
+ * - 필요한 FROM 항목 = SELECT 칼럼 + 정렬 칼럼의 Source (rawSql alias: b / ia / ua)
+ * 		- BASE_SUBS(b) 는 항상 포함 (keyset 페이지 행 키 b.subscription_id 포함)
+ * - 조인하지 않는 집계는 EXISTS 로 대체
+ * 		- 원래 INNER JOIN 은 "청구서 / 사용 로그가 하나라도 있는 구독" 만 남기므로 결과 행 집합을 그대로 유지
+ * 		- EXISTS 는 구독 한 건당 한 행만 확인 (테이블 전체 GROUP BY 집계 없음)
+ *
+ * Mapper XML 파라미터 (bind)
+ * 	- joinInvoice : INVOICE_AGG (ia) 조인 여부 (false 면 EXISTS INVOICES)
+ * 	- joinUsage   : USAGE_AGG (ua) 조인 여부 (false 면 EXISTS USAGE_LOGS)
+ *
+ * 가능한 JOIN 모양은 variants() 4 가지 (EnterpriseRiskVariantVerifier 가 시작 시 전부 검증)
+ */
+public final class EnterpriseRiskJoins {
+
+    private EnterpriseRiskJoins() {
+    }
+
+    /** 칼럼들이 읽는 FROM 항목 (BASE 항상 포함) **/
+    public static EnumSet<Source> required(Collection<SecureEnterpriseRiskColumn> cols, SecureEnterpriseRiskColumn orderBy) {
+        EnumSet<Source> sources = EnumSet.of(Source.BASE);
+        for (SecureEnterpriseRiskColumn c : cols) {
+            sources.add(c.source());
+        }
+        if (orderBy != null) {
+            sources.add(orderBy.source());
+        }
+        return sources;
+    }
+
+    /** Mapper 파라미터에 joinInvoice / joinUsage 추가 **/
+    public static void bind(Map<String, Object> param, EnumSet<Source> sources) {
+        param.put("joinInvoice", sources.contains(Source.INVOICE));
+        param.put("joinUsage", sources.contains(Source.USAGE));
+    }
+
+    /** 가능한 JOIN 모양 전체 (BASE + INVOICE / USAGE 조합) **/
+    public static List<EnumSet<Source>> variants() {
+        List<EnumSet<Source>> variants = new ArrayList<>(4);
+        for (int mask = 0; mask < 4; mask++) {
+            EnumSet<Source> sources = EnumSet.of(Source.BASE);
+            if ((mask & 1) != 0) sources.add(Source.INVOICE);
+            if ((mask & 2) != 0) sources.add(Source.USAGE);
+            variants.add(sources);
+        }
+        return variants;
+    }
+
+    /** 해당 FROM 항목만 읽는 칼럼 전체 (variants 검증용 SELECT 목록) **/
+    public static List<SecureEnterpriseRiskColumn> columnsOf(EnumSet<Source> sources) {
+        List<SecureEnterpriseRiskColumn> cols = new ArrayList<>();
+        for (SecureEnterpriseRiskColumn c : SecureEnterpriseRiskColumn.values()) {
+            if (sources.contains(c.source())) cols.add(c);
+        }
+        return cols;
+    }
+}
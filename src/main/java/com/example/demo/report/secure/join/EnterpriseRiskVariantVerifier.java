@@ -0,0 +1,82 @@
+package com.example.demo.report.secure.join;
+
+import com.example.demo.report.secure.bind.BucketedInList;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn.Source;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ValidationResult;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * enterprise-risk 리포트 JOIN 모양 사전 검증
+ *
+ * - 시작 시 (정책 설정 / 화이트리스트 로딩 후) cte / subquery Statement 를 EnterpriseRiskJoins.variants() 전부로 렌더링하여 OracleValidator 검증
+ * 		- 각 모양은 그 FROM 항목의 칼럼 전체를 SELECT (조인한 alias 를 모두 참조)
+ * - 하나라도 차단되면 시작 실패 (요청 시점에 특정 칼럼 조합에서만 드러나는 차단 방지)
+ * - 요청 시 검증(SqlSecurityInterceptor)은 그대로 수행
+ */
+@Slf4j
+@Component
+public class EnterpriseRiskVariantVerifier {
+
+    private static final List<String> STATEMENTS = List.of(
+            "com.example.demo.report.secure.cte.SecureCteMapper.selectEnterpriseRisk",
+            "com.example.demo.report.secure.subquery.SecureSubQueryMapper.selectEnterpriseRisk");
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public EnterpriseRiskVariantVerifier(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        List<String> rejected = new ArrayList<>();
+        int checked = 0;
+
+        for (String id : STATEMENTS) {
+            for (EnumSet<Source> variant : EnterpriseRiskJoins.variants()) {
+                String sql = configuration.getMappedStatement(id).getBoundSql(param(variant)).getSql();
+                ValidationResult result = OracleValidator.check(sql, ParseExecutor.Lane.STATEMENT);
+                checked++;
+
+                if (!result.isAccepted()) {
+                    rejected.add(id + " " + variant + ": " + result.getMessage());
+                }
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            throw new IllegalStateException("enterprise-risk JOIN 모양 검증 실패: " + rejected);
+        }
+        log.info("[REPORT][JOIN] enterprise-risk variants verified={}", checked);
+    }
+
+    private static Map<String, Object> param(EnumSet<Source> variant) {
+        List<SecureEnterpriseRiskColumn> cols = EnterpriseRiskJoins.columnsOf(variant);
+
+        Map<String, Object> param = new HashMap<>();
+        param.put("selectColumns", cols.stream()
+                .map(SecureEnterpriseRiskColumn::selectSql)
+                .collect(Collectors.joining(", ")));
+        param.put("enterpriseIds", BucketedInList.of(List.of(1L), "enterpriseIds"));
+        param.put("orderByClause", "");
+        EnterpriseRiskJoins.bind(param, variant);
+        return param;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.demo.report.secure.page;
+
+import com.example.demo.report.secure.table.ReportColumn;
+import com.example.demo.report.secure.table.ReportTable;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * keyset(seek) 페이지 조건
+ *
+ * - 정렬 키 (k1, k2, ... kn) 는 행을 유일하게 구분해야 함 (마지막 키는 PK 등 유일 칼럼)
+ * - 다음 페이지 조건: 직전 페이지 마지막 행 (v1 ... vn) 보다 뒤에 오는 행
+ * 		k1 > v1 OR (k1 = v1 AND (k2 > v2 OR (k2 = v2 AND ... kn > vn)))   (DESC 는 <)
+ * 		- OFFSET 없이 정렬 인덱스 범위의 다음 위치부터 읽음 (앞 페이지를 다시 읽고 버리지 않음)
+ * - 값과 행 수는 모두 바인드 변수 (#{seek[i].value}, FETCH FIRST #{limit} ROWS ONLY)
+ * 		- SQL 문자열에 들어가는 것은 칼럼 enum 의 rawSql / 방향 (ASC, DESC) 뿐
+ * - limit + 1 행을 조회하여 다음 페이지 존재 여부 판단 (마지막 페이지면 next = null)
+ * - 정렬 키가 NULL 인 행은 비교 조건에 걸리지 않으므로, 정렬 키는 NULL 이 없는 칼럼을 사용
+ * - after 값은 JSON 에서 형식 없이 들어오므로 정렬 키 칼럼의 ValueType 으로 변환 후 바인드
+ * 		- LONG -> Long, DECIMAL -> BigDecimal (소수 2자리 이내), TEXT -> String
+ * 		- JSON 실수(Double) 로 들어온 DECIMAL 값은 10진 표기 그대로 BigDecimal 로 변환 (15자리 이내라 손실 없음)
+ * 		- DOUBLE (평균 등) 칼럼은 값이 정확히 왕복되지 않아 경계 행이 빠지거나 중복될 수 있으므로 정렬 키로 허용하지 않음
+ *
+ * Mapper XML 파라미터 (bind)
+ * 	- seek       : List<SeekTerm> (첫 페이지면 null)
+ * 	- seekClose  : seek 조건을 닫는 괄호
+ * 	- limit      : 조회 행 수 (페이지 크기 + 1)
+ * 	- pageKeys   : SELECT 목록에 덧붙일 정렬 키 칼럼 (", k1 AS page_k0, ...", 다음 페이지 위치 계산용)
+ */
+public class KeysetPage {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    /** 행 제한 모드 (페이지 없이 FETCH FIRST n ROWS ONLY) 최대 행 수 **/
+    public static final int MAX_ROW_LIMIT = 100_000;
+
+    // 정렬 키 칼럼 alias 접두어 (응답 ReportTable 에는 포함되지 않음)
+    private static final String KEY_ALIAS = "page_k";
+
+    private final List<String> keys;
+    private final boolean descending;
+    private final int pageSize;
+    // 직전 페이지 마지막 행의 정렬 키 값 (정렬 키 형식으로 변환됨, 첫 페이지면 null)
+    private final List<Object> after;
+
+    /**
+     * @param keys 정렬 키 칼럼 표현식 (칼럼 enum rawSql, 행을 유일하게 구분하는 순서)
+     * @param keyTypes 정렬 키 칼럼 값 형식 (keys 와 같은 순서, DOUBLE 은 허용하지 않음)
+     * @param dir ASC / DESC (null 이면 ASC)
+     * @param pageSize 페이지 크기 (null 이면 DEFAULT_PAGE_SIZE)
+     * @param after 직전 페이지의 next (첫 페이지면 null)
+     */
+    public KeysetPage(List<String> keys, List<ReportColumn.ValueType> keyTypes, String dir, Integer pageSize, ReportCursor after) {
+        if (keyTypes.size() != keys.size()) {
+            throw new IllegalArgumentException("정렬 키와 값 형식의 개수가 다릅니다");
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (keyTypes.get(i) == ReportColumn.ValueType.DOUBLE) {
+                throw new IllegalArgumentException("실수형 칼럼은 keyset 페이지 정렬 키로 사용할 수 없습니다: " + keys.get(i));
+            }
+        }
+
+        this.keys = List.copyOf(keys);
+        this.descending = "DESC".equals(direction(dir));
+        this.pageSize = (pageSize == null) ? DEFAULT_PAGE_SIZE : rowLimit(pageSize, MAX_PAGE_SIZE);
+
+        if (after == null) {
+            this.after = null;
+            return;
+        }
+        if (after.getValues() == null || after.getValues().size() != keys.size()) {
+            throw new IllegalArgumentException("페이지 위치(after)의 값 개수가 정렬 키와 다릅니다: " + keys.size());
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            values.add(cursorValue(keyTypes.get(i), after.getValues().get(i)));
+        }
+        this.after = values;
+    }
+
+    /** after 값 하나를 정렬 키 형식으로 변환 (정확히 변환할 수 없는 값은 거부) **/
+    static Object cursorValue(ReportColumn.ValueType type, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("페이지 위치(after)에 null 값이 있습니다");
+        }
+        try {
+            switch (type) {
+                case LONG:
+                    if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                        return ((Number) value).longValue();
+                    }
+                    if (value instanceof BigInteger) {
+                        return ((BigInteger) value).longValueExact();
+                    }
+                    if (value instanceof BigDecimal) {
+                        return ((BigDecimal) value).longValueExact();
+                    }
+                    if (value instanceof String) {
+                        return Long.parseLong((String) value);
+                    }
+                    break;
+
+                case DECIMAL:
+                    BigDecimal decimal = null;
+                    if (value instanceof BigDecimal) {
+                        decimal = (BigDecimal) value;
+                    } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                        decimal = BigDecimal.valueOf(((Number) value).longValue());
+                    } else if (value instanceof BigInteger) {
+                        decimal = new BigDecimal((BigInteger) value);
+                    } else if (value instanceof Double) {
+                        // 최단 10진 표기 기준 변환 (ex. 1234.5 -> 1234.5, 0.1 -> 0.1)
+                        decimal = BigDecimal.valueOf((Double) value);
+                    } else if (value instanceof String) {
+                        decimal = new BigDecimal((String) value);
+                    }
+                    if (decimal != null && decimal.stripTrailingZeros().scale() <= 2) {
+                        return decimal;
+                    }
+                    break;
+
+                case TEXT:
+                    if (value instanceof String) {
+                        return value;
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+        } catch (ArithmeticException | NumberFormatException e) {
+            // 아래에서 거부
+        }
+        throw new IllegalArgumentException("페이지 위치(after) 값이 정렬 키 형식(" + type + ")과 맞지 않습니다: " + value);
+    }
+
+    /** ORDER BY 방향 (ASC / DESC 외 값은 거부) **/
+    public static String direction(String dir) {
+        if (dir == null) return "ASC";
+        String upper = dir.trim().toUpperCase(Locale.ROOT);
+        if (!upper.equals("ASC") && !upper.equals("DESC")) {
+            throw new IllegalArgumentException("허용되지 않은 정렬 방향: " + dir);
+        }
+        return upper;
+    }
+
+    /** 행 제한 값 검증 (1 ~ max) **/
+    public static int rowLimit(int limit, int max) {
+        if (limit < 1 || limit > max) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + max + " 범위여야 합니다: " + limit);
+        }
+        return limit;
+    }
+
+    /** ORDER BY 절 (정렬 키 전체, 같은 방향) **/
+    public String orderByClause() {
+        return " ORDER BY " + orderByList();
+    }
+
+    /** ORDER BY 목록 ("k1 ASC, k2 ASC") **/
+    public String orderByList() {
+        String dir = descending ? " DESC" : " ASC";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(keys.get(i)).append(dir);
+        }
+        return sb.toString();
+    }
+
+    /** Mapper 파라미터에 seek / seekClose / limit / pageKeys 추가 **/
+    public void bind(Map<String, Object> param) {
+        StringBuilder pageKeys = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            pageKeys.append(", ").append(keys.get(i)).append(" AS ").append(KEY_ALIAS).append(i);
+        }
+        param.put("pageKeys", pageKeys.toString());
+        param.put("limit", pageSize + 1);
+
+        if (after == null) {
+            param.put("seek", null);
+            param.put("seekClose", "");
+            return;
+        }
+
+        String op = descending ? "<" : ">";
+        List<SeekTerm> seek = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            seek.add(new SeekTerm(keys.get(i), op, after.get(i), i == keys.size() - 1));
+        }
+        char[] close = new char[2 * (keys.size() - 1)];
+        Arrays.fill(close, ')');
+
+        param.put("seek", seek);
+        param.put("seekClose", new String(close));
+    }
+
+    /** 페이지 행을 table 에 채우는 ResultHandler (limit + 1 번째 행은 다음 페이지 존재 확인용) **/
+    public Collector collector(ReportTable table) {
+        return new Collector(table);
+    }
+
+    public final class Collector implements ResultHandler<Map<String, Object>> {
+        private final ReportTable table;
+        private Map<String, Object> lastRow;
+        private boolean hasMore;
+
+        private Collector(ReportTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public void handleResult(ResultContext<? extends Map<String, Object>> context) {
+            if (table.rowCount() == pageSize) {
+                hasMore = true;
+                context.stop();
+                return;
+            }
+            lastRow = context.getResultObject();
+            table.add(lastRow);
+        }
+
+        /** 이번 페이지 + 다음 페이지 위치 **/
+        public ReportPage page() {
+            if (!hasMore) {
+                return new ReportPage(table, null);
+            }
+
+            List<Object> values = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                Object value = lastRow.get(KEY_ALIAS + i);
+                if (value == null) value = lastRow.get((KEY_ALIAS + i).toUpperCase(Locale.ROOT));
+                values.add(value);
+            }
+            return new ReportPage(table, new ReportCursor(values));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.report.secure.page;
+
+import java.util.List;
+
+/**
+ * keyset 페이지 위치 (직전 페이지 마지막 행의 정렬 키 값)
+ *
+ * - values: 정렬 키 순서대로의 값 (응답의 next 를 그대로 다음 요청의 after 로 전달)
+ * - 값은 SQL 에 바인드 변수로만 전달됨 (SQL 문자열에 포함되지 않음)
+ */
+public class ReportCursor {
+
+    private List<Object> values;
+
+    public ReportCursor() {
+    }
+
+    public ReportCursor(List<Object> values) {
+        this.values = values;
+    }
+
+    public List<Object> getValues() { return values; }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.report.secure.page;
+
+import com.example.demo.report.secure.table.ReportTable;
+
+/**
+ * keyset 페이지 응답
+ *
+ * - rows: 이번 페이지 행 (ReportTable, 기존 리포트 응답과 같은 모양)
+ * - next: 다음 페이지 요청의 after (마지막 페이지이면 null)
+ */
+public class ReportPage {
+
+    private final ReportTable rows;
+    private final ReportCursor next;
+
+    public ReportPage(ReportTable rows, ReportCursor next) {
+        this.rows = rows;
+        this.next = next;
+    }
+
+    public ReportTable getRows() { return rows; }
+    public ReportCursor getNext() { return next; }
+}
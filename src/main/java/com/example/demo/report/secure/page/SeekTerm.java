@@ -0,0 +1,28 @@
+package com.example.demo.report.secure.page;
+
+/**
+ * keyset 조건의 정렬 키 하나 (Mapper XML 의 seek 조건 생성용)
+ *
+ * - sql: 칼럼 표현식 (칼럼 enum 의 rawSql, 요청 값이 아님)
+ * - op: 정렬 방향에 따른 비교 연산자 (ASC: &gt;, DESC: &lt;)
+ * - value: 직전 페이지 마지막 행의 값 (#{} 바인드 변수)
+ */
+public class SeekTerm {
+
+    private final String sql;
+    private final String op;
+    private final Object value;
+    private final boolean last;
+
+    SeekTerm(String sql, String op, Object value, boolean last) {
+        this.sql = sql;
+        this.op = op;
+        this.value = value;
+        this.last = last;
+    }
+
+    public String getSql() { return sql; }
+    public String getOp() { return op; }
+    public Object getValue() { return value; }
+    public boolean isLast() { return last; }
+}
@@ -0,0 +1,188 @@
+package com.example.demo.report.secure.stream;
+
+import com.example.demo.report.secure.table.ReportColumn;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 리포트 결과 스트리밍 ResultHandler
+ *
+ * - Mapper 가 ResultSet 에서 한 행을 읽을 때마다 바로 HTTP 응답에 기록 (전체 결과를 List 로 모으지 않음)
+ * - 메모리는 행 한 건 + 출력 버퍼 크기로 일정, 첫 행이 읽히는 즉시 응답 시작
+ * - NDJSON: 한 줄에 한 행 (JSON 객체) / CSV: 첫 줄 헤더 + 한 줄에 한 행
+ * - 칼럼 순서 / key 는 요청 칼럼 스키마(ReportColumn) 기준 (resultType=map 은 순서가 없고 NULL 칼럼은 key 가 없음)
+ * 		- NDJSON key 는 칼럼마다 한 번만 인코딩, 행을 문자열로 만들지 않고 generator 로 바로 기록
+ * - SQL 검증은 Mapper 실행 경로 그대로 (SqlSecurityInterceptor, 첫 행 기록 전에 차단)
+ */
+public class ReportRowWriter implements ResultHandler<Map<String, Object>> {
+
+    /** 출력 형식 **/
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        /** 요청 파라미터 값 -> 형식 (대소문자 무시) **/
+        public static Format from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("지원하지 않는 출력 형식: " + value);
+            }
+        }
+    }
+
+    // 첫 행은 즉시, 이후에는 이 행 수마다 flush (클라이언트가 진행 상황을 받을 수 있도록)
+    private static final int FLUSH_EVERY = 256;
+
+    private final Writer writer;
+    private final Format format;
+    private final ReportColumn[] columns;
+    // NDJSON 전용 (CSV 는 null)
+    private final JsonGenerator json;
+    private final SerializedString[] keys;
+
+    private long rows;
+
+    /**
+     * @param columns 출력할 칼럼 (요청 순서)
+     */
+    public ReportRowWriter(OutputStream out, Format format, List<? extends ReportColumn> columns,
+                           ObjectMapper objectMapper) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.format = format;
+        this.columns = columns.toArray(new ReportColumn[0]);
+
+        if (format == Format.NDJSON) {
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            // 줄 구분은 직접 기록 (루트 값 사이 기본 구분자 사용 안 함)
+            this.json.setRootValueSeparator(null);
+            this.keys = new SerializedString[this.columns.length];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = new SerializedString(this.columns[i].label());
+            }
+        } else {
+            this.json = null;
+            this.keys = null;
+        }
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends Map<String, Object>> context) {
+        try {
+            if (rows == 0 && format == Format.CSV) {
+                writeCsvHeader();
+            }
+
+            Map<String, Object> row = context.getResultObject();
+            if (format == Format.NDJSON) {
+                writeJsonRow(row);
+            } else {
+                writeCsvRow(row);
+                writer.write('\n');
+            }
+
+            if (++rows == 1 || rows % FLUSH_EVERY == 0) {
+                flush();
+            }
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 등: 예외로 ResultSet 읽기 중단 (남은 행을 읽지 않음)
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 남은 출력 기록 (결과가 없으면 CSV 는 헤더만) **/
+    public void finish() throws IOException {
+        if (rows == 0 && format == Format.CSV) {
+            writeCsvHeader();
+        }
+        flush();
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    private void flush() throws IOException {
+        if (json != null) {
+            json.flush();
+        } else {
+            writer.flush();
+        }
+    }
+
+    /** 한 행 JSON 객체 + 줄바꿈 (NULL 칼럼은 key 생략, resultType=map 과 동일) **/
+    private void writeJsonRow(Map<String, Object> row) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            Object value = columns[i].read(row);
+            if (value == null) continue;
+
+            json.writeFieldName(keys[i]);
+            if (value instanceof String) {
+                json.writeString((String) value);
+            } else {
+                json.writeObject(value);
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeCsvHeader() throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) writer.write(',');
+            writeCsvValue(columns[i].label());
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvRow(Map<String, Object> row) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) writer.write(',');
+            Object value = columns[i].read(row);
+            if (value != null) {
+                writeCsvValue(value.toString());
+            }
+        }
+    }
+
+    /** RFC 4180: 쉼표 / 따옴표 / 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 **/
+    private void writeCsvValue(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = (c == ',' || c == '"' || c == '\n' || c == '\r');
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
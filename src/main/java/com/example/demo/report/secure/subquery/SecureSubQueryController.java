@@ -1,10 +1,14 @@
 package com.example.demo.report.secure.subquery;
 
 import com.example.demo.report.secure.dto.SecureEnterpriseRiskRequest;
+import com.example.demo.report.secure.page.ReportPage;
+import com.example.demo.report.secure.stream.ReportRowWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/report/secure/subquery")
@@ -16,10 +20,43 @@ public class SecureSubQueryController {
         this.service = service;
     }
 
+    /**
+     * 리포트 (결과 캐시 사용, ReportResultCache)
+     * - Accept-Encoding: gzip 이면 캐시된 압축 JSON 을 그대로 응답 (Content-Encoding: gzip)
+     */
     @PostMapping("/enterprise-risk")
-    public List<Map<String, Object>> report(
+    public ResponseEntity<byte[]> report(
+            @RequestBody SecureEnterpriseRiskRequest req,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws IOException {
+        return service.cached(req).toResponse(acceptEncoding);
+    }
+
+    /**
+     * keyset 페이지 (limit: 페이지 크기, after: 직전 응답의 next)
+     * - 응답: {"rows": [...], "next": {"values": [...]}} (마지막 페이지면 next = null)
+     */
+    @PostMapping("/enterprise-risk/page")
+    public ReportPage page(
             @RequestBody SecureEnterpriseRiskRequest req
     ) {
-        return service.execute(req);
+        return service.page(req);
+    }
+
+    /**
+     * 같은 리포트 스트리밍 (결과를 모으지 않고 행 단위로 응답에 기록)
+     * - format: ndjson (기본, application/x-ndjson) / csv (text/csv, 첫 줄 헤더)
+     */
+    @PostMapping("/enterprise-risk/stream")
+    public void stream(
+            @RequestBody SecureEnterpriseRiskRequest req,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ReportRowWriter.Format f = ReportRowWriter.Format.from(format);
+
+        response.setContentType(f.contentType());
+        response.setCharacterEncoding("UTF-8");
+        service.stream(req, f, response.getOutputStream());
     }
 }
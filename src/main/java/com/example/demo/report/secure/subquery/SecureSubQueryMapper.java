@@ -1,8 +1,15 @@
 package com.example.demo.report.secure.subquery;
 
-import java.util.List;
 import java.util.Map;
 
+import org.apache.ibatis.session.ResultHandler;
+
+import com.example.demo.securesql.annotation.SecureSqlRequired;
+
 public interface SecureSubQueryMapper {
-    List<Map<String, Object>> selectEnterpriseRisk(Map<String, Object> param);
+    void selectEnterpriseRisk(Map<String, Object> param, ResultHandler<Map<String, Object>> handler);
+
+	// 같은 SQL, 결과를 모으지 않고 한 행씩 handler 로 전달
+	@SecureSqlRequired
+    void streamEnterpriseRisk(Map<String, Object> param, ResultHandler<Map<String, Object>> handler);
 }
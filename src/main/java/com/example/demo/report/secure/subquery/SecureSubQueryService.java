@@ -1,9 +1,22 @@
 package com.example.demo.report.secure.subquery;
 
+import com.example.demo.report.secure.bind.BucketedInList;
+import com.example.demo.report.secure.cache.CachedReport;
+import com.example.demo.report.secure.cache.ReportCacheKey;
+import com.example.demo.report.secure.cache.ReportResultCache;
 import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
 import com.example.demo.report.secure.dto.SecureEnterpriseRiskRequest;
+import com.example.demo.report.secure.join.EnterpriseRiskJoins;
+import com.example.demo.report.secure.page.KeysetPage;
+import com.example.demo.report.secure.page.ReportPage;
+import com.example.demo.report.secure.stream.ReportRowWriter;
+import com.example.demo.report.secure.table.ReportColumn;
+import com.example.demo.report.secure.table.ReportTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -11,37 +24,120 @@ import java.util.stream.Collectors;
 public class SecureSubQueryService {
 
     private final SecureSubQueryMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final ReportResultCache cache;
 
-    public SecureSubQueryService(SecureSubQueryMapper mapper) {
+    // keyset 페이지 마지막 정렬 키 (b = 구독 단위 행, subscription_id 로 행 유일)
+    private static final String ROW_KEY = "b.subscription_id";
+
+    public SecureSubQueryService(SecureSubQueryMapper mapper, ObjectMapper objectMapper, ReportResultCache cache) {
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+    }
+
+    /** 리포트 실행 (행은 요청 칼럼 스키마의 칼럼 배열로 저장, ReportTable 참고) **/
+    public ReportTable execute(SecureEnterpriseRiskRequest req) {
+        List<SecureEnterpriseRiskColumn> cols = columns(req);
+
+        ReportTable table = new ReportTable(cols);
+        mapper.selectEnterpriseRisk(params(req, cols), table);
+        return table;
+    }
+
+    /**
+     * 리포트 실행 결과 JSON (ReportResultCache, 요청 모양이 같으면 원본 테이블 변경 / TTL 전까지 재사용)
+     * - miss 시 execute 결과를 직렬화하여 저장 (SQL 검증을 통과한 결과만 저장됨)
+     */
+    public CachedReport cached(SecureEnterpriseRiskRequest req) throws IOException {
+        return cache.get(cacheKey(req, columns(req)), () -> objectMapper.writeValueAsBytes(execute(req)));
     }
 
-    public List<Map<String, Object>> execute(SecureEnterpriseRiskRequest req) {
+    /**
+     * keyset 페이지 (정렬 키: 요청 orderBy 칼럼 + subscription_id)
+     * - 요청 limit 은 페이지 크기, after 는 직전 페이지 응답의 next
+     */
+    public ReportPage page(SecureEnterpriseRiskRequest req) {
+        List<SecureEnterpriseRiskColumn> cols = columns(req);
 
-        List<SecureEnterpriseRiskColumn> cols =
-                req.getColumns().stream()
-                        .map(SecureEnterpriseRiskColumn::from)
-                        .toList();
+        List<String> keys = new ArrayList<>();
+        List<ReportColumn.ValueType> keyTypes = new ArrayList<>();
+        String dir = null;
+        if (req.getOrderBy() != null) {
+            SecureEnterpriseRiskColumn orderBy = SecureEnterpriseRiskColumn.from(req.getOrderBy().getKey());
+            keys.add(orderBy.rawSql());
+            keyTypes.add(orderBy.valueType());
+            dir = req.getOrderBy().getDir();
+        }
+        keys.add(ROW_KEY);
+        keyTypes.add(ReportColumn.ValueType.LONG);
+
+        KeysetPage page = new KeysetPage(keys, keyTypes, dir, req.getLimit(), req.getAfter());
+        Map<String, Object> param = params(req, cols);
+        param.put("orderByClause", page.orderByClause());
+        page.bind(param);
+
+        KeysetPage.Collector collector = page.collector(new ReportTable(cols));
+        mapper.selectEnterpriseRisk(param, collector);
+        return collector.page();
+    }
+
+    /** 같은 리포트를 한 행씩 out 으로 스트리밍 (NDJSON / CSV) **/
+    public void stream(SecureEnterpriseRiskRequest req, ReportRowWriter.Format format, OutputStream out) throws IOException {
+        List<SecureEnterpriseRiskColumn> cols = columns(req);
+
+        ReportRowWriter writer = new ReportRowWriter(out, format, cols, objectMapper);
+        mapper.streamEnterpriseRisk(params(req, cols), writer);
+        writer.finish();
+    }
+
+    private static List<SecureEnterpriseRiskColumn> columns(SecureEnterpriseRiskRequest req) {
+        return req.getColumns().stream()
+                .map(SecureEnterpriseRiskColumn::from)
+                .toList();
+    }
+
+    // 캐시 key: 칼럼 집합 / 정렬 / ID 집합 / 행 제한 (ReportCacheKey 참고)
+    private static String cacheKey(SecureEnterpriseRiskRequest req, List<SecureEnterpriseRiskColumn> cols) {
+        SecureEnterpriseRiskRequest.OrderBy ob = req.getOrderBy();
+        return ReportCacheKey.of("subquery")
+                .columns(cols.stream().map(SecureEnterpriseRiskColumn::label).toList())
+                .orderBy(ob == null ? null : SecureEnterpriseRiskColumn.from(ob.getKey()).label(),
+                         ob == null ? null : ob.getDir())
+                .ids(BucketedInList.distinctSorted(req.getEnterpriseIds(), "enterpriseIds"))
+                .limit(req.getLimit())
+                .build();
+    }
+
+    private static Map<String, Object> params(SecureEnterpriseRiskRequest req, List<SecureEnterpriseRiskColumn> cols) {
 
         String selectColumns = cols.stream()
                 .map(SecureEnterpriseRiskColumn::selectSql)
                 .collect(Collectors.joining(", "));
 
         String orderByClause = "";
+        SecureEnterpriseRiskColumn ob = null;
         if (req.getOrderBy() != null) {
-            SecureEnterpriseRiskColumn ob =
-                    SecureEnterpriseRiskColumn.from(req.getOrderBy().getKey());
+            ob = SecureEnterpriseRiskColumn.from(req.getOrderBy().getKey());
 
             orderByClause =
                     " ORDER BY " + ob.rawSql() +
-                    " " + req.getOrderBy().getDir();
+                    " " + KeysetPage.direction(req.getOrderBy().getDir());
         }
 
         Map<String, Object> param = new HashMap<>();
         param.put("selectColumns", selectColumns);
-        param.put("enterpriseIds", req.getEnterpriseIds());
+        // IN 목록: 바인드 변수 + 크기 버킷 패딩 (ID 집합이 달라도 SQL 모양은 버킷 수만큼)
+        param.put("enterpriseIds", BucketedInList.of(req.getEnterpriseIds(), "enterpriseIds"));
         param.put("orderByClause", orderByClause);
 
-        return mapper.selectEnterpriseRisk(param);
+        // SELECT / ORDER BY 칼럼이 읽는 집계만 조인 (EnterpriseRiskJoins)
+        EnterpriseRiskJoins.bind(param, EnterpriseRiskJoins.required(cols, ob));
+
+        // 행 제한 모드 (FETCH FIRST #{limit} ROWS ONLY)
+        if (req.getLimit() != null) {
+            param.put("limit", KeysetPage.rowLimit(req.getLimit(), KeysetPage.MAX_ROW_LIMIT));
+        }
+        return param;
     }
 }
@@ -0,0 +1,40 @@
+package com.example.demo.report.secure.table;
+
+import java.util.Map;
+
+/**
+ * 리포트 칼럼 스키마 (SecureEnterpriseRiskColumn / SecureDeepQueryColumn 이 구현)
+ *
+ * - label: SELECT 절 alias (= 응답 JSON key / CSV 헤더)
+ * - valueType: 행 저장 / 직렬화 형식 (ReportTable 참고)
+ */
+public interface ReportColumn {
+
+    /** 값 형식 **/
+    enum ValueType {
+        /** 문자열 (Object 배열) **/
+        TEXT,
+        /** 정수 (long 배열) - ID, 건수 합계 **/
+        LONG,
+        /** 소수 2자리 금액 (소수점 아래 2자리를 정수로 옮긴 long 배열) - DECIMAL(15,2) 합계 **/
+        DECIMAL,
+        /** 실수 (double 배열) - 평균 **/
+        DOUBLE
+    }
+
+    String name();
+
+    ValueType valueType();
+
+    /** SELECT alias (enum 이름 소문자, selectSql() 의 AS 와 동일) **/
+    String label();
+
+    /** resultType=map 한 행에서 이 칼럼 값 (DB 가 라벨을 대문자(= enum 이름)로 돌려주는 경우 포함, NULL 이면 null) **/
+    default Object read(Map<String, Object> row) {
+        Object value = row.get(label());
+        if (value == null) {
+            value = row.get(name());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.demo.report.secure.table;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리포트 결과 (칼럼 단위 저장)
+ *
+ * - 요청 칼럼(enum)이 정한 스키마 하나를 모든 행이 공유 (행마다 key 문자열 / HashMap 을 들고 있지 않음)
+ * - 값은 칼럼별 배열에 저장
+ * 		- TEXT    : Object[]
+ * 		- LONG    : long[]
+ * 		- DECIMAL : long[] (소수점 아래 2자리를 정수로 옮긴 값, 1234.50 -> 123450)
+ * 		- DOUBLE  : double[]
+ * 		- NULL 은 칼럼별 비트맵
+ * 		- 숫자 칼럼에 배열 형식으로 정확히 담을 수 없는 값이 오면 (범위 초과, 소수 3자리 이상 등) 그 칼럼만 Object[] 로 전환 (값 손실 없음)
+ * - MyBatis ResultHandler 로 채움: Mapper 가 만든 행 Map 은 칼럼 배열로 옮긴 즉시 버려짐 (List<Map> 으로 쌓이지 않음)
+ * - JSON 은 ReportTableSerializer 가 기존 List<Map> 응답과 같은 모양으로 기록 ([{"label": value, ...}, ...], NULL 칼럼은 key 생략)
+ */
+@JsonSerialize(using = ReportTableSerializer.class)
+public final class ReportTable implements ResultHandler<Map<String, Object>> {
+
+    /** DECIMAL 칼럼 소수 자릿수 **/
+    public static final int DECIMAL_SCALE = 2;
+
+    // 10^DECIMAL_SCALE
+    private static final long DECIMAL_FACTOR = 100;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReportColumn[] columns;
+    private final Values[] values;
+    private int rows;
+
+    public ReportTable(List<? extends ReportColumn> columns) {
+        this.columns = columns.toArray(new ReportColumn[0]);
+        this.values = new Values[this.columns.length];
+        for (int c = 0; c < values.length; c++) {
+            values[c] = new Values(this.columns[c].valueType());
+        }
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends Map<String, Object>> context) {
+        add(context.getResultObject());
+    }
+
+    /** resultType=map 한 행 추가 **/
+    public void add(Map<String, Object> row) {
+        for (int c = 0; c < columns.length; c++) {
+            values[c].set(rows, columns[c].read(row));
+        }
+        rows++;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public ReportColumn column(int c) {
+        return columns[c];
+    }
+
+    public boolean isNull(int row, int c) {
+        return values[c].isNull(row);
+    }
+
+    /** 값 (boxed, 직렬화 외 용도) **/
+    public Object get(int row, int c) {
+        Values v = values[c];
+        if (v.isNull(row)) return null;
+        if (v.objects != null) return v.objects[row];
+        switch (v.type) {
+            case LONG: return v.longs[row];
+            case DECIMAL: return BigDecimal.valueOf(v.longs[row], DECIMAL_SCALE);
+            default: return v.doubles[row];
+        }
+    }
+
+    /** 저장 형식 (숫자 칼럼이 Object[] 로 전환되었으면 TEXT 와 같이 boxed 값) **/
+    ReportColumn.ValueType storedType(int c) {
+        return (values[c].objects != null) ? ReportColumn.ValueType.TEXT : values[c].type;
+    }
+
+    Object objectAt(int row, int c) {
+        return values[c].objects[row];
+    }
+
+    long longAt(int row, int c) {
+        return values[c].longs[row];
+    }
+
+    double doubleAt(int row, int c) {
+        return values[c].doubles[row];
+    }
+
+    /** 칼럼 하나의 값 배열 **/
+    private static final class Values {
+        private final ReportColumn.ValueType type;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+        // NULL 비트맵 (행 번호 비트)
+        private long[] nulls = new long[1];
+
+        Values(ReportColumn.ValueType type) {
+            this.type = type;
+            switch (type) {
+                case TEXT: objects = new Object[INITIAL_CAPACITY]; break;
+                case DOUBLE: doubles = new double[INITIAL_CAPACITY]; break;
+                default: longs = new long[INITIAL_CAPACITY]; break;
+            }
+        }
+
+        boolean isNull(int row) {
+            int word = row >>> 6;
+            return word < nulls.length && (nulls[word] & (1L << row)) != 0;
+        }
+
+        void set(int row, Object value) {
+            ensureCapacity(row + 1);
+
+            if (value == null) {
+                int word = row >>> 6;
+                if (word >= nulls.length) nulls = Arrays.copyOf(nulls, Math.max(word + 1, nulls.length * 2));
+                nulls[word] |= 1L << row;
+                return;
+            }
+
+            if (objects != null) {
+                objects[row] = value;
+                return;
+            }
+
+            if (type == ReportColumn.ValueType.DOUBLE) {
+                if (value instanceof Number) {
+                    doubles[row] = ((Number) value).doubleValue();
+                    return;
+                }
+            } else {
+                Long exact = (type == ReportColumn.ValueType.LONG) ? exactLong(value) : exactDecimal(value);
+                if (exact != null) {
+                    longs[row] = exact;
+                    return;
+                }
+            }
+
+            // 배열 형식으로 정확히 담을 수 없는 값 -> 이 칼럼은 이후 boxed 저장
+            box(row);
+            objects[row] = value;
+        }
+
+        private void ensureCapacity(int size) {
+            int capacity = (objects != null) ? objects.length : (doubles != null) ? doubles.length : longs.length;
+            if (size <= capacity) return;
+
+            int next = Math.max(size, capacity * 2);
+            if (objects != null) objects = Arrays.copyOf(objects, next);
+            if (doubles != null) doubles = Arrays.copyOf(doubles, next);
+            if (longs != null) longs = Arrays.copyOf(longs, next);
+        }
+
+        /** 지금까지의 숫자 값을 boxed 로 옮김 (row 이전 행) **/
+        private void box(int row) {
+            Object[] boxed = new Object[(doubles != null) ? doubles.length : longs.length];
+            for (int r = 0; r < row; r++) {
+                if (isNull(r)) continue;
+                switch (type) {
+                    case LONG: boxed[r] = longs[r]; break;
+                    case DECIMAL: boxed[r] = BigDecimal.valueOf(longs[r], DECIMAL_SCALE); break;
+                    default: boxed[r] = doubles[r]; break;
+                }
+            }
+            objects = boxed;
+            longs = null;
+            doubles = null;
+        }
+
+        private static Long exactLong(Object value) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number) value).longValue();
+            }
+            try {
+                if (value instanceof BigDecimal) return ((BigDecimal) value).longValueExact();
+                if (value instanceof BigInteger) return ((BigInteger) value).longValueExact();
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            return null;
+        }
+
+        private static Long exactDecimal(Object value) {
+            try {
+                if (value instanceof BigDecimal) {
+                    return ((BigDecimal) value).setScale(DECIMAL_SCALE, RoundingMode.UNNECESSARY)
+                            .unscaledValue().longValueExact();
+                }
+                Long integral = exactLong(value);
+                return (integral == null) ? null : Math.multiplyExact(integral, DECIMAL_FACTOR);
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+    }
+}
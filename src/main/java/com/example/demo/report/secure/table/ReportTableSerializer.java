@@ -0,0 +1,85 @@
+package com.example.demo.report.secure.table;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * ReportTable JSON 직렬화
+ *
+ * - 기존 List<Map> 응답과 같은 모양: [{"enterprise_name": "...", "total_revenue": 1234.50, ...}, ...]
+ * - key 는 칼럼마다 한 번만 인코딩 (SerializedString), 숫자는 배열에서 바로 기록 (행마다 boxing / Map 순회 없음)
+ * - NULL 값은 key 생략 (resultType=map 과 동일)
+ */
+public class ReportTableSerializer extends StdSerializer<ReportTable> {
+
+    public ReportTableSerializer() {
+        super(ReportTable.class);
+    }
+
+    @Override
+    public void serialize(ReportTable table, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int columns = table.columnCount();
+
+        SerializedString[] keys = new SerializedString[columns];
+        ReportColumn.ValueType[] types = new ReportColumn.ValueType[columns];
+        for (int c = 0; c < columns; c++) {
+            keys[c] = new SerializedString(table.column(c).label());
+            types[c] = table.storedType(c);
+        }
+
+        // DECIMAL 기록용 버퍼 (행마다 BigDecimal 을 만들지 않음)
+        char[] buf = new char[24];
+
+        gen.writeStartArray();
+        for (int row = 0; row < table.rowCount(); row++) {
+            gen.writeStartObject();
+            for (int c = 0; c < columns; c++) {
+                if (table.isNull(row, c)) continue;
+
+                gen.writeFieldName(keys[c]);
+                switch (types[c]) {
+                    case LONG:
+                        gen.writeNumber(table.longAt(row, c));
+                        break;
+                    case DECIMAL:
+                        int start = formatDecimal(table.longAt(row, c), buf);
+                        gen.writeNumber(buf, start, buf.length - start);
+                        break;
+                    case DOUBLE:
+                        gen.writeNumber(table.doubleAt(row, c));
+                        break;
+                    default:
+                        Object value = table.objectAt(row, c);
+                        if (value instanceof String) gen.writeString((String) value);
+                        else provider.defaultSerializeValue(value, gen);
+                        break;
+                }
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    /** 소수 DECIMAL_SCALE 자리 고정 소수점 문자열을 buf 끝에 기록하고 시작 위치 반환 (123450 -> "1234.50") **/
+    static int formatDecimal(long unscaled, char[] buf) {
+        int pos = buf.length;
+        long v = unscaled;
+
+        for (int i = 0; i < ReportTable.DECIMAL_SCALE; i++) {
+            buf[--pos] = (char) ('0' + Math.abs(v % 10));
+            v /= 10;
+        }
+        buf[--pos] = '.';
+        do {
+            buf[--pos] = (char) ('0' + Math.abs(v % 10));
+            v /= 10;
+        } while (v != 0);
+
+        if (unscaled < 0) buf[--pos] = '-';
+        return pos;
+    }
+}
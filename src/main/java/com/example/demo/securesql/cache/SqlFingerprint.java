@@ -0,0 +1,123 @@
+package com.example.demo.securesql.cache;
+
+import com.example.demo.securesql.lexer.SqlTokenizer;
+import com.example.demo.securesql.lexer.SqlTokens;
+
+/**
+ * SQL 지문(Fingerprint) 생성기
+ *
+ * - 문자열/숫자 리터럴 제거 (문자열은 '?', 숫자는 #N 으로 치환)
+ * - 연속 공백을 하나로 축약
+ * - 대소문자 통일 (대문자)
+ *
+ * 리터럴 값만 다른 SQL은 같은 지문을 가지므로 검증 결과(Verdict)를 재사용할 수 있음.
+ * OracleValidator 에서는 SqlTokenizer 결과를 그대로 받아 다시 lexing 하지 않음.
+ */
+public final class SqlFingerprint {
+
+    /** 문자열 리터럴 치환 표시 **/
+    public static final String STRING_MARK = "'?'";
+    /** 숫자 리터럴 치환 표시 **/
+    public static final String NUMBER_MARK = "#N";
+
+    private SqlFingerprint() {
+    }
+
+    /*
+     * 지문이 같으면 검증 결과도 반드시 같아야 함 (보안상 가장 중요한 불변식)
+     *
+     * - 리터럴 치환 표시는 JDBC 바인드 변수(?)와 구분
+     * 		- 바인드 변수 ? 는 리터럴이 아니므로 상수 비교 검사(OR ?=?)에 걸리지 않음
+     * 		- 리터럴을 ? 로 바꾸면 OR 'a'='a' (차단) 와 OR ?=? (통과) 가 같은 지문이 되어버림
+     * 		- 문자열 -> '?', 숫자 -> #N (원문 SQL 에서 만들어질 수 없는 표시)
+     * 			- '?' : 따옴표로 시작하는 토큰은 항상 STRING 이므로 원문에서는 문자열 리터럴만 '?' 가 됨
+     * 			- #N  : # 으로 시작하는 WORD 토큰이 있는 SQL 은 지문을 만들지 않음 (아래)
+     *
+     * - 숫자 1은 치환하지 않음
+     * 		- OracleAstParser는 WHERE 1=1 만 허용하고 2=2, 1=2 등은 차단함
+     * 		- 숫자를 모두 #N 으로 바꾸면 허용/차단 SQL이 같은 지문이 되어버림
+     * 		- 따라서 값이 정확히 1인 정수 리터럴(1, 01 등)은 "1"로 남기고 나머지만 #N 으로 치환
+     *
+     * - 아래의 경우는 지문을 만들지 않음 (null 반환 -> 캐시 우회, 매번 전체 검증)
+     * 		- 주석(--, /*): 줄바꿈/주석 경계에 따라 파서 해석이 달라질 수 있음
+     * 		- 큰따옴표 식별자("): 리터럴 제거 로직과 파서 해석이 어긋날 수 있음
+     * 		- 역슬래시가 포함된 문자열 리터럴, 닫히지 않은 문자열 리터럴
+     * 		- # 으로 시작하는 단어: 숫자 치환 표시(#N)와 겹칠 수 있음
+     */
+    /** SQL 지문 생성. 캐시할 수 없는 SQL이면 null 반환 **/
+    public static String of(String sql) {
+        if (sql == null || sql.isBlank()) {
+            return null;
+        }
+        return of(SqlTokenizer.tokenize(sql));
+    }
+
+    /** 토큰 배열로부터 SQL 지문 생성. 캐시할 수 없는 SQL이면 null 반환 **/
+    public static String of(SqlTokens tokens) {
+
+        // 주석 / 닫히지 않은 리터럴은 캐시 대상에서 제외
+        if (tokens.size() == 0 || tokens.hasComment() || tokens.hasUnterminatedQuote()) {
+            return null;
+        }
+
+        String sql = tokens.sql();
+        StringBuilder sb = new StringBuilder(sql.length());
+
+        for (int t = 0; t < tokens.size(); t++) {
+
+            // 토큰 사이 공백 -> 하나로 축약
+            if (t > 0 && tokens.hasGapBefore(t)) {
+                sb.append(' ');
+            }
+
+            int start = tokens.start(t);
+            int end = tokens.end(t);
+
+            switch (tokens.kind(t)) {
+                // 큰따옴표 식별자는 캐시 대상에서 제외
+                case SqlTokens.QUOTED_IDENTIFIER:
+                    return null;
+
+                // 문자열 리터럴 -> '?' (역슬래시 포함 시 캐시 제외)
+                case SqlTokens.STRING:
+                    int backslash = sql.indexOf('\\', start);
+                    if (backslash >= 0 && backslash < end) {
+                        return null;
+                    }
+                    sb.append(STRING_MARK);
+                    break;
+
+                // 숫자 리터럴 -> #N (단, 값이 1인 정수는 유지)
+                case SqlTokens.NUMBER:
+                    sb.append(isIntegerOne(sql, start, end) ? "1" : NUMBER_MARK);
+                    break;
+
+                // # 으로 시작하는 단어는 숫자 치환 표시와 겹칠 수 있으므로 캐시 대상에서 제외
+                case SqlTokens.WORD:
+                    if (sql.charAt(start) == '#') {
+                        return null;
+                    }
+                    for (int i = start; i < end; i++) {
+                        sb.append(Character.toUpperCase(sql.charAt(i)));
+                    }
+                    break;
+
+                default:
+                    for (int i = start; i < end; i++) {
+                        sb.append(Character.toUpperCase(sql.charAt(i)));
+                    }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /** [start, end) 구간이 값 1인 정수 리터럴인지 확인 (1, 01, 001 ...) **/
+    private static boolean isIntegerOne(String sql, int start, int end) {
+        if (sql.charAt(end - 1) != '1') return false;
+        for (int i = start; i < end - 1; i++) {
+            if (sql.charAt(i) != '0') return false;
+        }
+        return true;
+    }
+}
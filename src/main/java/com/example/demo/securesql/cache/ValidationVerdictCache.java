@@ -0,0 +1,161 @@
+package com.example.demo.securesql.cache;
+
+import com.example.demo.securesql.validator.ValidationResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL 지문(Fingerprint) 기반 검증 결과 캐시
+ *
+ * - 통과(PASS)/차단(REJECT) 결과 모두 캐시
+ * - 화이트리스트 / 금지 키워드 버전이 바뀌면 기존 결과는 무효 (miss 처리)
+ * - 최대 엔트리 수 제한 (CLOCK 방식 근사 LRU 제거)
+ * - hit / miss / eviction 카운터 제공
+ */
+public class ValidationVerdictCache {
+
+    /** 캐시된 검증 결과 **/
+    public static final class Verdict {
+        // 검증 결과 (hit 마다 같은 인스턴스 반환 -> 차단 예외도 한 번만 생성)
+        private final ValidationResult result;
+        private final long tableVersion;
+        private final long functionVersion;
+        private final long keywordVersion;
+        // 최근 조회 여부 (제거 대상 선정용)
+        private volatile boolean referenced = true;
+
+        private Verdict(ValidationResult result, long tableVersion, long functionVersion, long keywordVersion) {
+            this.result = result;
+            this.tableVersion = tableVersion;
+            this.functionVersion = functionVersion;
+            this.keywordVersion = keywordVersion;
+        }
+
+        public static Verdict accepted(long tableVersion, long functionVersion, long keywordVersion) {
+            return new Verdict(ValidationResult.ACCEPTED, tableVersion, functionVersion, keywordVersion);
+        }
+
+        public static Verdict rejected(ValidationResult result,
+                                       long tableVersion, long functionVersion, long keywordVersion) {
+            return new Verdict(result, tableVersion, functionVersion, keywordVersion);
+        }
+
+        public ValidationResult getResult() { return result; }
+        public boolean isAccepted() { return result.isAccepted(); }
+        public String getMessage() { return result.getMessage(); }
+        public String getReason() { return result.getReason(); }
+    }
+
+    // 지문 -> 검증 결과
+    private final Map<String, Verdict> entries = new ConcurrentHashMap<>();
+    // 최대 엔트리 수
+    private final int maxEntries;
+    // 동시에 하나의 쓰레드만 제거 작업 수행
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // 지문을 만들 수 없어 캐시를 우회한 횟수
+    private final LongAdder bypasses = new LongAdder();
+
+    public ValidationVerdictCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 캐시 조회.
+     * 화이트리스트 / 금지 키워드 버전이 현재 버전과 다르면 무효로 보고 null 반환.
+     */
+    public Verdict lookup(String fingerprint, long tableVersion, long functionVersion, long keywordVersion) {
+        Verdict v = entries.get(fingerprint);
+
+        if (v == null
+                || v.tableVersion != tableVersion
+                || v.functionVersion != functionVersion
+                || v.keywordVersion != keywordVersion) {
+            misses.increment();
+            return null;
+        }
+
+        v.referenced = true;
+        hits.increment();
+        return v;
+    }
+
+    /** 검증 결과 저장. 최대 크기를 넘으면 제거 수행 **/
+    public void record(String fingerprint, Verdict verdict) {
+        entries.put(fingerprint, verdict);
+
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /** 캐시 우회(지문 생성 불가) 횟수 기록 **/
+    public void recordBypass() {
+        bypasses.increment();
+    }
+
+    /** 전체 비우기 **/
+    public void clear() {
+        entries.clear();
+    }
+
+    /*
+     * CLOCK(second chance) 방식
+     * - referenced=true 인 엔트리는 한 번 봐주고 플래그만 내림
+     * - referenced=false 인 엔트리는 제거
+     * - 최대 크기의 90% 까지 줄어들면 종료 (매 put 마다 제거가 일어나지 않도록 여유 확보)
+     */
+    private void evict() {
+        // 다른 쓰레드가 이미 제거 중이면 건너뜀
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            int target = Math.max(1, (int) (maxEntries * 0.9));
+
+            // 두 바퀴까지 순회 (첫 바퀴에서 모두 referenced 였던 경우 대비)
+            for (int round = 0; round < 2 && entries.size() > target; round++) {
+                Iterator<Map.Entry<String, Verdict>> it = entries.entrySet().iterator();
+                while (it.hasNext() && entries.size() > target) {
+                    Verdict v = it.next().getValue();
+                    if (v.referenced) {
+                        v.referenced = false;
+                    } else {
+                        it.remove();
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /** 캐시 통계 **/
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.sum());
+        stats.put("bypasses", bypasses.sum());
+        stats.put("hitRatio", (h + m) == 0 ? 0.0 : (double) h / (h + m));
+        return stats;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.securesql.config;
 
+import com.example.demo.report.secure.cache.TableChangeInterceptor;
 import com.example.demo.securesql.interceptor.SqlSecurityInterceptor;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -15,12 +16,21 @@ import javax.sql.DataSource;
  *
  * - SqlSecurityInterceptor 를 MyBatis Plugin 으로 등록
  * - 모든 Mapper XML / Mapper Interface SQL 에 자동 적용
+ * - TableChangeInterceptor: INSERT / UPDATE / DELETE 후 리포트 캐시 무효화
  */
 @Configuration
 public class MyBatisSecurityConfig {
 
+    /** SQL 보안 Interceptor (Statement 레지스트리 조회를 위해 Bean으로 등록) **/
     @Bean
-    public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+    public SqlSecurityInterceptor sqlSecurityInterceptor() {
+        return new SqlSecurityInterceptor();
+    }
+
+    @Bean
+    public SqlSessionFactory sqlSessionFactory(DataSource dataSource,
+                                               SqlSecurityInterceptor sqlSecurityInterceptor,
+                                               TableChangeInterceptor tableChangeInterceptor) throws Exception {
 
 		// Spring에서 MyBatis의 SqlSessionFactory를 생성하는 팩토리 빈 객체 생성
         SqlSessionFactoryBean factory = new SqlSessionFactoryBean();
@@ -41,10 +51,17 @@ public class MyBatisSecurityConfig {
         factory.setPlugins(new Interceptor[] {
         	// 커스텀하게 정의한 SqlSecurityInterceptor 인스턴스를 배열에 담아 등록
         	// 이 인터셉터는 MyBatis의 SQL 실행 전/후 과정에 개입하여 보안 검증을 수행
-            new SqlSecurityInterceptor()
+            sqlSecurityInterceptor,
+            // 리포트 원본 테이블 변경 시 리포트 결과 캐시 무효화 (Executor.update)
+            tableChangeInterceptor
         });
 
-		// 팩토리 객체로부터 최종적으로 SqlSessionFactory 객체를 생성하여 반환
-        return factory.getObject();
+		// 팩토리 객체로부터 최종적으로 SqlSessionFactory 객체를 생성
+        SqlSessionFactory sqlSessionFactory = factory.getObject();
+
+        // 모든 MappedStatement의 @SecureSqlRequired 여부를 생성 시점에 한 번만 해석
+        sqlSecurityInterceptor.registerStatements(sqlSessionFactory.getConfiguration());
+
+        return sqlSessionFactory;
     }
 }
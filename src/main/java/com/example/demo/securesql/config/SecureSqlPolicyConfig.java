@@ -0,0 +1,114 @@
+package com.example.demo.securesql.config;
+
+import com.example.demo.securesql.log.SecureSqlLogger;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.ForbiddenKeywordValidator;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ValidatorChain;
+import com.example.demo.securesql.whitelist.DynamicTableWhitelistRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SQL 보안 정책 설정 클래스
+ *
+ * - application.properties 의 securesql.* 설정을 읽어 정적 검증 컴포넌트에 반영
+ * - 검증 로직(OracleValidator 등)은 Spring 에 의존하지 않으므로 시작 시점에 값을 주입
+ */
+@Slf4j
+@Configuration
+public class SecureSqlPolicyConfig {
+
+    /**
+     * 금지 키워드 설정
+     * - securesql.forbidden-keywords=DROP,TRUNCATE,EXECUTE IMMEDIATE,...
+     * - 설정하지 않으면 ForbiddenKeywordValidator 기본 목록 사용
+     *
+     * 파싱 풀 설정
+     * - securesql.parse.timeout-ms: SQL 한 건당 파싱 시간 예산
+     * - securesql.parse.{statement|adhoc|batch}.threads / queue-capacity: lane 별 쓰레드 수 / 대기열 크기
+     * - 0 이하(미설정)이면 ParseExecutor 기본값 유지
+     *
+     * 검증 로그 설정
+     * - securesql.log.mode: sync | async
+     * - securesql.log.buffer-size / pass-sample-rate / summary-interval-seconds: async 모드 전용
+     *
+     * 테이블 화이트리스트 저장소 설정
+     * - securesql.whitelist.store: heap | mapped
+     * - securesql.whitelist.mapped-file: mapped 저장소의 카탈로그 파일 경로
+     *
+     * ValidatorChain 실행 모드 설정
+     * - securesql.validator.chain-mode: sequential | compiled
+     * - securesql.validator.adaptive-order: Validator 별 비용 / 차단 비율로 실행 순서 재정렬 여부
+     * - securesql.validator.reorder-interval: 재정렬 주기 (검증 건수)
+     */
+    public SecureSqlPolicyConfig(
+            @Value("${securesql.forbidden-keywords:}") List<String> forbiddenKeywords,
+            @Value("${securesql.parse.timeout-ms:0}") int parseTimeoutMillis,
+            @Value("${securesql.parse.statement.threads:0}") int statementThreads,
+            @Value("${securesql.parse.statement.queue-capacity:0}") int statementQueueCapacity,
+            @Value("${securesql.parse.adhoc.threads:0}") int adhocThreads,
+            @Value("${securesql.parse.adhoc.queue-capacity:0}") int adhocQueueCapacity,
+            @Value("${securesql.parse.batch.threads:0}") int batchThreads,
+            @Value("${securesql.parse.batch.queue-capacity:0}") int batchQueueCapacity,
+            @Value("${securesql.log.mode:sync}") String logMode,
+            @Value("${securesql.log.buffer-size:8192}") int logBufferSize,
+            @Value("${securesql.log.pass-sample-rate:0.01}") double logPassSampleRate,
+            @Value("${securesql.log.summary-interval-seconds:60}") long logSummaryIntervalSeconds,
+            @Value("${securesql.whitelist.store:heap}") String whitelistStore,
+            @Value("${securesql.whitelist.mapped-file:build/securesql/TableWhitelist.catalog}") String whitelistMappedFile,
+            @Value("${securesql.validator.chain-mode:sequential}") String chainMode,
+            @Value("${securesql.validator.adaptive-order:false}") boolean adaptiveOrder,
+            @Value("${securesql.validator.reorder-interval:10000}") long reorderInterval) {
+
+        ForbiddenKeywordValidator.configure(forbiddenKeywords);
+
+        if (parseTimeoutMillis > 0) {
+            ParseExecutor.configureTimeout(parseTimeoutMillis);
+        }
+        if (statementThreads > 0 && statementQueueCapacity > 0) {
+            ParseExecutor.configureLane(ParseExecutor.Lane.STATEMENT, statementThreads, statementQueueCapacity);
+        }
+        if (adhocThreads > 0 && adhocQueueCapacity > 0) {
+            ParseExecutor.configureLane(ParseExecutor.Lane.ADHOC, adhocThreads, adhocQueueCapacity);
+        }
+        if (batchThreads > 0 && batchQueueCapacity > 0) {
+            ParseExecutor.configureLane(ParseExecutor.Lane.BATCH, batchThreads, batchQueueCapacity);
+        }
+
+        // 검증 로그 모드 (sync: 전체 즉시 출력 / async: 버퍼 + PASS 요약/샘플링)
+        if ("async".equalsIgnoreCase(logMode)) {
+            SecureSqlLogger.configureAsync(logBufferSize, logPassSampleRate, logSummaryIntervalSeconds);
+        } else {
+            SecureSqlLogger.configureSync();
+        }
+
+        // 테이블 화이트리스트 저장소 (heap: 기본 / mapped: 대형 카탈로그용 mmap 파일)
+        if ("mapped".equalsIgnoreCase(whitelistStore)) {
+            try {
+                DynamicTableWhitelistRegistry.configureStore(DynamicTableWhitelistRegistry.Store.MAPPED,
+                        Paths.get(whitelistMappedFile));
+            } catch (IOException e) {
+                throw new UncheckedIOException("화이트리스트 카탈로그 파일 생성 실패: " + whitelistMappedFile, e);
+            }
+        }
+
+        // ValidatorChain 실행 모드 (compiled: 검사 종류별 한 번 순회, 차단 결과 / 메시지는 sequential 과 동일)
+        OracleValidator.configureChainMode("compiled".equalsIgnoreCase(chainMode)
+                ? ValidatorChain.Mode.COMPILED
+                : ValidatorChain.Mode.SEQUENTIAL);
+        OracleValidator.configureAdaptiveOrder(adaptiveOrder, reorderInterval);
+
+        log.info("[SECURE-SQL][POLICY] forbiddenKeywords={}", ForbiddenKeywordValidator.keywords());
+        log.info("[SECURE-SQL][POLICY] parse={}", ParseExecutor.stats());
+        log.info("[SECURE-SQL][POLICY] log={}", SecureSqlLogger.stats());
+        log.info("[SECURE-SQL][POLICY] validatorChain={} adaptiveOrder={}", OracleValidator.chainMode(), adaptiveOrder);
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.demo.securesql.controller;
 
+import com.example.demo.securesql.fuzz.SqlFuzzRequest;
+import com.example.demo.securesql.interceptor.SecureStatementRegistry.StatementPolicy;
 import com.example.demo.securesql.service.SecureSqlService;
+import com.example.demo.securesql.service.SqlBatchValidator;
 import com.example.demo.securesql.validator.SqlFuzzTester.FuzzResult;
+import com.example.demo.securesql.validator.ValidationResult;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,9 +33,13 @@ public class SecurityController {
         String sql = body.get("sql");
         Map<String, Object> res = new HashMap<>();
         try {
-            secureSqlService.validate(sql);
-            res.put("ok", true);
-            res.put("message", "VALID");
+            ValidationResult result = secureSqlService.check(sql);
+            res.put("ok", result.isAccepted());
+            res.put("message", result.isAccepted() ? "VALID" : result.getMessage());
+            if (!result.isAccepted()) {
+                res.put("code", result.getCode().name());
+                res.put("reason", result.getReason());
+            }
         } catch (Exception e) {
             res.put("ok", false);
             res.put("message", e.getMessage());
@@ -35,9 +48,97 @@ public class SecurityController {
         return res;
     }
 
-    /** SQL Injection fuzz 테스트 실행 */
+    /**
+     * 대량 SQL 검증 (DB 미연결 mock)
+     * - Content-Type application/x-ndjson (또는 application/json): 한 줄에 {"sql": "..."} 한 건
+     * - 그 외 (text/plain 등): ; 로 구분된 여러 SQL 문
+     * - 결과는 입력 순서대로 한 줄씩 NDJSON 으로 스트리밍, 마지막 줄은 요약
+     */
+    @PostMapping("/validate-batch")
+    public void validateBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String contentType = request.getContentType();
+        SqlBatchValidator.Format format = (contentType != null && contentType.toLowerCase().contains("json"))
+                ? SqlBatchValidator.Format.NDJSON
+                : SqlBatchValidator.Format.TEXT;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        secureSqlService.validateBatch(request.getInputStream(), format, response.getOutputStream());
+    }
+
+    /** SQL Injection fuzz 테스트 실행 (고정 케이스 5건) */
     @GetMapping("/fuzz")
     public List<FuzzResult> fuzz() {
         return secureSqlService.runFuzz();
     }
+
+    /**
+     * 변형 기반 병렬 fuzz 작업 시작 (즉시 반환)
+     * - body 예: {"durationSeconds": 60, "maxExecutions": 0, "parallelism": 4, "maxStackedMutations": 3, "randomSeed": 42}
+     * - parallelism 은 CPU 코어 수까지, 동시에 실행 중인 작업이 최대 개수면 429
+     */
+    @PostMapping("/fuzz")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Map<String, Object> startFuzz(@RequestBody(required = false) SqlFuzzRequest request) {
+        Map<String, Object> job = secureSqlService.startFuzz(request);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "실행 중인 fuzz 작업이 너무 많습니다");
+        }
+        return job;
+    }
+
+    /** fuzz 작업 목록 */
+    @GetMapping("/fuzz/jobs")
+    public List<Map<String, Object>> fuzzJobs() {
+        return secureSqlService.fuzzJobs();
+    }
+
+    /** fuzz 작업 진행 상황 (실행 수 / exec/s / 차단 사유 / 우회 후보) */
+    @GetMapping("/fuzz/jobs/{id}")
+    public Map<String, Object> fuzzJob(@PathVariable String id) {
+        return found(secureSqlService.fuzzJob(id), id);
+    }
+
+    /** fuzz 작업 취소 */
+    @DeleteMapping("/fuzz/jobs/{id}")
+    public Map<String, Object> cancelFuzz(@PathVariable String id) {
+        return found(secureSqlService.cancelFuzz(id), id);
+    }
+
+    /** 검증 결과 캐시 통계 (hit/miss/eviction) */
+    @GetMapping("/cache/stats")
+    public Map<String, Object> cacheStats() {
+        return secureSqlService.cacheStats();
+    }
+
+    /** 파싱 풀 통계 (lane 별 timeout / 대기열 초과 / 대기열 깊이) */
+    @GetMapping("/parse/stats")
+    public Map<String, Object> parseStats() {
+        return secureSqlService.parseStats();
+    }
+
+    /** ValidatorChain 현재 실행 순서와 Validator 별 비용 / 차단 비율 */
+    @GetMapping("/validator/stats")
+    public Map<String, Object> validatorStats() {
+        return secureSqlService.validatorStats();
+    }
+
+    /** 검증 로그 통계 (async 모드: 버퍼 깊이 / dropped) */
+    @GetMapping("/log/stats")
+    public Map<String, Object> logStats() {
+        return secureSqlService.logStats();
+    }
+
+    /** @SecureSqlRequired 로 보호되는 MappedStatement 목록 */
+    @GetMapping("/statements")
+    public List<StatementPolicy> statements() {
+        return secureSqlService.protectedStatements();
+    }
+
+    private static Map<String, Object> found(Map<String, Object> job, String id) {
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "fuzz 작업을 찾을 수 없습니다: " + id);
+        }
+        return job;
+    }
 }
@@ -0,0 +1,204 @@
+package com.example.demo.securesql.corpus;
+
+import com.example.demo.report.secure.bind.BucketedInList;
+import com.example.demo.report.secure.column.SecureDeepQueryColumn;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
+import com.example.demo.report.secure.join.EnterpriseRiskJoins;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 실제 SQL 코퍼스 (벤치마크 / fuzz 시드용)
+ *
+ * - mapper/*.xml 의 모든 SELECT 를 대표 파라미터로 렌더링한 SQL (서비스가 만드는 것과 같은 형태)
+ * - postman/testsql.txt 의 Postman 요청 SQL
+ *
+ * DB / Spring 컨텍스트 없이 MyBatis Configuration 만으로 렌더링함
+ */
+public final class SqlCorpus {
+
+    /** 코퍼스 SQL 한 건 **/
+    public static final class Entry {
+        private final String source;
+        private final String name;
+        private final String sql;
+
+        public Entry(String source, String name, String sql) {
+            this.source = source;
+            this.name = name;
+            this.sql = sql;
+        }
+
+        public String getSource() { return source; }
+        public String getName() { return name; }
+        public String getSql() { return sql; }
+    }
+
+    public static final String SOURCE_MAPPER = "mapper";
+    public static final String SOURCE_TESTSQL = "testsql";
+
+    private static final String MAPPER_LOCATION = "classpath:/mapper/**/*.xml";
+    private static final String TESTSQL_LOCATION = "/postman/testsql.txt";
+
+    // "sql": "..." 값 (\" 이스케이프 포함)
+    private static final Pattern SQL_FIELD = Pattern.compile("\"sql\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private SqlCorpus() {
+    }
+
+    /** 전체 코퍼스 (mapper + testsql) **/
+    public static List<Entry> load() {
+        List<Entry> entries = new ArrayList<>(renderMappers());
+        entries.addAll(loadTestSql());
+        return entries;
+    }
+
+    /** mapper XML 의 SELECT 를 대표 파라미터로 렌더링 **/
+    public static List<Entry> renderMappers() {
+        Configuration configuration = mapperConfiguration();
+
+        List<String> ids = configuration.getMappedStatementNames().stream()
+                .filter(id -> id.indexOf('.') >= 0)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+
+        List<Entry> entries = new ArrayList<>();
+        for (String id : ids) {
+            MappedStatement ms = configuration.getMappedStatement(id);
+            for (Map.Entry<String, Map<String, Object>> variant : representativeParams(id).entrySet()) {
+                String sql = ms.getBoundSql(variant.getValue()).getSql();
+                entries.add(new Entry(SOURCE_MAPPER, id + "#" + variant.getKey(), sql));
+            }
+        }
+        return entries;
+    }
+
+    /** mapper/*.xml 을 읽은 MyBatis Configuration (DB 없이 MappedStatement 렌더링용) **/
+    public static Configuration mapperConfiguration() {
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(MAPPER_LOCATION);
+            for (Resource resource : resources) {
+                try (InputStream in = resource.getInputStream()) {
+                    new XMLMapperBuilder(in, configuration, resource.getURI().toString(),
+                            configuration.getSqlFragments()).parse();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("mapper XML 로딩 실패", e);
+        }
+        return configuration;
+    }
+
+    /*
+     * 대표 파라미터 (서비스 레이어가 만드는 값과 동일한 형태)
+     * 	- all: 허용 컬럼 전체 선택 + 정렬
+     * 	- narrow: 컬럼 1개, 정렬 없음
+     * 	- idset: deepquery 대량 ID 집합 모드 (임시 테이블 JOIN)
+     */
+    private static Map<String, Map<String, Object>> representativeParams(String id) {
+        Map<String, Map<String, Object>> variants = new LinkedHashMap<>();
+
+        if (id.contains("SecureDeepQueryMapper.")) {
+            variants.put("all", deepQueryParam(Arrays.asList(SecureDeepQueryColumn.values())));
+            variants.put("narrow", deepQueryParam(List.of(SecureDeepQueryColumn.ENTERPRISE_NAME)));
+            if (id.endsWith("SecureDeepQueryMapper.execute")) {
+                // 대량 ID 집합 모드 (REPORT_ID_SET JOIN)
+                Map<String, Object> idSet = deepQueryParam(Arrays.asList(SecureDeepQueryColumn.values()));
+                idSet.put("idSet", true);
+                variants.put("idset", idSet);
+            }
+            return variants;
+        }
+
+        // CTE / SubQuery 보고서 (selectEnterpriseRisk)
+        variants.put("all", enterpriseRiskParam(Arrays.asList(SecureEnterpriseRiskColumn.values()),
+                " ORDER BY " + SecureEnterpriseRiskColumn.TOTAL_REVENUE.rawSql() + " DESC"));
+        variants.put("narrow", enterpriseRiskParam(List.of(SecureEnterpriseRiskColumn.ENTERPRISE_NAME), ""));
+        return variants;
+    }
+
+    private static Map<String, Object> enterpriseRiskParam(List<SecureEnterpriseRiskColumn> cols, String orderByClause) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("selectColumns", cols.stream()
+                .map(SecureEnterpriseRiskColumn::selectSql)
+                .collect(Collectors.joining(", ")));
+        param.put("enterpriseIds", BucketedInList.of(List.of(1L, 2L, 3L), "enterpriseIds"));
+        param.put("orderByClause", orderByClause);
+        EnterpriseRiskJoins.bind(param, EnterpriseRiskJoins.required(cols, null));
+        return param;
+    }
+
+    private static Map<String, Object> deepQueryParam(List<SecureDeepQueryColumn> cols) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("selectColumns", cols.stream()
+                .map(SecureDeepQueryColumn::selectSql)
+                .collect(Collectors.joining(", ")));
+        param.put("groupByColumns", cols.stream()
+                .map(SecureDeepQueryColumn::rawSql)
+                .collect(Collectors.joining(", ")));
+        param.put("orderByColumns", cols.get(0).rawSql() + " DESC");
+        param.put("inConditionColumns", "");
+        param.put("enterpriseIds", BucketedInList.of(List.of(1L, 2L, 3L), "enterpriseIds"));
+        param.put("minRevenue", 1000);
+        return param;
+    }
+
+    /*
+     * postman/testsql.txt 는 "N. 제목 / SQL / Postman 요청 본문" 형식과 요청 본문만 나열된 형식이 섞여 있음
+     * 	- 따라서 요청 본문의 "sql": "..." 값만 추출 (기대 결과 블록의 중복 SQL 은 제거)
+     */
+
+    /** testsql.txt 의 케이스별 SQL **/
+    public static List<Entry> loadTestSql() {
+        InputStream in = SqlCorpus.class.getResourceAsStream(TESTSQL_LOCATION);
+        if (in == null) {
+            return Collections.emptyList();
+        }
+
+        Set<String> seen = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher m = SQL_FIELD.matcher(line);
+                while (m.find()) {
+                    seen.add(m.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("testsql.txt 로딩 실패", e);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        int no = 1;
+        for (String sql : seen) {
+            entries.add(new Entry(SOURCE_TESTSQL, "testsql#" + no++, sql));
+        }
+        return entries;
+    }
+}
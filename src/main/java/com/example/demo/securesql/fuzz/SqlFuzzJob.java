@@ -0,0 +1,449 @@
+package com.example.demo.securesql.fuzz;
+
+import com.example.demo.securesql.cache.SqlFingerprint;
+import com.example.demo.securesql.corpus.SqlCorpus;
+import com.example.demo.securesql.fuzz.SqlMutator.Operator;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ReasonCode;
+import com.example.demo.securesql.validator.ValidationResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 병렬 SQL fuzz 작업
+ *
+ * - 시드: SqlCorpus (mapper XML 렌더링 SQL + postman/testsql.txt) 중 현재 정책에서 통과하는 SQL
+ * - 시드마다 SqlMutator 연산자를 1~N개 겹쳐 적용한 변형 SQL 을 검증
+ * - ForkJoinPool 에서 병렬도만큼 worker 실행, 시간 예산 / 최대 실행 횟수 중 먼저 도달하면 종료
+ * - 공격 구문(payload)을 포함한 변형이 통과하면 우회 후보로 보고 최소화 후 corpus 디렉터리에 .sql 파일로 저장
+ * - 검증은 OracleValidator.validateQuietly (검증 결과 캐시 / REJECT 로그를 fuzz 입력으로 채우지 않음)
+ */
+/*
+ * [ 우회 후보 최소화 ]
+ *
+ * 	- 변형은 (연산자, seed) 목록으로 기록되므로 시드 SQL 에 다시 적용하면 같은 결과를 재현할 수 있음
+ * 	- 연산자를 하나씩 빼고 재현했을 때 여전히 통과하고 payload 연산자가 남아 있으면 그 연산자는 불필요한 것으로 보고 제거
+ * 	- 더 이상 뺄 연산자가 없을 때의 SQL 을 저장 (같은 지문의 후보는 한 번만 저장)
+ */
+@Slf4j
+public final class SqlFuzzJob {
+
+    /** 작업 상태 **/
+    public enum Status { RUNNING, DONE, CANCELLED, FAILED }
+
+    // 기본값 / 상한
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+    private static final int MAX_DURATION_SECONDS = 3600;
+    private static final int DEFAULT_MAX_STACKED = 3;
+    private static final int MAX_STACKED = 6;
+    // 메모리에 보관하는 우회 후보 / 고유 차단 메시지 수 상한
+    private static final int MAX_BYPASSES = 200;
+    private static final int MAX_UNIQUE_MESSAGES = 512;
+    // 진행 상황 응답에 포함하는 우회 후보 수
+    private static final int REPORTED_BYPASSES = 20;
+
+    private static final Operator[] OPERATORS = Operator.values();
+
+    /** 변형 단계 (연산자 + 난수 seed) **/
+    private static final class Step {
+        final Operator op;
+        final long seed;
+
+        Step(Operator op, long seed) {
+            this.op = op;
+            this.seed = seed;
+        }
+    }
+
+    /** 최소화된 우회 후보 **/
+    private static final class Bypass {
+        final String seedName;
+        final String operators;
+        final String sql;
+        final String file;
+
+        Bypass(String seedName, String operators, String sql, String file) {
+            this.seedName = seedName;
+            this.operators = operators;
+            this.sql = sql;
+            this.file = file;
+        }
+    }
+
+    private final String id;
+    private final List<SqlCorpus.Entry> corpus;
+    private final Path corpusDir;
+
+    private final long durationMillis;
+    private final long maxExecutions;
+    private final int parallelism;
+    private final int maxStacked;
+    private final long randomSeed;
+
+    private volatile Status status = Status.RUNNING;
+    private volatile boolean cancelled;
+    private volatile String error;
+    private volatile int seedCount;
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private volatile long finishedNanos;
+
+    // 실행 횟수 (최대 실행 횟수 budget 확인용)
+    private final AtomicLong executions = new AtomicLong();
+    private final LongAdder passed = new LongAdder();
+    private final Map<String, LongAdder> rejectReasons = new ConcurrentHashMap<>();
+    private final Set<String> uniqueMessages = ConcurrentHashMap.newKeySet();
+    private final LongAdder[] operatorExecutions = adders(OPERATORS.length);
+    private final LongAdder[] operatorBypasses = adders(OPERATORS.length);
+
+    // 지문(또는 SQL) -> 최소화된 우회 후보
+    private final Map<String, Bypass> bypasses = new ConcurrentHashMap<>();
+    private final LongAdder bypassCount = new LongAdder();
+
+    public SqlFuzzJob(String id, SqlFuzzRequest request, List<SqlCorpus.Entry> corpus, Path corpusDir) {
+        this.id = id;
+        this.corpus = corpus;
+        this.corpusDir = corpusDir;
+
+        int duration = valueOr(request.getDurationSeconds(), DEFAULT_DURATION_SECONDS);
+        this.durationMillis = Math.min(Math.max(duration, 1), MAX_DURATION_SECONDS) * 1000L;
+        this.maxExecutions = request.getMaxExecutions() == null ? 0 : request.getMaxExecutions();
+        // 병렬도는 CPU 코어 수까지만 허용 (ForkJoinPool 최대 병렬도 초과 / 과도한 쓰레드 생성 방지)
+        int cpus = Runtime.getRuntime().availableProcessors();
+        this.parallelism = Math.min(Math.max(valueOr(request.getParallelism(), cpus), 1), cpus);
+        this.maxStacked = Math.min(Math.max(valueOr(request.getMaxStackedMutations(), DEFAULT_MAX_STACKED), 1), MAX_STACKED);
+        this.randomSeed = request.getRandomSeed() == null ? System.nanoTime() : request.getRandomSeed();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /** 전용 ForkJoinPool 에서 작업 시작 (즉시 반환) **/
+    public void start() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        pool.execute(new RootTask(pool));
+    }
+
+    /** 작업 취소 요청 (진행 중인 검증 한 건이 끝나면 worker 종료) **/
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /** 진행 상황 **/
+    public Map<String, Object> snapshot() {
+        long end = (finishedNanos != 0) ? finishedNanos : System.nanoTime();
+        long elapsedNanos = Math.max(1, end - startNanos);
+        long execs = executions.get();
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("id", id);
+        snapshot.put("status", status);
+        snapshot.put("startedAt", Instant.ofEpochMilli(startedAt).toString());
+        snapshot.put("elapsedMs", elapsedNanos / 1_000_000);
+        snapshot.put("durationSeconds", durationMillis / 1000);
+        snapshot.put("maxExecutions", maxExecutions);
+        snapshot.put("parallelism", parallelism);
+        snapshot.put("maxStackedMutations", maxStacked);
+        snapshot.put("randomSeed", randomSeed);
+        snapshot.put("seeds", seedCount);
+        snapshot.put("executions", execs);
+        snapshot.put("execsPerSecond", Math.round(execs * 1e10 / elapsedNanos) / 10.0);
+        snapshot.put("passed", passed.sum());
+        snapshot.put("rejectReasons", sums(rejectReasons));
+        snapshot.put("uniqueRejectMessages", uniqueMessages.size());
+
+        Map<String, Object> operators = new LinkedHashMap<>();
+        for (Operator op : OPERATORS) {
+            Map<String, Object> stat = new LinkedHashMap<>();
+            stat.put("executions", operatorExecutions[op.ordinal()].sum());
+            stat.put("bypasses", operatorBypasses[op.ordinal()].sum());
+            operators.put(SqlMutator.nameOf(op), stat);
+        }
+        snapshot.put("operators", operators);
+
+        snapshot.put("bypassCount", bypassCount.sum());
+        snapshot.put("uniqueBypasses", bypasses.size());
+        snapshot.put("corpusDir", corpusDir.toAbsolutePath().toString());
+        snapshot.put("bypasses", bypasses.values().stream()
+                .limit(REPORTED_BYPASSES)
+                .map(b -> {
+                    Map<String, Object> m = new LinkedHashMap<>();
+                    m.put("seed", b.seedName);
+                    m.put("operators", b.operators);
+                    m.put("file", b.file);
+                    m.put("sql", b.sql);
+                    return m;
+                })
+                .collect(Collectors.toList()));
+        if (error != null) {
+            snapshot.put("error", error);
+        }
+        return snapshot;
+    }
+
+    /** 시드 선별 후 worker 들을 fork, 모두 끝나면 상태 확정 및 풀 종료 **/
+    private final class RootTask extends RecursiveAction {
+        private final ForkJoinPool pool;
+
+        RootTask(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                List<SqlCorpus.Entry> seeds = acceptedSeeds();
+                seedCount = seeds.size();
+
+                if (seeds.isEmpty()) {
+                    error = "통과하는 시드 SQL 이 없습니다.";
+                    status = Status.FAILED;
+                    return;
+                }
+
+                long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+                SplittableRandom root = new SplittableRandom(randomSeed);
+
+                List<Worker> workers = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    workers.add(new Worker(seeds, root.split(), deadline));
+                }
+                invokeAll(workers);
+
+                status = cancelled ? Status.CANCELLED : Status.DONE;
+
+            } catch (RuntimeException e) {
+                log.error("[SECURE-SQL][FUZZ] job {} failed", id, e);
+                error = e.toString();
+                status = Status.FAILED;
+            } finally {
+                finishedNanos = System.nanoTime();
+                pool.shutdown();
+                log.info("[SECURE-SQL][FUZZ] job {} finished: status={} executions={} bypasses={}",
+                        id, status, executions.get(), bypassCount.sum());
+            }
+        }
+    }
+
+    /** 시간 예산 / 실행 횟수 budget 이 남아 있는 동안 변형 + 검증 반복 **/
+    private final class Worker extends RecursiveAction {
+        private final List<SqlCorpus.Entry> seeds;
+        private final SplittableRandom random;
+        private final long deadline;
+
+        Worker(List<SqlCorpus.Entry> seeds, SplittableRandom random, long deadline) {
+            this.seeds = seeds;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            List<Step> steps = new ArrayList<>(maxStacked);
+
+            while (!cancelled && System.nanoTime() < deadline) {
+                SqlCorpus.Entry seed = seeds.get(random.nextInt(seeds.size()));
+
+                // 변형 생성 (적용 위치가 없는 연산자는 건너뜀)
+                steps.clear();
+                String sql = seed.getSql();
+                boolean payload = false;
+                int stacked = 1 + random.nextInt(maxStacked);
+                for (int k = 0; k < stacked; k++) {
+                    Operator op = OPERATORS[random.nextInt(OPERATORS.length)];
+                    long s = random.nextLong();
+                    String mutated = SqlMutator.apply(op, sql, s);
+                    if (mutated == null) continue;
+
+                    sql = mutated;
+                    steps.add(new Step(op, s));
+                    payload |= op.isPayload();
+                }
+                if (steps.isEmpty()) continue;
+
+                // 실행 횟수 budget
+                long n = executions.incrementAndGet();
+                if (maxExecutions > 0 && n > maxExecutions) {
+                    executions.decrementAndGet();
+                    return;
+                }
+                for (Step step : steps) {
+                    operatorExecutions[step.op.ordinal()].increment();
+                }
+
+                String reason = evaluate(sql);
+                if (reason != null) {
+                    rejectReasons.computeIfAbsent(reason, k -> new LongAdder()).increment();
+                    continue;
+                }
+
+                passed.increment();
+                if (payload) {
+                    recordBypass(seed, new ArrayList<>(steps), sql);
+                }
+            }
+        }
+    }
+
+    /** 검증 (통과면 null, 차단이면 차단 사유) **/
+    private String evaluate(String sql) {
+        try {
+            ValidationResult result = OracleValidator.checkQuietly(sql, ParseExecutor.Lane.BATCH);
+            if (result.isAccepted()) {
+                return null;
+            }
+            if (result.getCode() != ReasonCode.PARSE_BUDGET
+                    && uniqueMessages.size() < MAX_UNIQUE_MESSAGES && result.getMessage() != null) {
+                uniqueMessages.add(result.getMessage());
+            }
+            return result.getReason();
+        } catch (RuntimeException e) {
+            return "error";
+        }
+    }
+
+    /** 우회 후보 최소화 후 저장 **/
+    private void recordBypass(SqlCorpus.Entry seed, List<Step> steps, String sql) {
+        bypassCount.increment();
+
+        // 최소화: 연산자를 하나씩 빼고 재현해도 통과하면 제거
+        boolean reduced = true;
+        while (reduced && steps.size() > 1) {
+            reduced = false;
+            for (int i = 0; i < steps.size(); i++) {
+                List<Step> candidate = new ArrayList<>(steps);
+                candidate.remove(i);
+                if (candidate.stream().noneMatch(s -> s.op.isPayload())) continue;
+
+                String replayed = replay(seed.getSql(), candidate);
+                if (replayed != null && passesQuietly(replayed)) {
+                    steps = candidate;
+                    sql = replayed;
+                    reduced = true;
+                    break;
+                }
+            }
+        }
+
+        for (Step step : steps) {
+            operatorBypasses[step.op.ordinal()].increment();
+        }
+
+        String fingerprint = SqlFingerprint.of(sql);
+        String key = (fingerprint != null) ? fingerprint : sql;
+        if (bypasses.size() >= MAX_BYPASSES || bypasses.containsKey(key)) {
+            return;
+        }
+
+        String operators = steps.stream().map(s -> SqlMutator.nameOf(s.op)).collect(Collectors.joining(","));
+        String seedName = seed.getSource() + ":" + seed.getName();
+        String file = write(key, seedName, operators, sql);
+
+        if (bypasses.putIfAbsent(key, new Bypass(seedName, operators, sql, file)) == null) {
+            log.warn("[SECURE-SQL][FUZZ] bypass candidate: seed={} operators={} sql={}", seedName, operators, sql);
+        }
+    }
+
+    /** 우회 후보를 corpus 디렉터리에 .sql 파일로 저장 (실패 시 null) **/
+    private String write(String key, String seedName, String operators, String sql) {
+        Path file = corpusDir.resolve("bypass-" + sha256Prefix(key) + ".sql");
+        String content = "-- job: " + id + "\n"
+                + "-- seed: " + seedName + "\n"
+                + "-- operators: " + operators + "\n"
+                + sql + "\n";
+        try {
+            Files.createDirectories(corpusDir);
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+            return file.toString();
+        } catch (IOException e) {
+            log.warn("[SECURE-SQL][FUZZ] bypass candidate not written: {}", file, e);
+            return null;
+        }
+    }
+
+    /** 통과하는 시드만 사용 (변형 후 통과 = 변형이 검증을 우회했다는 의미가 되도록) **/
+    private List<SqlCorpus.Entry> acceptedSeeds() {
+        List<SqlCorpus.Entry> seeds = new ArrayList<>();
+        for (SqlCorpus.Entry entry : corpus) {
+            if (passesQuietly(entry.getSql())) {
+                seeds.add(entry);
+            }
+        }
+        return seeds;
+    }
+
+    private static String replay(String sql, List<Step> steps) {
+        for (Step step : steps) {
+            sql = SqlMutator.apply(step.op, sql, step.seed);
+            if (sql == null) return null;
+        }
+        return sql;
+    }
+
+    private static boolean passesQuietly(String sql) {
+        try {
+            OracleValidator.validateQuietly(sql, ParseExecutor.Lane.BATCH);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String sha256Prefix(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> adders) {
+        Map<String, Long> sums = new TreeMap<>();
+        adders.forEach((k, v) -> sums.put(k, v.sum()));
+        return sums;
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static int valueOr(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.securesql.fuzz;
+
+/**
+ * fuzz 작업 요청 (POST /api/sql/fuzz)
+ *
+ * - 값이 없으면(null) SqlFuzzJob 기본값 사용
+ */
+public class SqlFuzzRequest {
+
+    // 실행 시간 예산 (초)
+    private Integer durationSeconds;
+    // 최대 실행 횟수 (0 이하이면 시간 예산만 적용)
+    private Long maxExecutions;
+    // ForkJoin 병렬도 (기본/최대: CPU 코어 수)
+    private Integer parallelism;
+    // 변형 1건당 최대 연산자 수
+    private Integer maxStackedMutations;
+    // 난수 seed (같은 seed / 시드 코퍼스 / 병렬도 1이면 같은 순서로 재현)
+    private Long randomSeed;
+
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public Long getMaxExecutions() { return maxExecutions; }
+    public Integer getParallelism() { return parallelism; }
+    public Integer getMaxStackedMutations() { return maxStackedMutations; }
+    public Long getRandomSeed() { return randomSeed; }
+}
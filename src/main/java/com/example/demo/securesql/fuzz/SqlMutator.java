@@ -0,0 +1,279 @@
+package com.example.demo.securesql.fuzz;
+
+import com.example.demo.securesql.lexer.SqlTokenizer;
+import com.example.demo.securesql.lexer.SqlTokens;
+import com.example.demo.securesql.whitelist.GlobalFunctionWhitelistRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * 문법 인식(grammar-aware) SQL 변형기
+ *
+ * - 정상 SQL(시드)을 토큰 단위로 보고 SQL Injection 에서 실제로 쓰이는 형태로 변형
+ * - 같은 (연산자, seed) 조합은 항상 같은 결과 -> 우회 후보 최소화 시 변형 재현에 사용
+ * - 적용할 위치가 없으면 null (ex. WHERE 절이 없는 SQL 에 OR 항진식 삽입)
+ */
+public final class SqlMutator {
+
+    /** 변형 연산자 **/
+    public enum Operator {
+        // WHERE 절에 항진식 OR 삽입 (OR 1=1, OR 'a'='a' ...)
+        OR_TAUTOLOGY(true),
+        // UNION ALL SELECT ... FROM <시스템 뷰> 덧붙이기
+        UNION_APPEND(true),
+        // WHERE 절에 시스템 뷰를 조회하는 중첩 서브쿼리 조건 삽입
+        NESTED_SUBSELECT(true),
+        // 허용된 함수 호출을 위험 함수로 교체
+        FUNCTION_SWAP(true),
+        // 토큰 사이에 주석 삽입 (키워드 / 패턴 검사 회피 시도)
+        COMMENT_INJECTION(false),
+        // 키워드 대소문자 섞기
+        CASE_FOLDING(false);
+
+        // 공격 구문을 추가하는 연산자인지 (false 면 난독화만 수행)
+        private final boolean payload;
+
+        Operator(boolean payload) {
+            this.payload = payload;
+        }
+
+        public boolean isPayload() {
+            return payload;
+        }
+    }
+
+    private static final String[] TAUTOLOGIES = {
+        "1=1", "'a'='a'", "2>1", "1<>2", "'x' LIKE 'x'", "1 IN (1)", "NULL IS NULL",
+        "1 BETWEEN 0 AND 2", "NVL(NULL,1)=1", "(1)=(1)", "-1=-1", "'a'||'b'='ab'",
+        "EXISTS (SELECT 1 FROM DUAL)", "1=1.0", "CASE WHEN 1=1 THEN 1 END=1"
+    };
+
+    private static final String[] SENSITIVE_TABLES = {
+        "DBA_USERS", "ALL_USERS", "USER_TAB_COLUMNS", "ALL_TABLES", "V$SESSION", "SYS.USER$", "DUAL"
+    };
+
+    private static final String[] SENSITIVE_COLUMNS = {
+        "USERNAME", "PASSWORD", "NULL", "'x'", "TABLE_NAME"
+    };
+
+    private static final String[] DANGEROUS_FUNCTIONS = {
+        "DBMS_PIPE.RECEIVE_MESSAGE", "UTL_INADDR.GET_HOST_NAME", "UTL_HTTP.REQUEST", "SYS_CONTEXT",
+        "DBMS_XMLGEN.GETXML", "DBMS_LOCK.SLEEP", "CHR", "USER", "SYS.DBMS_EXPORT_EXTENSION.GET_DOMAIN_INDEX_TABLES"
+    };
+
+    private static final String[] COMMENTS = {
+        "/**/", "/*x*/", "/*+ */", "--x\n", "/* ; */"
+    };
+
+    // WHERE 절의 끝으로 보는 키워드 (같은 괄호 깊이에서)
+    private static final String[] CLAUSE_END = {
+        "GROUP", "ORDER", "HAVING", "UNION", "MINUS", "INTERSECT", "CONNECT", "START", "FETCH"
+    };
+
+    private SqlMutator() {
+    }
+
+    /** 연산자 하나 적용 (적용 위치가 없으면 null) **/
+    public static String apply(Operator op, String sql, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        SqlTokens tokens = SqlTokenizer.tokenize(sql);
+
+        switch (op) {
+            case OR_TAUTOLOGY: return orTautology(tokens, random);
+            case UNION_APPEND: return unionAppend(tokens, random);
+            case NESTED_SUBSELECT: return nestedSubselect(tokens, random);
+            case FUNCTION_SWAP: return functionSwap(tokens, random);
+            case COMMENT_INJECTION: return commentInjection(tokens, random);
+            case CASE_FOLDING: return caseFolding(tokens, random);
+            default: return null;
+        }
+    }
+
+    /*
+     * WHERE <항진식> OR <기존 조건>  또는  WHERE <기존 조건> OR <항진식>
+     */
+    private static String orTautology(SqlTokens tokens, SplittableRandom random) {
+        int where = pickWord(tokens, "WHERE", random);
+        if (where < 0) return null;
+
+        String tautology = pick(TAUTOLOGIES, random);
+        String sql = tokens.sql();
+
+        if (random.nextBoolean()) {
+            int at = tokens.end(where);
+            return sql.substring(0, at) + " " + tautology + " OR" + sql.substring(at);
+        }
+        int at = clauseEnd(tokens, where);
+        return sql.substring(0, at) + " OR " + tautology + " " + sql.substring(at);
+    }
+
+    /*
+     * 문장 끝 또는 서브쿼리 닫는 괄호 앞에 UNION ALL SELECT ... 삽입
+     */
+    private static String unionAppend(SqlTokens tokens, SplittableRandom random) {
+        String union = " UNION ALL SELECT " + pick(SENSITIVE_COLUMNS, random) + " FROM " + pick(SENSITIVE_TABLES, random) + " ";
+        String sql = tokens.sql();
+
+        // 서브쿼리 안쪽 (( SELECT ... ) 의 닫는 괄호 직전, 함수 호출 괄호는 제외)
+        List<Integer> closers = new ArrayList<>();
+        int[] opens = new int[tokens.size()];
+        int depth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.isSymbol(i, '(')) {
+                opens[depth++] = i;
+            } else if (tokens.isSymbol(i, ')') && depth > 0) {
+                int open = opens[--depth];
+                if (open + 1 < i && tokens.isWord(open + 1, "SELECT")) closers.add(i);
+            }
+        }
+        if (!closers.isEmpty() && random.nextInt(3) == 0) {
+            int at = tokens.start(closers.get(random.nextInt(closers.size())));
+            return sql.substring(0, at) + union + sql.substring(at);
+        }
+
+        // 문장 끝 (마지막 ; 앞)
+        int n = tokens.size();
+        int at = (n > 0 && tokens.isSymbol(n - 1, ';')) ? tokens.start(n - 1) : sql.length();
+        return sql.substring(0, at) + union + sql.substring(at);
+    }
+
+    /*
+     * WHERE EXISTS (SELECT 1 FROM (SELECT ... FROM (SELECT USERNAME FROM DBA_USERS) ...) Z) AND <기존 조건>
+     */
+    private static String nestedSubselect(SqlTokens tokens, SplittableRandom random) {
+        int where = pickWord(tokens, "WHERE", random);
+        if (where < 0) return null;
+
+        String inner = "SELECT " + pick(SENSITIVE_COLUMNS, random) + " C FROM " + pick(SENSITIVE_TABLES, random);
+        int depth = 1 + random.nextInt(3);
+        for (int d = 0; d < depth; d++) {
+            inner = "SELECT N" + d + ".C FROM (" + inner + ") N" + d;
+        }
+
+        String predicate;
+        switch (random.nextInt(3)) {
+            case 0: predicate = "EXISTS (SELECT 1 FROM (" + inner + ") Z)"; break;
+            case 1: predicate = "'x' IN (" + inner + ")"; break;
+            default: predicate = "(" + inner + ") IS NOT NULL"; break;
+        }
+
+        String sql = tokens.sql();
+        int at = tokens.end(where);
+        return sql.substring(0, at) + " " + predicate + " AND" + sql.substring(at);
+    }
+
+    /*
+     * NVL( / SUM( ... 처럼 허용 함수 호출의 이름만 위험 함수로 교체
+     */
+    private static String functionSwap(SqlTokens tokens, SplittableRandom random) {
+        List<Integer> calls = new ArrayList<>();
+        for (int i = 0; i + 1 < tokens.size(); i++) {
+            if (tokens.kind(i) == SqlTokens.WORD
+                    && tokens.isSymbol(i + 1, '(')
+                    && GlobalFunctionWhitelistRegistry.isAllowedFunction(tokens.text(i))) {
+                calls.add(i);
+            }
+        }
+        if (calls.isEmpty()) return null;
+
+        int i = calls.get(random.nextInt(calls.size()));
+        String sql = tokens.sql();
+        return sql.substring(0, tokens.start(i)) + pick(DANGEROUS_FUNCTIONS, random) + sql.substring(tokens.end(i));
+    }
+
+    /*
+     * 임의의 토큰 경계 1~3곳에 주석 삽입 (기존 공백은 주석으로 대체)
+     */
+    private static String commentInjection(SqlTokens tokens, SplittableRandom random) {
+        int n = tokens.size();
+        if (n < 2) return null;
+
+        int count = 1 + random.nextInt(3);
+        boolean[] at = new boolean[n];
+        for (int c = 0; c < count; c++) {
+            at[1 + random.nextInt(n - 1)] = true;
+        }
+
+        String sql = tokens.sql();
+        StringBuilder sb = new StringBuilder(sql.length() + count * 8);
+        sb.append(sql, 0, tokens.end(0));
+        for (int i = 1; i < n; i++) {
+            if (at[i]) {
+                sb.append(pick(COMMENTS, random));
+            } else {
+                sb.append(sql, tokens.end(i - 1), tokens.start(i));
+            }
+            sb.append(sql, tokens.start(i), tokens.end(i));
+        }
+        sb.append(sql, tokens.end(n - 1), sql.length());
+        return sb.toString();
+    }
+
+    /*
+     * 단어 토큰 대소문자 무작위 변환 (리터럴 / 따옴표 식별자는 유지)
+     */
+    private static String caseFolding(SqlTokens tokens, SplittableRandom random) {
+        String sql = tokens.sql();
+        StringBuilder sb = new StringBuilder(sql);
+        boolean changed = false;
+
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.kind(i) != SqlTokens.WORD || random.nextInt(3) != 0) continue;
+
+            for (int p = tokens.start(i); p < tokens.end(i); p++) {
+                char ch = sb.charAt(p);
+                sb.setCharAt(p, random.nextBoolean() ? Character.toLowerCase(ch) : Character.toUpperCase(ch));
+            }
+            changed = true;
+        }
+        return changed ? sb.toString() : null;
+    }
+
+    /** WHERE 다음부터 같은 괄호 깊이에서 절이 끝나는 위치 (문자 offset) **/
+    private static int clauseEnd(SqlTokens tokens, int where) {
+        int depth = 0;
+        for (int i = where + 1; i < tokens.size(); i++) {
+            if (tokens.isSymbol(i, '(')) {
+                depth++;
+            } else if (tokens.isSymbol(i, ')')) {
+                if (depth == 0) return tokens.start(i);
+                depth--;
+            } else if (depth == 0 && (tokens.isSymbol(i, ';') || isClauseEnd(tokens, i))) {
+                return tokens.start(i);
+            }
+        }
+        return tokens.sql().length();
+    }
+
+    private static boolean isClauseEnd(SqlTokens tokens, int i) {
+        for (String word : CLAUSE_END) {
+            if (tokens.isWord(i, word)) return true;
+        }
+        return false;
+    }
+
+    /** 해당 단어 토큰 중 하나를 무작위 선택 (없으면 -1) **/
+    private static int pickWord(SqlTokens tokens, String upperWord, SplittableRandom random) {
+        int found = 0;
+        int chosen = -1;
+        // reservoir sampling: 목록을 만들지 않고 한 번 순회로 균등 선택
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.isWord(i, upperWord) && random.nextInt(++found) == 0) {
+                chosen = i;
+            }
+        }
+        return chosen;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** 연산자 이름 (소문자, 리포트용) **/
+    static String nameOf(Operator op) {
+        return op.name().toLowerCase(Locale.ROOT);
+    }
+}
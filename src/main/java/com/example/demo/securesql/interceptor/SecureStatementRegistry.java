@@ -0,0 +1,173 @@
+package com.example.demo.securesql.interceptor;
+
+import com.example.demo.securesql.annotation.SecureSqlRequired;
+import com.example.demo.securesql.metrics.SecureSqlMetrics;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MappedStatement id -> 보안 검증 정책 레지스트리
+ *
+ * - SqlSessionFactory 생성 시점에 Configuration의 모든 MappedStatement를 한 번만 순회
+ * - Mapper 인터페이스의 @SecureSqlRequired 애노테이션을 미리 해석하여 불변 Map으로 보관
+ * - 쿼리 실행 시에는 Map 조회 한 번으로 검증 대상 여부 판단 (reflection 없음)
+ */
+@Slf4j
+public final class SecureStatementRegistry {
+
+    /** Statement 단위 보안 정책 **/
+    public static final class StatementPolicy {
+        private final String statementId;
+        private final String mapperType;
+        private final String method;
+        private final boolean secureSqlRequired;
+
+        StatementPolicy(String statementId, String mapperType, String method, boolean secureSqlRequired) {
+            this.statementId = statementId;
+            this.mapperType = mapperType;
+            this.method = method;
+            this.secureSqlRequired = secureSqlRequired;
+        }
+
+        public String getStatementId() { return statementId; }
+        public String getMapperType() { return mapperType; }
+        public String getMethod() { return method; }
+        public boolean isSecureSqlRequired() { return secureSqlRequired; }
+    }
+
+    // 시작 시점에 확정된 정책 (불변)
+    private final Map<String, StatementPolicy> policies;
+
+    // 시작 이후 추가된 Statement (예: 뒤늦게 등록된 Mapper) 를 위한 보조 캐시
+    // 처음 한 번만 reflection 으로 해석하고 이후에는 조회만 수행
+    private final Map<String, StatementPolicy> lateResolved = new ConcurrentHashMap<>();
+
+    private SecureStatementRegistry(Map<String, StatementPolicy> policies) {
+        this.policies = policies;
+    }
+
+    /** 빈 레지스트리 (SqlSessionFactory 생성 전 기본값) **/
+    public static SecureStatementRegistry empty() {
+        return new SecureStatementRegistry(Collections.emptyMap());
+    }
+
+    /**
+     * MyBatis Configuration에 등록된 모든 MappedStatement를 순회하여 레지스트리 생성.
+     *
+     * getMappedStatements()는 short name 충돌 시 Ambiguity 객체가 섞여 들어올 수 있으므로
+     * 전체 id(namespace.method)만 골라 getMappedStatement(id)로 조회
+     */
+    public static SecureStatementRegistry build(Configuration configuration) {
+
+        // Mapper 클래스명 -> @SecureSqlRequired 가 붙은 메서드명 목록 (클래스당 reflection 1회)
+        Map<String, Set<String>> annotatedByType = new HashMap<>();
+        Map<String, StatementPolicy> policies = new HashMap<>();
+
+        for (String id : new ArrayList<>(configuration.getMappedStatementNames())) {
+
+            // short name 키는 건너뜀 (전체 id 키만 사용)
+            if (id.indexOf('.') < 0) continue;
+
+            MappedStatement ms = configuration.getMappedStatement(id);
+            String fullId = ms.getId();
+            if (policies.containsKey(fullId)) continue;
+
+            policies.put(fullId, resolve(fullId, annotatedByType));
+        }
+
+        SecureStatementRegistry registry = new SecureStatementRegistry(Map.copyOf(policies));
+
+        // 보안 검증 대상 Statement 의 차단 Counter 미리 등록 (차단 시 registry 조회 없음)
+        List<String> protectedIds = new ArrayList<>();
+        for (StatementPolicy p : registry.protectedStatements()) {
+            protectedIds.add(p.getStatementId());
+        }
+        SecureSqlMetrics.registerStatements(protectedIds);
+
+        log.info("[SECURE-SQL][REGISTRY] statements={} protected={}",
+                policies.size(), registry.protectedStatements().size());
+
+        return registry;
+    }
+
+    /** 해당 Statement가 보안 검증 대상인지 확인 **/
+    public boolean requiresValidation(String statementId) {
+        return policyOf(statementId).isSecureSqlRequired();
+    }
+
+    /** Statement 정책 조회 (시작 시점에 없던 Statement는 한 번만 해석 후 캐시) **/
+    public StatementPolicy policyOf(String statementId) {
+        StatementPolicy policy = policies.get(statementId);
+        if (policy != null) {
+            return policy;
+        }
+
+        return lateResolved.computeIfAbsent(statementId, id -> {
+            StatementPolicy p = resolve(id, new HashMap<>());
+            log.warn("[SECURE-SQL][REGISTRY] Statement resolved after startup: {} (secureSqlRequired={})",
+                    id, p.isSecureSqlRequired());
+            return p;
+        });
+    }
+
+    /** 보안 검증 대상 Statement 목록 (id 순 정렬) **/
+    public List<StatementPolicy> protectedStatements() {
+        List<StatementPolicy> result = new ArrayList<>();
+        for (StatementPolicy p : policies.values()) {
+            if (p.isSecureSqlRequired()) result.add(p);
+        }
+        for (StatementPolicy p : lateResolved.values()) {
+            if (p.isSecureSqlRequired()) result.add(p);
+        }
+        result.sort(Comparator.comparing(StatementPolicy::getStatementId));
+        return result;
+    }
+
+    /** id(namespace.method)를 Mapper 클래스/메서드로 분리하여 @SecureSqlRequired 여부 해석 **/
+    private static StatementPolicy resolve(String id, Map<String, Set<String>> annotatedByType) {
+        // ex) com.example.demo.mapper.SalesMapper.selectSalesReport
+        int idx = id.lastIndexOf('.');
+        if (idx < 0) {
+            return new StatementPolicy(id, null, id, false);
+        }
+
+        String className = id.substring(0, idx);
+        String methodName = id.substring(idx + 1);
+
+        Set<String> annotated = annotatedByType.computeIfAbsent(className, SecureStatementRegistry::annotatedMethods);
+        return new StatementPolicy(id, className, methodName, annotated.contains(methodName));
+    }
+
+    /** Mapper 클래스에서 @SecureSqlRequired 가 붙은 메서드명 목록 추출 **/
+    private static Set<String> annotatedMethods(String className) {
+        try {
+            Class<?> mapperClass = Resources.classForName(className);
+            Set<String> names = new HashSet<>();
+
+            for (Method method : mapperClass.getMethods()) {
+                if (method.isAnnotationPresent(SecureSqlRequired.class)) {
+                    names.add(method.getName());
+                }
+            }
+            return names;
+
+        } catch (ClassNotFoundException e) {
+            // namespace가 Mapper 인터페이스가 아닌 경우 (XML 전용 namespace 등) 검증 대상 아님
+            return Collections.emptySet();
+        }
+    }
+}
@@ -1,99 +1,162 @@
 package com.example.demo.securesql.interceptor;
 
-import com.example.demo.securesql.annotation.SecureSqlRequired;
+import com.example.demo.securesql.metrics.SecureSqlMetrics;
 import com.example.demo.securesql.validator.OracleValidator;
-import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.BaseStatementHandler;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.plugin.*;
 
-import org.apache.ibatis.session.ResultHandler;
-import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.Configuration;
 
-import java.lang.reflect.Method;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
 import java.util.Properties;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * MyBatis SQL 실행 직전에 SQL 보안 검증을 수행하는 Interceptor.
  *
  * - @SecureSqlRequired 애노테이션이 붙은 Mapper 메서드만 검증 대상
  * - 애노테이션이 없으면 모든 SQL은 그대로 통과
- * 
- * - Executor.query() 가 호출되기 직전에 SQL 문자열을 가로챔
+ * - MappedStatement 를 알 수 없는 StatementHandler 는 애노테이션 여부와 관계없이 검증 (검증 생략 경로 없음)
+ * - 검증 대상 여부는 SqlSessionFactory 생성 시점에 SecureStatementRegistry로 미리 해석 (실행 시 reflection 없음)
+ *
+ * - StatementHandler.prepare() 가 호출되기 직전에 SQL 문자열을 가로챔
  * - OracleValidator.validate(sql) 호출
  * - 검증 실패 시 RuntimeException 발생 -> SQL 실행 차단
  */
+/*
+ * Executor.query() 대신 StatementHandler.prepare() 를 가로채는 이유
+ *
+ * 	- 1. BoundSql 단일 생성
+ * 		- Executor.query() 단계에서 ms.getBoundSql() 을 호출하면 ${} / <foreach> 등 동적 SQL(OGNL) 트리가 한 번 평가되고,
+ * 		  invocation.proceed() 이후 Executor가 같은 작업을 다시 수행함 (SQL 생성 2회)
+ * 		- StatementHandler는 Executor가 만든 BoundSql을 그대로 들고 있으므로 handler.getBoundSql() 로 재사용 (SQL 생성 1회)
+ * 		- 검증한 SQL과 실제 실행되는 SQL이 항상 동일함이 보장됨
+ *
+ * 	- 2. 실행 경로 누락 없음
+ * 		- query() 4개 인자 / 6개 인자 오버로드, queryCursor() 등 모든 조회 경로는 결국 StatementHandler.prepare() 를 거침
+ * 		- 1차 캐시(localCache)에서 결과가 반환되는 경우는 SQL이 실행되지 않으므로 검증할 필요 없음
+ */
+@Slf4j
 @Intercepts({
     @Signature(
-        type = Executor.class,     // 가로챌 대상 클래스 타입: SQL 실행의 핵심인 Executor
-        method = "query",          // 가로챌 대상 메서드 이름: SELECT 구문 실행 시 호출되는 query 메서드
-        args = {                   // 가로챌 메서드의 인자 타입 (메서드 오버로딩 구분을 위해 필수)
-            MappedStatement.class, // 첫 번째 인자: 실행할 SQL 정보
-            Object.class,          // 두 번째 인자: SQL에 바인딩할 파라미터 객체
-            RowBounds.class,       // 세 번째 인자: 페이징 정보
-            ResultHandler.class    // 네 번째 인자: 결과 처리 핸들러
+        type = StatementHandler.class, // 가로챌 대상 클래스 타입: JDBC Statement 생성을 담당하는 StatementHandler
+        method = "prepare",            // 가로챌 대상 메서드 이름: JDBC Statement 를 준비(prepare)하는 메서드
+        args = {                       // 가로챌 메서드의 인자 타입 (메서드 오버로딩 구분을 위해 필수)
+            Connection.class,          // 첫 번째 인자: JDBC 커넥션
+            Integer.class              // 두 번째 인자: 트랜잭션 타임아웃
         }
     )
 })
 public class SqlSecurityInterceptor implements Interceptor {
 
+	// RoutingStatementHandler.delegate (실제 StatementHandler)
+    private static final Field DELEGATE_FIELD = accessibleField(RoutingStatementHandler.class, "delegate");
+    // BaseStatementHandler.mappedStatement
+    private static final Field MAPPED_STATEMENT_FIELD = accessibleField(BaseStatementHandler.class, "mappedStatement");
+
+	// MappedStatement id -> 보안 정책 (SqlSessionFactory 생성 후 registerStatements()로 교체)
+    private volatile SecureStatementRegistry registry = SecureStatementRegistry.empty();
+
+    /** SqlSessionFactory 생성 직후 호출: 모든 MappedStatement의 보안 정책을 한 번만 해석 **/
+    public void registerStatements(Configuration configuration) {
+        this.registry = SecureStatementRegistry.build(configuration);
+    }
+
+    /** 현재 Statement 레지스트리 반환 (관리자 조회용) **/
+    public SecureStatementRegistry getRegistry() {
+        return registry;
+    }
+
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
 
-        // Invocation 객체로부터 가로챈 메서드의 인자들을 추출
-        // invocation.getArgs()는 @Signature에 정의된 순서대로 인자를 배열로 반환
-        // MappedStatement 추출
-        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
-        
+        // 가로챈 StatementHandler 에서 MappedStatement 추출
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        MappedStatement ms = mappedStatementOf(handler);
+
+        // MappedStatement를 알 수 없는 경우 (지원하지 않는 StatementHandler 구현체)
+        // 검증 대상 여부를 판단할 수 없으므로 검증 대상으로 보고 그대로 검증 (fail closed)
+        if (ms == null) {
+            log.warn("[SECURE-SQL] MappedStatement not resolvable from {}, validating unconditionally",
+                    handler.getClass().getName());
+            OracleValidator.validate(handler.getBoundSql().getSql());
+            return invocation.proceed();
+        }
+
         // 애노테이션이 없는 SQL은 검증하지 않음
-        if (!hasSecureSqlRequired(ms)) {
+        if (!registry.requiresValidation(ms.getId())) {
             return invocation.proceed();
         }
-        
-        // SQL 파라미터 객체 추출
-        Object parameterObject = invocation.getArgs()[1];
 
-        // 최종 실행 SQL 획득 (파라미터 바인딩 전 SQL)
-        BoundSql boundSql = ms.getBoundSql(parameterObject);
+        // Executor가 이미 생성한 BoundSql 재사용 (동적 SQL 재평가 없음)
+        BoundSql boundSql = handler.getBoundSql();
         // BoundSql 객체로부터 파라미터가 바인딩될 SQL 문자열을 획득
         String sql = boundSql.getSql();
 
         // SQL 보안 검증
         // 획득한 SQL 문자열을 OracleValidator를 사용하여 검증
         // 이 메서드 내에서 파싱 및 화이트리스트 검사 등이 수행되며, 검증 실패 시 예외가 발생
-        OracleValidator.validate(sql);
+        try {
+            OracleValidator.validate(sql);
+        } catch (RuntimeException e) {
+        	// Mapper Statement 별 차단 카운트 (securesql.statement.rejects)
+            SecureSqlMetrics.countStatementReject(ms.getId());
+            throw e;
+        }
 
-        // 검증 통과 시, 원래 가로챘던 Executor.query() 메서드를 실제 실행
-        // 이 결과를 호출한 서비스 계층으로 반환
+        // 검증 통과 시, 원래 가로챘던 StatementHandler.prepare() 메서드를 실제 실행
         return invocation.proceed();
     }
-    
+
     /**
-     * Mapper 메서드에 @SecureSqlRequired 애노테이션이 붙어있는지 확인
+     * StatementHandler 에서 MappedStatement 추출
+     *
+     * - 기본 경로: RoutingStatementHandler.delegate -> BaseStatementHandler.mappedStatement (캐시된 Field 직접 접근)
+     * - 다른 plugin 프록시로 감싸진 경우: 프록시를 벗겨낸 뒤 동일하게 처리
      */
-    private boolean hasSecureSqlRequired(MappedStatement ms) {
+    private MappedStatement mappedStatementOf(StatementHandler handler) throws IllegalAccessException {
+        Object target = handler;
+
+        // 다른 Interceptor 에 의해 프록시로 감싸진 경우 실제 대상까지 unwrap
+        while (Proxy.isProxyClass(target.getClass())) {
+            MetaObject metaObject = SystemMetaObject.forObject(target);
+            target = metaObject.getValue("h.target");
+        }
+
+        if (target instanceof RoutingStatementHandler) {
+            target = DELEGATE_FIELD.get(target);
+        }
+
+        if (target instanceof BaseStatementHandler) {
+            return (MappedStatement) MAPPED_STATEMENT_FIELD.get(target);
+        }
+
+        // 사용자 정의 StatementHandler: getter/필드명 기반으로 조회 시도
+        MetaObject metaObject = SystemMetaObject.forObject(target);
+        if (metaObject.hasGetter("mappedStatement")) {
+            return (MappedStatement) metaObject.getValue("mappedStatement");
+        }
+        return null;
+    }
+
+    /** 클래스 로딩 시 한 번만 Field 를 찾아 접근 가능하도록 설정 **/
+    private static Field accessibleField(Class<?> type, String name) {
         try {
-            // ex) com.example.demo.mapper.SalesMapper.selectSalesReport
-            String id = ms.getId();
-            int idx = id.lastIndexOf('.');
-            if (idx < 0) return false;
-
-            String className = id.substring(0, idx);
-            String methodName = id.substring(idx + 1);
-
-            Class<?> mapperClass = Class.forName(className);
-
-            for (Method method : mapperClass.getMethods()) {
-                if (method.getName().equals(methodName)
-                        && method.isAnnotationPresent(SecureSqlRequired.class)) {
-                    return true;
-                }
-            }
-        } catch (Exception e) {
-            // reflection 실패 시 SecureSqlRequired 애노테이션이 없다고 간주하고 정상 흐름 유지
-            return false;
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("MyBatis StatementHandler 필드를 찾을 수 없습니다: " + type.getName() + "." + name, e);
         }
-        return false;
     }
 
     /*
@@ -102,7 +165,7 @@ public class SqlSecurityInterceptor implements Interceptor {
      */
     @Override
     public Object plugin(Object target) {
-    	// Plugin.wrap()은 target이 @Intercepts 어노테이션에 정의된 타입(Executor)에 해당하는지 확인하고,
+    	// Plugin.wrap()은 target이 @Intercepts 어노테이션에 정의된 타입(StatementHandler)에 해당하는지 확인하고,
         // 해당하면 이 Interceptor를 적용한 프록시 객체를 반환
         return Plugin.wrap(target, this);
     }
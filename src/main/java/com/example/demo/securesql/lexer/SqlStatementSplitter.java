@@ -0,0 +1,120 @@
+package com.example.demo.securesql.lexer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 여러 SQL 문이 ; 로 이어진 텍스트를 한 문장씩 읽어오는 스트리밍 분리기
+ *
+ * - 전체 텍스트를 메모리에 올리지 않고 Reader 에서 문장 하나 분량만 읽음
+ * - 문자열 리터럴 / 큰따옴표 식별자 / 주석 안의 ; 는 구분자로 보지 않음 (SqlTokenizer 와 같은 규칙)
+ * - 구분자 ; 자체는 문장에 포함하지 않으며, 공백뿐인 문장은 건너뜀
+ */
+public final class SqlStatementSplitter {
+
+    private final Reader reader;
+    // 한 글자 되돌리기용 (-1 이면 없음)
+    private int pushedBack = -1;
+    private boolean eof;
+
+    public SqlStatementSplitter(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** 다음 SQL 문 (더 이상 없으면 null) **/
+    public String next() throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        while (!eof) {
+            int c = read();
+            if (c < 0) {
+                eof = true;
+                break;
+            }
+
+            // 문장 구분자
+            if (c == ';') {
+                String sql = sb.toString().trim();
+                if (!sql.isEmpty()) {
+                    return sql;
+                }
+                sb.setLength(0);
+                continue;
+            }
+
+            sb.append((char) c);
+
+            if (c == '\'' || c == '"') {
+                copyQuoted(sb, (char) c);
+            } else if (c == '-') {
+                int n = read();
+                if (n == '-') {
+                    sb.append('-');
+                    copyUntil(sb, "\n");
+                } else {
+                    unread(n);
+                }
+            } else if (c == '/') {
+                int n = read();
+                if (n == '*') {
+                    sb.append('*');
+                    copyUntil(sb, "*/");
+                } else {
+                    unread(n);
+                }
+            }
+        }
+
+        String sql = sb.toString().trim();
+        return sql.isEmpty() ? null : sql;
+    }
+
+    /** 닫는 따옴표까지 복사 ('' 이스케이프 포함) **/
+    private void copyQuoted(StringBuilder sb, char quote) throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            sb.append((char) c);
+            if (c == quote) {
+                int n = read();
+                if (n == quote) {
+                    sb.append((char) n);
+                    continue;
+                }
+                unread(n);
+                return;
+            }
+        }
+    }
+
+    /** 종료 문자열까지 복사 (주석) **/
+    private void copyUntil(StringBuilder sb, String terminator) throws IOException {
+        int matched = 0;
+        int c;
+        while ((c = read()) >= 0) {
+            sb.append((char) c);
+            if (c == terminator.charAt(matched)) {
+                matched++;
+                if (matched == terminator.length()) {
+                    return;
+                }
+            } else {
+                matched = (c == terminator.charAt(0)) ? 1 : 0;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack >= 0) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        if (c >= 0) {
+            pushedBack = c;
+        }
+    }
+}
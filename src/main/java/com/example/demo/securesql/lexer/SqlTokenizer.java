@@ -0,0 +1,168 @@
+package com.example.demo.securesql.lexer;
+
+import java.util.Arrays;
+
+/**
+ * SQL 토크나이저
+ *
+ * - OracleValidator.validate 에서 SQL 한 건당 한 번만 실행
+ * - 결과(SqlTokens)를 금지 키워드 검사 / 지문 생성 / 파싱 전 형태 검사가 함께 사용
+ */
+/*
+ * [ 토큰 규칙 ]
+ *
+ * 	- 공백: 토큰 아님
+ * 	- 주석: 토큰 아님 (-- 는 줄 끝까지, 블록 주석은 닫는 기호까지)
+ * 		- 닫히지 않은 블록 주석은 SQL 끝까지 주석으로 보고 unterminatedComment 표시
+ * 	- '...' : STRING ('' 는 이스케이프), 닫히지 않으면 SQL 끝까지 STRING + unterminatedQuote 표시
+ * 	- "..." : QUOTED_IDENTIFIER (규칙은 STRING 과 동일)
+ * 	- 숫자로 시작: NUMBER (소수점, 지수 포함)
+ * 	- 문자 / _ / $ / # 로 시작: WORD (Oracle 식별자 규칙)
+ * 	- 그 외: SYMBOL 1글자 (<=, <> 같은 연산자도 1글자씩 분리, 사이에 간격이 없으므로 원문 복원 가능)
+ */
+public final class SqlTokenizer {
+
+	// 토큰 배열 초기 크기 (SQL 길이 기준으로 추정)
+    private static final int MIN_CAPACITY = 16;
+
+    private SqlTokenizer() {
+    }
+
+    /** SQL 토큰화 **/
+    public static SqlTokens tokenize(String sql) {
+
+        String src = sql == null ? "" : sql;
+        int len = src.length();
+
+        // 평균 토큰 길이를 대략 4글자로 보고 배열 크기 추정 (부족하면 확장)
+        int capacity = Math.max(MIN_CAPACITY, len / 4);
+        byte[] kinds = new byte[capacity];
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int count = 0;
+
+        boolean hasComment = false;
+        boolean unterminatedQuote = false;
+        boolean unterminatedComment = false;
+
+        int i = 0;
+        while (i < len) {
+            char c = src.charAt(i);
+
+            // 공백
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            // 한 줄 주석
+            if (c == '-' && i + 1 < len && src.charAt(i + 1) == '-') {
+                hasComment = true;
+                i += 2;
+                while (i < len && src.charAt(i) != '\n') i++;
+                continue;
+            }
+
+            // 블록 주석
+            if (c == '/' && i + 1 < len && src.charAt(i + 1) == '*') {
+                hasComment = true;
+                int end = src.indexOf("*/", i + 2);
+                if (end < 0) {
+                    unterminatedComment = true;
+                    i = len;
+                } else {
+                    i = end + 2;
+                }
+                continue;
+            }
+
+            int start = i;
+            byte kind;
+
+            if (c == '\'' || c == '"') {
+                kind = (c == '\'') ? SqlTokens.STRING : SqlTokens.QUOTED_IDENTIFIER;
+                int end = skipQuoted(src, i, c);
+                if (end < 0) {
+                    unterminatedQuote = true;
+                    i = len;
+                } else {
+                    i = end;
+                }
+            } else if (c >= '0' && c <= '9') {
+                kind = SqlTokens.NUMBER;
+                i = skipNumber(src, i);
+            } else if (isIdentifierStart(c)) {
+                kind = SqlTokens.WORD;
+                i++;
+                while (i < len && isIdentifierPart(src.charAt(i))) i++;
+            } else {
+                kind = SqlTokens.SYMBOL;
+                i++;
+            }
+
+            // 배열 확장
+            if (count == kinds.length) {
+                int newCapacity = kinds.length * 2;
+                kinds = Arrays.copyOf(kinds, newCapacity);
+                starts = Arrays.copyOf(starts, newCapacity);
+                ends = Arrays.copyOf(ends, newCapacity);
+            }
+
+            kinds[count] = kind;
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+
+        return new SqlTokens(src, kinds, starts, ends, count, hasComment, unterminatedQuote, unterminatedComment);
+    }
+
+    /** 따옴표 구간 끝 위치 반환 (같은 따옴표 2개는 이스케이프). 닫히지 않았으면 -1 **/
+    private static int skipQuoted(String sql, int start, char quote) {
+        int len = sql.length();
+        int i = start + 1;
+        while (i < len) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < len && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** 숫자 리터럴 끝 위치 반환 (소수점/지수 포함) **/
+    private static int skipNumber(String sql, int start) {
+        int len = sql.length();
+        int i = start;
+        while (i < len && isDigit(sql.charAt(i))) i++;
+        if (i < len && sql.charAt(i) == '.') {
+            i++;
+            while (i < len && isDigit(sql.charAt(i))) i++;
+        }
+        if (i < len && (sql.charAt(i) == 'E' || sql.charAt(i) == 'e')) {
+            int j = i + 1;
+            if (j < len && (sql.charAt(j) == '+' || sql.charAt(j) == '-')) j++;
+            if (j < len && isDigit(sql.charAt(j))) {
+                i = j;
+                while (i < len && isDigit(sql.charAt(i))) i++;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return Character.isLetter(c) || c == '_' || c == '$' || c == '#';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.securesql.lexer;
+
+/**
+ * SqlTokenizer 결과 (토큰 배열)
+ *
+ * - 토큰마다 객체를 만들지 않고 종류/시작/끝 위치만 기본형 배열로 보관
+ * - 토큰 문자열이 필요하면 원본 SQL 에서 [start, end) 구간을 직접 읽음
+ * - 공백과 주석은 토큰이 아님 (토큰 사이 간격(gap)으로만 표현)
+ */
+public final class SqlTokens {
+
+	/* ---------- 토큰 종류 ---------- */
+    // 식별자 / 키워드 (SELECT, b.enterprise_id 의 b, enterprise_id ...)
+    public static final byte WORD = 1;
+    // 숫자 리터럴 (1, 10.5, 1e3)
+    public static final byte NUMBER = 2;
+    // 문자열 리터럴 ('...')
+    public static final byte STRING = 3;
+    // 큰따옴표 식별자 ("...")
+    public static final byte QUOTED_IDENTIFIER = 4;
+    // 기호 1글자 (( ) , . ; = < > ? 등)
+    public static final byte SYMBOL = 5;
+
+    private final String sql;
+    private final byte[] kinds;
+    private final int[] starts;
+    private final int[] ends;
+    private final int count;
+
+    // 주석 포함 여부
+    private final boolean hasComment;
+    // 닫히지 않은 문자열 리터럴 / 큰따옴표 식별자 여부 (마지막 토큰이 SQL 끝까지 이어짐)
+    private final boolean unterminatedQuote;
+    // 닫히지 않은 블록 주석 여부
+    private final boolean unterminatedComment;
+
+    SqlTokens(String sql, byte[] kinds, int[] starts, int[] ends, int count,
+              boolean hasComment, boolean unterminatedQuote, boolean unterminatedComment) {
+        this.sql = sql;
+        this.kinds = kinds;
+        this.starts = starts;
+        this.ends = ends;
+        this.count = count;
+        this.hasComment = hasComment;
+        this.unterminatedQuote = unterminatedQuote;
+        this.unterminatedComment = unterminatedComment;
+    }
+
+    public String sql() { return sql; }
+    public int size() { return count; }
+
+    public byte kind(int i) { return kinds[i]; }
+    public int start(int i) { return starts[i]; }
+    public int end(int i) { return ends[i]; }
+
+    public boolean hasComment() { return hasComment; }
+    public boolean hasUnterminatedQuote() { return unterminatedQuote; }
+    public boolean hasUnterminatedComment() { return unterminatedComment; }
+
+    /** i번째 토큰 앞에 공백/주석이 있었는지 여부 **/
+    public boolean hasGapBefore(int i) {
+        return i == 0 ? starts[0] > 0 : starts[i] > ends[i - 1];
+    }
+
+    /** i번째 토큰이 해당 기호(1글자)인지 확인 **/
+    public boolean isSymbol(int i, char c) {
+        return kinds[i] == SYMBOL && sql.charAt(starts[i]) == c;
+    }
+
+    /** i번째 토큰이 해당 단어인지 확인 (ASCII 대소문자 무시, 문자열 생성 없음) **/
+    public boolean isWord(int i, String upperWord) {
+        int len = ends[i] - starts[i];
+        return kinds[i] == WORD
+                && len == upperWord.length()
+                && sql.regionMatches(true, starts[i], upperWord, 0, len);
+    }
+
+    /** i번째 토큰 문자열 (로그/오류 메시지용) **/
+    public String text(int i) {
+        return sql.substring(starts[i], ends[i]);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.securesql.log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SecureSqlLogger 비동기 출력기
+ *
+ * - 요청 쓰레드는 고정 크기 버퍼(ArrayBlockingQueue)에 이벤트만 넣고 즉시 반환 (로그 I/O 없음)
+ * - 전용 쓰레드 1개가 버퍼를 비우며 실제 로그 출력
+ * - PASS 는 지문(fingerprint) 별 건수만 집계하고 주기적으로 요약 1줄씩 출력
+ * - 버퍼가 가득 차면 PASS / META 이벤트는 버리고 dropped 카운트 증가
+ * 		- dropped 는 SecureSqlLogger 가 넘겨준 누적 카운터 (출력기를 교체해도 이어서 증가, 메트릭이 줄어들지 않음)
+ * 		- REJECT 는 버리지 않고 호출 쓰레드에서 바로 출력 (dropped 가 아닌 inlineWrites 로 집계)
+ */
+@Slf4j
+final class AsyncSecureSqlLogWriter {
+
+    /** 버퍼에 들어가는 로그 이벤트 **/
+    private static final class Event {
+        private final String tag;
+        private final String message;
+
+        Event(String tag, String message) {
+            this.tag = tag;
+            this.message = message;
+        }
+    }
+
+    // 요약 집계 대상 지문 최대 개수 (초과분은 overflow 로 합산)
+    private static final int MAX_SUMMARY_KEYS = 1024;
+
+    private final BlockingQueue<Event> buffer;
+    private final long summaryIntervalNanos;
+
+    // 지문 -> 요약 주기 동안의 PASS 건수
+    private final Map<String, LongAdder> passCounts = new ConcurrentHashMap<>();
+    // 지문 개수 초과로 개별 집계하지 못한 PASS 건수
+    private final LongAdder overflowPasses = new LongAdder();
+
+    private final LongAdder enqueued = new LongAdder();
+    // 버려진 이벤트 누적 수 (SecureSqlLogger 소유, 출력기 교체와 무관)
+    private final LongAdder dropped;
+    // 버퍼가 가득 차서 호출 쓰레드에서 바로 출력한 이벤트 수 (REJECT)
+    private final LongAdder inlineWrites = new LongAdder();
+    private final LongAdder summaryLines = new LongAdder();
+
+    // 마지막 요약 시점의 dropped 누적값 (출력 쓰레드 전용)
+    private long reportedDropped;
+
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    AsyncSecureSqlLogWriter(int bufferSize, long summaryIntervalSeconds, LongAdder dropped) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.summaryIntervalNanos = TimeUnit.SECONDS.toNanos(summaryIntervalSeconds);
+        this.dropped = dropped;
+        // 이전 출력기가 이미 버린 건수는 다시 경고하지 않음
+        this.reportedDropped = dropped.sum();
+
+        this.worker = new Thread(this::drain, "secure-sql-log");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** 이벤트 적재 (버퍼가 가득 차면 버리고 dropped 증가) **/
+    void offerOrDrop(String tag, String message) {
+        if (!offer(tag, message)) {
+            dropped.increment();
+        }
+    }
+
+    /** 이벤트 적재, 버퍼가 가득 차면 호출 쓰레드에서 바로 출력 (버리지 않음) **/
+    void offerOrWrite(String tag, String message) {
+        if (!offer(tag, message)) {
+            inlineWrites.increment();
+            write(new Event(tag, message));
+        }
+    }
+
+    private boolean offer(String tag, String message) {
+        if (buffer.offer(new Event(tag, message))) {
+            enqueued.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /** PASS 건수 집계 (지문 단위) **/
+    void countPass(String key) {
+        LongAdder counter = passCounts.get(key);
+        if (counter == null) {
+            if (passCounts.size() >= MAX_SUMMARY_KEYS) {
+                overflowPasses.increment();
+                return;
+            }
+            counter = passCounts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /** 출력 쓰레드 종료 (남은 이벤트와 요약은 출력 후 종료) **/
+    void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("bufferCapacity", buffer.size() + buffer.remainingCapacity());
+        stats.put("bufferDepth", buffer.size());
+        stats.put("enqueued", enqueued.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("inlineWrites", inlineWrites.sum());
+        stats.put("summaryKeys", passCounts.size());
+        stats.put("summaryLines", summaryLines.sum());
+        return stats;
+    }
+
+    /** 버퍼 소비 루프 **/
+    private void drain() {
+        long nextSummary = System.nanoTime() + summaryIntervalNanos;
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                Event e = buffer.poll(1, TimeUnit.SECONDS);
+                if (e != null) {
+                    write(e);
+                }
+            } catch (InterruptedException ie) {
+                // shutdown(): 남은 이벤트 출력 후 종료
+                Event e;
+                while ((e = buffer.poll()) != null) {
+                    write(e);
+                }
+                break;
+            } catch (RuntimeException ex) {
+                // 로그 출력 실패로 쓰레드가 죽지 않도록 함
+                log.warn("[SECURE-SQL][LOG] async write failed", ex);
+            }
+
+            if (System.nanoTime() - nextSummary >= 0) {
+                flushSummary();
+                nextSummary = System.nanoTime() + summaryIntervalNanos;
+            }
+        }
+        flushSummary();
+    }
+
+    private void write(Event e) {
+        log.info("[SECURE-SQL][{}] {}", e.tag, e.message);
+    }
+
+    /** 지문별 PASS 요약 출력 후 초기화 **/
+    private void flushSummary() {
+        for (Map.Entry<String, LongAdder> entry : passCounts.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count == 0) {
+                // 한 주기 동안 사용되지 않은 지문은 제거 (집계 Map 크기 제한)
+                passCounts.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            log.info("[SECURE-SQL][PASS-SUMMARY] count={} fingerprint=\"{}\"", count, entry.getKey());
+            summaryLines.increment();
+        }
+
+        long overflow = overflowPasses.sumThenReset();
+        if (overflow > 0) {
+            log.info("[SECURE-SQL][PASS-SUMMARY] count={} fingerprint=(other)", overflow);
+            summaryLines.increment();
+        }
+
+        // 이번 주기 동안 버퍼 초과로 버려진 이벤트 수
+        long droppedSoFar = dropped.sum();
+        if (droppedSoFar > reportedDropped) {
+            log.warn("[SECURE-SQL][LOG] dropped={} total={} (buffer full)", droppedSoFar - reportedDropped, droppedSoFar);
+            reportedDropped = droppedSoFar;
+        }
+    }
+}
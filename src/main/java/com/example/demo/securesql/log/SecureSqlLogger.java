@@ -2,27 +2,135 @@ package com.example.demo.securesql.log;
 
 import com.example.demo.securesql.parser.SqlMeta;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * SQL 보안 검증 로그
+ *
+ * - sync 모드: 모든 PASS / REJECT / META 를 호출 쓰레드에서 바로 INFO 출력 (기존 동작)
+ * - async 모드 (securesql.log.mode=async)
+ * 		- REJECT: 항상 SQL 전체 출력 (버퍼가 가득 차면 호출 쓰레드에서 바로 출력, 버리지 않음)
+ * 		- PASS: 지문(fingerprint) 별 건수만 집계 후 주기적으로 요약 출력 + 설정 비율만큼 샘플링하여 SQL 전체 출력
+ * 		- META: PASS 와 같은 비율로 샘플링
+ * 		- 로그 I/O 는 전용 쓰레드에서 수행 (AsyncSecureSqlLogWriter)
+ */
 @Slf4j
 public class SecureSqlLogger {
 
+	// async 출력기 (null 이면 sync 모드)
+    private static volatile AsyncSecureSqlLogWriter asyncWriter;
+    // PASS / META 샘플링 비율 (0.0 ~ 1.0)
+    private static volatile double passSampleRate = 1.0;
+    // 버퍼 초과로 버려진 이벤트 누적 수 (출력기 교체 / 모드 전환과 무관하게 증가만 함)
+    private static final LongAdder DROPPED = new LongAdder();
+
+    /** sync 모드로 전환 (기존 async 출력기는 남은 로그 출력 후 종료) **/
+    public static synchronized void configureSync() {
+        AsyncSecureSqlLogWriter old = asyncWriter;
+        asyncWriter = null;
+        passSampleRate = 1.0;
+        if (old != null) {
+            old.shutdown();
+        }
+    }
+
+    /**
+     * async 모드로 전환
+     *
+     * @param bufferSize              버퍼 크기 (이벤트 수)
+     * @param passSampleRate          PASS / META 전체 출력 비율 (0.0 ~ 1.0)
+     * @param summaryIntervalSeconds  지문별 PASS 요약 출력 주기
+     */
+    public static synchronized void configureAsync(int bufferSize, double passSampleRate, long summaryIntervalSeconds) {
+        if (bufferSize <= 0 || summaryIntervalSeconds <= 0 || passSampleRate < 0.0 || passSampleRate > 1.0) {
+            throw new IllegalArgumentException("invalid async log config: bufferSize=" + bufferSize
+                    + ", passSampleRate=" + passSampleRate + ", summaryIntervalSeconds=" + summaryIntervalSeconds);
+        }
+        AsyncSecureSqlLogWriter old = asyncWriter;
+        SecureSqlLogger.passSampleRate = passSampleRate;
+        asyncWriter = new AsyncSecureSqlLogWriter(bufferSize, summaryIntervalSeconds, DROPPED);
+        if (old != null) {
+            old.shutdown();
+        }
+    }
+
 	/** SQL 검증에 통과했을 때 (PASS) 로그를 출력 **/
     public static void logPass(String sql) {
-        log.info("[SECURE-SQL][PASS] {}", sql);
+        logPass(sql, null);
+    }
+
+    /**
+     * SQL 검증에 통과했을 때 (PASS) 로그를 출력
+     *
+     * @param fingerprint 요약 집계 키 (SqlFingerprint, 없으면 SQL 원문으로 집계)
+     */
+    public static void logPass(String sql, String fingerprint) {
+        AsyncSecureSqlLogWriter writer = asyncWriter;
+        if (writer == null) {
+            log.info("[SECURE-SQL][PASS] {}", sql);
+            return;
+        }
+
+        writer.countPass(fingerprint != null ? fingerprint : sql);
+        if (sampled()) {
+            writer.offerOrDrop("PASS", sql);
+        }
     }
 
     /** SQL 검증에 실패했을 때 (REJECT) 로그를 출력 **/
     public static void logReject(String sql, String reason) {
-        log.info("[SECURE-SQL][REJECT] reason=\"{}\" sql=\"{}\"", reason, sql);
+        AsyncSecureSqlLogWriter writer = asyncWriter;
+        String message = "reason=\"" + reason + "\" sql=\"" + sql + "\"";
+
+        if (writer == null) {
+            log.info("[SECURE-SQL][REJECT] {}", message);
+            return;
+        }
+        // 차단 로그는 버리지 않음 (버퍼가 가득 차면 호출 쓰레드에서 바로 출력)
+        writer.offerOrWrite("REJECT", message);
     }
 
     /** 파싱된 SQL 구문의 메타 정보 (테이블, 칼럼)를 로그로 출력 **/
     public static void logMeta(SqlMeta meta) {
-        log.info(
-            "[SECURE-SQL][META] tables={} columns={}",
-            meta.getRootTables(),
-            meta.getRootColumns()
-        );
+        AsyncSecureSqlLogWriter writer = asyncWriter;
+        if (writer == null) {
+            log.info(
+                "[SECURE-SQL][META] tables={} columns={}",
+                meta.getRootTables(),
+                meta.getRootColumns()
+            );
+            return;
+        }
+
+        if (sampled()) {
+            writer.offerOrDrop("META", "tables=" + meta.getRootTables() + " columns=" + meta.getRootColumns());
+        }
+    }
+
+    /** 로그 출력 통계 (async 모드: 버퍼 깊이 / dropped 등) **/
+    public static Map<String, Object> stats() {
+        AsyncSecureSqlLogWriter writer = asyncWriter;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", writer == null ? "sync" : "async");
+        stats.put("passSampleRate", passSampleRate);
+        if (writer != null) {
+            stats.putAll(writer.stats());
+        }
+        return stats;
+    }
+
+    /** async 모드에서 버퍼 초과로 버려진 이벤트 누적 수 (재설정 후에도 줄어들지 않음) **/
+    public static long droppedEvents() {
+        return DROPPED.sum();
+    }
+
+    private static boolean sampled() {
+        double rate = passSampleRate;
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
     }
-}
\ No newline at end of file
+}
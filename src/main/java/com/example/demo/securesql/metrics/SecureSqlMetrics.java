@@ -0,0 +1,177 @@
+package com.example.demo.securesql.metrics;
+
+import com.example.demo.securesql.log.SecureSqlLogger;
+import com.example.demo.securesql.validator.ReasonCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 보안 검증 Micrometer 계측
+ *
+ * - 검증 코어(OracleValidator 등)는 Spring Bean 이 아니므로 Metrics.globalRegistry 에 직접 등록
+ * 		- Spring Boot 는 자동 구성한 Prometheus registry 를 globalRegistry 에 추가함 (management.metrics.use-global-registry=true 기본값)
+ * 		- 따라서 /actuator/prometheus 로 그대로 노출됨
+ * - Timer 는 클래스 로딩 시 한 번만 생성하여 보관 (매 호출마다 registry 조회 없음)
+ * - 차단 Counter 도 미리 등록해 두고 조회만 수행
+ * 		- 사유별: ReasonCode 마다 하나씩 클래스 로딩 시 등록, ValidatorChain 에 추가된 Validator 는 add 시점에 등록
+ * 		- Statement 별: SecureStatementRegistry 생성 시 보안 검증 대상 Statement 마다 등록
+ */
+/*
+ * [ 메트릭 목록 ]
+ *
+ * 	- securesql.validate            Timer   OracleValidator.validate 전체 (tag: outcome=pass|reject, cache=hit|miss|bypass)
+ * 	- securesql.stage               Timer   단계별 (tag: stage=tokenize|keyword|shape|parse)
+ * 	- securesql.validator           Timer   ValidatorChain 의 Validator 별 (tag: validator=JoinPolicy ..., compiled 모드는 validator=Compiled)
+ * 	- securesql.rejects             Counter 차단 사유별 (tag: reason=keyword|shape|parse|parse_budget|JoinPolicy ...)
+ * 	- securesql.statement.rejects   Counter Mapper Statement 별 차단 (tag: statement=namespace.id)
+ * 	- securesql.log.dropped         Counter async 로그 버퍼 초과로 버려진 이벤트 수
+ *
+ * [ 히스토그램 ]
+ * 	- publishPercentileHistogram: Prometheus 에서 histogram_quantile 로 p99 계산 (서버 측 percentile 계산 비용 없음)
+ * 	- 최소/최대 기대값을 지정하여 bucket 수를 제한 (10µs ~ 5s)
+ */
+public final class SecureSqlMetrics {
+
+    public static final String CACHE_HIT = "hit";
+    public static final String CACHE_MISS = "miss";
+    public static final String CACHE_BYPASS = "bypass";
+
+    public static final String STAGE_TOKENIZE = "tokenize";
+    public static final String STAGE_KEYWORD = "keyword";
+    public static final String STAGE_SHAPE = "shape";
+    public static final String STAGE_PARSE = "parse";
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(10_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(5);
+
+    // [outcome][cache] 조합별 Timer (pass/reject x hit/miss/bypass)
+    private static final Timer[][] VALIDATE = new Timer[2][3];
+
+    private static final Timer TOKENIZE = timer("securesql.stage", "stage", STAGE_TOKENIZE);
+    private static final Timer KEYWORD = timer("securesql.stage", "stage", STAGE_KEYWORD);
+    private static final Timer SHAPE = timer("securesql.stage", "stage", STAGE_SHAPE);
+    private static final Timer PARSE = timer("securesql.stage", "stage", STAGE_PARSE);
+
+    // 차단 사유(label) -> Counter
+    private static final Map<String, Counter> REJECTS = new ConcurrentHashMap<>();
+    // MappedStatement id -> 차단 Counter
+    private static final Map<String, Counter> STATEMENT_REJECTS = new ConcurrentHashMap<>();
+
+    static {
+        for (ReasonCode code : ReasonCode.values()) {
+            registerRejectReason(code.label());
+        }
+
+        String[] outcomes = {"pass", "reject"};
+        String[] caches = {CACHE_HIT, CACHE_MISS, CACHE_BYPASS};
+        for (int o = 0; o < outcomes.length; o++) {
+            for (int c = 0; c < caches.length; c++) {
+                VALIDATE[o][c] = Timer.builder("securesql.validate")
+                        .description("OracleValidator.validate 전체 소요 시간")
+                        .tag("outcome", outcomes[o])
+                        .tag("cache", caches[c])
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED)
+                        .maximumExpectedValue(MAX_EXPECTED)
+                        .register(REGISTRY);
+            }
+        }
+
+        FunctionCounter.builder("securesql.log.dropped", SecureSqlLogger.class, c -> SecureSqlLogger.droppedEvents())
+                .description("async 로그 버퍼 초과로 버려진 이벤트 수")
+                .register(REGISTRY);
+    }
+
+    private SecureSqlMetrics() {
+    }
+
+    /** OracleValidator.validate 전체 소요 시간 기록 **/
+    public static void recordValidate(boolean passed, String cache, long nanos) {
+        int c = CACHE_HIT.equals(cache) ? 0 : CACHE_MISS.equals(cache) ? 1 : 2;
+        VALIDATE[passed ? 0 : 1][c].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 단계별 소요 시간 기록 **/
+    public static void recordStage(String stage, long nanos) {
+        Timer timer;
+        switch (stage) {
+            case STAGE_TOKENIZE: timer = TOKENIZE; break;
+            case STAGE_KEYWORD: timer = KEYWORD; break;
+            case STAGE_SHAPE: timer = SHAPE; break;
+            default: timer = PARSE;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Validator 별 Timer (ValidatorChain.add 시점에 한 번 생성) **/
+    public static Timer validatorTimer(String validatorName) {
+        return timer("securesql.validator", "validator", validatorName);
+    }
+
+    /** 차단 사유 Counter 등록 (ValidatorChain.add 시점에 한 번 호출) **/
+    public static void registerRejectReason(String reason) {
+        REJECTS.computeIfAbsent(reason, SecureSqlMetrics::rejectCounter);
+    }
+
+    /** 보안 검증 대상 Statement 의 차단 Counter 등록 (SecureStatementRegistry 생성 시 한 번 호출) **/
+    public static void registerStatements(Collection<String> statementIds) {
+        for (String id : statementIds) {
+            STATEMENT_REJECTS.computeIfAbsent(id, SecureSqlMetrics::statementRejectCounter);
+        }
+    }
+
+    /** 차단 사유별 카운트 **/
+    public static void countReject(String reason) {
+        String key = (reason == null) ? "unknown" : reason;
+        Counter counter = REJECTS.get(key);
+        if (counter == null) {
+            // 미리 등록되지 않은 사유 (직접 SqlRejectedException 을 던진 Validator 등)
+            counter = REJECTS.computeIfAbsent(key, SecureSqlMetrics::rejectCounter);
+        }
+        counter.increment();
+    }
+
+    /** Mapper Statement 별 차단 카운트 **/
+    public static void countStatementReject(String statementId) {
+        Counter counter = STATEMENT_REJECTS.get(statementId);
+        if (counter == null) {
+            // 시작 이후에 해석된 Statement
+            counter = STATEMENT_REJECTS.computeIfAbsent(statementId, SecureSqlMetrics::statementRejectCounter);
+        }
+        counter.increment();
+    }
+
+    private static Counter rejectCounter(String reason) {
+        return Counter.builder("securesql.rejects")
+                .description("SQL 보안 검증 차단 건수 (사유별)")
+                .tag("reason", reason)
+                .register(REGISTRY);
+    }
+
+    private static Counter statementRejectCounter(String statementId) {
+        return Counter.builder("securesql.statement.rejects")
+                .description("SQL 보안 검증 차단 건수 (MappedStatement 별)")
+                .tag("statement", statementId)
+                .register(REGISTRY);
+    }
+
+    private static Timer timer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(REGISTRY);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.securesql.parser;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JSqlParser 전용 제한(bounded) 실행기
+ *
+ * - 파싱은 요청 쓰레드가 아닌 전용 쓰레드 풀에서 실행
+ * - SQL 한 건당 파싱 시간 예산(timeout) 적용, 초과 시 차단
+ * - 대기열 크기 제한, 가득 차면 즉시 차단 (요청 쓰레드가 무한정 대기하지 않음)
+ * - 용도별 lane 분리: Mapper 실행(STATEMENT) / 임의 SQL 검증 API(ADHOC) / 대량 사전 검증(BATCH)
+ * 		- /api/sql/validate 로 들어온 느린 SQL 이 보고서 조회 파싱을 굶기지 않음
+ * 		- /api/sql/validate-batch 의 수천 건 검증이 단건 검증 API 대기열을 채우지 않음
+ */
+/*
+ * [ JSqlParser 4.6 timeout 동작 ]
+ *
+ * 	- CCJSqlParserUtil.parse(sql) 는 호출마다 단일 쓰레드 Executor 를 새로 만들어 파싱하고 기본 timeout 을 적용
+ * 	- parse(sql, executorService, consumer) 를 사용하면 쓰레드 생성 없이 전달한 풀에서 파싱
+ * 		- timeout 발생 시 JSqlParser 가 parser.interrupted 를 설정하고 Future 를 cancel 하므로 파싱 쓰레드도 곧 반환됨
+ * 		- 단순 파싱 실패 시 복잡 구문 모드로 한 번 더 파싱하므로 최악의 경우 예산의 2배까지 걸릴 수 있음
+ */
+public final class ParseExecutor {
+
+    /** 파싱 lane **/
+    public enum Lane {
+    	// MyBatis Mapper 실행 경로 (SqlSecurityInterceptor)
+        STATEMENT,
+        // 임의 SQL 검증 API (/api/sql/validate 등)
+        ADHOC,
+        // 대량 사전 검증 API (/api/sql/validate-batch)
+        BATCH
+    }
+
+    /** 파싱 시간 예산 초과 / 대기열 초과 (일시적 차단, 검증 결과 캐시에 저장하지 않음, stack trace 없음 - 원인은 cause) **/
+    public static final class ParseBudgetExceededException extends RuntimeException {
+        public ParseBudgetExceededException(String message, Throwable cause) {
+            super(message, cause, false, false);
+        }
+    }
+
+    // 기본 파싱 시간 예산 (ms)
+    private static final int DEFAULT_TIMEOUT_MILLIS = 2000;
+
+    // 파싱 시간 예산 (ms)
+    private static volatile int timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    private static final Map<Lane, LanePool> POOLS = new EnumMap<>(Lane.class);
+
+    static {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        POOLS.put(Lane.STATEMENT, new LanePool(Lane.STATEMENT, Math.max(2, cpus), 256));
+        POOLS.put(Lane.ADHOC, new LanePool(Lane.ADHOC, Math.max(1, cpus / 4), 32));
+        POOLS.put(Lane.BATCH, new LanePool(Lane.BATCH, cpus, 256));
+    }
+
+    private ParseExecutor() {
+    }
+
+    /** 파싱 시간 예산 변경 (securesql.parse.timeout-ms) **/
+    public static void configureTimeout(int millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("parse timeout must be positive: " + millis);
+        }
+        timeoutMillis = millis;
+    }
+
+    /** lane 별 쓰레드 수 / 대기열 크기 변경 (기존 풀은 진행 중인 작업을 마친 뒤 종료) **/
+    public static void configureLane(Lane lane, int threads, int queueCapacity) {
+        POOLS.get(lane).resize(threads, queueCapacity);
+    }
+
+    /**
+     * lane 전용 풀에서 SQL 파싱
+     *
+     * @throws ParseBudgetExceededException 시간 예산 초과 또는 대기열 초과
+     * @throws JSQLParserException 문법 오류
+     */
+    public static Statement parse(String sql, Lane lane) throws JSQLParserException {
+
+        LanePool pool = POOLS.get(lane);
+        int budget = timeoutMillis;
+        pool.submitted.increment();
+
+        try {
+            return CCJSqlParserUtil.parse(sql, pool.executor, parser -> parser.withTimeOut(budget));
+
+        } catch (RejectedExecutionException e) {
+            pool.rejected.increment();
+            throw new ParseBudgetExceededException("SQL 파싱 대기열이 가득 찼습니다 (lane=" + lane + ")", e);
+
+        } catch (JSQLParserException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                pool.timeouts.increment();
+                throw new ParseBudgetExceededException("SQL 파싱 시간 초과 (" + budget + "ms, lane=" + lane + ")", e);
+            }
+            throw e;
+        }
+    }
+
+    /** lane 별 파싱 통계 (timeout / 대기열 초과 / 대기열 깊이) **/
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("timeoutMillis", timeoutMillis);
+        for (LanePool pool : POOLS.values()) {
+            stats.put(pool.lane.name().toLowerCase(), pool.stats());
+        }
+        return stats;
+    }
+
+    /** lane 별 쓰레드 풀 + 카운터 **/
+    private static final class LanePool {
+        private final Lane lane;
+        private volatile ThreadPoolExecutor executor;
+        private volatile int queueCapacity;
+
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        LanePool(Lane lane, int threads, int queueCapacity) {
+            this.lane = lane;
+            this.queueCapacity = queueCapacity;
+            this.executor = newExecutor(lane, threads, queueCapacity);
+        }
+
+        synchronized void resize(int threads, int queueCapacity) {
+            if (threads <= 0 || queueCapacity <= 0) {
+                throw new IllegalArgumentException("threads/queueCapacity must be positive: " + threads + "/" + queueCapacity);
+            }
+            ThreadPoolExecutor old = executor;
+            this.queueCapacity = queueCapacity;
+            this.executor = newExecutor(lane, threads, queueCapacity);
+            old.shutdown();
+        }
+
+        Map<String, Object> stats() {
+            ThreadPoolExecutor e = executor;
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("threads", e.getMaximumPoolSize());
+            stats.put("active", e.getActiveCount());
+            stats.put("queueDepth", e.getQueue().size());
+            stats.put("queueCapacity", queueCapacity);
+            stats.put("submitted", submitted.sum());
+            stats.put("timeouts", timeouts.sum());
+            stats.put("rejected", rejected.sum());
+            return stats;
+        }
+
+        private static ThreadPoolExecutor newExecutor(Lane lane, int threads, int queueCapacity) {
+            AtomicInteger seq = new AtomicInteger();
+            ThreadFactory factory = r -> {
+                Thread t = new Thread(r, "secure-sql-parse-" + lane.name().toLowerCase() + "-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+
+            // 대기열이 가득 차면 RejectedExecutionException (AbortPolicy)
+            return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.securesql.parser;
 
+import com.example.demo.securesql.whitelist.SqlSymbols;
+
 import java.util.*;
 
 /* 
@@ -41,21 +43,38 @@ public class SqlMeta {
 	 * 			- 인덱스 효율 분석: 사용된 모든 칼럼을 기반으로 데이터베이스 관리자가 성능 문제를 일으키는 칼럼(예: 인덱스 없는 WHERE 절 칼럼)을 식별하는 데 도움을 줌
 	 */
 
+    /*
+     * 심볼 id (SqlSymbols 와 공유)
+     *
+     * 	- 0 이상: 화이트리스트 로딩 시 SqlSymbols 에 등록된 이름 (TableCatalog / 함수 화이트리스트가 같은 id 사용)
+     * 	- 음수: SqlSymbols 에 없는 이름 (alias, CTE 이름, 화이트리스트에 없는 테이블/컬럼 등) -> 이 SqlMeta 에서만 쓰는 지역 id
+     * 	- 칼럼은 [qualifier id, 컬럼 id] 쌍으로 미리 분리해서 보관 (Validator 에서 split / toUpperCase 없음)
+     * 		- prefix 없는 칼럼의 qualifier 는 NONE, SELECT * / T.* 의 컬럼 id 는 SqlSymbols.STAR
+     * 	- 이름 문자열은 오류 메시지 / 로그에 필요할 때만 name(id) 로 얻음
+     */
+    /** qualifier 없음 (prefix 없는 칼럼) / alias 매핑 없음 **/
+    public static final int NONE = Integer.MIN_VALUE;
+
     /* =========================
        테이블 / 컬럼 / 표현식 정보
        ========================= */
 	// [테이블] FROM 절의 최상위/직접 테이블 목록 (서브쿼리 내부 테이블 제외)
-    private final Set<String> rootTables = new HashSet<>();
+    private final SymbolSet rootTables = new SymbolSet();
     // [테이블] 쿼리 전체(서브쿼리 포함)에 사용된 모든 테이블 목록
-    private final Set<String> tables = new HashSet<>();
-    // [칼럼] SELECT 절에 직접 명시된 칼럼 목록 (예: SELECT A, B)
-    private final Set<String> rootColumns = new HashSet<>();
-    // [칼럼] 쿼리 전체(SELECT, WHERE, JOIN 등)에 사용된 모든 칼럼 목록
-    private final Set<String> columns = new HashSet<>();
+    private final SymbolSet tables = new SymbolSet();
+    // [칼럼] SELECT 절에 직접 명시된 칼럼 목록 (예: SELECT A, B) - [qualifier, 컬럼] 쌍
+    private final SymbolSet rootColumns = new SymbolSet();
+    // [칼럼] 쿼리 전체(SELECT, WHERE, JOIN 등)에 사용된 모든 칼럼 목록 - [qualifier, 컬럼] 쌍
+    private final SymbolSet columns = new SymbolSet();
     // [함수] 쿼리에 사용된 함수/표현식 목록 (예: SUM, COUNT, DATE_TRUNC)
-    private final Set<String> expressions = new HashSet<>();
-    // [별칭] 별칭(Alias)과 실제 테이블 이름의 매핑 (예: "C" -> "CUSTOMERS")
-    private final Map<String, String> aliasToTable = new HashMap<>();
+    private final SymbolSet expressions = new SymbolSet();
+    // [별칭] 별칭(Alias)과 실제 테이블 이름의 매핑 (예: "C" -> "CUSTOMERS"), aliasTargets[i] = aliases 의 i 번째 별칭의 테이블
+    private final SymbolSet aliases = new SymbolSet();
+    private int[] aliasTargets = new int[4];
+
+    // 지역 심볼 이름 (지역 id -1 -> localNames[0], -2 -> localNames[1] ...)
+    private String[] localNames;
+    private int localCount;
 
     /* =========================
        보안 / 조건 플래그
@@ -75,20 +94,28 @@ public class SqlMeta {
     /* =========================
        adders (Parser 전용)
        ========================= */
-    // 최상위 테이블 추가 (대문자 변환 후 저장)
-    public void addRootTable(String t) { rootTables.add(t.toUpperCase()); }
-    // 전체 테이블 목록에 추가 (대문자 변환 후 저장)
-    public void addTable(String t) { tables.add(t.toUpperCase()); }
-    // SELECT 절의 칼럼 추가 (대문자 변환 후 저장)
-    public void addRootColumn(String c) { rootColumns.add(c.toUpperCase()); }
-    // 전체 사용 칼럼 목록에 추가 (대문자 변환 후 저장)
-    public void addColumn(String c) { columns.add(c.toUpperCase()); }
-    // 함수/표현식 목록에 추가 (대문자 변환 후 저장)
-    public void addExpression(String e) { expressions.add(e.toUpperCase()); }
-
-    // 별칭과 실제 테이블 이름(또는 __SUBQUERY__) 매핑 추가
+    // 최상위 테이블 추가
+    public void addRootTable(String t) { rootTables.add(symbol(t)); }
+    // 전체 테이블 목록에 추가
+    public void addTable(String t) { tables.add(symbol(t)); }
+    // SELECT 절의 칼럼 추가 ("COL", "A.COL", "*", "A.*" 형태의 문자열)
+    public void addRootColumn(String c) { rootColumns.add(columnOf(c)); }
+    // SELECT 절의 칼럼 추가 (qualifier 가 없으면 null)
+    public void addRootColumn(String qualifier, String column) { rootColumns.add(pair(qualifier, column)); }
+    // 전체 사용 칼럼 목록에 추가 ("COL", "A.COL", "*", "A.*" 형태의 문자열)
+    public void addColumn(String c) { columns.add(columnOf(c)); }
+    // 전체 사용 칼럼 목록에 추가 (qualifier 가 없으면 null)
+    public void addColumn(String qualifier, String column) { columns.add(pair(qualifier, column)); }
+    // 함수/표현식 목록에 추가
+    public void addExpression(String e) { expressions.add(symbol(e)); }
+
+    // 별칭과 실제 테이블 이름(또는 __SUBQUERY__) 매핑 추가 (같은 별칭이면 마지막 매핑 유지)
     public void addAlias(String a, String t) {
-        aliasToTable.put(a.toUpperCase(), t.toUpperCase());
+        int at = aliases.put(symbol(a));
+        if (at == aliasTargets.length) {
+            aliasTargets = Arrays.copyOf(aliasTargets, at * 2);
+        }
+        aliasTargets[at] = symbol(t);
     }
 
     // OR 연산자 발견 시 호출되어 플래그 설정
@@ -104,20 +131,67 @@ public class SqlMeta {
     public void markConstantComparisonInJoin() { constantComparisonInJoin = true; }
 
     /* =========================
-       getters (Validator 전용)
+       심볼 조회 (Validator 전용, 할당 없음)
+       ========================= */
+    // 최상위 테이블 수 / i 번째 최상위 테이블 id / 최상위 테이블 포함 여부
+    public int rootTableCount() { return rootTables.size(); }
+    public int rootTable(int i) { return (int) rootTables.get(i); }
+    public boolean containsRootTable(int id) { return rootTables.contains(id); }
+
+    // 전체 테이블 수 / i 번째 테이블 id / 포함 여부
+    public int tableCount() { return tables.size(); }
+    public int table(int i) { return (int) tables.get(i); }
+    public boolean containsTable(int id) { return tables.contains(id); }
+
+    // SELECT 절 칼럼 수 / i 번째 칼럼의 qualifier id (없으면 NONE) / 컬럼 id
+    public int rootColumnCount() { return rootColumns.size(); }
+    public int rootColumnQualifier(int i) { return qualifierPart(rootColumns.get(i)); }
+    public int rootColumnName(int i) { return columnPart(rootColumns.get(i)); }
+    // SELECT 절 칼럼 문자열 ("A.COL" 형태, 오류 메시지용)
+    public String rootColumnText(int i) { return text(rootColumns.get(i)); }
+
+    // 전체 사용 칼럼 수 / i 번째 칼럼의 qualifier id (없으면 NONE) / 컬럼 id
+    public int columnCount() { return columns.size(); }
+    public int columnQualifier(int i) { return qualifierPart(columns.get(i)); }
+    public int columnName(int i) { return columnPart(columns.get(i)); }
+
+    // 함수 수 / i 번째 함수 id
+    public int expressionCount() { return expressions.size(); }
+    public int expression(int i) { return (int) expressions.get(i); }
+
+    // 별칭 여부 / 별칭이 가리키는 테이블 id (별칭이 아니면 NONE)
+    public boolean isAlias(int id) { return aliases.contains(id); }
+    public int aliasTarget(int id) {
+        int at = aliases.indexOf(id);
+        return (at < 0) ? NONE : aliasTargets[at];
+    }
+
+    // 심볼 id 의 이름 (대문자)
+    public String name(int id) {
+        return (id >= 0) ? SqlSymbols.name(id) : localNames[-1 - id];
+    }
+
+    /* =========================
+       getters (문자열 뷰: 로그 / 기존 호출 호환용)
        ========================= */
     // 최상위 테이블 목록 반환
-    public Set<String> getRootTables() { return rootTables; }
+    public Set<String> getRootTables() { return new SymbolView(rootTables); }
     // 전체 사용 테이블 목록 반환
-    public Set<String> getTables() { return tables; }
+    public Set<String> getTables() { return new SymbolView(tables); }
     // SELECT 절 칼럼 목록 반환
-    public Set<String> getRootColumns() { return rootColumns; }
+    public Set<String> getRootColumns() { return new SymbolView(rootColumns); }
     // 전체 사용 칼럼 목록 반환
-    public Set<String> getColumns() { return columns; }
+    public Set<String> getColumns() { return new SymbolView(columns); }
     // 사용된 함수/표현식 목록 반환
-    public Set<String> getExpressions() { return expressions; }
-    // 별칭 맵 반환
-    public Map<String, String> getAliasToTable() { return aliasToTable; }
+    public Set<String> getExpressions() { return new SymbolView(expressions); }
+    // 별칭 맵 반환 (복사본)
+    public Map<String, String> getAliasToTable() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < aliases.size(); i++) {
+            map.put(name((int) aliases.get(i)), name(aliasTargets[i]));
+        }
+        return map;
+    }
 
     // 일반 OR 연산자 존재 여부 반환 (권한 모델 검증에 사용될 수 있음)
     public boolean hasDangerousOrPredicate() { return dangerousOr; }
@@ -130,4 +204,91 @@ public class SqlMeta {
     public boolean hasConstantTrueInWhere() { return constantTrueInWhere; }
     // JOIN ON 상수 비교 (ON 1=1, ON '1'='1') 패턴 존재 여부 반환
     public boolean hasConstantComparisonInJoin() { return constantComparisonInJoin; }
+
+    /* =========================
+       심볼 처리
+       ========================= */
+    /** 이름 -> 심볼 id (SqlSymbols 에 없으면 지역 id) **/
+    private int symbol(String name) {
+        int id = SqlSymbols.find(name);
+        if (id >= 0) return id;
+
+        String upper = SqlSymbols.normalize(name);
+        for (int i = 0; i < localCount; i++) {
+            if (localNames[i].equals(upper)) return -1 - i;
+        }
+
+        if (localNames == null) {
+            localNames = new String[4];
+        } else if (localCount == localNames.length) {
+            localNames = Arrays.copyOf(localNames, localCount * 2);
+        }
+        localNames[localCount] = upper;
+        return -1 - localCount++;
+    }
+
+    /** [qualifier, 컬럼] 쌍 **/
+    private long pair(String qualifier, String column) {
+        int q = (qualifier == null) ? NONE : symbol(qualifier);
+        int c = "*".equals(column) ? SqlSymbols.STAR : symbol(column);
+        return ((long) q << 32) | (c & 0xFFFFFFFFL);
+    }
+
+    /*
+     * "COL" / "A.COL" / "*" / "A.*" 문자열을 쌍으로 분리
+     * 	- 기존 Validator 의 split("\\.") 과 같은 기준: 첫 번째 토큰이 qualifier, 두 번째 토큰이 컬럼
+     * 	- ".*" 로 끝나면 전체 컬럼 (SCHEMA.T.* 포함)
+     */
+    private long columnOf(String c) {
+        int dot = c.indexOf('.');
+        if (dot < 0) return pair(null, c);
+
+        String qualifier = c.substring(0, dot);
+        if (c.endsWith(".*")) return pair(qualifier, "*");
+
+        int next = c.indexOf('.', dot + 1);
+        return pair(qualifier, c.substring(dot + 1, next < 0 ? c.length() : next));
+    }
+
+    private static int qualifierPart(long pair) { return (int) (pair >> 32); }
+    private static int columnPart(long pair) { return (int) pair; }
+
+    private String text(long pair) {
+        int q = qualifierPart(pair);
+        String column = name(columnPart(pair));
+        return (q == NONE) ? column : name(q) + "." + column;
+    }
+
+    /** SymbolSet 위의 읽기 전용 문자열 Set 뷰 (로그 출력 시에만 문자열 생성) **/
+    private final class SymbolView extends AbstractSet<String> {
+        private final SymbolSet set;
+
+        SymbolView(SymbolSet set) {
+            this.set = set;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int i;
+
+                @Override
+                public boolean hasNext() {
+                    return i < set.size();
+                }
+
+                @Override
+                public String next() {
+                    if (i >= set.size()) throw new NoSuchElementException();
+                    long value = set.get(i++);
+                    return (set == rootColumns || set == columns) ? text(value) : name((int) value);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return set.size();
+        }
+    }
 }
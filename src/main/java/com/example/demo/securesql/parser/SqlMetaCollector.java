@@ -0,0 +1,450 @@
+package com.example.demo.securesql.parser;
+
+import net.sf.jsqlparser.expression.*;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.ExistsExpression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.select.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SqlMetaCollector
+ *
+ * - JSqlParser Visitor(ExpressionVisitor / SelectVisitor / FromItemVisitor) 기반 SqlMeta 수집기
+ * - AST를 한 번만 순회하면서 SqlMeta를 직접 채움 (instanceof 분기 / 서브쿼리별 임시 리스트 없음)
+ * - 인스턴스는 SQL 한 건 전용 (쓰레드 간 공유 금지)
+ */
+/*
+ * [ 최상위 블록 vs. 중첩(nested) 블록 ]
+ *
+ * 	- 최상위 블록 (nested == 0)
+ * 		- 최상위 PlainSelect 또는 최상위 UNION 의 각 SELECT 블록
+ * 		- 블록마다 SqlMeta 하나를 생성하여 테이블/컬럼/함수/별칭/플래그를 모두 수집
+ *
+ * 	- 중첩 블록 (nested > 0)
+ * 		- FROM/JOIN 서브쿼리, LATERAL 서브쿼리, WHERE/SELECT 내부 서브쿼리 (IN, EXISTS, 스칼라), WITH 절(CTE)
+ * 		- 기존 OracleAstParser와 동일하게 테이블/컬럼은 수집하지 않고 보안/조건 플래그만 현재 최상위 SqlMeta 로 전파
+ * 			- dangerousOr / unsafeOr / hasCondition 전파
+ * 			- constantTrueInWhere / constantComparisonInJoin 은 전파하지 않음
+ * 		- 서브쿼리마다 SqlMeta 리스트를 새로 만들고 복사하는 대신, 현재 SqlMeta 에 플래그를 바로 기록
+ *
+ * [ 기존 OracleAstParser 가 수집하지 않던 노드 ]
+ * 	- WITH 절(WithItem) 본문: 중첩 블록으로 순회 (OR/상수 비교 플래그만 모든 최상위 블록으로 전파)
+ * 	- LATERAL 서브쿼리: FROM 서브쿼리와 동일하게 처리
+ * 	- IN 우항: 값 목록의 컬럼/함수 수집, IN (서브쿼리)는 중첩 블록으로 순회
+ * 	- CASE WHEN 절, 분석 함수 등 ExpressionVisitorAdapter 가 기본으로 순회하는 모든 하위 Expression
+ */
+public class SqlMetaCollector extends ExpressionVisitorAdapter {
+
+	// 서브쿼리 가상 테이블 마커
+    private static final String SUBQUERY_MARKER = "__SUBQUERY__";
+
+    // 수집된 최상위 블록 메타 정보
+    private final List<SqlMeta> metas = new ArrayList<>();
+
+    // 현재 수집 대상 SqlMeta (중첩 블록에서는 플래그 전파 대상)
+    private SqlMeta current;
+    // 중첩 깊이 (0 = 최상위 블록)
+    private int nested;
+
+    private final SelectVisitor selectVisitor = new SelectBodyVisitor();
+    private final FromItemVisitor fromItemVisitor = new FromVisitor();
+    private final SelectItemVisitor selectItemVisitor = new SelectListVisitor();
+
+    /** SELECT 구문을 순회하여 최상위 블록별 SqlMeta 목록 반환 **/
+    public List<SqlMeta> collect(Select select) {
+
+        // WITH 절 (CTE) 본문: 중첩 블록으로 순회하여 플래그만 임시 SqlMeta 에 수집
+        SqlMeta withFlags = null;
+        if (select.getWithItemsList() != null && !select.getWithItemsList().isEmpty()) {
+            withFlags = new SqlMeta();
+            current = withFlags;
+            for (WithItem withItem : select.getWithItemsList()) {
+                withItem.accept(selectVisitor);
+            }
+            current = null;
+        }
+
+        // SELECT 본문 (PlainSelect 또는 SetOperationList)
+        select.getSelectBody().accept(selectVisitor);
+
+        // WITH 절의 OR/상수 비교 위험 플래그를 모든 최상위 블록으로 전파
+        // (CTE 내부 WHERE 는 메인 쿼리의 조인 조건이 아니므로 hasCondition 은 전파하지 않음)
+        if (withFlags != null) {
+            for (SqlMeta meta : metas) {
+                if (withFlags.hasDangerousOrPredicate()) meta.markDangerousOr();
+                if (withFlags.hasUnsafeOrPredicate()) meta.markUnsafeOr();
+            }
+        }
+
+        return metas;
+    }
+
+    /* =========================
+       SqlMeta 기록 (중첩 블록 여부에 따라 분기)
+       ========================= */
+    private boolean isRoot() { return nested == 0; }
+
+    private void addRootTable(String t) { if (isRoot()) current.addRootTable(t); }
+    private void addTable(String t) { if (isRoot()) current.addTable(t); }
+    private void addRootColumn(String c) { if (isRoot()) current.addRootColumn(c); }
+    private void addAlias(String a, String t) { if (isRoot()) current.addAlias(a, t); }
+
+    private void markConstantTrueInWhere() { if (isRoot()) current.markConstantTrueInWhere(); }
+    private void markConstantComparisonInJoin() { if (isRoot()) current.markConstantComparisonInJoin(); }
+
+    /*
+     * 컬럼 기록 ([prefix, 컬럼명] 쌍)
+     * 	- 문자열을 다시 만들거나 split 하지 않고 AST 의 이름을 그대로 SqlMeta 에 전달
+     * 	- SCHEMA.TABLE.COL 처럼 prefix 가 여러 단계이면 기존과 같이 문자열 기준으로 분리
+     */
+    private void recordColumn(Column column, boolean rootColumn) {
+        Table table = column.getTable();
+
+        if (table != null && table.getSchemaName() != null) {
+            if (rootColumn) current.addRootColumn(column.toString());
+            else current.addColumn(column.toString());
+            return;
+        }
+
+        String prefix = (table == null) ? null : table.getName();
+        if (rootColumn) current.addRootColumn(prefix, column.getColumnName());
+        else current.addColumn(prefix, column.getColumnName());
+    }
+
+    /** 서브쿼리를 중첩 블록으로 순회 **/
+    private void visitNested(SubSelect ss) {
+        if (ss == null) return;
+
+        nested++;
+        try {
+            if (ss.getWithItemsList() != null) {
+                for (WithItem withItem : ss.getWithItemsList()) {
+                    withItem.accept(selectVisitor);
+                }
+            }
+            ss.getSelectBody().accept(selectVisitor);
+        } finally {
+            nested--;
+        }
+    }
+
+    /* =========================
+       ExpressionVisitor
+       ========================= */
+
+    /*
+     * OR 연산자: 위험 마킹 + 좌/우항 중 상수 비교('1'='1')가 있으면 unsafe 마킹
+     */
+    @Override
+    public void visit(OrExpression or) {
+        current.markDangerousOr();
+
+        if (isConstantComparison(or.getLeftExpression()) || isConstantComparison(or.getRightExpression())) {
+            current.markUnsafeOr();
+        }
+
+        or.getLeftExpression().accept(this);
+        or.getRightExpression().accept(this);
+    }
+
+    /*
+     * 모든 이항 연산자(=, >, +, AND, LIKE ...)의 공통 진입점
+     * OR 밖 상수 비교: WHERE 1=1 은 허용 마킹, 그 외('1'='1', 2=2 등)는 unsafe 마킹
+     */
+    @Override
+    protected void visitBinaryExpression(BinaryExpression be) {
+        if (isConstantComparison(be)) {
+            if (isNumericOneEqualsOne(be)) {
+                markConstantTrueInWhere();
+            } else {
+                current.markUnsafeOr();
+            }
+        }
+        super.visitBinaryExpression(be);
+    }
+
+    /** EXISTS: 조건 마킹 후 우항(서브쿼리) 순회 **/
+    @Override
+    public void visit(ExistsExpression exists) {
+        current.markCondition();
+        super.visit(exists);
+    }
+
+    /** WHERE/SELECT/IN 내부 서브쿼리 **/
+    @Override
+    public void visit(SubSelect subSelect) {
+        visitNested(subSelect);
+    }
+
+    /** 컬럼 **/
+    @Override
+    public void visit(Column column) {
+        if (isRoot()) recordColumn(column, false);
+    }
+
+    /** 함수: 함수명 수집 후 인자 순회 **/
+    @Override
+    public void visit(Function function) {
+        if (isRoot() && function.getName() != null) {
+            current.addExpression(function.getName());
+        }
+        super.visit(function);
+    }
+
+    /* =========================
+       SelectVisitor
+       ========================= */
+    private final class SelectBodyVisitor extends SelectVisitorAdapter {
+
+        /** PlainSelect(일반적인 SELECT 구문) 처리 **/
+        @Override
+        public void visit(PlainSelect ps) {
+
+            SqlMeta saved = current;
+            // 최상위 블록이면 새 SqlMeta 생성
+            if (isRoot()) {
+                current = new SqlMeta();
+                metas.add(current);
+            }
+
+            /* ---------- SELECT 절 ---------- */
+            if (ps.getSelectItems() != null) {
+                for (SelectItem item : ps.getSelectItems()) {
+                    item.accept(selectItemVisitor);
+                }
+            }
+
+            /* ---------- FROM 절 ---------- */
+            if (ps.getFromItem() != null) {
+                ps.getFromItem().accept(fromItemVisitor);
+            }
+
+            /* ---------- JOIN 절 ---------- */
+            if (ps.getJoins() != null) {
+                for (Join j : ps.getJoins()) {
+                    j.getRightItem().accept(fromItemVisitor);
+
+                    if (j.getOnExpressions() != null && !j.getOnExpressions().isEmpty()) {
+                        current.markCondition();
+
+                        for (Expression on : j.getOnExpressions()) {
+                        	// JOIN ON 상수 비교 (ON 1=1, ON '1'='1') 차단
+                            if (isConstantComparison(on)) {
+                                markConstantComparisonInJoin();
+                            }
+                            on.accept(SqlMetaCollector.this);
+                        }
+                    }
+                }
+            }
+
+            /* ---------- WHERE 절 ---------- */
+            if (ps.getWhere() != null) {
+                current.markCondition();
+                ps.getWhere().accept(SqlMetaCollector.this);
+            }
+
+            /* ---------- GROUP BY 절 ---------- */
+            if (ps.getGroupBy() != null && ps.getGroupBy().getGroupByExpressions() != null) {
+                for (Expression e : ps.getGroupBy().getGroupByExpressions()) {
+                    e.accept(SqlMetaCollector.this);
+                }
+            }
+
+            /* ---------- HAVING 절 ---------- */
+            if (ps.getHaving() != null) {
+                ps.getHaving().accept(SqlMetaCollector.this);
+            }
+
+            /* ---------- ORDER BY 절 ---------- */
+            visitOrderBy(ps.getOrderByElements());
+
+            /* ---------- FETCH FIRST / OFFSET / LIMIT ---------- */
+            visitRowLimit(ps.getLimit(), ps.getOffset());
+
+            if (isRoot()) {
+                current = saved;
+            }
+        }
+
+        /** UNION, INTERSECT 등 집합 연산 처리 **/
+        @Override
+        public void visit(SetOperationList sol) {
+
+            int start = metas.size();
+            for (SelectBody body : sol.getSelects()) {
+                body.accept(this);
+            }
+
+            if (sol.getOrderByElements() == null
+                    && sol.getLimit() == null && sol.getOffset() == null) return;
+
+            // 중첩 블록: 플래그만 현재 SqlMeta 로 전파
+            if (!isRoot()) {
+                visitOrderBy(sol.getOrderByElements());
+                visitRowLimit(sol.getLimit(), sol.getOffset());
+                return;
+            }
+
+            // 최상위: 집합 연산 최종 ORDER BY / 행 제한 표현식을 각 SELECT 블록 메타에 수집
+            SqlMeta saved = current;
+            for (int i = start; i < metas.size(); i++) {
+                current = metas.get(i);
+                visitOrderBy(sol.getOrderByElements());
+                visitRowLimit(sol.getLimit(), sol.getOffset());
+            }
+            current = saved;
+        }
+
+        /** WITH 절 (CTE) 본문: 중첩 블록으로 순회 **/
+        @Override
+        public void visit(WithItem withItem) {
+            visitNested(withItem.getSubSelect());
+        }
+    }
+
+    /** ORDER BY 표현식 순회 **/
+    private void visitOrderBy(List<OrderByElement> orderByElements) {
+        if (orderByElements == null) return;
+        for (OrderByElement obe : orderByElements) {
+            if (obe.getExpression() != null) {
+                obe.getExpression().accept(this);
+            }
+        }
+    }
+
+    /**
+     * 행 제한 절 (FETCH FIRST n ROWS ONLY / OFFSET n ROWS / LIMIT n)
+     *
+     * - 허용: 행 수는 숫자 또는 바인드 변수 (keyset 페이지의 FETCH FIRST #{limit} ROWS ONLY)
+     * - OFFSET / LIMIT 의 표현식은 다른 절과 같이 순회 (칼럼 / 함수 / 서브쿼리도 화이트리스트 검증 대상)
+     * - FETCH FIRST 의 행 수는 숫자 / 바인드 변수로만 파싱되므로 순회할 표현식 없음
+     */
+    private void visitRowLimit(Limit limit, Offset offset) {
+        if (limit != null) {
+            if (limit.getRowCount() != null) limit.getRowCount().accept(this);
+            if (limit.getOffset() != null) limit.getOffset().accept(this);
+        }
+        if (offset != null && offset.getOffset() != null) {
+            offset.getOffset().accept(this);
+        }
+    }
+
+    /* =========================
+       SelectItemVisitor
+       ========================= */
+    private final class SelectListVisitor extends SelectItemVisitorAdapter {
+
+    	// SELECT * : 루트 칼럼에 "*" 마킹
+        @Override
+        public void visit(AllColumns columns) {
+            addRootColumn("*");
+        }
+
+        // SELECT table.* : 해당 테이블의 모든 칼럼 마킹
+        @Override
+        public void visit(AllTableColumns columns) {
+            addRootColumn(columns.toString());
+        }
+
+        // SELECT expression [AS alias]
+        @Override
+        public void visit(SelectExpressionItem item) {
+            Expression expr = item.getExpression();
+            expr.accept(SqlMetaCollector.this);
+
+            // Expression 자체가 컬럼이라면 루트 컬럼으로 추가
+            if (expr instanceof Column && isRoot()) {
+                recordColumn((Column) expr, true);
+            }
+        }
+    }
+
+    /* =========================
+       FromItemVisitor
+       ========================= */
+    private final class FromVisitor extends FromItemVisitorAdapter {
+
+    	// 일반 테이블
+        @Override
+        public void visit(Table table) {
+            addRootTable(table.getName());
+            addTable(table.getName());
+
+            if (table.getAlias() != null) {
+                addAlias(table.getAlias().getName(), table.getName());
+            }
+        }
+
+        // FROM (SELECT ...) alias
+        @Override
+        public void visit(SubSelect subSelect) {
+            addTable(SUBQUERY_MARKER);
+
+            if (subSelect.getAlias() != null) {
+                addAlias(subSelect.getAlias().getName(), SUBQUERY_MARKER);
+            }
+
+            visitNested(subSelect);
+        }
+
+        // FROM ... LATERAL (SELECT ...) alias
+        @Override
+        public void visit(LateralSubSelect lateral) {
+            addTable(SUBQUERY_MARKER);
+
+            if (lateral.getAlias() != null) {
+                addAlias(lateral.getAlias().getName(), SUBQUERY_MARKER);
+            }
+
+            visitNested(lateral.getSubSelect());
+        }
+    }
+
+    /* =========================
+       상수 비교 판단 헬퍼 (기존 OracleAstParser 와 동일한 규칙)
+       ========================= */
+
+    /** 두 피연산자가 모두 상수(Literal)인 비교 연산인지 확인 **/
+    private static boolean isConstantComparison(Expression expr) {
+        Expression e = unwrap(expr);
+        if (!(e instanceof BinaryExpression)) return false;
+
+        // OR/AND 같은 논리 연산자 자체는 상수 비교로 보지 않음 (최하위 비교만 확인)
+        if (e instanceof OrExpression || e instanceof AndExpression) return false;
+
+        BinaryExpression be = (BinaryExpression) e;
+        return isLiteral(unwrap(be.getLeftExpression())) && isLiteral(unwrap(be.getRightExpression()));
+    }
+
+    /** WHERE 1=1 허용 **/
+    private static boolean isNumericOneEqualsOne(BinaryExpression be) {
+        Expression l = unwrap(be.getLeftExpression());
+        Expression r = unwrap(be.getRightExpression());
+
+        return (l instanceof LongValue && r instanceof LongValue)
+                && ((LongValue) l).getValue() == 1
+                && ((LongValue) r).getValue() == 1;
+    }
+
+    /** 괄호를 제거하는 헬퍼 함수 **/
+    private static Expression unwrap(Expression e) {
+        return (e instanceof Parenthesis) ? ((Parenthesis) e).getExpression() : e;
+    }
+
+    /** 해당 Expression이 리터럴(상수) 값인지 확인 (NULL 포함) **/
+    private static boolean isLiteral(Expression e) {
+        return e instanceof StringValue
+                || e instanceof LongValue
+                || e instanceof DoubleValue
+                || e instanceof DateValue
+                || e instanceof TimeValue
+                || e instanceof TimestampValue
+                || e instanceof NullValue;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.securesql.parser;
+
+import java.util.Arrays;
+
+/**
+ * SqlMeta 전용 long 집합 (입력 순서 유지, 중복 제거)
+ *
+ * - 심볼 id(int) 또는 [qualifier id, 컬럼 id] 쌍(long)을 박싱 없이 보관
+ * - 대부분의 SELECT 블록은 원소가 몇 개뿐이므로 작은 크기에서는 선형 탐색
+ * - 원소가 많아지면 (넓은 SELECT 등) 위치 인덱스(open addressing)를 만들어 탐색
+ */
+final class SymbolSet {
+
+    private static final long[] EMPTY = new long[0];
+    private static final int LINEAR_LIMIT = 16;
+
+    private long[] values = EMPTY;
+    private int size;
+    // 해시 슬롯 -> values 위치 + 1 (0 = 빈 슬롯), LINEAR_LIMIT 초과 시에만 생성
+    private int[] index;
+
+    /** 추가 (이미 있으면 false) **/
+    boolean add(long value) {
+        int before = size;
+        put(value);
+        return size > before;
+    }
+
+    /** 위치 반환 (없으면 추가 후 새 위치) **/
+    int put(long value) {
+        int at = indexOf(value);
+        if (at >= 0) return at;
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size * 2));
+        }
+        values[size] = value;
+        at = size++;
+
+        if (index != null) {
+            if (size * 2 > index.length) rehash();
+            else insert(at);
+        } else if (size > LINEAR_LIMIT) {
+            rehash();
+        }
+        return at;
+    }
+
+    /** 위치 (없으면 -1) **/
+    int indexOf(long value) {
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) return i;
+            }
+            return -1;
+        }
+
+        int mask = index.length - 1;
+        for (int h = hash(value) & mask; ; h = (h + 1) & mask) {
+            int p = index[h];
+            if (p == 0) return -1;
+            if (values[p - 1] == value) return p - 1;
+        }
+    }
+
+    boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    long get(int i) {
+        return values[i];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+        index = new int[Integer.highestOneBit(size * 4 - 1) << 1];
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private void insert(int at) {
+        int mask = index.length - 1;
+        int h = hash(values[at]) & mask;
+        while (index[h] != 0) {
+            h = (h + 1) & mask;
+        }
+        index[h] = at + 1;
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -1,20 +1,171 @@
 package com.example.demo.securesql.service;
 
+import com.example.demo.securesql.corpus.SqlCorpus;
+import com.example.demo.securesql.fuzz.SqlFuzzJob;
+import com.example.demo.securesql.fuzz.SqlFuzzRequest;
+import com.example.demo.securesql.interceptor.SecureStatementRegistry.StatementPolicy;
+import com.example.demo.securesql.interceptor.SqlSecurityInterceptor;
+import com.example.demo.securesql.log.SecureSqlLogger;
+import com.example.demo.securesql.parser.ParseExecutor;
 import com.example.demo.securesql.validator.OracleValidator;
 import com.example.demo.securesql.validator.SqlFuzzTester;
 import com.example.demo.securesql.validator.SqlFuzzTester.FuzzResult;
+import com.example.demo.securesql.validator.ValidationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class SecureSqlService {
 
+    private final SqlSecurityInterceptor sqlSecurityInterceptor;
+    private final SqlBatchValidator batchValidator;
+    // fuzz 우회 후보 저장 디렉터리
+    private final Path fuzzCorpusDir;
+
+    // fuzz 작업 id -> 작업 (최근 MAX_FUZZ_JOBS 개만 보관, 등록 순서 유지)
+    private static final int MAX_FUZZ_JOBS = 16;
+    // 동시에 실행할 수 있는 fuzz 작업 수 (작업마다 CPU 코어 수만큼 쓰레드 사용)
+    private static final int MAX_RUNNING_FUZZ_JOBS = 2;
+    private final Map<String, SqlFuzzJob> fuzzJobs = new LinkedHashMap<>();
+
+    public SecureSqlService(SqlSecurityInterceptor sqlSecurityInterceptor,
+                            ObjectMapper objectMapper,
+                            @Value("${securesql.batch.threads:0}") int batchThreads,
+                            @Value("${securesql.fuzz.corpus-dir:fuzz-corpus}") String fuzzCorpusDir) {
+        this.sqlSecurityInterceptor = sqlSecurityInterceptor;
+        this.batchValidator = new SqlBatchValidator(batchThreads, objectMapper);
+        this.fuzzCorpusDir = Paths.get(fuzzCorpusDir);
+    }
+
+    /** 임의 SQL 검증 (ADHOC 파싱 lane 사용: Mapper 실행 경로의 파싱 풀과 분리) **/
     public void validate(String sql) {
-        OracleValidator.validate(sql);
+        OracleValidator.validate(sql, ParseExecutor.Lane.ADHOC);
+    }
+
+    /** 임의 SQL 검증 결과 (차단도 예외 없이 ValidationResult 로 반환) **/
+    public ValidationResult check(String sql) {
+        return OracleValidator.check(sql, ParseExecutor.Lane.ADHOC);
+    }
+
+    /** 대량 SQL 검증 (BATCH 파싱 lane, 결과는 입력 순서대로 NDJSON 스트리밍) **/
+    public void validateBatch(InputStream in, SqlBatchValidator.Format format, OutputStream out) throws IOException {
+        batchValidator.validate(in, format, out);
     }
 
     public List<FuzzResult> runFuzz() {
         return SqlFuzzTester.runDefaultFuzz();
     }
+
+    /** fuzz 작업 시작 (즉시 반환, 진행 상황은 fuzzJob(id) 로 조회). 실행 중인 작업이 이미 최대 개수면 null **/
+    public Map<String, Object> startFuzz(SqlFuzzRequest request) {
+        SqlFuzzJob job = new SqlFuzzJob(UUID.randomUUID().toString(),
+                request == null ? new SqlFuzzRequest() : request,
+                SqlCorpus.load(), fuzzCorpusDir);
+
+        synchronized (fuzzJobs) {
+            long running = fuzzJobs.values().stream()
+                    .filter(j -> j.getStatus() == SqlFuzzJob.Status.RUNNING)
+                    .count();
+            if (running >= MAX_RUNNING_FUZZ_JOBS) {
+                return null;
+            }
+
+            // 오래된 종료 작업부터 정리
+            Iterator<SqlFuzzJob> it = fuzzJobs.values().iterator();
+            while (fuzzJobs.size() >= MAX_FUZZ_JOBS && it.hasNext()) {
+                if (it.next().getStatus() != SqlFuzzJob.Status.RUNNING) {
+                    it.remove();
+                }
+            }
+            fuzzJobs.put(job.getId(), job);
+        }
+
+        try {
+            job.start();
+        } catch (RuntimeException | Error e) {
+            // 시작하지 못한 작업이 RUNNING 으로 남아 정리되지 않는 일이 없도록 제거
+            synchronized (fuzzJobs) {
+                fuzzJobs.remove(job.getId());
+            }
+            throw e;
+        }
+        return job.snapshot();
+    }
+
+    /** fuzz 작업 진행 상황 (없으면 null) **/
+    public Map<String, Object> fuzzJob(String id) {
+        SqlFuzzJob job;
+        synchronized (fuzzJobs) {
+            job = fuzzJobs.get(id);
+        }
+        return job == null ? null : job.snapshot();
+    }
+
+    /** fuzz 작업 목록 (진행 상황 포함) **/
+    public List<Map<String, Object>> fuzzJobs() {
+        List<SqlFuzzJob> jobs;
+        synchronized (fuzzJobs) {
+            jobs = new ArrayList<>(fuzzJobs.values());
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (SqlFuzzJob job : jobs) {
+            result.add(job.snapshot());
+        }
+        return result;
+    }
+
+    /** fuzz 작업 취소 (없으면 null) **/
+    public Map<String, Object> cancelFuzz(String id) {
+        SqlFuzzJob job;
+        synchronized (fuzzJobs) {
+            job = fuzzJobs.get(id);
+        }
+        if (job == null) {
+            return null;
+        }
+        job.cancel();
+        return job.snapshot();
+    }
+
+    public Map<String, Object> cacheStats() {
+        return OracleValidator.cacheStats();
+    }
+
+    public Map<String, Object> validatorStats() {
+        return OracleValidator.chainStats();
+    }
+
+    public Map<String, Object> logStats() {
+        return SecureSqlLogger.stats();
+    }
+
+    public Map<String, Object> parseStats() {
+        return ParseExecutor.stats();
+    }
+
+    public List<StatementPolicy> protectedStatements() {
+        return sqlSecurityInterceptor.getRegistry().protectedStatements();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchValidator.shutdown();
+        synchronized (fuzzJobs) {
+            fuzzJobs.values().forEach(SqlFuzzJob::cancel);
+        }
+    }
 }
@@ -0,0 +1,298 @@
+package com.example.demo.securesql.service;
+
+import com.example.demo.securesql.cache.ValidationVerdictCache;
+import com.example.demo.securesql.lexer.SqlStatementSplitter;
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ValidationResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대량 SQL 사전 검증기 (/api/sql/validate-batch)
+ *
+ * - 입력: NDJSON (한 줄에 {"sql": "..."} 또는 "...") / 여러 SQL 문을 ; 로 이어 붙인 텍스트
+ * - 입력을 한 건씩 읽어 검증 쓰레드 풀에 제출하고, 결과는 입력 순서 그대로 NDJSON 으로 출력
+ * - 동시에 진행 중인 검증 수를 window 크기로 제한 (배치 크기와 무관하게 메모리 사용량 일정)
+ * - 마지막 줄에 요약(건수 / 차단 수 / 차단 사유별 건수 / 처리량) 출력
+ * - 파싱은 ParseExecutor BATCH lane 사용 (Mapper 실행 / 단건 검증 API 와 분리)
+ * - 검증 결과 캐시는 요청마다 따로 사용 (OracleValidator.checkQuietly)
+ * 		- 업로드된 수천 건의 SQL 이 공유 캐시의 Mapper 검증 결과를 밀어내지 않음
+ * 		- 배치 입력은 REJECT 로그 / 차단 메트릭에도 기록하지 않음 (차단 내역은 응답 NDJSON 에 포함)
+ */
+/*
+ * [ 출력 형식 ]
+ *
+ * 	{"index":0,"ok":true,"message":"VALID"}
+ * 	{"index":1,"ok":false,"reason":"keyword","message":"금지된 키워드가 포함되어 있습니다: DROP","sql":"..."}
+ * 	...
+ * 	{"summary":true,"total":2,"passed":1,"rejected":1,"rejectReasons":{"keyword":1},"elapsedMs":3,"statementsPerSecond":666.7}
+ *
+ * 	- 출력 크기를 줄이기 위해 sql 은 차단된 건에만 포함 (index 로 입력과 대응)
+ */
+public final class SqlBatchValidator {
+
+    /** 입력 형식 **/
+    public enum Format {
+        // 한 줄에 SQL 한 건 (JSON 객체 / JSON 문자열 / 그대로의 SQL)
+        NDJSON,
+        // ; 로 구분된 여러 SQL 문
+        TEXT
+    }
+
+    // 출력 flush 주기 (결과 건수)
+    private static final int FLUSH_EVERY = 256;
+    // 요청별 검증 결과 캐시 최대 엔트리 수
+    private static final int CACHE_MAX_ENTRIES = 4096;
+
+    private final ExecutorService workers;
+    // 요청 한 건당 동시에 진행 중인 검증 수 상한
+    private final int window;
+    private final ObjectMapper objectMapper;
+
+    public SqlBatchValidator(int threads, ObjectMapper objectMapper) {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "secure-sql-batch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+
+        this.workers = Executors.newFixedThreadPool(threads, factory);
+        this.window = threads * 2;
+        this.objectMapper = objectMapper;
+    }
+
+    /** 입력 스트림의 SQL 을 모두 검증하여 결과를 NDJSON 으로 출력 **/
+    public void validate(InputStream in, Format format, OutputStream out) throws IOException {
+
+        long begin = System.nanoTime();
+        long total = 0;
+        long passed = 0;
+        Map<String, Long> rejectReasons = new TreeMap<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Source source = (format == Format.NDJSON) ? new NdjsonSource(reader) : new TextSource(reader);
+
+        // 제출 순서대로 보관 -> 앞에서부터 꺼내 출력하므로 입력 순서 유지
+        Deque<Future<Result>> inFlight = new ArrayDeque<>(window);
+        // 이 요청의 검증 결과 캐시 (검증 쓰레드끼리 공유)
+        ValidationVerdictCache cache = new ValidationVerdictCache(CACHE_MAX_ENTRIES);
+
+        try {
+            Item item;
+            while ((item = source.next()) != null) {
+                Item current = item;
+                inFlight.addLast(workers.submit(() -> check(current, cache)));
+
+                // window 가 가득 차면 가장 오래된 결과부터 출력
+                if (inFlight.size() >= window) {
+                    Result r = await(inFlight.removeFirst());
+                    total++;
+                    if (r.ok) passed++; else rejectReasons.merge(r.reason, 1L, Long::sum);
+                    write(writer, r);
+                    if (total % FLUSH_EVERY == 0) writer.flush();
+                }
+            }
+
+            while (!inFlight.isEmpty()) {
+                Result r = await(inFlight.removeFirst());
+                total++;
+                if (r.ok) passed++; else rejectReasons.merge(r.reason, 1L, Long::sum);
+                write(writer, r);
+            }
+
+        } finally {
+            // 클라이언트 연결이 끊긴 경우 등: 남은 검증은 취소
+            for (Future<Result> f : inFlight) {
+                f.cancel(true);
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - begin;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", true);
+        summary.put("total", total);
+        summary.put("passed", passed);
+        summary.put("rejected", total - passed);
+        summary.put("rejectReasons", rejectReasons);
+        summary.put("elapsedMs", elapsedNanos / 1_000_000);
+        summary.put("statementsPerSecond",
+                elapsedNanos == 0 ? 0.0 : Math.round(total * 1e10 / elapsedNanos) / 10.0);
+
+        writer.write(objectMapper.writeValueAsString(summary));
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /** 검증 쓰레드 풀 종료 **/
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /** SQL 한 건 검증 (검증 쓰레드에서 실행) **/
+    private static Result check(Item item, ValidationVerdictCache cache) {
+        if (item.error != null) {
+            return Result.rejected(item, "input", item.error);
+        }
+        try {
+            // 차단은 예외 없이 결과로 받음 (파싱 예산 초과는 reason=parse_budget)
+            ValidationResult result = OracleValidator.checkQuietly(item.sql, ParseExecutor.Lane.BATCH, cache);
+            return result.isAccepted()
+                    ? Result.passed(item)
+                    : Result.rejected(item, result.getReason(), result.getMessage());
+        } catch (RuntimeException e) {
+            return Result.rejected(item, "rejected", e.getMessage());
+        }
+    }
+
+    private static Result await(Future<Result> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("배치 검증이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("배치 검증 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    private void write(Writer writer, Result r) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("index", r.index);
+        line.put("ok", r.ok);
+        if (r.ok) {
+            line.put("message", "VALID");
+        } else {
+            line.put("reason", r.reason);
+            line.put("message", r.message);
+            line.put("sql", r.sql);
+        }
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    /** 입력 한 건 (NDJSON 줄 해석 실패 시 error 설정) **/
+    private static final class Item {
+        final long index;
+        final String sql;
+        final String error;
+
+        Item(long index, String sql, String error) {
+            this.index = index;
+            this.sql = sql;
+            this.error = error;
+        }
+    }
+
+    /** 검증 결과 한 건 **/
+    private static final class Result {
+        final long index;
+        final boolean ok;
+        final String reason;
+        final String message;
+        final String sql;
+
+        private Result(long index, boolean ok, String reason, String message, String sql) {
+            this.index = index;
+            this.ok = ok;
+            this.reason = reason;
+            this.message = message;
+            this.sql = sql;
+        }
+
+        static Result passed(Item item) {
+            return new Result(item.index, true, null, null, null);
+        }
+
+        static Result rejected(Item item, String reason, String message) {
+            return new Result(item.index, false, reason == null ? "rejected" : reason, message, item.sql);
+        }
+    }
+
+    /** 입력에서 SQL 을 한 건씩 읽는 공급자 (null 이면 끝) **/
+    private interface Source {
+        Item next() throws IOException;
+    }
+
+    /** NDJSON: 빈 줄은 건너뜀 **/
+    private final class NdjsonSource implements Source {
+        private final BufferedReader reader;
+        private long index;
+
+        NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Item next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                long i = index++;
+
+                // {"sql": "..."} 또는 "..." 이 아니면 SQL 그대로
+                if (line.charAt(0) != '{' && line.charAt(0) != '"') {
+                    return new Item(i, line, null);
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    JsonNode sql = node.isTextual() ? node : node.get("sql");
+                    if (sql == null || !sql.isTextual()) {
+                        return new Item(i, line, "NDJSON 줄에 sql 필드가 없습니다.");
+                    }
+                    return new Item(i, sql.asText(), null);
+                } catch (JsonProcessingException e) {
+                    return new Item(i, line, "NDJSON 줄을 해석할 수 없습니다: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /** 여러 SQL 문 텍스트: 리터럴 / 주석 밖의 ; 기준으로 분리 **/
+    private static final class TextSource implements Source {
+        private final SqlStatementSplitter splitter;
+        private long index;
+
+        TextSource(BufferedReader reader) {
+            this.splitter = new SqlStatementSplitter(reader);
+        }
+
+        @Override
+        public Item next() throws IOException {
+            String sql = splitter.next();
+            return (sql == null) ? null : new Item(index++, sql, null);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.demo.securesql.validator;
+
+import com.example.demo.securesql.lexer.SqlTokens;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 금지 키워드 단일 패스 스캐너
+ *
+ * - 원본 SQL 을 앞에서부터 한 번만 읽음 (SQL 사본 / 대문자 변환 문자열을 만들지 않음)
+ * - 문자열 리터럴('...'), 한 줄/블록 주석은 그 자리에서 건너뜀
+ * - 큰따옴표 식별자("...")는 건너뛰지 않고 내용을 일반 단어와 똑같이 검사
+ * 		- Oracle 은 "DBMS_SQL"."OPEN_CURSOR" 를 실제 패키지로 해석하므로 식별자 안의 키워드도 차단 대상
+ * - 모든 금지 키워드를 Aho-Corasick 오토마톤 하나로 동시에 매칭 (ASCII 대소문자 통일)
+ * - 통과(키워드 없음) 경로에서는 객체를 전혀 생성하지 않음
+ *
+ * 생성 후 불변 객체이므로 여러 쓰레드가 공유해도 안전함
+ */
+/*
+ * [ 스캐너가 오토마톤에 넘기는 문자 ]
+ *
+ * 	- 일반 문자: a~z 는 A~Z 로 변환하여 그대로 전달
+ * 	- 공백 / 주석: 연속 구간 전체를 공백 1개(' ')로 전달
+ * 		- 'EXECUTE   IMMEDIATE', 'EXECUTE (블록 주석) IMMEDIATE' 모두 'EXECUTE IMMEDIATE' 로 매칭됨
+ * 	- 문자열 리터럴: 내용 대신 경계 문자(') 1개만 전달
+ * 		- SELECT 'DROP' FROM dual 의 DROP 은 값이므로 오탐하지 않음
+ * 	- 큰따옴표 식별자: 따옴표와 내용을 그대로 전달 (공백은 ' ', a~z 는 A~Z)
+ * 		- 식별자 안의 -- / /* / ' 는 주석 / 리터럴 시작으로 보지 않음 (뒤쪽 SQL 을 건너뛰지 않도록)
+ * 	- 닫히지 않은 리터럴 / 주석: 건너뛰지 않고 일반 문자로 계속 스캔 (보수적으로 차단 쪽에 가깝게)
+ *
+ * [ 단어 경계 (기존 정규식 \b 와 동일) ]
+ * 	- 단어 문자: 문자/숫자/'_'
+ * 	- 매칭 시작 직전 문자와 매칭 끝 직후 문자가 모두 단어 문자가 아니어야 키워드로 인정
+ * 		- DROPSHIP, USER_DROP 같은 컬럼명은 오탐하지 않음
+ * 	- 직전 문자 여부는 최근 64개 문자의 단어 문자 여부를 비트로 보관 (배열/버퍼 생성 없음)
+ */
+public final class ForbiddenKeywordScanner {
+
+	// 전이 테이블 문자 범위 (ASCII)
+    private static final int ALPHABET = 128;
+
+    // 키워드 최대 길이 (단어 경계 비트 이력 64비트 기준)
+    private static final int MAX_KEYWORD_LENGTH = 62;
+
+    // 키워드 (정규화: 대문자 + 공백 1칸, 오류 메시지 표시용)
+    private final String[] keywords;
+    // 키워드 길이
+    private final int[] keywordLengths;
+
+    // 상태 전이 테이블 (state * ALPHABET + char -> next state)
+    private final int[] next;
+    // 해당 상태에서 끝나는 키워드 인덱스 (없으면 -1)
+    private final int[] output;
+    // 출력이 있는 가장 가까운 suffix 상태 (없으면 -1)
+    private final int[] dictLink;
+
+    private ForbiddenKeywordScanner(String[] keywords, int[] next, int[] output, int[] dictLink) {
+        this.keywords = keywords;
+        this.next = next;
+        this.output = output;
+        this.dictLink = dictLink;
+
+        this.keywordLengths = new int[keywords.length];
+        for (int i = 0; i < keywords.length; i++) {
+            keywordLengths[i] = keywords[i].length();
+        }
+    }
+
+    /**
+     * 키워드 목록으로 스캐너 생성
+     *
+     * - 대소문자 무시, 연속 공백은 1칸으로 정규화 (예: "execute  immediate" -> "EXECUTE IMMEDIATE")
+     * - 빈 키워드 / 중복 키워드는 무시
+     * - ASCII 가 아니거나 너무 긴 키워드는 IllegalArgumentException
+     */
+    public static ForbiddenKeywordScanner compile(List<String> rawKeywords) {
+
+        List<String> normalized = new ArrayList<>();
+        for (String raw : rawKeywords) {
+            String k = normalize(raw);
+            if (k.isEmpty() || normalized.contains(k)) continue;
+            normalized.add(k);
+        }
+
+        /* ---------- 1. Trie 구성 ---------- */
+        List<int[]> children = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        children.add(newChildren());
+        outputs.add(-1);
+
+        for (int k = 0; k < normalized.size(); k++) {
+            String keyword = normalized.get(k);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (children.get(state)[c] < 0) {
+                    children.get(state)[c] = children.size();
+                    children.add(newChildren());
+                    outputs.add(-1);
+                }
+                state = children.get(state)[c];
+            }
+            outputs.set(state, k);
+        }
+
+        /* ---------- 2. 실패 링크 + 전이 테이블 (BFS) ---------- */
+        int states = children.size();
+        int[] next = new int[states * ALPHABET];
+        int[] fail = new int[states];
+        int[] output = new int[states];
+        int[] dictLink = new int[states];
+
+        for (int s = 0; s < states; s++) {
+            output[s] = outputs.get(s);
+        }
+        dictLink[0] = -1;
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = children.get(0)[c];
+            if (child < 0) {
+                next[c] = 0;
+            } else {
+                next[c] = child;
+                fail[child] = 0;
+                dictLink[child] = -1;
+                queue.add(child);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = children.get(s)[c];
+                if (child < 0) {
+                    // 없는 전이는 실패 링크의 전이를 그대로 사용 (DFA)
+                    next[s * ALPHABET + c] = next[fail[s] * ALPHABET + c];
+                } else {
+                    next[s * ALPHABET + c] = child;
+                    int f = next[fail[s] * ALPHABET + c];
+                    fail[child] = f;
+                    dictLink[child] = output[f] >= 0 ? f : dictLink[f];
+                    queue.add(child);
+                }
+            }
+        }
+
+        return new ForbiddenKeywordScanner(normalized.toArray(new String[0]), next, output, dictLink);
+    }
+
+    /** 정규화된 키워드 목록 **/
+    public List<String> keywords() {
+        return List.of(keywords);
+    }
+
+    /** 인덱스에 해당하는 키워드 (오류 메시지 표시용) **/
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * SQL 에서 금지 키워드 검색
+     *
+     * @return 발견된 키워드 중 목록 순서가 가장 앞선 키워드 인덱스, 없으면 -1
+     */
+    public int scan(String sql) {
+
+        int len = sql.length();
+        // 객체 생성을 피하기 위해 상태는 지역 변수로 유지
+        int state = 0;
+        long history = 0L;      // 최근 문자들의 단어 문자 여부 (bit0 = 직전에 전달한 문자)
+        int pending = -1;       // 끝 경계 확인 대기 중인 키워드 인덱스
+        int found = -1;         // 발견된 키워드 중 가장 앞선 인덱스
+        boolean lastSpace = false;
+        int identifierEnd = -1; // 스캔 중인 큰따옴표 식별자의 끝 위치 (닫는 따옴표 다음)
+
+        int i = 0;
+        while (i < len) {
+            char c = sql.charAt(i);
+            char v;         // 오토마톤에 전달할 문자
+            int advance;    // 원본 SQL 에서 소비한 길이
+
+            if (i < identifierEnd) {
+                // 큰따옴표 식별자 내용: 주석 / 리터럴 해석 없이 일반 문자로 전달
+                advance = 1;
+                v = Character.isWhitespace(c) ? ' ' : (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+            } else if (Character.isWhitespace(c)) {
+                advance = 1;
+                v = ' ';
+            } else if (c == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {
+                // 한 줄 주석: 줄 끝까지
+                int end = i + 2;
+                while (end < len && sql.charAt(end) != '\n') end++;
+                advance = end - i;
+                v = ' ';
+            } else if (c == '/' && i + 1 < len && sql.charAt(i + 1) == '*') {
+                // 블록 주석: 닫히지 않았으면 일반 문자로 처리
+                int end = sql.indexOf("*/", i + 2);
+                if (end < 0) {
+                    advance = 1;
+                    v = c;
+                } else {
+                    advance = end + 2 - i;
+                    v = ' ';
+                }
+            } else if (c == '\'') {
+                // 문자열 리터럴: 닫히지 않았으면 따옴표만 소비하고 내용은 계속 스캔
+                int end = skipQuoted(sql, i, c);
+                advance = end < 0 ? 1 : end - i;
+                v = c;
+            } else if (c == '"') {
+                // 큰따옴표 식별자: 따옴표만 소비하고 내용은 일반 문자로 스캔 (닫히지 않았으면 이후 SQL 도 일반 스캔)
+                identifierEnd = skipQuoted(sql, i, c);
+                advance = 1;
+                v = c;
+            } else {
+                advance = 1;
+                v = (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+            }
+            i += advance;
+
+            // 연속 공백/주석은 공백 1개로 축약
+            if (v == ' ') {
+                if (lastSpace) continue;
+                lastSpace = true;
+            } else {
+                lastSpace = false;
+            }
+
+            boolean word = isWordChar(v);
+
+            // 직전에 끝난 키워드의 끝 경계 확인
+            if (pending >= 0) {
+                if (!word && (found < 0 || pending < found)) {
+                    found = pending;
+                }
+                pending = -1;
+            }
+
+            history = (history << 1) | (word ? 1L : 0L);
+            state = v < ALPHABET ? next[state * ALPHABET + v] : 0;
+
+            // 현재 상태 및 suffix 상태에서 끝나는 키워드의 시작 경계 확인
+            for (int s = output[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                int k = output[s];
+                // 키워드 시작 직전 문자 = keywordLength 만큼 이전 문자 (입력 시작 이전은 비단어 문자)
+                if ((history & (1L << keywordLengths[k])) == 0 && (pending < 0 || k < pending)) {
+                    pending = k;
+                }
+            }
+        }
+
+        // 입력 끝은 비단어 문자
+        if (pending >= 0 && (found < 0 || pending < found)) {
+            found = pending;
+        }
+        return found;
+    }
+
+    /**
+     * 토큰 배열에서 금지 키워드 검색 (OracleValidator 경로: SQL 을 다시 lexing 하지 않음)
+     *
+     * - 토큰 사이 간격(공백/주석)은 공백 1개, 문자열 리터럴은 따옴표 1개로 전달
+     * - 큰따옴표 식별자는 내용 전체 전달 (scan(String) 과 동일)
+     * - 닫히지 않은 리터럴은 scan(String) 과 동일하게 내용까지 그대로 전달
+     *
+     * @return 발견된 키워드 중 목록 순서가 가장 앞선 키워드 인덱스, 없으면 -1
+     */
+    public int scan(SqlTokens tokens) {
+
+        String sql = tokens.sql();
+        int state = 0;
+        long history = 0L;
+        int pending = -1;
+        int found = -1;
+
+        for (int t = 0; t < tokens.size(); t++) {
+
+            int start = tokens.start(t);
+            int end = tokens.end(t);
+            byte kind = tokens.kind(t);
+
+            // 문자열 리터럴은 따옴표 1개만 전달 (닫히지 않은 경우는 전체 전달)
+            if (kind == SqlTokens.STRING && !(t == tokens.size() - 1 && tokens.hasUnterminatedQuote())) {
+                end = start + 1;
+            }
+
+            // 토큰 앞 간격은 공백 1개 (i == start - 1 위치로 표현), 큰따옴표 식별자 안의 공백도 공백 1개로 전달
+            for (int i = tokens.hasGapBefore(t) ? start - 1 : start; i < end; i++) {
+                char c = (i < start || Character.isWhitespace(sql.charAt(i))) ? ' ' : sql.charAt(i);
+                char v = (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+
+                boolean word = isWordChar(v);
+
+                if (pending >= 0) {
+                    if (!word && (found < 0 || pending < found)) {
+                        found = pending;
+                    }
+                    pending = -1;
+                }
+
+                history = (history << 1) | (word ? 1L : 0L);
+                state = v < ALPHABET ? next[state * ALPHABET + v] : 0;
+
+                for (int s = output[state] >= 0 ? state : dictLink[state]; s >= 0; s = dictLink[s]) {
+                    int k = output[s];
+                    if ((history & (1L << keywordLengths[k])) == 0 && (pending < 0 || k < pending)) {
+                        pending = k;
+                    }
+                }
+            }
+        }
+
+        if (pending >= 0 && (found < 0 || pending < found)) {
+            found = pending;
+        }
+        return found;
+    }
+
+    /** 따옴표 구간 끝 위치 반환 (같은 따옴표 2개는 이스케이프). 닫히지 않았으면 -1 **/
+    private static int skipQuoted(String sql, int start, char quote) {
+        int len = sql.length();
+        int i = start + 1;
+        while (i < len) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < len && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** 단어 문자 여부 (정규식 \b 기준: 문자/숫자/'_') **/
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /** 키워드 정규화 (대문자 + 공백 1칸) **/
+    private static String normalize(String raw) {
+        if (raw == null) return "";
+
+        String k = raw.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+        for (int i = 0; i < k.length(); i++) {
+            if (k.charAt(i) >= ALPHABET) {
+                throw new IllegalArgumentException("금지 키워드는 ASCII 문자만 사용할 수 있습니다: " + raw);
+            }
+        }
+        if (k.length() > MAX_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException("금지 키워드가 너무 깁니다 (최대 " + MAX_KEYWORD_LENGTH + "자): " + raw);
+        }
+        return k;
+    }
+
+    private static int[] newChildren() {
+        int[] c = new int[ALPHABET];
+        Arrays.fill(c, -1);
+        return c;
+    }
+}
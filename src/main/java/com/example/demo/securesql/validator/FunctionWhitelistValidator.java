@@ -9,21 +9,28 @@ import com.example.demo.securesql.whitelist.GlobalFunctionWhitelistRegistry;
  * - NVL, DECODE, SUM, COUNT, CASE 등
  * - FunctionWhitelist.properties 기반
  */
-public class FunctionWhitelistValidator implements SqlValidator {
+public class FunctionWhitelistValidator implements FusableValidator {
 
     @Override
-    public void validate(SqlMeta meta) {
+    public int passes() {
+        return PASS_EXPRESSIONS;
+    }
+
+	// SqlMeta에 파싱되어 수집된 모든 함수 및 표현식 목록을 하나씩 검사
+    @Override
+    public void checkExpression(SqlMeta meta, int i, Object state) {
+        int func = meta.expression(i);
 
-    	// SqlMeta에 파싱되어 수집된 모든 함수 및 표현식 목록을 순회
-        for (String func : meta.getExpressions()) {
+    	// 현재 함수(func)가 GlobalFunctionWhitelistRegistry에 의해 허용되는지 확인
+        // (심볼 id 비트셋 조회, 지역 id 는 파싱 이후 재로딩으로 추가됐을 수 있으므로 이름으로 한 번 더 확인)
+        boolean allowed = GlobalFunctionWhitelistRegistry.isAllowedFunction(func)
+                || (func < 0 && GlobalFunctionWhitelistRegistry.isAllowedFunction(meta.name(func)));
 
-        	// 현재 함수(func)가 GlobalFunctionWhitelistRegistry에 의해 허용되는지 확인
-            if (!GlobalFunctionWhitelistRegistry.isAllowedFunction(func)) {
-            	// 허용되지 않은 함수인 경우, RuntimeException을 발생시켜 쿼리 실행 차단
-                throw new RuntimeException(
-                    "허용되지 않은 함수입니다: " + func
-                );
-            }
+        if (!allowed) {
+        	// 허용되지 않은 함수인 경우, PolicyViolationException을 발생시켜 쿼리 실행 차단
+            throw new PolicyViolationException(
+                "허용되지 않은 함수입니다: " + meta.name(func)
+            );
         }
     }
 }
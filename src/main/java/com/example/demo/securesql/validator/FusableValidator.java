@@ -0,0 +1,64 @@
+package com.example.demo.securesql.validator;
+
+import com.example.demo.securesql.parser.SqlMeta;
+
+/**
+ * 단일 패스(compiled) 검증을 지원하는 Validator
+ *
+ * - 검증 로직을 SqlMeta 의 원소 단위 검사로 나누어 제공
+ * 		- checkMeta       : 플래그 / 개수 등 SqlMeta 전체에 대한 검사
+ * 		- checkRootColumn : SELECT 절 칼럼 i 번째
+ * 		- checkTable      : 전체 테이블 i 번째
+ * 		- checkColumn     : 전체 사용 칼럼 i 번째
+ * 		- checkExpression : 함수 i 번째
+ * - 순차 모드(validate)는 위 검사를 이 순서대로 한 번씩 실행 -> 두 모드의 검사 로직은 하나
+ * - compiled 모드(ValidatorChain)는 등록된 모든 Validator 의 같은 종류 검사를 원소 한 번 순회로 합쳐서 실행
+ * - 위반 시 PolicyViolationException (stack trace 없음, 메시지 그대로)
+ */
+public interface FusableValidator extends SqlValidator {
+
+    /** 이 Validator 가 사용하는 검사 종류 (PASS_* 비트 조합) **/
+    int PASS_META = 1;
+    int PASS_ROOT_COLUMNS = 1 << 1;
+    int PASS_TABLES = 1 << 2;
+    int PASS_COLUMNS = 1 << 3;
+    int PASS_EXPRESSIONS = 1 << 4;
+
+    int passes();
+
+    /** SqlMeta 한 건 검증 시작 (검증 단위 상태, ex. 화이트리스트 카탈로그) - 반환값은 check* 의 state 로 전달 **/
+    default Object begin(SqlMeta meta) { return null; }
+
+    default void checkMeta(SqlMeta meta, Object state) { }
+
+    default void checkRootColumn(SqlMeta meta, int i, Object state) { }
+
+    default void checkTable(SqlMeta meta, int i, Object state) { }
+
+    default void checkColumn(SqlMeta meta, int i, Object state) { }
+
+    default void checkExpression(SqlMeta meta, int i, Object state) { }
+
+    /** 순차 모드: 검사 종류 순서대로 실행 (첫 위반에서 중단) **/
+    @Override
+    default void validate(SqlMeta meta) {
+        int passes = passes();
+        Object state = begin(meta);
+
+        if ((passes & PASS_META) != 0) {
+            checkMeta(meta, state);
+        }
+        if ((passes & PASS_ROOT_COLUMNS) != 0) {
+            for (int i = 0; i < meta.rootColumnCount(); i++) checkRootColumn(meta, i, state);
+        }
+        if ((passes & PASS_TABLES) != 0) {
+            for (int i = 0; i < meta.tableCount(); i++) checkTable(meta, i, state);
+        }
+        if ((passes & PASS_COLUMNS) != 0) {
+            for (int i = 0; i < meta.columnCount(); i++) checkColumn(meta, i, state);
+        }
+        if ((passes & PASS_EXPRESSIONS) != 0) {
+            for (int i = 0; i < meta.expressionCount(); i++) checkExpression(meta, i, state);
+        }
+    }
+}
@@ -10,23 +10,30 @@ import com.example.demo.securesql.parser.SqlMeta;
  * - OR + 상수 비교 : 차단
  * - JOIN ON 상수 비교 : 차단
  */
-public class OrPolicyValidator implements SqlValidator {
+public class OrPolicyValidator implements FusableValidator {
+
+    // 고정 메시지 위반은 인스턴스 재사용 (PolicyViolationException 참고)
+    private static final PolicyViolationException CONSTANT_JOIN =
+        new PolicyViolationException("JOIN 조건에서 상수 비교는 허용되지 않습니다");
+    private static final PolicyViolationException UNSAFE_OR =
+        new PolicyViolationException("OR 조건에 상수 비교 또는 조건 무력화 패턴이 포함되어 있습니다");
+
+    @Override
+    public int passes() {
+        return PASS_META;
+    }
 
     @Override
-    public void validate(SqlMeta meta) {
+    public void checkMeta(SqlMeta meta, Object state) {
 
         // ❌ JOIN ON 1=1 또는 ON '1'='1'
         if (meta.hasConstantComparisonInJoin()) {
-            throw new RuntimeException(
-                "JOIN 조건에서 상수 비교는 허용되지 않습니다"
-            );
+            throw CONSTANT_JOIN;
         }
 
         // ❌ OR '1'='1', OR 1=1
         if (meta.hasUnsafeOrPredicate()) {
-            throw new RuntimeException(
-                "OR 조건에 상수 비교 또는 조건 무력화 패턴이 포함되어 있습니다"
-            );
+            throw UNSAFE_OR;
         }
 
         // ✅ WHERE 1=1 은 허용
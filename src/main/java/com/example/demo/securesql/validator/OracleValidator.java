@@ -1,10 +1,20 @@
 package com.example.demo.securesql.validator;
 
+import com.example.demo.securesql.cache.SqlFingerprint;
+import com.example.demo.securesql.cache.ValidationVerdictCache;
+import com.example.demo.securesql.cache.ValidationVerdictCache.Verdict;
+import com.example.demo.securesql.lexer.SqlTokenizer;
+import com.example.demo.securesql.lexer.SqlTokens;
 import com.example.demo.securesql.log.SecureSqlLogger;
+import com.example.demo.securesql.metrics.SecureSqlMetrics;
 import com.example.demo.securesql.parser.OracleAstParser;
+import com.example.demo.securesql.parser.ParseExecutor;
 import com.example.demo.securesql.parser.SqlMeta;
+import com.example.demo.securesql.whitelist.DynamicTableWhitelistRegistry;
+import com.example.demo.securesql.whitelist.GlobalFunctionWhitelistRegistry;
 
 import java.util.List;
+import java.util.Map;
 
 /** Oracle SQL 검증의 중앙 관리 클래스 **/
 public class OracleValidator {
@@ -43,6 +53,11 @@ public class OracleValidator {
 	 * 		- 중요성 및 이유: (SQL Injection 방어) SQL Injection 시도와 직결되는 패턴(예: OR '1'='1')을 차단
 	 * 			이 플래그(unsafeOr)는 파싱 단계에서 설정되지만, 모든 다른 정책 검증을 통과한 후 
 	 * 			최종적으로 보안 위험을 확인하여 쿼리를 거부하는 것이 일반적임
+	 *
+	 * - 적응형 실행 순서 (securesql.validator.adaptive-order=true)
+	 * 		- 위 등록 순서는 초기 순서이며, ValidatorChain 이 측정한 Validator 별 비용 / 차단 비율로 주기적으로 재정렬
+	 * 		- 주입 스캔처럼 OrPolicy / 화이트리스트 차단이 대부분인 트래픽에서는 해당 Validator 가 앞으로 이동
+	 * 		- 통과 SQL 은 모든 Validator 를 통과해야 하므로 순서와 무관하게 결과 동일 (차단 사유만 먼저 실행된 Validator 기준)
 	 */
 
 	/** 검증 체인 정의: 모든 개별 Validator를 순서대로 등록 **/
@@ -61,32 +76,255 @@ public class OracleValidator {
             // [보안] unsafeOr (상수 비교) 패턴만 차단하는 정책 검증기
             .add(new OrPolicyValidator());   
 
-    /** SQL 쿼리를 파싱하고 정의된 검증 체인을 순차적으로 실행하는 메인 검증 메서드 **/
+    /*
+     * 검증 결과 캐시
+     * 	- 실제 트래픽은 수백 개의 SQL 형태로 수렴하므로, 리터럴만 다른 SQL은 같은 지문(Fingerprint)으로 묶어
+     * 	  키워드 검사 / 파싱 / ValidatorChain 실행 없이 해시 조회 한 번으로 결과를 재사용
+     * 	- 화이트리스트 / 금지 키워드 버전이 바뀌면 캐시 결과는 자동 무효
+     */
+    /** 최대 캐시 엔트리 수 **/
+    private static final int VERDICT_CACHE_MAX_ENTRIES = 1024;
+
+    /** 지문 기반 검증 결과 캐시 **/
+    private static final ValidationVerdictCache VERDICT_CACHE =
+        new ValidationVerdictCache(VERDICT_CACHE_MAX_ENTRIES);
+
+    /** SQL 쿼리를 파싱하고 정의된 검증 체인을 순차적으로 실행하는 메인 검증 메서드 (Mapper 실행 경로) **/
     public static void validate(String sql) {
+        validate(sql, ParseExecutor.Lane.STATEMENT);
+    }
+
+    /**
+     * 파싱 lane 을 지정하여 검증 (임의 SQL 검증 API 는 ADHOC lane 사용)
+     *
+     * - 차단 시 SqlRejectedException (stack trace 없음, 같은 차단 결과는 같은 인스턴스 재사용)
+     * - 파싱 시간 예산 / 대기열 초과는 ParseBudgetExceededException 그대로
+     */
+    public static void validate(String sql, ParseExecutor.Lane lane) {
+        ValidationResult result = check(sql, lane);
+        if (!result.isAccepted()) {
+        	// 예외를 호출자에게 던져서 SQL 실행을 최종적으로 차단(정상 흐름 차단)
+            throw result.toException();
+        }
+    }
+
+    /**
+     * validate 와 같은 검증 (로그 / 메트릭 / 결과 캐시 포함) 을 실행하고 결과를 반환
+     *
+     * - 차단을 예외 없이 받는 호출자용 (임의 SQL 검증 API, 대량 검증은 checkQuietly + 요청별 캐시)
+     * - 차단 결과 캐시 hit 이면 캐시된 ValidationResult 인스턴스를 그대로 반환 (할당 없음)
+     */
+    public static ValidationResult check(String sql, ParseExecutor.Lane lane) {
+
+        // 전체 검증 시간 측정 시작 (SecureSqlMetrics: securesql.validate)
+        long begin = System.nanoTime();
+
+    	// 검증 시작 시점의 화이트리스트 / 금지 키워드 버전 (검증 도중 재로딩되면 이 결과는 다음 조회 시 무효 처리됨)
+        long tableVersion = DynamicTableWhitelistRegistry.version();
+        long functionVersion = GlobalFunctionWhitelistRegistry.version();
+        long keywordVersion = ForbiddenKeywordValidator.version();
+
+        // [0단계 토큰화] SQL 한 건당 한 번만 lexing (지문 / 금지 키워드 / 형태 검사가 같은 토큰 배열을 사용)
+        SqlTokens tokens = SqlTokenizer.tokenize(sql);
+        SecureSqlMetrics.recordStage(SecureSqlMetrics.STAGE_TOKENIZE, System.nanoTime() - begin);
+
+        // 리터럴 제거 / 공백 축약 / 대문자 통일된 SQL 지문 (캐시 불가 SQL이면 null)
+        String fingerprint = SqlFingerprint.of(tokens);
+
+        String cache;
+        if (fingerprint == null) {
+            VERDICT_CACHE.recordBypass();
+            cache = SecureSqlMetrics.CACHE_BYPASS;
+        } else {
+            Verdict cached = VERDICT_CACHE.lookup(fingerprint, tableVersion, functionVersion, keywordVersion);
+
+            // 캐시 hit: 이전 검증 결과를 그대로 재사용
+            if (cached != null) {
+                ValidationResult result = cached.getResult();
+                if (result.isAccepted()) {
+                    SecureSqlLogger.logPass(sql, fingerprint);
+                    SecureSqlMetrics.recordValidate(true, SecureSqlMetrics.CACHE_HIT, System.nanoTime() - begin);
+                    return result;
+                }
+                SecureSqlLogger.logReject(sql, result.getMessage());
+                SecureSqlMetrics.countReject(result.getReason());
+                SecureSqlMetrics.recordValidate(false, SecureSqlMetrics.CACHE_HIT, System.nanoTime() - begin);
+                return result;
+            }
+            cache = SecureSqlMetrics.CACHE_MISS;
+        }
+
+        // 현재 진행 중인 단계 (차단 사유 분류용)
+        String stage = SecureSqlMetrics.STAGE_KEYWORD;
+        ValidationResult result = null;
 
         try {
-        	// [1단계 검증] 가장 빠르고 기본적인 검증: 원시 SQL 문자열에서 금지된 키워드(DDL/시스템 함수) 확인
-            ForbiddenKeywordValidator.validateRawSql(sql);
+        	// [1단계 검증] 가장 빠르고 기본적인 검증: 토큰 배열에서 금지된 키워드(DDL/시스템 함수) 확인
+            long t = System.nanoTime();
+            ForbiddenKeywordValidator.validateTokens(tokens);
+            SecureSqlMetrics.recordStage(SecureSqlMetrics.STAGE_KEYWORD, System.nanoTime() - t);
+
+            // [1단계 검증] 파싱 전 형태 검사 (닫히지 않은 리터럴/주석, 다중 SQL 문) - 위반 시 파싱 생략
+            stage = SecureSqlMetrics.STAGE_SHAPE;
+            t = System.nanoTime();
+            TokenShapeValidator.validate(tokens);
+            SecureSqlMetrics.recordStage(SecureSqlMetrics.STAGE_SHAPE, System.nanoTime() - t);
 
             // [2단계 파싱] JSqlParser를 사용하여 SQL을 파싱하고 메타데이터(SqlMeta) 추출
-            List<SqlMeta> metas = new OracleAstParser().parse(sql);
+            stage = SecureSqlMetrics.STAGE_PARSE;
+            t = System.nanoTime();
+            List<SqlMeta> metas;
+            try {
+                metas = new OracleAstParser(lane).parse(sql);
+            } finally {
+                SecureSqlMetrics.recordStage(SecureSqlMetrics.STAGE_PARSE, System.nanoTime() - t);
+            }
 
             // 파싱된 모든 SelectBody (복합 쿼리/SetOperation 포함)에 대해 순회하며 검증 실행
+            // (Validator 별 시간 / 차단 사유는 ValidatorChain 에서 기록, 차단은 예외 없이 결과로 반환)
             for (SqlMeta meta : metas) {
             	// 추출된 메타데이터(meta)를 ValidatorChain을 통해 순차적으로 검증
-                CHAIN.validate(meta);
+                result = CHAIN.check(meta);
+                if (!result.isAccepted()) {
+                    break;
+                }
                 // 검증 통과 후, 분석된 메타 정보를 로깅
                 SecureSqlLogger.logMeta(meta);
             }
 
+        } catch (ParseExecutor.ParseBudgetExceededException e) {
+        	// 파싱 시간 예산 / 대기열 초과: 호출자에게 원래 예외 그대로 전달 (캐시하지 않음)
+            result = ValidationResult.rejected(ReasonCode.PARSE_BUDGET.label(), e.getMessage(), e);
+
+        } catch (RuntimeException e) {
+            // 차단 사유 분류: Validator 가 직접 분류한 사유가 있으면 그대로, 그 외는 차단된 단계
+            String reason = (e instanceof SqlRejectedException) ? ((SqlRejectedException) e).getReason() : stage;
+            result = ValidationResult.rejected(reason, e.getMessage());
+        }
+
+        if (result == null || result.isAccepted()) {
+            // 통과 결과 캐시
+            if (fingerprint != null) {
+                VERDICT_CACHE.record(fingerprint, Verdict.accepted(tableVersion, functionVersion, keywordVersion));
+            }
+
             // 모든 검증을 통과한 경우 성공 로깅
-            SecureSqlLogger.logPass(sql);
+            SecureSqlLogger.logPass(sql, fingerprint);
+            SecureSqlMetrics.recordValidate(true, cache, System.nanoTime() - begin);
+            return ValidationResult.ACCEPTED;
+        }
+
+    	// 차단 결과도 캐시 (같은 형태의 공격 SQL 반복 시 파싱 생략)
+    	// 단, 파싱 시간 예산 / 대기열 초과는 부하에 따른 일시적 차단이므로 캐시하지 않음
+        if (fingerprint != null && result.getCode() != ReasonCode.PARSE_BUDGET) {
+            VERDICT_CACHE.record(fingerprint,
+                    Verdict.rejected(result, tableVersion, functionVersion, keywordVersion));
+        }
+
+    	// 차단된 SQL과 차단 메시지를 로깅
+        SecureSqlLogger.logReject(sql, result.getMessage());
+        SecureSqlMetrics.countReject(result.getReason());
+        SecureSqlMetrics.recordValidate(false, cache, System.nanoTime() - begin);
+        return result;
+    }
 
+    /**
+     * 검증 단계만 실행 (검증 결과 캐시 / 로그 / 차단 메트릭 / Validator Timer·실행 통계 없음)
+     *
+     * - fuzz 처럼 차단되는 SQL 을 대량으로 만들어 보는 용도 (REJECT 로그 / 캐시가 fuzz 입력으로 채워지지 않음)
+     * - 차단 시 SqlRejectedException (reason: 차단 단계 또는 Validator 이름), 파싱 예산 초과는 ParseBudgetExceededException 그대로
+     */
+    public static void validateQuietly(String sql, ParseExecutor.Lane lane) {
+        ValidationResult result = checkQuietly(sql, lane);
+        if (!result.isAccepted()) {
+            throw result.toException();
+        }
+    }
+
+    /** validateQuietly 와 같은 검증을 실행하고 결과를 반환 **/
+    public static ValidationResult checkQuietly(String sql, ParseExecutor.Lane lane) {
+        return checkQuietly(sql, lane, null);
+    }
+
+    /**
+     * checkQuietly 와 같은 검증, 검증 결과는 호출자가 준 캐시에만 기록 (공유 캐시 VERDICT_CACHE 는 사용하지 않음)
+     *
+     * - 대량 검증처럼 같은 형태의 SQL 이 반복되지만 공유 캐시의 Mapper 검증 결과를 밀어내면 안 되는 경우
+     * - cache 가 null 이면 캐시 없이 매번 전체 검증
+     */
+    public static ValidationResult checkQuietly(String sql, ParseExecutor.Lane lane, ValidationVerdictCache cache) {
+        long tableVersion = DynamicTableWhitelistRegistry.version();
+        long functionVersion = GlobalFunctionWhitelistRegistry.version();
+        long keywordVersion = ForbiddenKeywordValidator.version();
+
+        SqlTokens tokens = SqlTokenizer.tokenize(sql);
+        String fingerprint = (cache == null) ? null : SqlFingerprint.of(tokens);
+        if (fingerprint != null) {
+            Verdict cached = cache.lookup(fingerprint, tableVersion, functionVersion, keywordVersion);
+            if (cached != null) {
+                return cached.getResult();
+            }
+        }
+
+        ValidationResult result = checkTokensQuietly(sql, tokens, lane);
+
+        // 파싱 시간 예산 / 대기열 초과는 일시적 차단이므로 캐시하지 않음
+        if (fingerprint != null && result.getCode() != ReasonCode.PARSE_BUDGET) {
+            cache.record(fingerprint, result.isAccepted()
+                    ? Verdict.accepted(tableVersion, functionVersion, keywordVersion)
+                    : Verdict.rejected(result, tableVersion, functionVersion, keywordVersion));
+        }
+        return result;
+    }
+
+    private static ValidationResult checkTokensQuietly(String sql, SqlTokens tokens, ParseExecutor.Lane lane) {
+        String stage = SecureSqlMetrics.STAGE_KEYWORD;
+
+        try {
+            ForbiddenKeywordValidator.validateTokens(tokens);
+
+            stage = SecureSqlMetrics.STAGE_SHAPE;
+            TokenShapeValidator.validate(tokens);
+
+            stage = SecureSqlMetrics.STAGE_PARSE;
+            for (SqlMeta meta : new OracleAstParser(lane).parse(sql)) {
+                ValidationResult result = CHAIN.checkQuietly(meta);
+                if (!result.isAccepted()) {
+                    return result;
+                }
+            }
+            return ValidationResult.ACCEPTED;
+
+        } catch (ParseExecutor.ParseBudgetExceededException e) {
+            return ValidationResult.rejected(ReasonCode.PARSE_BUDGET.label(), e.getMessage(), e);
+        } catch (SqlRejectedException e) {
+            return ValidationResult.rejected(e.getReason(), e.getMessage());
         } catch (RuntimeException e) {
-        	// 검증 중 RuntimeException 발생 시 실패한 SQL과 오류 메시지를 로깅
-            SecureSqlLogger.logReject(sql, e.getMessage());
-            // 예외를 호출자에게 다시 던져서 SQL 실행을 최종적으로 차단(정상 흐름 차단)
-            throw e;
+            return ValidationResult.rejected(stage, e.getMessage());
         }
     }
+
+    /** ValidatorChain 실행 모드 설정 (SecureSqlPolicyConfig) **/
+    public static void configureChainMode(ValidatorChain.Mode mode) {
+        CHAIN.mode(mode);
+    }
+
+    public static ValidatorChain.Mode chainMode() {
+        return CHAIN.mode();
+    }
+
+    /** ValidatorChain 적응형 실행 순서 설정 (SecureSqlPolicyConfig) **/
+    public static void configureAdaptiveOrder(boolean enabled, long reorderInterval) {
+        CHAIN.adaptive(enabled, reorderInterval);
+    }
+
+    /** ValidatorChain 현재 실행 순서 / Validator 별 비용 / 차단 비율 **/
+    public static Map<String, Object> chainStats() {
+        return CHAIN.stats();
+    }
+
+    /** 검증 결과 캐시 통계 (hit/miss/eviction) **/
+    public static Map<String, Object> cacheStats() {
+        return VERDICT_CACHE.stats();
+    }
 }
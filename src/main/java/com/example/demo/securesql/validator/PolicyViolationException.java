@@ -0,0 +1,16 @@
+package com.example.demo.securesql.validator;
+
+/**
+ * 정책 위반 예외 (Validator / 키워드 / 형태 검사 전용)
+ *
+ * - stack trace 를 만들지 않음 (차단은 예외적 상황이 아닌 일반 결과, 주입 스캔 시 초당 수천 건)
+ * - 메시지가 고정된 위반은 static final 인스턴스를 재사용 (차단마다 새로 생성하지 않음)
+ * 		- 상태가 없는 불변 객체 (cause / suppressed 없음) -> 여러 쓰레드에서 동시에 던져도 안전
+ * - 차단 사유(reason)는 던지는 쪽이 아니라 ValidatorChain / OracleValidator 가 분류
+ */
+public class PolicyViolationException extends RuntimeException {
+
+    public PolicyViolationException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.securesql.validator;
+
+/**
+ * 차단 사유 코드
+ *
+ * - label: 메트릭 tag / SqlRejectedException.getReason() 과 같은 문자열 (기존 값 그대로)
+ * - 기본 Validator 외에 ValidatorChain 에 추가된 Validator 는 VALIDATOR (label 은 Validator 이름)
+ */
+public enum ReasonCode {
+
+    /** 금지 키워드 **/
+    KEYWORD("keyword"),
+    /** 파싱 전 형태 검사 (닫히지 않은 리터럴/주석, 다중 SQL 문) **/
+    SHAPE("shape"),
+    /** 파싱 실패 **/
+    PARSE("parse"),
+    /** 파싱 시간 예산 / 대기열 초과 (부하에 따른 일시적 차단) **/
+    PARSE_BUDGET("parse_budget"),
+    JOIN_POLICY("JoinPolicy"),
+    SELECT_STAR("SelectStar"),
+    PREFIX_RULE("PrefixRule"),
+    TABLE_COLUMN_WHITELIST("TableColumnWhitelist"),
+    FUNCTION_WHITELIST("FunctionWhitelist"),
+    OR_POLICY("OrPolicy"),
+    /** 그 외 ValidatorChain 에 등록된 Validator **/
+    VALIDATOR("validator");
+
+    private static final ReasonCode[] VALUES = values();
+
+    private final String label;
+
+    ReasonCode(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /** 사유 문자열 -> 코드 (알 수 없는 사유는 VALIDATOR) **/
+    public static ReasonCode of(String reason) {
+        for (ReasonCode code : VALUES) {
+            if (code.label.equals(reason)) return code;
+        }
+        return VALIDATOR;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.securesql.validator;
 
 import com.example.demo.securesql.parser.SqlMeta;
+import com.example.demo.securesql.whitelist.SqlSymbols;
 
 /**
  * SELECT * 정책
@@ -10,24 +11,28 @@ import com.example.demo.securesql.parser.SqlMeta;
  *  
  *  - 전체 컬럼 조회(*)는 과다 조회/권한 우회/성능 문제를 유발할 수 있어 금지
  */
-public class SelectStarValidator implements SqlValidator {
+public class SelectStarValidator implements FusableValidator {
+
+    private static final PolicyViolationException SELECT_STAR =
+        new PolicyViolationException("SELECT * (또는 TABLE.*) 는 허용되지 않습니다");
 
     @Override
-    public void validate(SqlMeta meta) {
+    public int passes() {
+        return PASS_ROOT_COLUMNS;
+    }
 
-    	// SELECT 절의 "루트 컬럼 목록"을 순회
-    	// rootColumns는 SELECT 리스트에 직접 등장한 컬럼/표현식(또는 * / T.*)을 수집해둔 값
-    	// 예: SELECT A.COL, B.COL FROM ...  -> "A.COL", "B.COL"
-		//      SELECT * FROM ...            -> "*"
-		//      SELECT A.* FROM ...          -> "A.*"
-        for (String c : meta.getRootColumns()) {
-        	// 현재 컬럼 문자열이 정확히 "*" 이면 SELECT * 패턴
-        	// "무엇이든 + .*" 로 끝나면 SELECT T.* (테이블명/alias 전체 컬럼) 패턴
-        	// 둘 중 하나라도 해당하면 정책 위반으로 판단
-            if ("*".equals(c) || c.endsWith(".*")) {
-            	// 정책 위반 시 RuntimeException 발생 -> 상위 OracleValidator에서 reject 처리
-                throw new RuntimeException("SELECT * (또는 TABLE.*) 는 허용되지 않습니다");
-            }
+	// SELECT 절의 "루트 컬럼 목록"을 하나씩 검사
+	// rootColumns는 SELECT 리스트에 직접 등장한 컬럼/표현식(또는 * / T.*)을 수집해둔 값
+	// 예: SELECT A.COL, B.COL FROM ...  -> "A.COL", "B.COL"
+	//      SELECT * FROM ...            -> "*"
+	//      SELECT A.* FROM ...          -> "A.*"
+    @Override
+    public void checkRootColumn(SqlMeta meta, int i, Object state) {
+    	// 컬럼 id 가 STAR 이면 SELECT * 또는 SELECT T.* (테이블명/alias 전체 컬럼) 패턴
+    	// (파서가 "*" / "T.*" 를 [prefix, STAR] 쌍으로 기록) -> 정책 위반으로 판단
+        if (meta.rootColumnName(i) == SqlSymbols.STAR) {
+        	// 정책 위반 시 (미리 만들어 둔) PolicyViolationException 발생 -> 상위 OracleValidator에서 reject 처리
+            throw SELECT_STAR;
         }
     }
 }
@@ -0,0 +1,28 @@
+package com.example.demo.securesql.validator;
+
+/**
+ * SQL 보안 검증 차단 예외
+ *
+ * - 메시지는 기존 RuntimeException 과 동일 (호출자는 getMessage() 만 사용)
+ * - reason: 차단 사유 분류 (메트릭 tag 용, 값의 종류가 제한된 짧은 문자열)
+ * - stack trace 를 만들지 않음 (차단 위치는 reason / 메시지로 충분, ValidationResult 가 인스턴스를 재사용)
+ */
+public class SqlRejectedException extends RuntimeException {
+
+    private final String reason;
+
+    public SqlRejectedException(String reason, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.reason = reason;
+    }
+
+    /** 차단 사유 분류 (keyword, shape, parse, JoinPolicy ...) **/
+    public String getReason() {
+        return reason;
+    }
+
+    /** 차단 사유 코드 **/
+    public ReasonCode getCode() {
+        return ReasonCode.of(reason);
+    }
+}
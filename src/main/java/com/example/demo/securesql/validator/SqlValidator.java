@@ -5,6 +5,7 @@ import com.example.demo.securesql.parser.SqlMeta;
 /**
  * SqlMeta 객체에 저장된 메타 정보를 기반으로 SQL 쿼리의 보안 및 정책을 검증.
  * 검증에 실패하면 RuntimeException을 발생시켜 쿼리 실행을 차단합.
+ * (기본 Validator 는 stack trace 를 만들지 않는 PolicyViolationException 사용)
  *
  * @param meta OracleAstParser를 통해 파싱된 SQL 쿼리의 메타 정보
  */
@@ -2,9 +2,8 @@ package com.example.demo.securesql.validator;
 
 import com.example.demo.securesql.parser.SqlMeta;
 import com.example.demo.securesql.whitelist.DynamicTableWhitelistRegistry;
-
-import java.util.HashSet;
-import java.util.Set;
+import com.example.demo.securesql.whitelist.SqlSymbols;
+import com.example.demo.securesql.whitelist.TableCatalog;
 
 /**
  * 테이블/컬럼 화이트리스트 검증
@@ -13,119 +12,119 @@ import java.util.Set;
  * ✔ alias → 실제 테이블 매핑 지원
  * ✔ SELECT / WHERE / JOIN / GROUP BY / ORDER BY 컬럼 검사
  * ✔ WITH CTE 이름은 "가상 테이블"로 간주하여 검사 제외
+ * ✔ 화이트리스트 카탈로그는 검증 한 건당 한 번만 얻음 (검증 도중 재로딩되어도 같은 기준으로 판단)
+ * ✔ 테이블/컬럼은 SqlMeta 의 심볼 id 로 비교 (split / 대문자 변환 / CTE 이름 Set 생성 없음)
  */
-public class TableColumnWhitelistValidator implements SqlValidator {
+public class TableColumnWhitelistValidator implements FusableValidator {
 
     @Override
-    public void validate(SqlMeta meta) {
-
-        // ===============================
-        // 1️⃣ CTE 이름 추출
-        // ===============================
-        // 파서에서 WITH CTE 이름도 meta.getTables()에 들어오므로
-        // "화이트리스트에 없지만 실제 테이블도 아닌 이름"을 CTE로 간주
-        Set<String> cteNames = extractCteNames(meta);
-
-        // ===============================
-        // 2️⃣ 테이블 화이트리스트 검증
-        // ===============================
-        for (String table : meta.getTables()) {
-
-            // 서브쿼리 가상 테이블 스킵
-            if ("__SUBQUERY__".equals(table)) continue;
-
-            // ✅ CTE 이름이면 검사 제외
-            if (cteNames.contains(table)) continue;
-
-            // 실제 테이블 화이트리스트 검사
-            if (DynamicTableWhitelistRegistry
-                    .getColumnsForTable(table).isEmpty()) {
-                throw new RuntimeException(
-                        "화이트리스트에 등록되지 않은 테이블입니다: " + table
-                );
-            }
-        }
+    public int passes() {
+        return PASS_TABLES | PASS_COLUMNS;
+    }
 
-        // ===============================
-        // 3️⃣ 컬럼 화이트리스트 검증
-        // ===============================
-        for (String col : meta.getColumns()) {
+    /** 검증 한 건당 화이트리스트 카탈로그를 한 번만 얻음 **/
+    @Override
+    public Object begin(SqlMeta meta) {
+        return DynamicTableWhitelistRegistry.snapshot();
+    }
 
-            // "*" 또는 "T.*" 스킵
-            if ("*".equals(col) || col.endsWith(".*")) continue;
+    // ===============================
+    // 1️⃣ 테이블 화이트리스트 검증
+    // ===============================
+    @Override
+    public void checkTable(SqlMeta meta, int i, Object state) {
+        TableCatalog whitelist = (TableCatalog) state;
+        int table = meta.table(i);
 
-            // prefix 없는 컬럼
-            if (!col.contains(".")) {
-                if (meta.getRootTables().size() == 1) {
-                    String table = meta.getRootTables().iterator().next();
+        // 서브쿼리 가상 테이블 스킵
+        if (table == SqlSymbols.SUBQUERY) return;
 
-                    // CTE 루트 테이블이면 스킵
-                    if (cteNames.contains(table)) continue;
+        // ✅ CTE 이름이면 검사 제외
+        if (isCte(meta, whitelist, table)) return;
 
-                    if (!DynamicTableWhitelistRegistry
-                            .isAllowedColumn(table, col)) {
-                        throw new RuntimeException(
-                                "허용되지 않은 컬럼입니다: " + table + "." + col
-                        );
-                    }
+        // 실제 테이블 화이트리스트 검사
+        if (!isAllowedTable(meta, whitelist, table)) {
+            throw new PolicyViolationException(
+                    "화이트리스트에 등록되지 않은 테이블입니다: " + meta.name(table)
+            );
+        }
+    }
+
+    // ===============================
+    // 2️⃣ 컬럼 화이트리스트 검증
+    // ===============================
+    @Override
+    public void checkColumn(SqlMeta meta, int i, Object state) {
+        TableCatalog whitelist = (TableCatalog) state;
+        int prefix = meta.columnQualifier(i);
+        int column = meta.columnName(i);
+
+        // "*" 또는 "T.*" 스킵
+        if (column == SqlSymbols.STAR) return;
+
+        // prefix 없는 컬럼
+        if (prefix == SqlMeta.NONE) {
+            if (meta.rootTableCount() == 1) {
+                int table = meta.rootTable(0);
+
+                // CTE 루트 테이블이면 스킵
+                if (isCte(meta, whitelist, table)) return;
+
+                if (!isAllowedColumn(meta, whitelist, table, column)) {
+                    throw new PolicyViolationException(
+                            "허용되지 않은 컬럼입니다: " + meta.name(table) + "." + meta.name(column)
+                    );
                 }
-                continue;
             }
+            return;
+        }
 
-            // prefix.column 형태
-            String[] parts = col.split("\\.");
-            String prefix = parts[0];
-            String column = parts[1];
-
-            // alias → 실제 테이블 매핑
-            String table = meta.getAliasToTable().get(prefix);
-            if (table == null) {
-                table = prefix;
-            }
+        // alias → 실제 테이블 매핑
+        int table = meta.aliasTarget(prefix);
+        if (table == SqlMeta.NONE) {
+            table = prefix;
+        }
 
-            // 서브쿼리 컬럼 스킵
-            if ("__SUBQUERY__".equals(table)) continue;
+        // 서브쿼리 컬럼 스킵
+        if (table == SqlSymbols.SUBQUERY) return;
 
-            // ✅ CTE 컬럼 스킵
-            if (cteNames.contains(table)) continue;
+        // ✅ CTE 컬럼 스킵
+        if (isCte(meta, whitelist, table)) return;
 
-            // 실제 테이블 + 컬럼 화이트리스트 검사
-            if (!DynamicTableWhitelistRegistry
-                    .isAllowedColumn(table, column)) {
-                throw new RuntimeException(
-                        "허용되지 않은 컬럼입니다: " + table + "." + column
-                );
-            }
+        // 실제 테이블 + 컬럼 화이트리스트 검사
+        if (!isAllowedColumn(meta, whitelist, table, column)) {
+            throw new PolicyViolationException(
+                    "허용되지 않은 컬럼입니다: " + meta.name(table) + "." + meta.name(column)
+            );
         }
     }
 
     /**
-     * CTE 이름 추출
+     * CTE 이름 판단
      *
-     * - 화이트리스트에 없는 테이블 중
-     * - aliasToTable 에도 없는 이름을 CTE로 간주
+     * - 파서에서 WITH CTE 이름도 meta 의 테이블 목록에 들어오므로
+     * - 테이블 목록에 있으면서 alias 가 아니고 화이트리스트에도 없는 이름을 CTE로 간주
      */
-    private Set<String> extractCteNames(SqlMeta meta) {
-
-        Set<String> cteNames = new HashSet<>();
-
-        for (String table : meta.getTables()) {
-
-            if ("__SUBQUERY__".equals(table)) continue;
-
-            // alias가 아니고
-            boolean isAlias = meta.getAliasToTable().containsKey(table);
+    private static boolean isCte(SqlMeta meta, TableCatalog whitelist, int table) {
+        return table != SqlSymbols.SUBQUERY
+                && meta.containsTable(table)
+                && !meta.isAlias(table)
+                && !isAllowedTable(meta, whitelist, table);
+    }
 
-            // 화이트리스트에도 없으면 → CTE
-            boolean notInWhitelist =
-                    DynamicTableWhitelistRegistry
-                            .getColumnsForTable(table).isEmpty();
+    /*
+     * 심볼 id 로 조회
+     * 	- 0 이상: SqlSymbols id 그대로 (HEAP 카탈로그는 정수 비교만 수행)
+     * 	- 음수(지역 id): SqlSymbols 에 없는 이름 -> 이름을 등록하지 않는 카탈로그(MAPPED)를 위해 이름으로 조회
+     */
+    private static boolean isAllowedTable(SqlMeta meta, TableCatalog whitelist, int table) {
+        return (table >= 0) ? whitelist.isAllowedTable(table) : whitelist.isAllowedTable(meta.name(table));
+    }
 
-            if (!isAlias && notInWhitelist) {
-                cteNames.add(table);
-            }
+    private static boolean isAllowedColumn(SqlMeta meta, TableCatalog whitelist, int table, int column) {
+        if (table >= 0 && column >= 0) {
+            return whitelist.isAllowedColumn(table, column);
         }
-
-        return cteNames;
+        return whitelist.isAllowedColumn(meta.name(table), meta.name(column));
     }
 }
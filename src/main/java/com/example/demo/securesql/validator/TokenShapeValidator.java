@@ -0,0 +1,50 @@
+package com.example.demo.securesql.validator;
+
+import com.example.demo.securesql.lexer.SqlTokens;
+
+/**
+ * 파싱 전 SQL 형태 검증 (토큰 기반)
+ *
+ * - 토큰 배열만으로 판단할 수 있는 위반은 JSqlParser 파싱 전에 차단
+ * - 차단되면 파싱 / ValidatorChain 을 실행하지 않음
+ */
+public class TokenShapeValidator {
+
+    // 고정 메시지 위반은 인스턴스 재사용 (PolicyViolationException 참고)
+    private static final PolicyViolationException UNTERMINATED_QUOTE =
+        new PolicyViolationException("닫히지 않은 문자열 리터럴(또는 따옴표 식별자)이 있습니다.");
+    private static final PolicyViolationException UNTERMINATED_COMMENT =
+        new PolicyViolationException("닫히지 않은 주석이 있습니다.");
+    private static final PolicyViolationException STACKED_STATEMENTS =
+        new PolicyViolationException("다중 SQL 문은 허용되지 않습니다.");
+
+	/*
+	 * - 1. 닫히지 않은 문자열 리터럴 / 큰따옴표 식별자
+	 * 		- WHERE name = 'abc  처럼 따옴표가 짝이 맞지 않으면 파서가 어차피 실패함
+	 * 		- 파싱 비용을 쓰기 전에 차단
+	 *
+	 * - 2. 닫히지 않은 블록 주석
+	 * 		- 뒤쪽 SQL 전체를 주석으로 숨기는 패턴 (SELECT ... /* 이후 조건 무력화)
+	 *
+	 * - 3. 다중 SQL 문 (Statement stacking)
+	 * 		- SELECT ...; DROP ... 처럼 ; 뒤에 다른 토큰이 이어지는 경우
+	 * 		- 마지막 ; 하나만 있는 경우는 허용 (SELECT ... ;)
+	 */
+    public static void validate(SqlTokens tokens) {
+
+        if (tokens.hasUnterminatedQuote()) {
+            throw UNTERMINATED_QUOTE;
+        }
+
+        if (tokens.hasUnterminatedComment()) {
+            throw UNTERMINATED_COMMENT;
+        }
+
+        // 마지막 토큰을 제외한 위치에 ; 가 있으면 다중 SQL 문
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            if (tokens.isSymbol(i, ';')) {
+                throw STACKED_STATEMENTS;
+            }
+        }
+    }
+}
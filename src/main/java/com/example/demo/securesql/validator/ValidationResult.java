@@ -0,0 +1,77 @@
+package com.example.demo.securesql.validator;
+
+/**
+ * SQL 검증 결과 (예외 없이 결과를 반환하는 검증 API 용)
+ *
+ * - 통과는 ACCEPTED 하나를 공유
+ * - 차단은 사유 코드 / 사유 문자열 / 메시지 보관 (검증 결과 캐시에 그대로 저장되어 hit 마다 같은 인스턴스 반환)
+ * - 예외가 필요한 호출자(Mapper 인터셉터 등)는 toException()
+ * 		- 처음 요청될 때 한 번만 생성하여 재사용 (stack trace 없는 SqlRejectedException)
+ * 		- 파싱 예산 초과는 원래 예외(ParseBudgetExceededException) 그대로 (기존 호출자 구분 유지)
+ */
+public final class ValidationResult {
+
+    public static final ValidationResult ACCEPTED = new ValidationResult(null, null, null, null);
+
+    private final ReasonCode code;
+    private final String reason;
+    private final String message;
+    // 그대로 다시 던져야 하는 예외 (파싱 예산 초과), 그 외에는 null
+    private final RuntimeException original;
+
+    // toException() 결과 (경쟁 시 중복 생성될 수 있으나 내용이 같으므로 무방)
+    private volatile RuntimeException exception;
+
+    private ValidationResult(ReasonCode code, String reason, String message, RuntimeException original) {
+        this.code = code;
+        this.reason = reason;
+        this.message = message;
+        this.original = original;
+    }
+
+    /** 차단 결과 (reason: 메트릭 tag 와 같은 사유 문자열) **/
+    public static ValidationResult rejected(String reason, String message) {
+        return new ValidationResult(ReasonCode.of(reason), reason, message, null);
+    }
+
+    /** 차단 결과 (toException() 이 original 을 그대로 반환) **/
+    static ValidationResult rejected(String reason, String message, RuntimeException original) {
+        return new ValidationResult(ReasonCode.of(reason), reason, message, original);
+    }
+
+    public boolean isAccepted() {
+        return code == null;
+    }
+
+    /** 차단 사유 코드 (통과면 null) **/
+    public ReasonCode getCode() {
+        return code;
+    }
+
+    /** 차단 사유 문자열 (keyword, shape, parse, JoinPolicy ..., 통과면 null) **/
+    public String getReason() {
+        return reason;
+    }
+
+    /** 차단 메시지 (기존 예외 메시지와 동일, 통과면 null) **/
+    public String getMessage() {
+        return message;
+    }
+
+    /** 차단 결과에 해당하는 예외 (통과 결과에는 사용하지 않음) **/
+    public RuntimeException toException() {
+        if (original != null) return original;
+
+        RuntimeException e = exception;
+        if (e == null) {
+            e = new SqlRejectedException(reason, message, null);
+            exception = e;
+        }
+        return e;
+    }
+
+    @Override
+    public String toString() {
+        return isAccepted() ? "ACCEPTED" : "REJECTED(" + reason + ": " + message + ")";
+    }
+}
@@ -1,14 +1,91 @@
 package com.example.demo.securesql.validator;
 
+import com.example.demo.securesql.metrics.SecureSqlMetrics;
 import com.example.demo.securesql.parser.SqlMeta;
+import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/*
+ * [ 실행 모드 ]
+ *
+ * 	- SEQUENTIAL (기본)
+ * 		- 등록 순서대로 Validator 를 하나씩 실행, Validator 별 Timer 기록
+ *
+ * 	- COMPILED
+ * 		- FusableValidator 의 원소 단위 검사를 검사 종류별로 묶어 SqlMeta 를 종류마다 한 번만 순회
+ * 			(SELECT 칼럼 1회: SelectStar + PrefixRule / 테이블 1회 / 칼럼 1회 / 함수 1회)
+ * 		- 차단 결과는 순차 모드와 동일: 등록 순서가 가장 앞선 Validator 의 첫 위반 (메시지 / 사유 그대로)
+ * 			- 위반이 나오면 그보다 뒤에 등록된 Validator 의 검사는 건너뛰고, 앞선 Validator 의 검사만 계속
+ * 			- 앞선 Validator 의 남은 검사가 없으면 즉시 중단
+ * 		- FusableValidator 가 아닌 Validator 는 SqlMeta 전체 검사(checkMeta)로 취급
+ * 		- Timer 는 체인 전체 하나 (validator=Compiled)
+ *
+ * [ 적응형 실행 순서 (adaptive) ]
+ *
+ * 	- Validator 별 평균 실행 시간(c) 과 차단 비율(p) 을 기록하고, 일정 건수마다 c / p 오름차순으로 실행 순서를 재정렬
+ * 		- 서로 독립인 필터를 순서대로 적용할 때 SQL 한 건당 기대 비용이 최소가 되는 순서
+ * 		- 차단이 한 번도 없는 Validator 는 뒤로 (등록 순서)
+ * 		- 값은 재정렬 구간마다 지수 이동 평균으로 반영 (주입 스캔처럼 트래픽 성격이 바뀌면 따라감)
+ * 	- 통과 SQL 의 결과는 순서와 무관 (모든 Validator 를 통과해야 하므로 동일)
+ * 		- 여러 Validator 를 동시에 위반하는 SQL 은 먼저 실행된 Validator 의 사유/메시지로 차단될 수 있음
+ * 	- 차단 비율은 앞선 Validator 를 통과한 SQL 기준 (조건부 확률)
+ * 	- COMPILED 모드는 Validator 별 시간을 따로 잴 수 없으므로 차단 비율만 갱신 (시간은 SEQUENTIAL 에서 측정한 값 유지)
+ * 	- 등록 순서가 초기 순서이며 adaptive 를 끄면 (기본) 등록 순서 고정
+ */
 public class ValidatorChain {
 
+    /** 실행 모드 **/
+    public enum Mode { SEQUENTIAL, COMPILED }
+
+    private static final long DEFAULT_REORDER_INTERVAL = 10_000;
+    // 재정렬 구간에서 통계를 반영할 최소 실행 횟수
+    private static final long MIN_SAMPLES = 100;
+    // 지수 이동 평균 가중치 (최근 구간)
+    private static final double EWMA_ALPHA = 0.3;
+
+    // 검사 종류 (FusableValidator.PASS_* 순서 = 실행 순서)
+    private static final int[] PASSES = {
+        FusableValidator.PASS_META,
+        FusableValidator.PASS_ROOT_COLUMNS,
+        FusableValidator.PASS_TABLES,
+        FusableValidator.PASS_COLUMNS,
+        FusableValidator.PASS_EXPRESSIONS
+    };
+
 	// SqlValidator 인터페이스를 구현한 검증기들을 저장하는 리스트
     private final List<SqlValidator> validators = new ArrayList<>();
+    // Validator 별 실행 시간 Timer (validators 와 같은 순서)
+    private final List<Timer> timers = new ArrayList<>();
+    // Validator 별 차단 사유 이름 (validators 와 같은 순서)
+    private final List<String> reasons = new ArrayList<>();
+
+    // Validator 별 실행 통계 (validators 와 같은 순서)
+    private final List<Stats> stats = new ArrayList<>();
+
+    private volatile Mode mode = Mode.SEQUENTIAL;
+    // 현재 실행 순서 (등록 번호 배열, 재정렬 시 참조만 교체)
+    private volatile int[] order = new int[0];
+    // COMPILED 모드 실행 계획 (add / 재정렬 시 다시 생성)
+    private volatile Plan plan;
+
+    // 적응형 실행 순서 사용 여부 / 재정렬 주기 (검증 건수)
+    private volatile boolean adaptive;
+    private volatile long reorderInterval = DEFAULT_REORDER_INTERVAL;
+    // 마지막 재정렬 이후 검증 건수 / 재정렬 횟수
+    private final AtomicLong sinceReorder = new AtomicLong();
+    private final AtomicLong reorders = new AtomicLong();
+    // COMPILED 모드 체인 전체 Timer (처음 COMPILED 로 전환될 때 생성)
+    private volatile Timer compiledTimer;
 
     /**
      * 검증 체인에 새로운 Validator를 추가.
@@ -20,22 +97,409 @@ public class ValidatorChain {
     public ValidatorChain add(SqlValidator v) {
     	// 리스트에 Validator 추가
         validators.add(v);
+
+        // Timer / 차단 Counter 는 등록 시점에 한 번만 생성 (ex. JoinPolicyValidator -> JoinPolicy)
+        String name = reasonOf(v);
+        reasons.add(name);
+        timers.add(SecureSqlMetrics.validatorTimer(name));
+        SecureSqlMetrics.registerRejectReason(name);
+        stats.add(new Stats());
+
+        // 새 Validator 는 현재 순서의 맨 뒤
+        int[] next = Arrays.copyOf(order, order.length + 1);
+        next[order.length] = validators.size() - 1;
+        order = next;
+        plan = null;
+
         // 체인을 연속적으로 구성할 수 있도록 자기 자신(this)을 반환
         return this;
     }
 
     /**
-     * 체인에 등록된 모든 Validator를 순차적으로 실행.
+     * 체인에 등록된 모든 Validator를 현재 실행 순서대로 실행.
      * 하나의 Validator라도 RuntimeException을 발생시키면 검증은 즉시 중단됨.
+     * 차단 시 어떤 Validator에서 차단되었는지 SqlRejectedException.getReason() 으로 전달 (메시지는 그대로 유지)
      *
      * @param meta OracleAstParser를 통해 파싱된 SQL 쿼리의 메타 정보
      */
     public void validate(SqlMeta meta) {
-    	// 등록된 Validator 목록을 순회
-        for (SqlValidator v : validators) {
-        	// 현재 Validator의 validate 메서드를 실행
-        	// 실패 시 (RuntimeException 발생 시) 루프가 중단되고 예외가 호출자에게 전파됨
-            v.validate(meta);
+        ValidationResult result = check(meta);
+        if (!result.isAccepted()) {
+            throw result.toException();
+        }
+    }
+
+    /**
+     * validate 와 같은 검증을 실행하고 결과를 반환 (차단 시 예외를 다시 만들어 던지지 않음)
+     *
+     * @param meta OracleAstParser를 통해 파싱된 SQL 쿼리의 메타 정보
+     * @return 통과면 ValidationResult.ACCEPTED, 차단이면 차단한 Validator 이름을 사유로 한 결과
+     */
+    public ValidationResult check(SqlMeta meta) {
+        if (mode == Mode.COMPILED) {
+            return checkCompiled(meta);
+        }
+
+        try {
+        	// 현재 실행 순서대로 Validator 목록을 순회
+            for (int i : order) {
+                long start = System.nanoTime();
+                boolean rejected = true;
+                try {
+                	// 현재 Validator의 validate 메서드를 실행
+                	// 실패 시 (RuntimeException 발생 시) 루프가 중단되고 차단 결과 반환
+                    validators.get(i).validate(meta);
+                    rejected = false;
+                } catch (RuntimeException e) {
+                    return rejection(reasons.get(i), e);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    timers.get(i).record(elapsed, TimeUnit.NANOSECONDS);
+                    stats.get(i).record(rejected, elapsed);
+                }
+            }
+            return ValidationResult.ACCEPTED;
+        } finally {
+            maybeReorder();
+        }
+    }
+
+    /**
+     * check 와 같은 검증을 실행하되 Timer / 실행 통계 / 순서 재조정에는 반영하지 않음
+     * (fuzz, 대량 검증처럼 운영 트래픽이 아닌 검증이 Validator 지표와 adaptive 순서를 왜곡하지 않도록 함)
+     *
+     * @param meta OracleAstParser를 통해 파싱된 SQL 쿼리의 메타 정보
+     * @return 통과면 ValidationResult.ACCEPTED, 차단이면 차단한 Validator 이름을 사유로 한 결과
+     */
+    public ValidationResult checkQuietly(SqlMeta meta) {
+        if (mode == Mode.COMPILED) {
+            Plan p = plan;
+            if (p == null) {
+                p = new Plan(order, validators, reasons);
+                plan = p;
+            }
+            Run run = new Run(p, meta);
+            for (int pass = 0; pass < PASSES.length && run.limit > p.minFrom[pass]; pass++) {
+                run.pass(pass);
+            }
+            return (run.failure == null) ? ValidationResult.ACCEPTED : rejection(p.reasons[run.limit], run.failure);
+        }
+
+        for (int i : order) {
+            try {
+                validators.get(i).validate(meta);
+            } catch (RuntimeException e) {
+                return rejection(reasons.get(i), e);
+            }
+        }
+        return ValidationResult.ACCEPTED;
+    }
+
+    /** 실행 모드 변경 **/
+    public ValidatorChain mode(Mode mode) {
+        if (mode == Mode.COMPILED && compiledTimer == null) {
+            compiledTimer = SecureSqlMetrics.validatorTimer("Compiled");
+        }
+        this.mode = mode;
+        return this;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * 적응형 실행 순서 설정
+     *
+     * @param enabled 사용 여부 (끄면 등록 순서로 복원)
+     * @param interval 재정렬 주기 (검증 건수, 0 이하이면 기본값)
+     */
+    public ValidatorChain adaptive(boolean enabled, long interval) {
+        this.reorderInterval = interval > 0 ? interval : DEFAULT_REORDER_INTERVAL;
+        this.adaptive = enabled;
+
+        if (!enabled) {
+            synchronized (this) {
+                int[] registered = new int[validators.size()];
+                for (int i = 0; i < registered.length; i++) registered[i] = i;
+                order = registered;
+                plan = null;
+            }
+        }
+        return this;
+    }
+
+    /** 현재 실행 순서와 Validator 별 통계 (관리 API) **/
+    public Map<String, Object> stats() {
+        int[] current = order;
+
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int position = 0; position < current.length; position++) {
+            int i = current[position];
+            Stats st = stats.get(i);
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("position", position);
+            m.put("validator", reasons.get(i));
+            m.put("registeredPosition", i);
+            m.put("calls", st.totalCalls + st.calls.sum());
+            m.put("rejects", st.totalRejects + st.rejects.sum());
+            m.put("avgCostNanos", st.costMeasured ? Math.round(st.costNanos) : null);
+            m.put("rejectRate", st.rejectRate);
+            m.put("rank", Double.isInfinite(st.rank()) ? null : st.rank());
+            list.add(m);
         }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", mode.name().toLowerCase(Locale.ROOT));
+        result.put("adaptive", adaptive);
+        result.put("reorderInterval", reorderInterval);
+        result.put("reorders", reorders.get());
+        result.put("order", list);
+        return result;
+    }
+
+    /** 재정렬 주기에 도달하면 통계를 반영하고 실행 순서 재계산 (한 쓰레드만 수행) **/
+    private void maybeReorder() {
+        if (!adaptive) return;
+
+        long n = sinceReorder.incrementAndGet();
+        if (n < reorderInterval || !sinceReorder.compareAndSet(n, 0)) return;
+
+        reorder();
+    }
+
+    private synchronized void reorder() {
+        if (!adaptive) return;
+
+        for (Stats st : stats) {
+            st.roll();
+        }
+
+        // c / p 오름차순 (동률이면 등록 순서)
+        // 차단이 없는 Validator 끼리는 순서와 무관하게 모두 실행되므로 등록 순서 유지 (불필요한 재정렬 방지)
+        Integer[] next = new Integer[validators.size()];
+        for (int i = 0; i < next.length; i++) next[i] = i;
+        Arrays.sort(next, Comparator.comparingDouble((Integer i) -> stats.get(i).rank()).thenComparingInt(i -> i));
+
+        int[] sorted = new int[next.length];
+        for (int i = 0; i < next.length; i++) sorted[i] = next[i];
+
+        if (!Arrays.equals(sorted, order)) {
+            order = sorted;
+            plan = null;
+            reorders.incrementAndGet();
+        }
+    }
+
+    /** COMPILED 모드: 검사 종류별 한 번 순회 **/
+    private ValidationResult checkCompiled(SqlMeta meta) {
+        Plan p = plan;
+        if (p == null) {
+            p = new Plan(order, validators, reasons);
+            plan = p;
+        }
+
+        long start = System.nanoTime();
+        Run run = new Run(p, meta);
+        try {
+            for (int pass = 0; pass < PASSES.length && run.limit > p.minFrom[pass]; pass++) {
+                run.pass(pass);
+            }
+        } finally {
+            compiledTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            // 차단 비율 통계: 차단한 Validator 까지 실행된 것으로 기록 (시간은 기록하지 않음)
+            int reached = Math.min(run.limit, p.ids.length - 1);
+            for (int k = 0; k <= reached; k++) {
+                stats.get(p.ids[k]).record(k == run.limit, 0);
+            }
+            maybeReorder();
+        }
+
+        return (run.failure == null) ? ValidationResult.ACCEPTED : rejection(p.reasons[run.limit], run.failure);
+    }
+
+    /** Validator 위반 -> 차단 결과 (Validator 가 직접 SqlRejectedException 을 던지면 그 사유 유지) **/
+    private static ValidationResult rejection(String reason, RuntimeException e) {
+        if (e instanceof SqlRejectedException) {
+            return ValidationResult.rejected(((SqlRejectedException) e).getReason(), e.getMessage());
+        }
+        return ValidationResult.rejected(reason, e.getMessage());
+    }
+
+    /** COMPILED 모드 실행 계획: 실행 순서대로 정렬된 Validator, 검사 종류별 Validator 위치 (오름차순) **/
+    private static final class Plan {
+        // 실행 위치 -> 등록 번호
+        private final int[] ids;
+        private final SqlValidator[] validators;
+        private final String[] reasons;
+        // hooks[pass] = 해당 검사를 가진 Validator 위치
+        private final int[][] hooks = new int[PASSES.length][];
+        // minFrom[pass] = pass 이후(포함) 검사를 가진 Validator 위치 중 최솟값 (없으면 Validator 수)
+        private final int[] minFrom = new int[PASSES.length + 1];
+
+        Plan(int[] order, List<SqlValidator> validators, List<String> reasons) {
+            int n = order.length;
+            this.ids = order.clone();
+            this.validators = new SqlValidator[n];
+            this.reasons = new String[n];
+            for (int k = 0; k < n; k++) {
+                this.validators[k] = validators.get(order[k]);
+                this.reasons[k] = reasons.get(order[k]);
+            }
+
+            for (int pass = 0; pass < PASSES.length; pass++) {
+                int[] ids = new int[n];
+                int count = 0;
+                for (int i = 0; i < n; i++) {
+                    if ((passesOf(this.validators[i]) & PASSES[pass]) != 0) ids[count++] = i;
+                }
+                hooks[pass] = Arrays.copyOf(ids, count);
+            }
+
+            minFrom[PASSES.length] = n;
+            for (int pass = PASSES.length - 1; pass >= 0; pass--) {
+                int first = hooks[pass].length > 0 ? hooks[pass][0] : n;
+                minFrom[pass] = Math.min(first, minFrom[pass + 1]);
+            }
+        }
+
+        private static int passesOf(SqlValidator v) {
+            return (v instanceof FusableValidator) ? ((FusableValidator) v).passes() : FusableValidator.PASS_META;
+        }
+    }
+
+    /** COMPILED 모드 검증 한 건의 상태 **/
+    private static final class Run {
+        private final Plan plan;
+        private final SqlMeta meta;
+        private final Object[] states;
+        // 현재까지 가장 앞선 위반 Validator 위치 (위반 없으면 Validator 수)
+        private int limit;
+        private RuntimeException failure;
+
+        Run(Plan plan, SqlMeta meta) {
+            this.plan = plan;
+            this.meta = meta;
+            this.states = new Object[plan.validators.length];
+            this.limit = plan.validators.length;
+
+            for (int i = 0; i < states.length; i++) {
+                if (plan.validators[i] instanceof FusableValidator) {
+                    states[i] = ((FusableValidator) plan.validators[i]).begin(meta);
+                }
+            }
+        }
+
+        /** 검사 종류 하나를 원소 단위로 한 번 순회 **/
+        void pass(int pass) {
+            int[] hooks = plan.hooks[pass];
+            if (hooks.length == 0) return;
+
+            int count = elementCount(pass);
+            for (int e = 0; e < count; e++) {
+                for (int k : hooks) {
+                    // 이미 더 앞선 Validator 의 위반이 있으면 뒤 Validator 는 검사하지 않음
+                    if (k >= limit) break;
+                    try {
+                        check(pass, k, e);
+                    } catch (RuntimeException ex) {
+                        limit = k;
+                        failure = ex;
+                        break;
+                    }
+                }
+                // 위반보다 앞선 Validator 의 남은 검사가 없으면 종료
+                if (limit <= plan.minFrom[pass]) return;
+            }
+        }
+
+        private int elementCount(int pass) {
+            switch (PASSES[pass]) {
+                case FusableValidator.PASS_META: return 1;
+                case FusableValidator.PASS_ROOT_COLUMNS: return meta.rootColumnCount();
+                case FusableValidator.PASS_TABLES: return meta.tableCount();
+                case FusableValidator.PASS_COLUMNS: return meta.columnCount();
+                default: return meta.expressionCount();
+            }
+        }
+
+        private void check(int pass, int k, int e) {
+            SqlValidator v = plan.validators[k];
+            if (!(v instanceof FusableValidator)) {
+                v.validate(meta);
+                return;
+            }
+
+            FusableValidator f = (FusableValidator) v;
+            switch (PASSES[pass]) {
+                case FusableValidator.PASS_META: f.checkMeta(meta, states[k]); break;
+                case FusableValidator.PASS_ROOT_COLUMNS: f.checkRootColumn(meta, e, states[k]); break;
+                case FusableValidator.PASS_TABLES: f.checkTable(meta, e, states[k]); break;
+                case FusableValidator.PASS_COLUMNS: f.checkColumn(meta, e, states[k]); break;
+                default: f.checkExpression(meta, e, states[k]); break;
+            }
+        }
+    }
+
+    /** Validator 별 실행 통계 **/
+    private static final class Stats {
+        // 현재 재정렬 구간 (검증 쓰레드가 누적)
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rejects = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder timedCalls = new LongAdder();
+
+        // 이전 구간까지 누적 / 지수 이동 평균 (재정렬 쓰레드만 갱신)
+        private volatile long totalCalls;
+        private volatile long totalRejects;
+        // 측정 전에는 모든 Validator 가 같은 비용 / 차단 비율 0 (등록 순서 유지)
+        private volatile double costNanos = 1;
+        private volatile double rejectRate;
+        private volatile boolean costMeasured;
+        private volatile boolean rateMeasured;
+
+        void record(boolean rejected, long elapsedNanos) {
+            calls.increment();
+            if (rejected) rejects.increment();
+            if (elapsedNanos > 0) {
+                nanos.add(elapsedNanos);
+                timedCalls.increment();
+            }
+        }
+
+        /** 현재 구간을 평균에 반영하고 구간 초기화 **/
+        void roll() {
+            long c = calls.sumThenReset();
+            long r = rejects.sumThenReset();
+            long n = nanos.sumThenReset();
+            long timed = timedCalls.sumThenReset();
+
+            totalCalls += c;
+            totalRejects += r;
+
+            if (c >= MIN_SAMPLES) {
+                double rate = (double) r / c;
+                rejectRate = rateMeasured ? EWMA_ALPHA * rate + (1 - EWMA_ALPHA) * rejectRate : rate;
+                rateMeasured = true;
+            }
+            if (timed >= MIN_SAMPLES) {
+                double cost = (double) n / timed;
+                costNanos = costMeasured ? EWMA_ALPHA * cost + (1 - EWMA_ALPHA) * costNanos : cost;
+                costMeasured = true;
+            }
+        }
+
+        /** 정렬 기준: 차단 1건을 얻는 데 드는 기대 비용 (차단이 없으면 무한대) **/
+        double rank() {
+            return rejectRate > 0 ? costNanos / rejectRate : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /** Validator 클래스명에서 차단 사유 이름 추출 **/
+    private static String reasonOf(SqlValidator v) {
+        String name = v.getClass().getSimpleName();
+        return name.endsWith("Validator") ? name.substring(0, name.length() - "Validator".length()) : name;
     }
 }
@@ -1,14 +1,15 @@
 package com.example.demo.securesql.whitelist;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,8 +17,16 @@ import lombok.extern.slf4j.Slf4j;
  * 테이블/컬럼 화이트리스트 관리 클래스 (동적 핫-리로드).
  *
  * - classpath:/TableWhitelist.properties 기본 로드
- * - ./config/TableWhitelist.properties 존재하면 override
- * - ./config 디렉터리 WatchService 로 감시 (변경 시 자동 재로딩)
+ * - 외부 파일(-Dsecuresql.whitelist.external-file) 존재하면 override
+ * - 외부 파일 디렉터리 WatchService 로 감시 (변경 시 자동 재로딩)
+ * - 재로딩은 새 불변 카탈로그(TableCatalog)를 완성한 뒤 한 번에 교체
+ * 		- 재로딩 중에도 검증 쓰레드는 이전 카탈로그 전체를 보고, 교체 후에는 새 카탈로그 전체를 봄
+ * - 저장소 선택 (securesql.whitelist.store)
+ * 		- HEAP: TableWhitelistSnapshot (기본값, 이름을 SqlSymbols 에 등록)
+ * 		- MAPPED: MappedTableCatalog (정렬된 사전 파일을 mmap, 수만 개 테이블 규모에서 힙 사용량 일정, SqlSymbols 에 등록하지 않음)
+ * - 최초 로딩은 첫 조회 또는 configureStore 시점까지 미룸
+ * 		- 저장소를 정한 뒤 한 번만 로드 (MAPPED 인데 HEAP 카탈로그를 먼저 만들어 이름이 등록되는 일이 없도록)
+ * 		- 시스템 프로퍼티(-Dsecuresql.whitelist.store / -Dsecuresql.whitelist.mapped-file)가 있으면 그 값이 초기 저장소
  */
 @Slf4j
 public class DynamicTableWhitelistRegistry {
@@ -25,25 +34,33 @@ public class DynamicTableWhitelistRegistry {
 	// 클래스패스 내 화이트리스트 파일 경로 상수
     private static final String CLASSPATH_RESOURCE = "/TableWhitelist.properties";
 
+    // 초기 저장소 시스템 프로퍼티 (application.properties 의 같은 이름 설정은 SecureSqlPolicyConfig 가 configureStore 로 반영)
+    private static final String STORE_PROPERTY = "securesql.whitelist.store";
+    private static final String MAPPED_FILE_PROPERTY = "securesql.whitelist.mapped-file";
+    private static final String EXTERNAL_FILE_PROPERTY = "securesql.whitelist.external-file";
+    private static final String DEFAULT_MAPPED_FILE = "build/securesql/TableWhitelist.catalog";
+
     // 외부 설정 파일 경로 상수 (config 디렉토리 내)
     // private static final Path EXTERNAL = Paths.get("config/TableWhitelist.properties");
-    // 현재 외부파일을 사용하지 않기 때문에 null로 초기화. 차후 외부파일을 사용하게 되면 주석 풀고 경로 설정하면 됨.
-    private static final Path EXTERNAL = null;
+    // 현재 외부파일을 사용하지 않기 때문에 기본값은 null. 시스템 프로퍼티(-Dsecuresql.whitelist.external-file)로 지정하면 사용.
+    private static final Path EXTERNAL = externalFile();
 
-    // [테이블명 -> 컬럼명 Set] 구조의 화이트리스트 저장소 (동시성 환경 안전 보장)
-    private static final Map<String, Set<String>> TABLE_COLUMNS = new ConcurrentHashMap<>();
+    /** 화이트리스트 저장소 종류 **/
+    public enum Store { HEAP, MAPPED }
 
-    // 클래스 로딩 시 단 한 번 실행되는 정적 초기화 블록
-    static {
-    	// 클래스패스 리소스를 먼저 로드 (기본값 설정)
-        loadFromClasspath();
+    // 현재 화이트리스트 카탈로그 (불변, 재로딩 시 참조만 교체, 최초 로딩 전에는 null)
+    // 카탈로그에 버전이 함께 들어 있음 (로드/재로딩 시마다 증가, 검증 결과 캐시 무효화 기준)
+    private static volatile TableCatalog snapshot;
 
-        // 외부 설정 파일 존재 여부 확인
-        if (EXTERNAL != null && Files.exists(EXTERNAL)) {
-        	// 외부 파일 로드 (존재 시 기본값을 덮어쓸 수 있음)
-            loadFromExternal(EXTERNAL);
-        }
+    // 저장소 종류 / MAPPED 카탈로그 파일 경로 (LOAD_LOCK 안에서만 변경)
+    private static Store store = initialStore();
+    private static Path mappedFile = Paths.get(System.getProperty(MAPPED_FILE_PROPERTY, DEFAULT_MAPPED_FILE));
+
+    // 재로딩끼리는 직렬화 (저장소 변경과 재로딩이 섞이지 않도록)
+    private static final Object LOAD_LOCK = new Object();
 
+    // 클래스 로딩 시 단 한 번 실행되는 정적 초기화 블록
+    static {
         // 외부 설정 파일의 부모 디렉토리가 존재하는지 확인
         if (EXTERNAL != null && EXTERNAL.getParent() != null) {
         	// 해당 디렉토리에 대해 파일 변경 감시(WatchService) 시작
@@ -51,23 +68,69 @@ public class DynamicTableWhitelistRegistry {
         }
     }
 
-    /** 모든 화이트리스트 데이터를 지우는 헬퍼 메서드 **/
-    private static void clearAll() {
-        TABLE_COLUMNS.clear();
+    /** 시스템 프로퍼티의 외부 설정 파일 경로 (없으면 null) **/
+    private static Path externalFile() {
+        String value = System.getProperty(EXTERNAL_FILE_PROPERTY);
+        return (value == null || value.isBlank()) ? null : Paths.get(value.trim());
+    }
+
+    /** 시스템 프로퍼티의 초기 저장소 (없으면 HEAP) **/
+    private static Store initialStore() {
+        String value = System.getProperty(STORE_PROPERTY, "heap");
+        try {
+            return Store.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("알 수 없는 화이트리스트 저장소입니다: " + value, e);
+        }
+    }
+
+    /**
+     * 최초 로딩 (첫 조회 시 한 번)
+     * - 클래스패스 리소스를 기본값으로 읽고, 외부 설정 파일이 있으면 그 내용으로 전체 교체
+     */
+    private static TableCatalog loadInitial() {
+        synchronized (LOAD_LOCK) {
+            if (snapshot == null) {
+                try {
+                    publish(readSources(), 1);
+                } catch (IOException e) {
+                	// 카탈로그 파일(MAPPED) 생성 실패
+                    throw new UncheckedIOException("화이트리스트 카탈로그 생성 실패: " + mappedFile.toAbsolutePath(), e);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /** 클래스패스 리소스 + 외부 설정 파일을 읽어 [테이블명 -> 컬럼명 Set] 구성 **/
+    private static Map<String, Set<String>> readSources() {
+        Map<String, Set<String>> tables = loadFromClasspath();
+
+        // 외부 설정 파일 존재 여부 확인
+        if (EXTERNAL != null && Files.exists(EXTERNAL)) {
+        	// 외부 파일 로드 (존재 시 기본값 전체를 덮어씀, 실패하면 기본값 유지)
+            Map<String, Set<String>> external = readExternal(EXTERNAL);
+            if (external != null) {
+                tables = external;
+            }
+        }
+        return tables;
     }
 
     /** 클래스패스에서 파일을 로드하는 메서드 **/
-    private static void loadFromClasspath() {
+    private static Map<String, Set<String>> loadFromClasspath() {
+        Map<String, Set<String>> tables = new LinkedHashMap<>();
         try (InputStream in = DynamicTableWhitelistRegistry.class.getResourceAsStream(CLASSPATH_RESOURCE)) {
 
-        	// 파일이 없으면 종료
+        	// 파일이 없으면 빈 화이트리스트
             if (in == null) {
                 log.warn("[TableWhitelist] Classpath resource not found: {}", CLASSPATH_RESOURCE);
-                return;
+                return tables;
             }
 
-            // 스트림을 읽어 데이터를 로드 (overrideAll=false, 기존 데이터 유지/병합)
-            loadStream(in, false);
+            // 스트림을 읽어 데이터를 로드
+            readTables(in, tables);
+            return tables;
 
         } catch (Exception e) {
         	// 로드 실패 시 시스템 종료
@@ -75,25 +138,82 @@ public class DynamicTableWhitelistRegistry {
         }
     }
 
-    /** 외부 파일 시스템에서 파일을 로드하는 메서드 **/
-    private static void loadFromExternal(Path path) {
+    /** 외부 파일 시스템에서 파일을 읽는 메서드 (실패 시 null) **/
+    private static Map<String, Set<String>> readExternal(Path path) {
         try (InputStream in = Files.newInputStream(path)) {
-        	// 스트림을 읽어 데이터를 로드 (overrideAll=true, 기존 데이터 전체 덮어쓰기)
-            loadStream(in, true);
+            Map<String, Set<String>> tables = new LinkedHashMap<>();
+            readTables(in, tables);
             log.info("[TableWhitelist] External file loaded: {}", path.toAbsolutePath());
+            return tables;
         } catch (Exception e) {
-        	// 예외 발생 시 에러로그 출력 (로딩은 계속)
+        	// 예외 발생 시 에러로그 출력 (기존 카탈로그 유지)
             log.error("[TableWhitelist] External file load failed: {}", path.toAbsolutePath(), e);
+            return null;
         }
     }
 
-    /** 실제 파일/스트림을 읽어 Map에 데이터를 채우는 공통 로직 **/
-    private static void loadStream(InputStream in, boolean overrideAll) throws Exception {
-    	// 외부 파일 로드시
-        if (overrideAll) {
-        	// 기존 모든 데이터를 지움
-            clearAll();
+    /** 외부 설정 파일 재로딩 (읽은 내용으로 새 카탈로그를 만든 뒤 교체, 버전 증가) **/
+    private static void loadFromExternal(Path path) {
+        synchronized (LOAD_LOCK) {
+            Map<String, Set<String>> tables = readExternal(path);
+            if (tables == null) return;
+
+            try {
+                TableCatalog current = snapshot;
+                publish(tables, (current == null) ? 1 : current.version() + 1);
+            } catch (Exception e) {
+                log.error("[TableWhitelist] Catalog rebuild failed: {}", path.toAbsolutePath(), e);
+            }
         }
+    }
+
+    /**
+     * 저장소 변경 (securesql.whitelist.store / securesql.whitelist.mapped-file)
+     * - 아직 로드 전이면 새 저장소로 최초 로딩
+     * - 이미 로드되어 있으면 원본(클래스패스 / 외부 파일)을 다시 읽어 새 저장소로 교체 (버전 증가)
+     * 		- 기존 카탈로그를 힙 Map 으로 복사하지 않음
+     */
+    public static void configureStore(Store newStore, Path file) throws IOException {
+        if (newStore == Store.MAPPED && file == null) {
+            throw new IllegalArgumentException("MAPPED 저장소는 카탈로그 파일 경로가 필요합니다.");
+        }
+        synchronized (LOAD_LOCK) {
+            TableCatalog current = snapshot;
+            if (newStore == Store.MAPPED && current instanceof TableWhitelistSnapshot) {
+            	// HEAP 카탈로그가 이미 이름을 등록한 뒤 (등록된 이름은 지워지지 않음)
+                log.warn("[TableWhitelist] HEAP catalog was loaded before store=MAPPED was configured; "
+                        + "start with -D{}=mapped to keep names out of SqlSymbols", STORE_PROPERTY);
+            }
+
+            store = newStore;
+            if (file != null) {
+                mappedFile = file;
+            }
+            publish(readSources(), (current == null) ? 1 : current.version() + 1);
+        }
+        log.info("[TableWhitelist] store={} tables={} columns={}{}", newStore,
+                snapshot.tableCount(), snapshot.columnCount(), newStore == Store.MAPPED ? " file=" + file.toAbsolutePath() : "");
+    }
+
+    /** 현재 저장소 종류로 카탈로그를 만들어 교체 (LOAD_LOCK 안에서 호출) **/
+    private static void publish(Map<String, Set<String>> tables, long version) throws IOException {
+        if (store == Store.MAPPED) {
+            TableCatalog previous = snapshot;
+            // 읽은 내용을 바로 사전 파일로 기록 (SqlSymbols 에 등록하지 않음)
+            snapshot = MappedTableCatalog.write(tables, version, mappedFile);
+
+            // 파일 경로가 바뀐 경우에만 이전 파일 삭제 (같은 경로면 rename 으로 이미 교체됨)
+            // 이전 매핑 자체는 조회 중인 쓰레드가 끝나고 GC 될 때 해제됨
+            if (previous instanceof MappedTableCatalog && !((MappedTableCatalog) previous).file().equals(mappedFile)) {
+                Files.deleteIfExists(((MappedTableCatalog) previous).file());
+            }
+        } else {
+            snapshot = TableWhitelistSnapshot.build(tables, version);
+        }
+    }
+
+    /** 스트림을 읽어 [테이블명 -> 컬럼명 Set] 에 채움 **/
+    private static void readTables(InputStream in, Map<String, Set<String>> tables) throws Exception {
 
         /*
          * Table, Column whitelist 작성 예시
@@ -131,12 +251,12 @@ public class DynamicTableWhitelistRegistry {
                 if ("table".equalsIgnoreCase(key)) {
                 	// 테이블명을 대문자로 저장
                     currentTable = val.toUpperCase();
-                    // TABLE_COLUMNS에 테이블명이 없으면 빈 Set으로 초기화
-                    TABLE_COLUMNS.putIfAbsent(currentTable, ConcurrentHashMap.newKeySet());
+                    // 테이블명이 없으면 빈 Set으로 초기화
+                    tables.putIfAbsent(currentTable, new LinkedHashSet<>());
                 }
                 // 컬럼 정의 키워드이고, 현재 테이블이 설정되어 있을 경우
                 else if ("columns".equalsIgnoreCase(key) && currentTable != null) {
-                    Set<String> cols = new HashSet<>();
+                    Set<String> cols = new LinkedHashSet<>();
                     // 콤마(,) 기준으로 컬럼 목록을 분리
                     for (String c : val.split(",")) {
                     	// 대문자로 변환 후 Set에 추가
@@ -146,7 +266,7 @@ public class DynamicTableWhitelistRegistry {
                     }
                     
                     // 현재 테이블에 대해 컬럼 목록을 덮어쓰거나 초기화
-                    TABLE_COLUMNS.put(currentTable, cols);
+                    tables.put(currentTable, cols);
                 }
             }
         }
@@ -198,17 +318,32 @@ public class DynamicTableWhitelistRegistry {
         t.start();
     }
 
-    /** 특정 테이블에 허용된 컬럼 목록을 반환 **/
+    /**
+     * 현재 화이트리스트 카탈로그
+     * 검증 한 건 안에서 여러 번 조회할 때는 카탈로그를 한 번만 얻어 사용 (검증 도중 재로딩되어도 같은 기준으로 판단)
+     */
+    public static TableCatalog snapshot() {
+        TableCatalog current = snapshot;
+        return (current != null) ? current : loadInitial();
+    }
+
+    /** 특정 테이블에 허용된 컬럼 목록을 반환 (읽기 전용) **/
     public static Set<String> getColumnsForTable(String table) {
-        if (table == null) return Collections.emptySet();
-     // 대문자 변환 후 검색
-        return TABLE_COLUMNS.getOrDefault(table.toUpperCase(), Collections.emptySet());
+        return snapshot().columnsOf(table);
+    }
+
+    /** 허용 컬럼이 하나 이상 등록된 테이블인지 확인 **/
+    public static boolean isAllowedTable(String table) {
+        return snapshot().isAllowedTable(table);
     }
 
     /** 특정 테이블에서 특정 컬럼이 허용되는지 확인 **/
     public static boolean isAllowedColumn(String table, String col) {
-        if (table == null || col == null) return false;
-        // 해당 테이블의 Set에 컬럼이 포함되어 있는지 확인
-        return getColumnsForTable(table).contains(col.toUpperCase());
+        return snapshot().isAllowedColumn(table, col);
+    }
+
+    /** 현재 화이트리스트 버전 반환 **/
+    public static long version() {
+        return snapshot().version();
     }
 }
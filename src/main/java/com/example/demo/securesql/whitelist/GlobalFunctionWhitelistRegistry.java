@@ -4,10 +4,9 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.*;
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -17,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
  * - classpath:/FunctionWhitelist.properties 기본 로드
  * - ./config/FunctionWhitelist.properties 존재하면 override
  * - ./config 디렉터리 WatchService 로 감시
+ * - 재로딩은 새 불변 스냅샷을 완성한 뒤 한 번에 교체 (조회는 잠금 없이 항상 완성된 목록만 봄)
  */
 @Slf4j
 public class GlobalFunctionWhitelistRegistry {
@@ -28,8 +28,28 @@ public class GlobalFunctionWhitelistRegistry {
     // 현재 외부파일을 사용하지 않기 때문에 null로 초기화. 차후 외부파일을 사용하게 되면 주석 풀고 경로 설정하면 됨.
     private static final Path EXTERNAL = null;
 
-    // 허용된 함수 이름을 저장하는 Set. 동시성 환경에서 안전하게 사용하기 위해 ConcurrentHashMap.newKeySet() 사용
-    private static final Set<String> FUNCTIONS = ConcurrentHashMap.newKeySet();
+    /** 함수 화이트리스트 불변 스냅샷 (함수명 Set + 심볼 id 비트셋 + 버전) **/
+    private static final class Snapshot {
+        private final Set<String> functions;
+        // 허용 함수의 SqlSymbols id (SqlMeta 의 함수 id 로 바로 조회)
+        private final BitSet symbols = new BitSet();
+        private final long version;
+
+        Snapshot(Set<String> functions, long version) {
+            this.functions = Set.copyOf(functions);
+            this.version = version;
+            for (String f : this.functions) {
+                symbols.set(SqlSymbols.intern(f));
+            }
+        }
+    }
+
+    // 현재 스냅샷 (재로딩 시 참조만 교체)
+    // 버전은 로드/재로딩 시마다 증가 (검증 결과 캐시 무효화 기준)
+    private static volatile Snapshot snapshot = new Snapshot(Set.of(), 0);
+
+    // 재로딩끼리는 직렬화 (병합 로딩이 이전 스냅샷을 기준으로 하므로)
+    private static final Object LOAD_LOCK = new Object();
 
     // 클래스가 로딩될 때 (최초 한 번) 실행되는 정적 초기화 블록
     static {
@@ -60,11 +80,6 @@ public class GlobalFunctionWhitelistRegistry {
         }
     }
 
-    /** 현재 화이트리스트 Set을 완전히 비움 (보통 외부 파일 로드 시 덮어쓰기 전에 사용) **/
-    private static void clearAll() {
-        FUNCTIONS.clear();
-    }
-
     /** 클래스패스 리소스에서 함수 화이트리스트를 로드 **/
     private static void loadFromClasspath() {
     	// ClassLoader를 통해 리소스 스트림을 얻음
@@ -95,13 +110,23 @@ public class GlobalFunctionWhitelistRegistry {
         }
     }
 
-    /** 입력 스트림에서 데이터를 읽어 FUNCTIONS Set에 추가 **/
+    /** 입력 스트림에서 데이터를 읽어 새 스냅샷을 만든 뒤 교체 **/
     private static void loadStream(InputStream in, boolean overrideAll) throws Exception {
-    	// 외부 파일 로드시 기존 목록을 덮어쓰기(Clear)
-        if (overrideAll) {
-            clearAll();
+        synchronized (LOAD_LOCK) {
+            Snapshot current = snapshot;
+
+            // 외부 파일 로드시 빈 목록에서 시작(덮어쓰기), 그 외에는 기존 목록에 추가
+            Set<String> functions = overrideAll ? new HashSet<>() : new HashSet<>(current.functions);
+
+            readFunctions(in, functions);
+
+            // 완성된 스냅샷으로 한 번에 교체 (버전 증가)
+            snapshot = new Snapshot(functions, current.version + 1);
         }
-        
+    }
+
+    /** 스트림을 읽어 함수명 Set 에 추가 **/
+    private static void readFunctions(InputStream in, Set<String> functions) throws Exception {
         /*
          * 함수 whitelist 작성 예시
          * 
@@ -133,7 +158,7 @@ public class GlobalFunctionWhitelistRegistry {
                     	// 함수 이름이 공백이 아니면
                         if (!f.isBlank()) {
                         	// 앞뒤 공백 제거 및 대문자로 변환 후 Set에 추가
-                            FUNCTIONS.add(f.trim().toUpperCase());
+                            functions.add(f.trim().toUpperCase());
                         }
                     }
                 }
@@ -191,13 +216,22 @@ public class GlobalFunctionWhitelistRegistry {
     /** 주어진 함수 이름이 화이트리스트에 허용되었는지 확인 **/
     public static boolean isAllowedFunction(String funcName) {
         if (funcName == null) return false;
-     // 대문자로 변환 후 Set에 포함되어 있는지 확인
-        return FUNCTIONS.contains(funcName.toUpperCase());
+        // 대문자로 변환(이미 대문자면 그대로) 후 Set에 포함되어 있는지 확인
+        return snapshot.functions.contains(WhitelistNames.upper(funcName));
     }
 
-    /** 현재 등록된 함수 화이트리스트 Set을 읽기 전용으로 반환 **/
+    /** 심볼 id 로 함수 허용 여부 확인 (음수 id = SqlSymbols 에 없는 이름 -> 허용 목록에 없음) **/
+    public static boolean isAllowedFunction(int symbol) {
+        return symbol >= 0 && snapshot.symbols.get(symbol);
+    }
+
+    /** 현재 등록된 함수 화이트리스트 Set을 반환 (불변 스냅샷) **/
     public static Set<String> getFunctions() {
-    	// 외부에서 Set을 수정할 수 없도록 unmodifiableSet으로 래핑하여 반환
-        return Collections.unmodifiableSet(FUNCTIONS);
+        return snapshot.functions;
+    }
+
+    /** 현재 화이트리스트 버전 반환 **/
+    public static long version() {
+        return snapshot.version;
     }
 }
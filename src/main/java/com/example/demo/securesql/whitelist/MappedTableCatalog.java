@@ -0,0 +1,390 @@
+package com.example.demo.securesql.whitelist;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 메모리 맵 파일 기반 테이블/컬럼 화이트리스트 (MAPPED 카탈로그)
+ *
+ * - 수만 개 테이블 / 수십만 개 컬럼 규모에서 힙에 String / HashSet 을 두지 않기 위한 저장소
+ * - TableWhitelist.properties 내용으로 정렬된 사전(dictionary) 파일을 만든 뒤 읽기 전용으로 mmap
+ * 		- 힙에는 MappedByteBuffer 객체 하나만 남음 (GC 스캔 대상 없음, 실제 데이터는 OS page cache)
+ * - 조회: 테이블명 binary search -> 테이블의 컬럼 범위 안에서 컬럼명 binary search (문자열 생성 없음)
+ */
+/*
+ * [ 파일 형식 ] (int / long 은 big-endian)
+ *
+ * 	header (32 bytes)
+ * 		int  MAGIC, int FORMAT, long version
+ * 		int  tableCount(T), int columnCount(C, 서로 다른 컬럼명 수), int refCount(R, 테이블별 컬럼 수 합), int reserved
+ * 	int[T+1]  tableNameOffsets   : 테이블명 blob 내 시작 위치 (마지막은 blob 길이)
+ * 	int[T+1]  tableColumnStarts  : 테이블 t 의 컬럼은 columnRefs[starts[t], starts[t+1])
+ * 	int[C+1]  columnNameOffsets  : 컬럼명 blob 내 시작 위치
+ * 	int[R]    columnRefs         : 컬럼 id (테이블 안에서 오름차순 = 컬럼명 오름차순)
+ * 	byte[]    tableNames blob    : UTF-8, 테이블명 오름차순 (바이트 unsigned 비교)
+ * 	byte[]    columnNames blob   : UTF-8, 컬럼명 오름차순
+ *
+ * 	- 테이블 / 컬럼 사전이 모두 정렬되어 있으므로 컬럼 id 순서 = 컬럼명 순서
+ * 	- 재로딩 시 새 파일을 임시 파일로 쓴 뒤 이동(rename)하고 새로 mmap (기존 매핑은 조회 중인 쓰레드가 끝날 때까지 유효)
+ */
+public final class MappedTableCatalog implements TableCatalog {
+
+    private static final int MAGIC = 0x5357_434C; // "SWCL"
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final Path file;
+    private final ByteBuffer buf;
+    private final long version;
+    private final int tableCount;
+    private final int columnCount;
+
+    // 섹션 시작 위치 (파일 내 byte offset)
+    private final int tableNameOffsetsPos;
+    private final int tableColumnStartsPos;
+    private final int columnNameOffsetsPos;
+    private final int columnRefsPos;
+    private final int tableNamesPos;
+    private final int columnNamesPos;
+
+    private MappedTableCatalog(Path file, ByteBuffer buf) {
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != FORMAT) {
+            throw new IllegalStateException("화이트리스트 카탈로그 파일 형식이 아닙니다: " + file);
+        }
+
+        this.file = file;
+        this.buf = buf;
+        this.version = buf.getLong(8);
+        this.tableCount = buf.getInt(16);
+        this.columnCount = buf.getInt(20);
+        int refCount = buf.getInt(24);
+
+        this.tableNameOffsetsPos = HEADER_BYTES;
+        this.tableColumnStartsPos = tableNameOffsetsPos + (tableCount + 1) * 4;
+        this.columnNameOffsetsPos = tableColumnStartsPos + (tableCount + 1) * 4;
+        this.columnRefsPos = columnNameOffsetsPos + (columnCount + 1) * 4;
+        this.tableNamesPos = columnRefsPos + refCount * 4;
+        this.columnNamesPos = tableNamesPos + buf.getInt(tableNameOffsetsPos + tableCount * 4);
+    }
+
+    /** 카탈로그 파일을 읽기 전용으로 mmap **/
+    public static MappedTableCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 채널을 닫아도 매핑은 유지됨
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedTableCatalog(file, mapped);
+        }
+    }
+
+    /**
+     * 테이블(대문자) -> 컬럼(대문자) 목록으로 카탈로그 파일을 만든 뒤 mmap
+     * (같은 디렉터리의 임시 파일에 쓰고 이동하므로 다른 프로세스가 반쯤 쓰인 파일을 읽지 않음)
+     */
+    public static MappedTableCatalog write(Map<String, ? extends Set<String>> tables, long version, Path file)
+            throws IOException {
+
+        // 테이블 사전 (UTF-8 바이트 오름차순)
+        byte[][] tableNames = new byte[tables.size()][];
+        String[] tableKeys = tables.keySet().toArray(new String[0]);
+        Integer[] tableOrder = sortedOrder(tableKeys);
+
+        // 컬럼 사전 (모든 테이블의 컬럼명 중복 제거 후 정렬)
+        Map<String, Integer> columnIds = new HashMap<>();
+        for (Set<String> columns : tables.values()) {
+            for (String column : columns) {
+                columnIds.putIfAbsent(column, 0);
+            }
+        }
+        String[] columnKeys = columnIds.keySet().toArray(new String[0]);
+        Integer[] columnOrder = sortedOrder(columnKeys);
+        byte[][] columnNames = new byte[columnKeys.length][];
+        for (int id = 0; id < columnOrder.length; id++) {
+            String name = columnKeys[columnOrder[id]];
+            columnIds.put(name, id);
+            columnNames[id] = utf8(name);
+        }
+
+        // 테이블별 컬럼 id (오름차순)
+        int[][] refs = new int[tableKeys.length][];
+        int refCount = 0;
+        for (int t = 0; t < tableOrder.length; t++) {
+            String table = tableKeys[tableOrder[t]];
+            tableNames[t] = utf8(table);
+
+            Set<String> columns = tables.get(table);
+            int[] ids = new int[columns.size()];
+            int n = 0;
+            for (String column : columns) {
+                ids[n++] = columnIds.get(column);
+            }
+            Arrays.sort(ids);
+            refs[t] = ids;
+            refCount += ids.length;
+        }
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(version);
+            out.writeInt(tableNames.length);
+            out.writeInt(columnNames.length);
+            out.writeInt(refCount);
+            out.writeInt(0);
+
+            writeOffsets(out, tableNames);
+
+            int start = 0;
+            for (int[] ids : refs) {
+                out.writeInt(start);
+                start += ids.length;
+            }
+            out.writeInt(start);
+
+            writeOffsets(out, columnNames);
+
+            for (int[] ids : refs) {
+                for (int id : ids) {
+                    out.writeInt(id);
+                }
+            }
+            for (byte[] name : tableNames) {
+                out.write(name);
+            }
+            for (byte[] name : columnNames) {
+                out.write(name);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    /** 매핑된 파일 경로 **/
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public boolean isAllowedTable(String table) {
+        if (table == null) return false;
+        int t = findTable(WhitelistNames.upper(table));
+        return t >= 0 && columnStart(t + 1) > columnStart(t);
+    }
+
+    @Override
+    public boolean isAllowedColumn(String table, String column) {
+        if (table == null || column == null) return false;
+
+        int t = findTable(WhitelistNames.upper(table));
+        return t >= 0 && findColumn(t, WhitelistNames.upper(column)) >= 0;
+    }
+
+    @Override
+    public Set<String> columnsOf(String table) {
+        if (table == null) return Collections.emptySet();
+        int t = findTable(WhitelistNames.upper(table));
+        return (t < 0) ? Collections.emptySet() : new ColumnSet(t);
+    }
+
+    @Override
+    public List<String> tableNames() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int t) {
+                return name(tableNamesPos, tableNameOffsetsPos, t);
+            }
+
+            @Override
+            public int size() {
+                return tableCount;
+            }
+        };
+    }
+
+    @Override
+    public int tableCount() {
+        return tableCount;
+    }
+
+    @Override
+    public int columnCount() {
+        return columnCount;
+    }
+
+    /** 테이블 사전 binary search (없으면 -1) **/
+    private int findTable(String table) {
+        int lo = 0;
+        int hi = tableCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(tableNamesPos, tableNameOffsetsPos, mid, table);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /** 테이블 t 의 컬럼 범위 안에서 binary search (없으면 -1) **/
+    private int findColumn(int t, String column) {
+        int lo = columnStart(t);
+        int hi = columnStart(t + 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(columnNamesPos, columnNameOffsetsPos, columnRef(mid), column);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private int columnStart(int t) {
+        return buf.getInt(tableColumnStartsPos + t * 4);
+    }
+
+    private int columnRef(int i) {
+        return buf.getInt(columnRefsPos + i * 4);
+    }
+
+    /*
+     * 사전의 index 번째 이름과 key 비교 (UTF-8 바이트 unsigned 순서 = 코드 포인트 순서)
+     * 	- ASCII 이름은 문자열 / 배열 생성 없이 바로 비교
+     * 	- key 에 비 ASCII 문자가 있으면 UTF-8 로 인코딩해서 비교
+     */
+    private int compare(int blobPos, int offsetsPos, int index, String key) {
+        int from = blobPos + buf.getInt(offsetsPos + index * 4);
+        int len = blobPos + buf.getInt(offsetsPos + (index + 1) * 4) - from;
+
+        int keyLen = key.length();
+        int n = Math.min(len, keyLen);
+        for (int i = 0; i < n; i++) {
+            char c = key.charAt(i);
+            if (c >= 0x80) {
+                return compareBytes(from, len, utf8(key));
+            }
+            int b = buf.get(from + i) & 0xFF;
+            if (b != c) return b - c;
+        }
+        if (len > keyLen) {
+            return 1;
+        }
+        // 이름이 더 짧거나 같은 길이: key 의 남은 부분에 비 ASCII 문자가 있어도 결과는 같음
+        return len - keyLen;
+    }
+
+    private int compareBytes(int from, int len, byte[] key) {
+        int n = Math.min(len, key.length);
+        for (int i = 0; i < n; i++) {
+            int a = buf.get(from + i) & 0xFF;
+            int b = key[i] & 0xFF;
+            if (a != b) return a - b;
+        }
+        return len - key.length;
+    }
+
+    /** 사전의 index 번째 이름 (열거용) **/
+    private String name(int blobPos, int offsetsPos, int index) {
+        int from = blobPos + buf.getInt(offsetsPos + index * 4);
+        int to = blobPos + buf.getInt(offsetsPos + (index + 1) * 4);
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buf.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** 테이블 컬럼 범위 위의 읽기 전용 Set 뷰 **/
+    private final class ColumnSet extends AbstractSet<String> {
+        private final int t;
+
+        ColumnSet(int t) {
+            this.t = t;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return (o instanceof String) && findColumn(t, WhitelistNames.upper((String) o)) >= 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            int end = columnStart(t + 1);
+            return new Iterator<>() {
+                private int i = columnStart(t);
+
+                @Override
+                public boolean hasNext() {
+                    return i < end;
+                }
+
+                @Override
+                public String next() {
+                    if (i >= end) throw new NoSuchElementException();
+                    return name(columnNamesPos, columnNameOffsetsPos, columnRef(i++));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return columnStart(t + 1) - columnStart(t);
+        }
+    }
+
+    private static void writeOffsets(DataOutputStream out, byte[][] names) throws IOException {
+        int offset = 0;
+        for (byte[] name : names) {
+            out.writeInt(offset);
+            offset += name.length;
+        }
+        out.writeInt(offset);
+    }
+
+    /** 이름 배열의 UTF-8 바이트 오름차순 index **/
+    private static Integer[] sortedOrder(String[] names) {
+        byte[][] bytes = new byte[names.length][];
+        Integer[] order = new Integer[names.length];
+        for (int i = 0; i < names.length; i++) {
+            bytes[i] = utf8(names[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(bytes[a], bytes[b]));
+        return order;
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.securesql.whitelist;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 화이트리스트 이름(테이블 / 컬럼 / 함수) 전역 심볼 테이블
+ *
+ * - 화이트리스트 로딩 시 이름을 한 번만 등록하고 정수 id 로 공유 (TableWhitelistSnapshot, GlobalFunctionWhitelistRegistry)
+ * - 파서(SqlMeta)는 이름을 등록하지 않고 조회만 함 -> SQL 입력으로 심볼 테이블이 커지지 않음
+ * 		- 등록되지 않은 이름은 -1 (SqlMeta 가 쿼리 단위 지역 id 로 처리, 화이트리스트에 없는 이름)
+ * - 등록된 이름은 삭제하지 않음 (재로딩으로 빠진 이름도 id 유지, 화이트리스트 전체 이름 수 이상으로 커지지 않음)
+ * - 이름은 대문자로 보관 (조회는 대소문자 무시)
+ */
+public final class SqlSymbols {
+
+    /** 서브쿼리 / 인라인 뷰 가상 테이블 마커 **/
+    public static final int SUBQUERY = 0;
+    /** 전체 컬럼 (SELECT * / T.*) **/
+    public static final int STAR = 1;
+
+    private static final Object LOCK = new Object();
+
+    // 이름(대문자) -> id
+    private static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // id -> 이름 (등록 시 배열을 먼저 채운 뒤 ids 에 넣으므로, ids 로 얻은 id 는 항상 읽을 수 있음)
+    private static volatile String[] names = new String[256];
+    private static int size;
+
+    static {
+        intern("__SUBQUERY__");
+        intern("*");
+    }
+
+    private SqlSymbols() {
+    }
+
+    /** 이름 등록 (이미 있으면 기존 id, 화이트리스트 로딩 전용) **/
+    public static int intern(String name) {
+        String upper = WhitelistNames.upper(name);
+        Integer id = ids.get(upper);
+        if (id != null) return id;
+
+        synchronized (LOCK) {
+            id = ids.get(upper);
+            if (id != null) return id;
+
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+                names = current;
+            }
+            current[size] = upper;
+            ids.put(upper, size);
+            return size++;
+        }
+    }
+
+    /** 등록된 이름의 id (없으면 -1, 새로 등록하지 않음) **/
+    public static int find(String name) {
+        if (name == null) return -1;
+        Integer id = ids.get(WhitelistNames.upper(name));
+        return (id == null) ? -1 : id;
+    }
+
+    /** 심볼 테이블과 같은 규칙의 대문자 이름 (이미 대문자면 같은 인스턴스) **/
+    public static String normalize(String name) {
+        return WhitelistNames.upper(name);
+    }
+
+    /** id 의 이름 (대문자) **/
+    public static String name(int id) {
+        return names[id];
+    }
+
+    /** 현재 등록된 심볼 수 (id 는 0 ~ size-1) **/
+    public static int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.securesql.whitelist;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 테이블/컬럼 화이트리스트 조회 인터페이스 (불변)
+ *
+ * - HEAP: TableWhitelistSnapshot (정수 id + 테이블별 정렬 컬럼 id 배열, 기본값)
+ * - MAPPED: MappedTableCatalog (정렬된 사전 파일을 메모리 맵으로 조회, 대형 카탈로그용)
+ * - 재로딩 시 새 카탈로그를 완성한 뒤 DynamicTableWhitelistRegistry 가 참조만 교체
+ * - 테이블 / 컬럼 이름은 대소문자 무시
+ * - SqlSymbols id 로도 조회 가능 (SqlMeta 의 테이블 / 컬럼 id, HEAP 은 정수 비교만으로 판단)
+ * 		- HEAP 은 로딩 시 테이블 / 컬럼 이름을 SqlSymbols 에 등록, MAPPED 는 등록하지 않음 (저장소를 정한 뒤 최초 로딩)
+ * 		- 음수 id (SqlSymbols 에 없는 이름) 는 false -> MAPPED 에서는 화이트리스트 이름도 음수 id 이므로 호출 쪽에서 이름으로 다시 조회
+ */
+public interface TableCatalog {
+
+    /** 화이트리스트 버전 (로드/재로딩 시마다 증가) **/
+    long version();
+
+    /** 허용 컬럼이 하나 이상 등록된 테이블인지 **/
+    boolean isAllowedTable(String table);
+
+    /** 해당 테이블에서 컬럼이 허용되는지 **/
+    boolean isAllowedColumn(String table, String column);
+
+    /** 심볼 id 로 테이블 조회 (기본 구현: 이름으로 변환 후 조회) **/
+    default boolean isAllowedTable(int table) {
+        return table >= 0 && isAllowedTable(SqlSymbols.name(table));
+    }
+
+    /** 심볼 id 로 컬럼 조회 (기본 구현: 이름으로 변환 후 조회) **/
+    default boolean isAllowedColumn(int table, int column) {
+        return table >= 0 && column >= 0 && isAllowedColumn(SqlSymbols.name(table), SqlSymbols.name(column));
+    }
+
+    /** 테이블의 허용 컬럼 (읽기 전용, 등록되지 않은 테이블이면 빈 Set) **/
+    Set<String> columnsOf(String table);
+
+    /** 등록된 테이블명 (대문자) **/
+    List<String> tableNames();
+
+    int tableCount();
+
+    /** 서로 다른 컬럼명 수 **/
+    int columnCount();
+}
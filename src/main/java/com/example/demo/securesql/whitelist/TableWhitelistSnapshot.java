@@ -0,0 +1,173 @@
+package com.example.demo.securesql.whitelist;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 테이블/컬럼 화이트리스트의 불변 스냅샷 (HEAP 카탈로그)
+ *
+ * - 재로딩 시 새 스냅샷을 완성한 뒤 volatile 참조 하나로 교체 (DynamicTableWhitelistRegistry)
+ * 		- 조회 쪽은 잠금 없이 항상 완성된 스냅샷 하나만 봄 (비어 있거나 일부만 채워진 상태를 볼 수 없음)
+ * - 테이블 / 컬럼 이름은 SqlSymbols 에 한 번만 등록 (같은 컬럼명이 여러 테이블에 있어도 문자열 1개)
+ * 		- SqlMeta 가 같은 id 를 쓰므로 검증 시 문자열 비교 / 대문자 변환 없이 정수 비교
+ * - 테이블별 허용 컬럼은 정렬된 컬럼 심볼 id 배열 (binary search)
+ * - 버전은 스냅샷과 함께 교체되므로 데이터와 버전이 어긋나지 않음
+ */
+public final class TableWhitelistSnapshot implements TableCatalog {
+
+    private static final int[] NO_COLUMNS = new int[0];
+
+    private final long version;
+
+    // 테이블 심볼 id -> 테이블 번호 + 1 (0 = 등록되지 않은 테이블)
+    private final int[] tableSlots;
+    private final String[] tableNames;
+    // 테이블 번호 -> 정렬된 컬럼 심볼 id 배열
+    private final int[][] tableColumns;
+    // 서로 다른 컬럼명 수
+    private final int columnCount;
+
+    private TableWhitelistSnapshot(long version, int[] tableSlots, String[] tableNames,
+                                   int[][] tableColumns, int columnCount) {
+        this.version = version;
+        this.tableSlots = tableSlots;
+        this.tableNames = tableNames;
+        this.tableColumns = tableColumns;
+        this.columnCount = columnCount;
+    }
+
+    /** 테이블(대문자) -> 컬럼(대문자) 목록으로 스냅샷 생성 (이름은 SqlSymbols 에 등록) **/
+    public static TableWhitelistSnapshot build(Map<String, ? extends Set<String>> tables, long version) {
+        int[] tableIds = new int[tables.size()];
+        String[] tableNames = new String[tables.size()];
+        int[][] tableColumns = new int[tables.size()][];
+
+        BitSet distinct = new BitSet();
+        int maxTableId = -1;
+        int t = 0;
+
+        for (Map.Entry<String, ? extends Set<String>> e : tables.entrySet()) {
+            int[] ids = new int[e.getValue().size()];
+            int n = 0;
+            for (String column : e.getValue()) {
+                ids[n] = SqlSymbols.intern(column);
+                distinct.set(ids[n++]);
+            }
+            Arrays.sort(ids);
+
+            tableIds[t] = SqlSymbols.intern(e.getKey());
+            maxTableId = Math.max(maxTableId, tableIds[t]);
+            tableNames[t] = SqlSymbols.name(tableIds[t]);
+            tableColumns[t] = (ids.length == 0) ? NO_COLUMNS : ids;
+            t++;
+        }
+
+        int[] tableSlots = new int[maxTableId + 1];
+        for (int i = 0; i < tableIds.length; i++) {
+            tableSlots[tableIds[i]] = i + 1;
+        }
+
+        return new TableWhitelistSnapshot(version, tableSlots, tableNames, tableColumns, distinct.cardinality());
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public boolean isAllowedTable(String table) {
+        return isAllowedTable(SqlSymbols.find(table));
+    }
+
+    @Override
+    public boolean isAllowedTable(int table) {
+        int[] columns = columnsById(table);
+        return columns != null && columns.length > 0;
+    }
+
+    @Override
+    public boolean isAllowedColumn(String table, String column) {
+        return isAllowedColumn(SqlSymbols.find(table), SqlSymbols.find(column));
+    }
+
+    @Override
+    public boolean isAllowedColumn(int table, int column) {
+        int[] columns = columnsById(table);
+        return columns != null && column >= 0 && Arrays.binarySearch(columns, column) >= 0;
+    }
+
+    @Override
+    public Set<String> columnsOf(String table) {
+        int[] columns = columnsById(SqlSymbols.find(table));
+        return (columns == null) ? Collections.emptySet() : new ColumnSet(columns);
+    }
+
+    @Override
+    public List<String> tableNames() {
+        return List.of(tableNames);
+    }
+
+    @Override
+    public int tableCount() {
+        return tableNames.length;
+    }
+
+    @Override
+    public int columnCount() {
+        return columnCount;
+    }
+
+    /** 테이블 심볼 id 의 허용 컬럼 배열 (등록되지 않은 테이블이면 null) **/
+    private int[] columnsById(int table) {
+        if (table < 0 || table >= tableSlots.length) return null;
+        int slot = tableSlots[table];
+        return (slot == 0) ? null : tableColumns[slot - 1];
+    }
+
+    /** 컬럼 심볼 id 배열 위의 읽기 전용 Set 뷰 (복사 없음) **/
+    private static final class ColumnSet extends AbstractSet<String> {
+        private final int[] ids;
+
+        ColumnSet(int[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String)) return false;
+            int c = SqlSymbols.find((String) o);
+            return c >= 0 && Arrays.binarySearch(ids, c) >= 0;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int i;
+
+                @Override
+                public boolean hasNext() {
+                    return i < ids.length;
+                }
+
+                @Override
+                public String next() {
+                    if (i >= ids.length) throw new NoSuchElementException();
+                    return SqlSymbols.name(ids[i++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
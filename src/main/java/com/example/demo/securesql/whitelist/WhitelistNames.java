@@ -0,0 +1,24 @@
+package com.example.demo.securesql.whitelist;
+
+/**
+ * 화이트리스트 이름 정규화 유틸리티
+ *
+ * - 화이트리스트는 대문자로 저장되고, 파서가 넘겨주는 이름도 대부분 이미 대문자
+ * - 소문자가 없으면 같은 문자열을 그대로 반환 (조회마다 toUpperCase 로 새 문자열을 만들지 않음)
+ */
+final class WhitelistNames {
+
+    private WhitelistNames() {
+    }
+
+    /** 대문자 이름 (이미 대문자면 같은 인스턴스) **/
+    static String upper(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= 0x80) {
+                return name.toUpperCase();
+            }
+        }
+        return name;
+    }
+}
@@ -31,6 +31,7 @@ DROP TABLE IF EXISTS ENTERPRISES;
 DROP TABLE IF EXISTS SUBSCRIPTIONS;
 DROP TABLE IF EXISTS INVOICES;
 DROP TABLE IF EXISTS USAGE_LOGS;
+DROP TABLE IF EXISTS REPORT_ID_SET;
 
 CREATE TABLE ENTERPRISES (
     enterprise_id   BIGINT PRIMARY KEY,
@@ -56,4 +57,7 @@ CREATE TABLE USAGE_LOGS (
     api_calls       BIGINT
 );
 
-
+-- 대량 ID 집합 (ReportIdSet): 세션별 행, commit / rollback 시 삭제
+CREATE GLOBAL TEMPORARY TABLE REPORT_ID_SET (
+    id              BIGINT PRIMARY KEY
+) ON COMMIT DELETE ROWS;
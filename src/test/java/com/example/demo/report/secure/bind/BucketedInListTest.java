@@ -0,0 +1,89 @@
+package com.example.demo.report.secure.bind;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BucketedInList 단위 테스트
+ *
+ * - 버킷 크기 (2의 거듭제곱, 최대 MAX_SIZE)
+ * - 정렬 / 중복 제거 후 마지막 값 반복 패딩 (IN 결과 집합 불변)
+ * - 빈 목록 / null / MAX_SIZE 초과 거부
+ */
+class BucketedInListTest {
+
+    @Test
+    void bucketSizes() {
+        assertThat(BucketedInList.bucketSize(0)).isEqualTo(1);
+        assertThat(BucketedInList.bucketSize(1)).isEqualTo(1);
+        assertThat(BucketedInList.bucketSize(2)).isEqualTo(2);
+        assertThat(BucketedInList.bucketSize(3)).isEqualTo(4);
+        assertThat(BucketedInList.bucketSize(5)).isEqualTo(8);
+        assertThat(BucketedInList.bucketSize(512)).isEqualTo(512);
+        assertThat(BucketedInList.bucketSize(513)).isEqualTo(BucketedInList.MAX_SIZE);
+        assertThat(BucketedInList.bucketSize(BucketedInList.MAX_SIZE)).isEqualTo(BucketedInList.MAX_SIZE);
+    }
+
+    @Test
+    void paddedWithLastValueAfterSortAndDedup() {
+        List<Long> bound = BucketedInList.of(Arrays.asList(5L, 3L, 5L, 9L, 1L), "ids");
+
+        assertThat(bound).containsExactly(1L, 3L, 5L, 9L);
+        assertThat(BucketedInList.of(Arrays.asList(7L, 2L, 4L), "ids")).containsExactly(2L, 4L, 7L, 7L);
+        assertThat(BucketedInList.of(List.of(42L), "ids")).containsExactly(42L);
+    }
+
+    @Test
+    void sameSetGivesSameBinding() {
+        assertThat(BucketedInList.of(Arrays.asList(3L, 1L, 2L), "ids"))
+                .isEqualTo(BucketedInList.of(Arrays.asList(2L, 2L, 3L, 1L), "ids"));
+    }
+
+    @Test
+    void everyBucketKeepsTheSameSet() {
+        for (int n = 1; n <= BucketedInList.MAX_SIZE; n++) {
+            List<Long> ids = new ArrayList<>(n);
+            for (long i = n; i >= 1; i--) ids.add(i * 10);
+
+            List<Long> bound = BucketedInList.of(ids, "ids");
+            assertThat(bound).hasSize(BucketedInList.bucketSize(n));
+            assertThat(new HashSet<>(bound)).hasSize(n);
+            assertThat(bound.get(bound.size() - 1)).isEqualTo(n * 10L);
+        }
+    }
+
+    @Test
+    void duplicatesDoNotCountTowardsMaxSize() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i < BucketedInList.MAX_SIZE; i++) {
+            ids.add(i);
+            ids.add(i);
+        }
+        assertThat(BucketedInList.of(ids, "ids")).hasSize(BucketedInList.MAX_SIZE);
+    }
+
+    @Test
+    void rejectsInvalidLists() {
+        List<Long> tooMany = new ArrayList<>();
+        for (long i = 0; i <= BucketedInList.MAX_SIZE; i++) tooMany.add(i);
+
+        assertThatThrownBy(() -> BucketedInList.of(tooMany, "ids"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대");
+        assertThatThrownBy(() -> BucketedInList.of(List.of(), "ids"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BucketedInList.of(null, "ids"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BucketedInList.of(Arrays.asList(1L, null), "ids"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BucketedInList.distinctSorted(Arrays.asList(1L, 2L, 3L), "ids", 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.report.secure.cache;
+
+import com.example.demo.securesql.validator.ForbiddenKeywordValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReportResultCache 단위 테스트
+ *
+ * - 원본 테이블 변경 / 보안 정책 변경 시 이전 결과를 내보내지 않는지 (hit 는 SQL 검증을 거치지 않음)
+ */
+class ReportResultCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void restoreKeywords() {
+        ForbiddenKeywordValidator.configure(null);
+    }
+
+    @Test
+    void sameKeyIsServedFromCache() throws Exception {
+        ReportResultCache cache = new ReportResultCache(1 << 20, 60_000);
+
+        cache.get("k", this::load);
+        cache.get("k", this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tableInvalidationForcesReload() throws Exception {
+        ReportResultCache cache = new ReportResultCache(1 << 20, 60_000);
+
+        cache.get("k", this::load);
+        cache.invalidate("app.invoices");
+        cache.get("k", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void policyReloadForcesReload() throws Exception {
+        ReportResultCache cache = new ReportResultCache(1 << 20, 60_000);
+
+        cache.get("k", this::load);
+        // 금지 키워드 재설정 -> 정책 버전 증가
+        ForbiddenKeywordValidator.configure(null);
+        cache.get("k", this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    private byte[] load() {
+        return ("{\"n\":" + loads.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.report.secure.deepquery;
+
+import com.example.demo.report.secure.dto.SecureDeepQueryRequest;
+import com.example.demo.report.secure.page.ReportCursor;
+import com.example.demo.report.secure.page.ReportPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * deepquery keyset 페이지 (data.sql 기준 ENTERPRISES 1 ~ 3, 구독 5 건)
+ *
+ * - 응답 next 를 JSON 으로 왕복시켜 다음 요청 after 로 전달 (클라이언트와 같은 경로)
+ * - 페이지를 이어 붙인 결과 = 페이지 없이 실행한 결과 (누락 / 중복 없음)
+ */
+@SpringBootTest
+class SecureDeepQueryPageTest {
+
+    @Autowired
+    private SecureDeepQueryService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesCoverTheWholeReportInOrder() throws Exception {
+        ReportPage first = service.page(request(null));
+        assertThat(first.getRows().rowCount()).isEqualTo(2);
+        assertThat(first.getNext()).isNotNull();
+        assertThat(first.getNext().getValues())
+                .extracting(v -> ((Number) v).longValue())
+                .containsExactly(1L, 101L);
+
+        ReportPage second = service.page(request(roundTrip(first.getNext())));
+        assertThat(second.getRows().rowCount()).isEqualTo(2);
+        assertThat(second.getNext()).isNotNull();
+
+        ReportPage third = service.page(request(roundTrip(second.getNext())));
+        assertThat(third.getRows().rowCount()).isEqualTo(1);
+        assertThat(third.getNext()).isNull();
+
+        List<List<Object>> paged = new ArrayList<>();
+        paged.addAll(rows(first));
+        paged.addAll(rows(second));
+        paged.addAll(rows(third));
+        assertThat(paged).containsExactly(
+                List.of(1L, 100L), List.of(1L, 101L), List.of(2L, 200L), List.of(3L, 300L), List.of(3L, 301L));
+    }
+
+    private SecureDeepQueryRequest request(String afterJson) throws Exception {
+        String json = "{"
+                + "\"selectColumns\":[\"ENTERPRISE_ID\",\"SUBSCRIPTION_ID\"],"
+                + "\"groupByColumns\":[\"ENTERPRISE_ID\",\"SUBSCRIPTION_ID\"],"
+                + "\"orderByColumns\":[\"ENTERPRISE_ID\",\"SUBSCRIPTION_ID\"],"
+                + "\"orderByDir\":\"ASC\","
+                + "\"enterpriseIds\":[1,2,3],"
+                + "\"minRevenue\":0,"
+                + "\"limit\":2"
+                + (afterJson == null ? "" : ",\"after\":" + afterJson)
+                + "}";
+        return objectMapper.readValue(json, SecureDeepQueryRequest.class);
+    }
+
+    private String roundTrip(ReportCursor cursor) throws Exception {
+        return objectMapper.writeValueAsString(cursor);
+    }
+
+    private static List<List<Object>> rows(ReportPage page) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int r = 0; r < page.getRows().rowCount(); r++) {
+            rows.add(List.of(page.getRows().get(r, 0), page.getRows().get(r, 1)));
+        }
+        return rows;
+    }
+}
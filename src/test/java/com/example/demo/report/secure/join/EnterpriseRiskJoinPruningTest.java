@@ -0,0 +1,96 @@
+package com.example.demo.report.secure.join;
+
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn.Source;
+import com.example.demo.report.secure.cte.SecureCteService;
+import com.example.demo.report.secure.dto.SecureEnterpriseRiskRequest;
+import com.example.demo.report.secure.subquery.SecureSubQueryService;
+import com.example.demo.report.secure.table.ReportTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JOIN 축소 결과 동등성 (data.sql 기준)
+ *
+ * - 칼럼 일부만 요청 (일부 집계를 EXISTS 로 대체) 한 결과 = 전체 칼럼 결과에서 같은 칼럼만 골라낸 결과 (행 중복 포함)
+ * - cte / subquery 두 구현 모두, variants() 의 JOIN 모양 전부
+ */
+@SpringBootTest
+class EnterpriseRiskJoinPruningTest {
+
+    @Autowired
+    private SecureCteService cteService;
+
+    @Autowired
+    private SecureSubQueryService subQueryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cteSubsetMatchesFullProjection() throws Exception {
+        assertPrunedMatchesFull(cteService::execute);
+    }
+
+    @Test
+    void subQuerySubsetMatchesFullProjection() throws Exception {
+        assertPrunedMatchesFull(subQueryService::execute);
+    }
+
+    private void assertPrunedMatchesFull(Function<SecureEnterpriseRiskRequest, ReportTable> execute) throws Exception {
+        List<SecureEnterpriseRiskColumn> all = List.of(SecureEnterpriseRiskColumn.values());
+        ReportTable full = execute.apply(request(all));
+        assertThat(full.rowCount()).isPositive();
+
+        for (EnumSet<Source> variant : EnterpriseRiskJoins.variants()) {
+            // 해당 JOIN 모양이 되는 칼럼 조합: BASE 칼럼 + variant 의 집계 칼럼
+            List<SecureEnterpriseRiskColumn> cols = EnterpriseRiskJoins.columnsOf(variant);
+            ReportTable pruned = execute.apply(request(cols));
+
+            assertThat(rows(pruned, null))
+                    .as(variant.toString())
+                    .containsExactlyInAnyOrderElementsOf(rows(full, indexes(cols)));
+        }
+    }
+
+    private SecureEnterpriseRiskRequest request(List<SecureEnterpriseRiskColumn> cols) throws Exception {
+        String json = "{"
+                + "\"columns\":[" + cols.stream().map(c -> "\"" + c.name() + "\"").collect(Collectors.joining(",")) + "],"
+                + "\"enterpriseIds\":[1,2,3]"
+                + "}";
+        return objectMapper.readValue(json, SecureEnterpriseRiskRequest.class);
+    }
+
+    /** cols 의 전체 칼럼 기준 위치 **/
+    private static int[] indexes(List<SecureEnterpriseRiskColumn> cols) {
+        return cols.stream().mapToInt(Enum::ordinal).toArray();
+    }
+
+    /** 행 목록 (columns 가 null 이면 모든 칼럼, 아니면 해당 위치의 칼럼만) **/
+    private static List<List<Object>> rows(ReportTable table, int[] columns) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int r = 0; r < table.rowCount(); r++) {
+            Object[] row;
+            if (columns == null) {
+                row = new Object[table.columnCount()];
+                for (int c = 0; c < row.length; c++) row[c] = table.get(r, c);
+            } else {
+                row = new Object[columns.length];
+                for (int c = 0; c < row.length; c++) row[c] = table.get(r, columns[c]);
+            }
+            rows.add(Arrays.asList(row));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.report.secure.join;
+
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn;
+import com.example.demo.report.secure.column.SecureEnterpriseRiskColumn.Source;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EnterpriseRiskJoins 단위 테스트
+ *
+ * - 요청 칼럼 + 정렬 칼럼이 읽는 FROM 항목만 조인 (BASE 항상 포함)
+ * - variants() 가 가능한 JOIN 모양 4 가지를 모두 포함하는지
+ */
+class EnterpriseRiskJoinsTest {
+
+    @Test
+    void baseOnlyColumnsJoinNothing() {
+        EnumSet<Source> sources = EnterpriseRiskJoins.required(
+                List.of(SecureEnterpriseRiskColumn.ENTERPRISE_NAME, SecureEnterpriseRiskColumn.INDUSTRY_CODE), null);
+
+        assertThat(sources).containsExactly(Source.BASE);
+        assertThat(bind(sources)).containsEntry("joinInvoice", false).containsEntry("joinUsage", false);
+    }
+
+    @Test
+    void orderByColumnIsJoinedEvenIfNotSelected() {
+        EnumSet<Source> sources = EnterpriseRiskJoins.required(
+                List.of(SecureEnterpriseRiskColumn.ENTERPRISE_NAME), SecureEnterpriseRiskColumn.TOTAL_API_CALLS);
+
+        assertThat(sources).containsExactlyInAnyOrder(Source.BASE, Source.USAGE);
+        assertThat(bind(sources)).containsEntry("joinInvoice", false).containsEntry("joinUsage", true);
+    }
+
+    @Test
+    void allColumnsJoinEverything() {
+        EnumSet<Source> sources = EnterpriseRiskJoins.required(List.of(SecureEnterpriseRiskColumn.values()), null);
+
+        assertThat(sources).containsExactlyInAnyOrder(Source.values());
+        assertThat(bind(sources)).containsEntry("joinInvoice", true).containsEntry("joinUsage", true);
+    }
+
+    @Test
+    void variantsCoverEveryRequiredShape() {
+        List<EnumSet<Source>> variants = EnterpriseRiskJoins.variants();
+        assertThat(variants).hasSize(4).doesNotHaveDuplicates().allMatch(v -> v.contains(Source.BASE));
+
+        for (EnumSet<Source> variant : variants) {
+            List<SecureEnterpriseRiskColumn> cols = EnterpriseRiskJoins.columnsOf(variant);
+            assertThat(EnterpriseRiskJoins.required(cols, null)).isEqualTo(variant);
+        }
+    }
+
+    private static Map<String, Object> bind(EnumSet<Source> sources) {
+        Map<String, Object> param = new HashMap<>();
+        EnterpriseRiskJoins.bind(param, sources);
+        return param;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.report.secure.page;
+
+import com.example.demo.report.secure.table.ReportColumn.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * KeysetPage 단위 테스트
+ *
+ * - seek 조건 바인드 (정렬 방향별 비교 연산자, 닫는 괄호, limit + 1)
+ * - after 값 변환 (JSON 에서 들어온 값 -> 정렬 키 칼럼 형식)
+ */
+class KeysetPageTest {
+
+    private static final List<String> KEYS = List.of("ia.total_revenue", "b.subscription_id");
+    private static final List<ValueType> TYPES = List.of(ValueType.DECIMAL, ValueType.LONG);
+
+    @Test
+    void firstPageHasNoSeek() {
+        Map<String, Object> param = new HashMap<>();
+        new KeysetPage(KEYS, TYPES, null, 10, null).bind(param);
+
+        assertThat(param.get("seek")).isNull();
+        assertThat(param.get("seekClose")).isEqualTo("");
+        assertThat(param.get("limit")).isEqualTo(11);
+        assertThat(param.get("pageKeys")).isEqualTo(", ia.total_revenue AS page_k0, b.subscription_id AS page_k1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seekTermsFollowDirectionAndCoerceValues() {
+        // JSON 역직렬화 결과 그대로 (실수 -> Double, 정수 -> Integer)
+        ReportCursor after = new ReportCursor(List.<Object>of(1234.5, 101));
+        Map<String, Object> param = new HashMap<>();
+        KeysetPage page = new KeysetPage(KEYS, TYPES, "desc", 10, after);
+        page.bind(param);
+
+        List<SeekTerm> seek = (List<SeekTerm>) param.get("seek");
+        assertThat(seek).hasSize(2);
+        assertThat(seek.get(0).getSql()).isEqualTo("ia.total_revenue");
+        assertThat(seek.get(0).getOp()).isEqualTo("<");
+        assertThat(seek.get(0).getValue()).isEqualTo(new BigDecimal("1234.5"));
+        assertThat(seek.get(0).isLast()).isFalse();
+        assertThat(seek.get(1).getValue()).isEqualTo(101L);
+        assertThat(seek.get(1).isLast()).isTrue();
+        assertThat(param.get("seekClose")).isEqualTo("))");
+        assertThat(page.orderByClause()).isEqualTo(" ORDER BY ia.total_revenue DESC, b.subscription_id DESC");
+    }
+
+    @Test
+    void cursorValuesAreCoercedToKeyType() {
+        assertThat(KeysetPage.cursorValue(ValueType.LONG, 7)).isEqualTo(7L);
+        assertThat(KeysetPage.cursorValue(ValueType.LONG, new BigDecimal("7"))).isEqualTo(7L);
+        assertThat(KeysetPage.cursorValue(ValueType.LONG, "7")).isEqualTo(7L);
+        assertThat(KeysetPage.cursorValue(ValueType.DECIMAL, 0.1)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(KeysetPage.cursorValue(ValueType.DECIMAL, 3)).isEqualTo(BigDecimal.valueOf(3));
+        assertThat(KeysetPage.cursorValue(ValueType.DECIMAL, "12.50")).isEqualTo(new BigDecimal("12.50"));
+        assertThat(KeysetPage.cursorValue(ValueType.TEXT, "abc")).isEqualTo("abc");
+    }
+
+    @Test
+    void inexactCursorValuesAreRejected() {
+        assertThatThrownBy(() -> KeysetPage.cursorValue(ValueType.LONG, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.cursorValue(ValueType.LONG, new BigDecimal("1.5")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.cursorValue(ValueType.DECIMAL, 0.125))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.cursorValue(ValueType.TEXT, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.cursorValue(ValueType.LONG, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void directionIsValidated() {
+        assertThat(KeysetPage.direction(null)).isEqualTo("ASC");
+        assertThat(KeysetPage.direction(" desc ")).isEqualTo("DESC");
+        assertThatThrownBy(() -> KeysetPage.direction("DESC, (SELECT 1 FROM DUAL)"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void doubleKeysAreRejected() {
+        assertThatThrownBy(() -> new KeysetPage(List.of("ua.avg_active_users", "b.subscription_id"),
+                List.of(ValueType.DOUBLE, ValueType.LONG), null, 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursorSizeMustMatchKeys() {
+        assertThatThrownBy(() -> new KeysetPage(KEYS, TYPES, null, 10, new ReportCursor(List.<Object>of(1L))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
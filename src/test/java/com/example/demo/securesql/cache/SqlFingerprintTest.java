@@ -0,0 +1,72 @@
+package com.example.demo.securesql.cache;
+
+import com.example.demo.securesql.parser.ParseExecutor;
+import com.example.demo.securesql.validator.OracleValidator;
+import com.example.demo.securesql.validator.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlFingerprint 단위 테스트
+ *
+ * - 리터럴 치환 표시('?' / #N)와 JDBC 바인드 변수(?)가 같은 지문이 되지 않는지
+ * - 지문이 같은 SQL 끼리는 검증 결과도 같은지 (검증 결과 캐시 재사용 전제)
+ */
+class SqlFingerprintTest {
+
+    private static final String BASE = "SELECT ENTERPRISE_NAME FROM ENTERPRISES WHERE ENTERPRISE_ID = ? ";
+
+    @Test
+    void literalsAreNormalized() {
+        assertThat(SqlFingerprint.of("select a from t where b = 'x' and c = 42"))
+                .isEqualTo("SELECT A FROM T WHERE B = '?' AND C = #N");
+        assertThat(SqlFingerprint.of("SELECT A  FROM T WHERE B = 'yy' AND C = 7.5"))
+                .isEqualTo(SqlFingerprint.of("select a from t where b = 'x' and c = 42"));
+    }
+
+    @Test
+    void bindMarkerIsKeptDistinctFromLiterals() {
+        String stringTautology = SqlFingerprint.of(BASE + "OR 'a'='a'");
+        String numberTautology = SqlFingerprint.of(BASE + "OR 2=2");
+        String bindComparison = SqlFingerprint.of(BASE + "OR ?=?");
+
+        assertThat(bindComparison).endsWith("OR ?=?");
+        assertThat(stringTautology).isNotEqualTo(bindComparison);
+        assertThat(numberTautology).isNotEqualTo(bindComparison);
+        assertThat(stringTautology).isNotEqualTo(numberTautology);
+    }
+
+    @Test
+    void integerOneIsKept() {
+        assertThat(SqlFingerprint.of("SELECT A FROM T WHERE 1=1")).isEqualTo("SELECT A FROM T WHERE 1=1");
+        assertThat(SqlFingerprint.of("SELECT A FROM T WHERE 01=1")).isEqualTo("SELECT A FROM T WHERE 1=1");
+        assertThat(SqlFingerprint.of("SELECT A FROM T WHERE 2=2")).isEqualTo("SELECT A FROM T WHERE #N=#N");
+    }
+
+    @Test
+    void uncacheableSqlHasNoFingerprint() {
+        assertThat(SqlFingerprint.of("SELECT A FROM T -- x")).isNull();
+        assertThat(SqlFingerprint.of("SELECT \"A\" FROM T")).isNull();
+        assertThat(SqlFingerprint.of("SELECT A FROM T WHERE B = 'a\\'")).isNull();
+        assertThat(SqlFingerprint.of("SELECT A FROM T WHERE B = 'open")).isNull();
+        // 원문 단어 #N 은 숫자 치환 표시와 구분할 수 없으므로 캐시하지 않음
+        assertThat(SqlFingerprint.of("SELECT A FROM T WHERE B = #N")).isNull();
+        assertThat(SqlFingerprint.of("   ")).isNull();
+    }
+
+    @Test
+    void cachedBindComparisonDoesNotAcceptLiteralTautology() {
+        // 바인드 변수 비교가 먼저 검증 결과 캐시에 들어가도 리터럴 상수 비교는 전체 검증으로 차단
+        ValidationResult bind = OracleValidator.check(BASE + "OR ?=?", ParseExecutor.Lane.ADHOC);
+        ValidationResult stringTautology = OracleValidator.check(BASE + "OR 'a'='a'", ParseExecutor.Lane.STATEMENT);
+        ValidationResult numberTautology = OracleValidator.check(BASE + "OR 2=2", ParseExecutor.Lane.STATEMENT);
+
+        assertThat(bind.isAccepted()).isTrue();
+        assertThat(stringTautology.isAccepted()).isFalse();
+        assertThat(numberTautology.isAccepted()).isFalse();
+
+        // 같은 지문(리터럴 값만 다름)은 같은 결과
+        assertThat(OracleValidator.check(BASE + "OR 'b'='b'", ParseExecutor.Lane.STATEMENT).isAccepted()).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.securesql.lexer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlTokenizer 단위 테스트
+ *
+ * - 토큰 종류 / 경계 (원문 위치 그대로)
+ * - 주석 / 닫히지 않은 리터럴 / 닫히지 않은 주석 표시
+ */
+class SqlTokenizerTest {
+
+    @Test
+    void tokenKindsAndText() {
+        SqlTokens tokens = SqlTokenizer.tokenize("SELECT a_1, \"Col\" FROM t WHERE x >= 1.5e3 AND y = 'it''s' AND #z = $w");
+
+        assertThat(texts(tokens)).containsExactly(
+                "SELECT", "a_1", ",", "\"Col\"", "FROM", "t", "WHERE", "x", ">", "=", "1.5e3",
+                "AND", "y", "=", "'it''s'", "AND", "#z", "=", "$w");
+        assertThat(tokens.kind(0)).isEqualTo(SqlTokens.WORD);
+        assertThat(tokens.kind(3)).isEqualTo(SqlTokens.QUOTED_IDENTIFIER);
+        assertThat(tokens.kind(8)).isEqualTo(SqlTokens.SYMBOL);
+        assertThat(tokens.kind(10)).isEqualTo(SqlTokens.NUMBER);
+        assertThat(tokens.kind(14)).isEqualTo(SqlTokens.STRING);
+        assertThat(tokens.kind(16)).isEqualTo(SqlTokens.WORD);
+        assertThat(tokens.kind(18)).isEqualTo(SqlTokens.WORD);
+    }
+
+    @Test
+    void gapsAndWordMatching() {
+        SqlTokens tokens = SqlTokenizer.tokenize("  select a<>b");
+
+        assertThat(tokens.hasGapBefore(0)).isTrue();
+        assertThat(tokens.isWord(0, "SELECT")).isTrue();
+        assertThat(tokens.isWord(0, "SELEC")).isFalse();
+        // <> 는 간격 없는 1글자 기호 2개
+        assertThat(tokens.isSymbol(2, '<')).isTrue();
+        assertThat(tokens.isSymbol(3, '>')).isTrue();
+        assertThat(tokens.hasGapBefore(3)).isFalse();
+    }
+
+    @Test
+    void commentsAreGaps() {
+        SqlTokens tokens = SqlTokenizer.tokenize("SELECT a -- x\nFROM /* y */ t");
+
+        assertThat(tokens.hasComment()).isTrue();
+        assertThat(texts(tokens)).containsExactly("SELECT", "a", "FROM", "t");
+        assertThat(tokens.hasUnterminatedComment()).isFalse();
+    }
+
+    @Test
+    void unterminatedQuoteAndComment() {
+        SqlTokens quote = SqlTokenizer.tokenize("SELECT a FROM t WHERE b = 'abc");
+        assertThat(quote.hasUnterminatedQuote()).isTrue();
+        assertThat(quote.text(quote.size() - 1)).isEqualTo("'abc");
+
+        SqlTokens comment = SqlTokenizer.tokenize("SELECT a FROM t /* WHERE b = 1");
+        assertThat(comment.hasUnterminatedComment()).isTrue();
+        assertThat(texts(comment)).containsExactly("SELECT", "a", "FROM", "t");
+    }
+
+    @Test
+    void emptyInput() {
+        assertThat(SqlTokenizer.tokenize(null).size()).isZero();
+        assertThat(SqlTokenizer.tokenize("   ").size()).isZero();
+    }
+
+    private static List<String> texts(SqlTokens tokens) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            result.add(tokens.text(i));
+        }
+        return result;
+    }
+}
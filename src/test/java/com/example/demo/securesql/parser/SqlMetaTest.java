@@ -0,0 +1,107 @@
+package com.example.demo.securesql.parser;
+
+import com.example.demo.securesql.whitelist.DynamicTableWhitelistRegistry;
+import com.example.demo.securesql.whitelist.SqlSymbols;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlMeta 심볼 id 단위 테스트
+ *
+ * - 화이트리스트 이름은 SqlSymbols 의 공유 id, 그 외 이름은 음수 지역 id
+ * - 칼럼은 [qualifier, 컬럼] 쌍으로 분리
+ * - 단순 조인 SQL 에서 OracleAstParser 와 OracleAstParser_old 의 수집 결과가 같은지 (문자열 뷰 기준)
+ */
+class SqlMetaTest {
+
+    private static final List<String> CORPUS = List.of(
+            "SELECT c.CUSTOMER_ID, c.COMPANY_NAME FROM CUSTOMERS c WHERE c.CUSTOMER_ID = ?",
+            "SELECT c.COMPANY_NAME, s.SUBSCRIPTION_ID FROM CUSTOMERS c JOIN SUBSCRIPTIONS s ON s.CUSTOMER_ID = c.CUSTOMER_ID",
+            "SELECT STORE_ID, SUM(QTY) FROM SALES_TRANSACTION WHERE 1=1 AND TX_DATE >= ? GROUP BY STORE_ID",
+            "SELECT c.COMPANY_NAME FROM CUSTOMERS c WHERE c.CUSTOMER_ID = ? OR 'a' = 'a'",
+            "SELECT c.COMPANY_NAME FROM CUSTOMERS c JOIN SUBSCRIPTIONS s ON 1 = 1",
+            "SELECT * FROM STORE_MASTER",
+            "SELECT p.* FROM PRODUCT_MASTER p WHERE p.CATEGORY_CODE = ? OR p.UNIT = ?");
+
+    @BeforeAll
+    static void loadWhitelist() {
+        // 화이트리스트 로딩 시 테이블 / 컬럼 이름이 SqlSymbols 에 등록됨
+        assertThat(DynamicTableWhitelistRegistry.isAllowedTable("CUSTOMERS")).isTrue();
+    }
+
+    @Test
+    void whitelistedNamesUseSharedIds() {
+        SqlMeta meta = new SqlMeta();
+        meta.addTable("customers");
+        meta.addAlias("c", "CUSTOMERS");
+
+        int customers = SqlSymbols.find("CUSTOMERS");
+        assertThat(customers).isNotNegative();
+        assertThat(meta.table(0)).isEqualTo(customers);
+        assertThat(meta.containsTable(customers)).isTrue();
+
+        // alias 는 화이트리스트에 없으므로 지역 id
+        assertThat(meta.getAliasToTable()).containsEntry("C", "CUSTOMERS");
+        assertThat(meta.aliasTarget(customers)).isEqualTo(SqlMeta.NONE);
+    }
+
+    @Test
+    void unknownNamesGetStableLocalIds() {
+        SqlMeta meta = new SqlMeta();
+        meta.addTable("NOT_A_TABLE");
+        meta.addTable("not_a_table");
+        meta.addTable("OTHER_TABLE");
+
+        assertThat(meta.tableCount()).isEqualTo(2);
+        assertThat(meta.table(0)).isNegative();
+        assertThat(meta.table(1)).isNegative().isNotEqualTo(meta.table(0));
+        assertThat(meta.name(meta.table(0))).isEqualTo("NOT_A_TABLE");
+        assertThat(meta.name(meta.table(1))).isEqualTo("OTHER_TABLE");
+    }
+
+    @Test
+    void columnsAreSplitIntoQualifierAndName() {
+        SqlMeta meta = new SqlMeta();
+        meta.addColumn("c.CUSTOMER_ID");
+        meta.addColumn("COMPANY_NAME");
+        meta.addRootColumn("c.*");
+        meta.addRootColumn("*");
+
+        assertThat(meta.name(meta.columnQualifier(0))).isEqualTo("C");
+        assertThat(meta.columnName(0)).isEqualTo(SqlSymbols.find("CUSTOMER_ID"));
+        assertThat(meta.columnQualifier(1)).isEqualTo(SqlMeta.NONE);
+        assertThat(meta.rootColumnName(0)).isEqualTo(SqlSymbols.STAR);
+        assertThat(meta.rootColumnText(0)).isEqualTo("C.*");
+        assertThat(meta.rootColumnQualifier(1)).isEqualTo(SqlMeta.NONE);
+        assertThat(meta.getColumns()).containsExactlyInAnyOrder("C.CUSTOMER_ID", "COMPANY_NAME");
+    }
+
+    @Test
+    void matchesOldParserOnFlatQueries() {
+        for (String sql : CORPUS) {
+            List<SqlMeta> actual = new OracleAstParser().parse(sql);
+            List<SqlMeta> expected = new OracleAstParser_old().parse(sql);
+
+            assertThat(actual).as(sql).hasSameSizeAs(expected);
+            for (int i = 0; i < actual.size(); i++) {
+                SqlMeta a = actual.get(i);
+                SqlMeta e = expected.get(i);
+                assertThat(a.getRootTables()).as(sql).containsExactlyInAnyOrderElementsOf(e.getRootTables());
+                assertThat(a.getTables()).as(sql).containsExactlyInAnyOrderElementsOf(e.getTables());
+                assertThat(a.getRootColumns()).as(sql).containsExactlyInAnyOrderElementsOf(e.getRootColumns());
+                assertThat(a.getColumns()).as(sql).containsExactlyInAnyOrderElementsOf(e.getColumns());
+                assertThat(a.getExpressions()).as(sql).containsExactlyInAnyOrderElementsOf(e.getExpressions());
+                assertThat(a.getAliasToTable()).as(sql).isEqualTo(e.getAliasToTable());
+                assertThat(a.hasDangerousOrPredicate()).as(sql).isEqualTo(e.hasDangerousOrPredicate());
+                assertThat(a.hasUnsafeOrPredicate()).as(sql).isEqualTo(e.hasUnsafeOrPredicate());
+                assertThat(a.hasJoinOrWhereCondition()).as(sql).isEqualTo(e.hasJoinOrWhereCondition());
+                assertThat(a.hasConstantTrueInWhere()).as(sql).isEqualTo(e.hasConstantTrueInWhere());
+                assertThat(a.hasConstantComparisonInJoin()).as(sql).isEqualTo(e.hasConstantComparisonInJoin());
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.securesql.validator;
+
+import com.example.demo.securesql.lexer.SqlTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ForbiddenKeywordScanner 단위 테스트
+ *
+ * - scan(String) / scan(SqlTokens) 두 경로가 같은 결과인지
+ * - 주석이 없는 SQL 에서 기존 정규식 구현(ForbiddenKeywordValidator_old)과 같은 키워드를 찾는지
+ */
+class ForbiddenKeywordScannerTest {
+
+    private static final List<String> KEYWORDS = List.of(
+            "DROP", "TRUNCATE", "DELETE", "ALTER", "RENAME", "MERGE", "GRANT", "REVOKE",
+            "EXECUTE IMMEDIATE", "UTL_FILE", "DBMS_SQL", "DBMS_SCHEDULER");
+
+    private static final ForbiddenKeywordScanner SCANNER = ForbiddenKeywordScanner.compile(KEYWORDS);
+
+    // 무작위 SQL 조각 (주석 없음, 따옴표 구간은 조각 안에서 닫힘)
+    private static final String[] PIECES = {
+            "SELECT", "a", "FROM", "dual", "WHERE", "x", "=", ",", "(", ")", ".", "1",
+            "DROP", "drop", "DROPSHIP", "USER_DROP", "DROP$X", "Delete", "merge_flag",
+            "EXECUTE", "IMMEDIATE", "execute  immediate", "DBMS_SQL", "dbms_sql.open_cursor",
+            "'DROP'", "'it''s'", "'DBMS_SQL'", "\"DBMS_SQL\"", "\"utl_file\"", "\"a b\"", "\"x\"\"y\""
+    };
+    private static final String[] GAPS = { " ", "", "  ", "\t", "\n" };
+
+    private static String hit(String sql) {
+        int fromString = SCANNER.scan(sql);
+        int fromTokens = SCANNER.scan(SqlTokenizer.tokenize(sql));
+        assertThat(fromTokens).as("token path: %s", sql).isEqualTo(fromString);
+        return fromString < 0 ? null : SCANNER.keyword(fromString);
+    }
+
+    @Test
+    void findsKeywordsOnWordBoundaries() {
+        assertThat(hit("DROP TABLE t")).isEqualTo("DROP");
+        assertThat(hit("select a from t where x = 1; delete from t")).isEqualTo("DELETE");
+        assertThat(hit("SELECT DROPSHIP, USER_DROP FROM t")).isNull();
+        assertThat(hit("BEGIN EXECUTE   IMMEDIATE 'x'; END;")).isEqualTo("EXECUTE IMMEDIATE");
+        assertThat(hit("BEGIN EXECUTE/* gap */IMMEDIATE 'x'; END;")).isEqualTo("EXECUTE IMMEDIATE");
+    }
+
+    @Test
+    void skipsStringLiteralsAndComments() {
+        assertThat(hit("SELECT 'DROP' AS k FROM dual")).isNull();
+        assertThat(hit("SELECT 'it''s DROP' AS k FROM dual")).isNull();
+        assertThat(hit("SELECT a FROM t -- DROP")).isNull();
+        // 닫히지 않은 리터럴은 내용까지 검사
+        assertThat(hit("SELECT 'x FROM t; DROP TABLE t")).isEqualTo("DROP");
+    }
+
+    @Test
+    void scansQuotedIdentifiersLikeBareWords() {
+        assertThat(hit("SELECT \"DBMS_SQL\".\"OPEN_CURSOR\"() FROM DUAL")).isEqualTo("DBMS_SQL");
+        assertThat(hit("SELECT \"utl_file\".fopen('d', 'f', 'r') FROM DUAL")).isEqualTo("UTL_FILE");
+        assertThat(hit("SELECT \"DBMS_SCHEDULER\".x FROM DUAL")).isEqualTo("DBMS_SCHEDULER");
+        // 식별자 안의 주석 / 따옴표 기호가 뒤쪽 SQL 을 가리지 않음
+        assertThat(hit("SELECT \"a--\" FROM t WHERE 1=1 OR DROP")).isEqualTo("DROP");
+        assertThat(hit("SELECT \"a'\" FROM t, \"'\" DROP")).isEqualTo("DROP");
+        assertThat(hit("SELECT \"DROPSHIP\" FROM t")).isNull();
+    }
+
+    @Test
+    void matchesRegexImplementationWithoutComments() {
+        Random random = new Random(7);
+        for (int n = 0; n < 5000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int pieces = 1 + random.nextInt(12);
+            for (int p = 0; p < pieces; p++) {
+                if (p > 0) sb.append(GAPS[random.nextInt(GAPS.length)]);
+                sb.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String sql = sb.toString();
+
+            String expected = null;
+            try {
+                ForbiddenKeywordValidator_old.validateRawSql(sql);
+            } catch (RuntimeException e) {
+                expected = e.getMessage().substring(e.getMessage().indexOf(": ") + 2);
+            }
+            assertThat(hit(sql)).as(sql).isEqualTo(expected);
+        }
+    }
+}
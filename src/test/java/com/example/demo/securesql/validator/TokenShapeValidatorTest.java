@@ -0,0 +1,60 @@
+package com.example.demo.securesql.validator;
+
+import com.example.demo.securesql.lexer.SqlTokenizer;
+import com.example.demo.securesql.parser.ParseExecutor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TokenShapeValidator 단위 테스트
+ *
+ * - 닫히지 않은 리터럴 / 주석, 다중 SQL 문 차단
+ * - 문자열 / 주석 안의 ; 와 마지막 ; 하나는 허용
+ */
+class TokenShapeValidatorTest {
+
+    @Test
+    void acceptsSingleStatement() {
+        assertThatCode(() -> validate("SELECT a FROM t WHERE b = ';'")).doesNotThrowAnyException();
+        assertThatCode(() -> validate("SELECT a FROM t;")).doesNotThrowAnyException();
+        assertThatCode(() -> validate("SELECT a FROM t -- ; DROP TABLE t")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsStackedStatements() {
+        assertThatThrownBy(() -> validate("SELECT a FROM t; DROP TABLE t"))
+                .isInstanceOf(PolicyViolationException.class)
+                .hasMessageContaining("다중 SQL 문");
+        assertThatThrownBy(() -> validate("SELECT a FROM t;;"))
+                .isInstanceOf(PolicyViolationException.class);
+    }
+
+    @Test
+    void rejectsUnterminatedQuoteAndComment() {
+        assertThatThrownBy(() -> validate("SELECT a FROM t WHERE b = 'x"))
+                .isInstanceOf(PolicyViolationException.class)
+                .hasMessageContaining("닫히지 않은 문자열");
+        assertThatThrownBy(() -> validate("SELECT \"a FROM t"))
+                .isInstanceOf(PolicyViolationException.class)
+                .hasMessageContaining("닫히지 않은 문자열");
+        assertThatThrownBy(() -> validate("SELECT a FROM t /* WHERE b = 1"))
+                .isInstanceOf(PolicyViolationException.class)
+                .hasMessageContaining("닫히지 않은 주석");
+    }
+
+    @Test
+    void shapeViolationsAreRejectedByOracleValidator() {
+        ValidationResult result = OracleValidator.checkQuietly(
+                "SELECT ENTERPRISE_NAME FROM ENTERPRISES; SELECT ENTERPRISE_NAME FROM ENTERPRISES", ParseExecutor.Lane.ADHOC);
+
+        assertThat(result.isAccepted()).isFalse();
+        assertThat(result.getCode()).isEqualTo(ReasonCode.SHAPE);
+    }
+
+    private static void validate(String sql) {
+        TokenShapeValidator.validate(SqlTokenizer.tokenize(sql));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.securesql.validator;
+
+import com.example.demo.securesql.corpus.SqlCorpus;
+import com.example.demo.securesql.parser.OracleAstParser;
+import com.example.demo.securesql.parser.SqlMeta;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ValidatorChain 실행 모드 동등성 테스트
+ *
+ * - COMPILED 모드와 SEQUENTIAL 모드가 같은 SqlMeta 에 같은 결과 (통과 여부 / 사유 / 메시지) 를 내는지
+ * - checkQuietly 가 check 와 같은 결과를 내는지
+ * - 화이트리스트 / OR 정책 Validator 가 _old 구현과 같은 SqlMeta 를 차단하는지
+ * 		- _old 는 CTE 이름을 테이블로 검사하므로 CTE 가 없는 단순 SQL 에서만 비교
+ *
+ * 코퍼스: mapper / Postman SQL + 각 Validator 가 차단해야 하는 SQL
+ */
+class ValidatorChainTest {
+
+    private static final List<String> REJECTING = List.of(
+            "SELECT * FROM CUSTOMERS",
+            "SELECT c.* FROM CUSTOMERS c",
+            "SELECT c.COMPANY_NAME FROM CUSTOMERS c, SUBSCRIPTIONS s",
+            "SELECT COMPANY_NAME, SUBSCRIPTION_ID FROM CUSTOMERS c JOIN SUBSCRIPTIONS s ON s.CUSTOMER_ID = c.CUSTOMER_ID",
+            "SELECT c.PASSWORD FROM CUSTOMERS c",
+            "SELECT x.A FROM NOT_WHITELISTED x",
+            "SELECT UPPER(c.COMPANY_NAME) FROM CUSTOMERS c",
+            "SELECT c.COMPANY_NAME FROM CUSTOMERS c WHERE c.CUSTOMER_ID = ? OR 'a' = 'a'",
+            "SELECT c.COMPANY_NAME FROM CUSTOMERS c WHERE c.CUSTOMER_ID = ? OR 2 = 2",
+            "SELECT c.COMPANY_NAME, s.SUBSCRIPTION_ID FROM CUSTOMERS c JOIN SUBSCRIPTIONS s ON 1 = 1",
+            "SELECT * FROM NOT_WHITELISTED WHERE 1 = 1 OR 'a' = 'a'");
+
+    private static final List<String> ACCEPTING = List.of(
+            "SELECT c.COMPANY_NAME FROM CUSTOMERS c WHERE c.CUSTOMER_ID = ?",
+            "SELECT c.COMPANY_NAME, s.SUBSCRIPTION_ID FROM CUSTOMERS c JOIN SUBSCRIPTIONS s ON s.CUSTOMER_ID = c.CUSTOMER_ID",
+            "SELECT c.CUSTOMER_ID, COUNT(s.SUBSCRIPTION_ID) FROM CUSTOMERS c JOIN SUBSCRIPTIONS s ON s.CUSTOMER_ID = c.CUSTOMER_ID "
+                    + "WHERE 1=1 AND (c.CUSTOMER_ID = ? OR c.SALES_REP_ID = ?) GROUP BY c.CUSTOMER_ID");
+
+    // 직접 작성한 단순 SQL (CTE / 서브쿼리 없음)
+    private static List<SqlMeta> flatMetas;
+    // 단순 SQL + 코퍼스 전체
+    private static List<SqlMeta> metas;
+
+    @BeforeAll
+    static void parseCorpus() {
+        List<String> flat = new ArrayList<>(REJECTING);
+        flat.addAll(ACCEPTING);
+        flatMetas = parse(flat);
+
+        List<String> corpus = new ArrayList<>();
+        for (SqlCorpus.Entry entry : SqlCorpus.load()) {
+            corpus.add(entry.getSql());
+        }
+        metas = new ArrayList<>(flatMetas);
+        metas.addAll(parse(corpus));
+
+        assertThat(flatMetas).hasSize(flat.size());
+        assertThat(metas).hasSizeGreaterThan(flatMetas.size());
+    }
+
+    private static List<SqlMeta> parse(List<String> sqls) {
+        List<SqlMeta> result = new ArrayList<>();
+        for (String sql : sqls) {
+            try {
+                result.addAll(new OracleAstParser().parse(sql));
+            } catch (RuntimeException ignore) {
+                // 파싱 불가 SQL 은 체인 비교 대상이 아님
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void compiledMatchesSequential() {
+        ValidatorChain sequential = defaultChain().mode(ValidatorChain.Mode.SEQUENTIAL);
+        ValidatorChain compiled = defaultChain().mode(ValidatorChain.Mode.COMPILED);
+
+        int rejected = 0;
+        for (SqlMeta meta : metas) {
+            ValidationResult expected = sequential.check(meta);
+            ValidationResult actual = compiled.check(meta);
+
+            assertThat(actual.isAccepted()).as(meta.getTables().toString()).isEqualTo(expected.isAccepted());
+            assertThat(actual.getReason()).isEqualTo(expected.getReason());
+            assertThat(actual.getMessage()).isEqualTo(expected.getMessage());
+            if (!expected.isAccepted()) rejected++;
+        }
+        // 코퍼스가 차단 경로도 실제로 지나가는지
+        assertThat(rejected).isGreaterThanOrEqualTo(REJECTING.size());
+    }
+
+    @Test
+    void quietCheckMatchesCheck() {
+        for (ValidatorChain.Mode mode : ValidatorChain.Mode.values()) {
+            ValidatorChain chain = defaultChain().mode(mode);
+            for (SqlMeta meta : metas) {
+                ValidationResult expected = chain.check(meta);
+                ValidationResult actual = chain.checkQuietly(meta);
+
+                assertThat(actual.isAccepted()).isEqualTo(expected.isAccepted());
+                assertThat(actual.getReason()).isEqualTo(expected.getReason());
+                assertThat(actual.getMessage()).isEqualTo(expected.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void whitelistAndOrPolicyMatchOldValidators() {
+        assertSameVerdicts(new TableColumnWhitelistValidator(), new TableColumnWhitelistValidator_old());
+        assertSameVerdicts(new OrPolicyValidator(), new OrPolicyValidator_old());
+    }
+
+    private static void assertSameVerdicts(SqlValidator current, SqlValidator old) {
+        for (SqlMeta meta : flatMetas) {
+            assertThat(rejects(current, meta))
+                    .as(current.getClass().getSimpleName() + " " + meta.getTables() + " " + meta.getColumns())
+                    .isEqualTo(rejects(old, meta));
+        }
+    }
+
+    private static boolean rejects(SqlValidator validator, SqlMeta meta) {
+        try {
+            validator.validate(meta);
+            return false;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    private static ValidatorChain defaultChain() {
+        return new ValidatorChain()
+                .add(new JoinPolicyValidator())
+                .add(new SelectStarValidator())
+                .add(new PrefixRuleValidator())
+                .add(new TableColumnWhitelistValidator())
+                .add(new FunctionWhitelistValidator())
+                .add(new OrPolicyValidator());
+    }
+}